@@ -54,6 +54,16 @@ object KerMLMetamodelLoader {
         // Register associations after classes are in place
         registerAssociations(registry)
 
+        // Name lookups from GQL property maps and the engine's findElementsByProperty
+        registry.registerPropertyIndex("Element", "declaredName")
+        registry.registerPropertyIndex("Element", "declaredShortName")
+
+        // Transitive membership containment: Namespace -> Membership -> member Element, as one hop type
+        registry.registerReachabilityIndex(
+            "membershipOwningNamespaceOwnedMembershipAssociation",
+            "owningMembershipOwnedMemberElementAssociation"
+        )
+
         // Note: Do NOT call buildIndexes() here — extension loaders (ViewsExtensionLoader)
         // may register additional classes/associations after this method returns.
         // buildIndexes() should be called by the engine factory after ALL loaders have run.
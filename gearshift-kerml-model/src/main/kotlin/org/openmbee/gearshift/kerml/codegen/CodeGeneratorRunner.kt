@@ -87,7 +87,8 @@ object CodeGeneratorRunner {
             interfacePackage = "org.openmbee.gearshift.generated.interfaces",
             implPackage = "org.openmbee.gearshift.generated.impl",
             utilPackage = "org.openmbee.gearshift.generated",
-            generateDocs = true
+            generateDocs = true,
+            compileOclBodies = true
         )
 
         val generator = MetamodelCodeGenerator(config)
@@ -21,6 +21,7 @@ import org.openmbee.mdm.framework.meta.ConstraintType
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.MetaConstraint
 import org.openmbee.mdm.framework.meta.MetaOperation
+import org.openmbee.mdm.framework.meta.MetaParameter
 import org.openmbee.mdm.framework.meta.SemanticBinding
 
 /**
@@ -63,7 +64,7 @@ fun createCalculationUsageMetaClass() = MetaClass(
             returnUpperBound = 1,
             redefines = "modelLevelEvaluable",
             parameters = listOf(
-                MetaOperation.Parameter("visited", "Feature", upperBound = -1)
+                MetaParameter("visited", "Feature", upperBound = -1)
             ),
             body = MetaOperation.ocl("false"),
             description = "A CalculationUsage is not model-level evaluable."
@@ -39,7 +39,7 @@ fun createConnectionDefinitionMetaClass() = MetaClass(
             type = "Boolean",
             lowerBound = 1,
             upperBound = 1,
-            redefines = "isSufficient",
+            redefines = listOf("isSufficient"),
             description = "A ConnectionDefinition always has isSufficient = true."
         )
     ),
@@ -20,6 +20,7 @@ import org.openmbee.mdm.framework.meta.ConstraintType
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.MetaConstraint
 import org.openmbee.mdm.framework.meta.MetaOperation
+import org.openmbee.mdm.framework.meta.MetaParameter
 import org.openmbee.mdm.framework.meta.SemanticBinding
 
 /**
@@ -87,9 +88,9 @@ fun createControlNodeMetaClass() = MetaClass(
             returnLowerBound = 1,
             returnUpperBound = 1,
             parameters = listOf(
-                MetaOperation.Parameter("mult", "Multiplicity"),
-                MetaOperation.Parameter("lower", "Integer"),
-                MetaOperation.Parameter("upper", "UnlimitedNatural")
+                MetaParameter("mult", "Multiplicity"),
+                MetaParameter("lower", "Integer"),
+                MetaParameter("upper", "UnlimitedNatural")
             ),
             body = MetaOperation.ocl("""
                 mult <> null and
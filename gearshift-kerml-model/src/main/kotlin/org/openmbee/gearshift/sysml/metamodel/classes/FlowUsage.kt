@@ -59,7 +59,7 @@ fun createFlowUsageMetaClass() = MetaClass(
             name = "flowUsageFlowsBinding",
             baseConcept = "Flows::flows",
             bindingKind = BindingKind.SUBSETS,
-            condition = BindingCondition.PropertyNotEmpty("ownedEndFeature")
+            condition = BindingCondition.CollectionNotEmpty("ownedEndFeature")
         )
     ),
     description = "A FlowUsage is an ActionUsage that is also a ConnectorAsUsage and a KerML Flow."
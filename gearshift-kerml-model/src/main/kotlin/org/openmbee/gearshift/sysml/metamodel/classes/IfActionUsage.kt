@@ -113,7 +113,7 @@ fun createIfActionUsageMetaClass() = MetaClass(
             name = "ifActionUsageIfThenElseActionsBinding",
             baseConcept = "Actions::ifThenElseActions",
             bindingKind = BindingKind.SUBSETS,
-            condition = BindingCondition.PropertyNotEmpty("elseAction")
+            condition = BindingCondition.CollectionNotEmpty("elseAction")
         ),
         SemanticBinding(
             name = "ifActionUsageIfSubactionsBinding",
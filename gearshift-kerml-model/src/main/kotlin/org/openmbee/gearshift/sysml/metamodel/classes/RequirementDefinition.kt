@@ -39,7 +39,7 @@ fun createRequirementDefinitionMetaClass() = MetaClass(
             type = "String",
             lowerBound = 0,
             upperBound = 1,
-            redefines = "declaredShortName",
+            redefines = listOf("declaredShortName"),
             description = "An optional modeler-specified identifier for this RequirementDefinition, which is the declaredShortName for the RequirementDefinition."
         )
     ),
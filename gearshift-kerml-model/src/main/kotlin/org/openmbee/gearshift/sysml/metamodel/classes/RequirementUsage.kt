@@ -38,7 +38,7 @@ fun createRequirementUsageMetaClass() = MetaClass(
             type = "String",
             lowerBound = 0,
             upperBound = 1,
-            redefines = "declaredShortName",
+            redefines = listOf("declaredShortName"),
             description = "An optional modeler-specified identifier for this RequirementUsage, which is the declaredShortName for the RequirementUsage."
         )
     ),
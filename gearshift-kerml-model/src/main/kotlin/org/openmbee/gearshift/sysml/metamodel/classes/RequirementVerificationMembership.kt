@@ -36,7 +36,7 @@ fun createRequirementVerificationMembershipMetaClass() = MetaClass(
             type = "RequirementConstraintKind",
             lowerBound = 1,
             upperBound = 1,
-            redefines = "kind",
+            redefines = listOf("kind"),
             description = "The kind of a RequirementVerificationMembership must be requirement."
         )
     ),
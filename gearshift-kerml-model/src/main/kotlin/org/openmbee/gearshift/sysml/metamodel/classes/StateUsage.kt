@@ -21,6 +21,7 @@ import org.openmbee.mdm.framework.meta.ConstraintType
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.MetaConstraint
 import org.openmbee.mdm.framework.meta.MetaOperation
+import org.openmbee.mdm.framework.meta.MetaParameter
 import org.openmbee.mdm.framework.meta.MetaProperty
 import org.openmbee.mdm.framework.meta.SemanticBinding
 
@@ -151,7 +152,7 @@ fun createStateUsageMetaClass() = MetaClass(
             returnLowerBound = 1,
             returnUpperBound = 1,
             parameters = listOf(
-                MetaOperation.Parameter("isParallel", "Boolean")
+                MetaParameter("isParallel", "Boolean")
             ),
             body = MetaOperation.ocl("""
                 isComposite and owningType <> null and
@@ -190,13 +191,13 @@ fun createStateUsageMetaClass() = MetaClass(
             name = "stateUsageExclusiveStatesBinding",
             baseConcept = "States::StateAction::exclusiveStates",
             bindingKind = BindingKind.SUBSETS,
-            condition = BindingCondition.OperationResult("isSubstateUsage(false)")
+            condition = BindingCondition.OperationResult("isSubstateUsage", mapOf("isParallel" to false))
         ),
         SemanticBinding(
             name = "stateUsageSubstatesBinding",
             baseConcept = "States::StateAction::substates",
             bindingKind = BindingKind.SUBSETS,
-            condition = BindingCondition.OperationResult("isSubstateUsage(true)")
+            condition = BindingCondition.OperationResult("isSubstateUsage", mapOf("isParallel" to true))
         )
     ),
     description = "A StateUsage is an ActionUsage that is nominally the Usage of a StateDefinition."
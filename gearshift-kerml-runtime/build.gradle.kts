@@ -128,6 +128,8 @@ fun JavaForkOptions.forwardGearshiftProperties() {
 tasks.test {
     useJUnitPlatform()
     forwardGearshiftProperties()
+    // Benchmark specs are skipped unless requested: ./gradlew :gearshift-kerml-runtime:test -Pbenchmarks
+    systemProperty("gearshift.benchmarks", project.hasProperty("benchmarks"))
 }
 
 kotlin {
@@ -142,6 +144,37 @@ tasks.named<JavaExec>("run") {
     forwardGearshiftProperties()
 }
 
+// ── Kernel library image ──────────────────────────────────────────────
+// Parses the Kernel Semantic Library once at build time and packages the
+// resulting mount image as a classpath resource, so startup restores the
+// library instead of re-parsing it. The image is kept out of processResources
+// (it needs the compiled classes) and added to the jar and `run` classpath.
+val kernelLibraryImageDir = layout.buildDirectory.dir("generated-resources/kernel-library-image")
+
+val generateKernelLibraryImage by tasks.registering(JavaExec::class) {
+    description = "Builds the kerml-library/kernel-library.mdmimage classpath resource"
+    group = "build"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openmbee.gearshift.kerml.KernelLibraryImageBuilderKt")
+    workingDir = rootProject.projectDir
+    inputs.dir("src/main/resources/kerml-library")
+    inputs.files(sourceSets.main.get().output.classesDirs)
+    outputs.dir(kernelLibraryImageDir)
+    args(kernelLibraryImageDir.get().file("kerml-library/kernel-library.mdmimage").asFile.absolutePath)
+}
+
+tasks.jar {
+    from(generateKernelLibraryImage)
+}
+
+tasks.named<JavaExec>("run") {
+    classpath(generateKernelLibraryImage)
+}
+
+// Tests restore the library from the same image the jar ships
+tasks.test {
+    classpath += files(generateKernelLibraryImage)
+}
 
 // Configure ANTLR to generate Kotlin code
 tasks.named<AntlrTask>("generateGrammarSource") {
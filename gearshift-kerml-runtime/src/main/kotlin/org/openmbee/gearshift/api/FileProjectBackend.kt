@@ -23,6 +23,8 @@ import com.fasterxml.jackson.module.kotlin.readValue
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.openmbee.mdm.framework.runtime.BranchData
 import org.openmbee.mdm.framework.runtime.CommitData
+import org.openmbee.mdm.framework.runtime.ElementState
+import org.openmbee.mdm.framework.runtime.ModelSnapshot
 import org.openmbee.mdm.framework.runtime.ProjectMetadata
 import java.nio.file.Files
 import java.nio.file.Path
@@ -30,6 +32,8 @@ import java.nio.file.StandardCopyOption
 
 private val logger = KotlinLogging.logger {}
 
+private const val VERSIONS_DIR = "versions"
+
 /**
  * Persisted project state — written to project.json.
  * Commits are stored without their DataVersionData changes to keep files small.
@@ -51,6 +55,27 @@ data class PersistedCommit(
     val created: java.time.Instant = java.time.Instant.now()
 )
 
+/**
+ * The element states one commit changed relative to its parent, so its snapshot can be
+ * replayed on restore. Written once per commit; a null state marks a deleted element.
+ */
+data class PersistedVersion(
+    val version: String,
+    val parentVersion: String?,
+    val changes: Map<String, Map<String, Any?>?>
+) {
+    fun toStates(): Map<String, ElementState?> =
+        changes.mapValues { (id, element) -> element?.let { ElementState.fromPayload(id, it) } }
+
+    companion object {
+        fun of(snapshot: ModelSnapshot) = PersistedVersion(
+            version = snapshot.version,
+            parentVersion = snapshot.parentVersion,
+            changes = snapshot.changes.mapValues { (_, state) -> state?.toElement() }
+        )
+    }
+}
+
 /**
  * File-based persistence backend for ProjectStore.
  *
@@ -58,7 +83,9 @@ data class PersistedCommit(
  * ```
  * {dataDir}/projects/{projectId}/
  * ├── project.json    # Project metadata, branch, commit list
- * └── model.kerml     # Current model state as KerML source
+ * ├── model.kerml     # Current model state as KerML source
+ * └── versions/
+ *     └── {commitId}.json  # Element states changed by each commit
  * ```
  *
  * After every mutation, [saveProject] writes the current state to disk.
@@ -110,6 +137,14 @@ class FileProjectBackend(
                 Files.writeString(path, kermlSource)
             }
 
+            // Versions are immutable: write each commit's changes once
+            val versionsDir = projectDir.resolve(VERSIONS_DIR)
+            Files.createDirectories(versionsDir)
+            for (commit in commits) {
+                if (Files.exists(versionsDir.resolve("${commit.id}.json"))) continue
+                store.getSnapshot(projectId, commit.id)?.let { saveVersion(versionsDir, it) }
+            }
+
             logger.debug { "Saved project $projectId (${commits.size} commits)" }
         } catch (e: Exception) {
             logger.error(e) { "Failed to save project $projectId" }
@@ -169,14 +204,27 @@ class FileProjectBackend(
                         )
                     }
 
+                    val versionsDir = projectDir.resolve(VERSIONS_DIR)
+                    val versions = state.commits.mapNotNull { commit ->
+                        versionsDir.resolve("${commit.id}.json").takeIf { Files.exists(it) }?.let {
+                            objectMapper.readValue<PersistedVersion>(it.toFile())
+                        }
+                    }
+
                     val success = store.restoreProject(
                         project = state.project,
                         branch = state.branch,
                         commitHistory = commitHistory,
-                        kermlSource = kermlSource
+                        kermlSource = kermlSource,
+                        versions = versions
                     )
 
                     if (success) {
+                        // The head snapshot was recaptured from the reparsed model; later commits build on it
+                        state.branch.headCommitId?.let { store.getSnapshot(state.project.id, it) }?.let {
+                            Files.createDirectories(versionsDir)
+                            saveVersion(versionsDir, it)
+                        }
                         restored++
                         logger.info { "Restored project '${state.project.name}' (${state.project.id})" }
                     } else {
@@ -191,6 +239,12 @@ class FileProjectBackend(
         return restored
     }
 
+    private fun saveVersion(versionsDir: Path, snapshot: ModelSnapshot) {
+        writeAtomically(versionsDir.resolve("${snapshot.version}.json")) { path ->
+            objectMapper.writeValue(path.toFile(), PersistedVersion.of(snapshot))
+        }
+    }
+
     /**
      * Write a file atomically: write to a temp file, then rename.
      */
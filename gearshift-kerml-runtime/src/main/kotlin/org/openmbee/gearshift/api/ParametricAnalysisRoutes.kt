@@ -116,8 +116,7 @@ fun Route.parametricAnalysisRoutes(store: ProjectStore) {
             val commitId = call.parameters["commitId"]!!
             val request = call.receive<ParametricAnalysisRequest>()
 
-            val model = store.getModel(projectId)
-            if (model == null) {
+            if (store.getModel(projectId) == null) {
                 call.respond(
                     HttpStatusCode.NotFound,
                     ParametricAnalysisResponse(
@@ -141,7 +140,11 @@ fun Route.parametricAnalysisRoutes(store: ProjectStore) {
                 return@post
             }
 
-            val response = executeAnalysis(request, model)
+            val response = store.readModel(projectId) { executeAnalysis(request, it) }
+                ?: return@post call.respond(
+                    HttpStatusCode.NotFound,
+                    ParametricAnalysisResponse(success = false, errors = listOf("Project not found: $projectId"))
+                )
             call.respond(response)
         } catch (e: Exception) {
             call.respond(
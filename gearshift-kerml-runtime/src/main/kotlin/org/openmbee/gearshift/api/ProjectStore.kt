@@ -19,9 +19,12 @@ import io.github.oshai.kotlinlogging.KotlinLogging
 import org.openmbee.mdm.framework.runtime.BranchData
 import org.openmbee.mdm.framework.runtime.CommitData
 import org.openmbee.mdm.framework.runtime.DataVersionData
-import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.ElementChangeTracker
+import org.openmbee.mdm.framework.runtime.ElementState
+import org.openmbee.mdm.framework.runtime.ModelSnapshot
 import org.openmbee.mdm.framework.runtime.MountableEngine
 import org.openmbee.mdm.framework.runtime.ProjectMetadata
+import org.openmbee.mdm.framework.runtime.VersionedElementStore
 import org.openmbee.gearshift.kerml.KerMLModel
 import java.util.UUID
 import java.util.concurrent.ConcurrentHashMap
@@ -44,9 +47,15 @@ data class ElementMutationResult(
  * - A default "main" branch
  * - A commit history
  * - A live materialized KerMLModel (the current state)
+ * - A [VersionedElementStore] holding an immutable snapshot of the element states of every commit
  *
  * On project creation, an initial empty commit and "main" branch are auto-created.
- * On commit creation, KerML text is parsed and element state is snapshotted.
+ * On commit creation, KerML text is parsed and the elements that changed since the previous
+ * commit are recorded, both as the commit's DataVersions and as its snapshot.
+ *
+ * Concurrency: each project's engine [lock][org.openmbee.mdm.framework.runtime.EngineLock] serializes
+ * its mutations (commits and element edits are applied one at a time, in arrival order) while reads of
+ * the project — through [readModel] — run concurrently. Readers never observe a half-applied commit.
  */
 class ProjectStore(
     private val enableMounts: Boolean = false,
@@ -63,6 +72,9 @@ class ProjectStore(
     private val projectDefaultBranch = ConcurrentHashMap<String, String>()
     // Tracks the current KerML source text per project for persistence
     private val projectKermlSource = ConcurrentHashMap<String, String>()
+    // Per-commit element snapshots, and the elements changed since the last commit, per project
+    private val projectHistories = ConcurrentHashMap<String, VersionedElementStore>()
+    private val projectChangeTrackers = ConcurrentHashMap<String, ElementChangeTracker>()
 
     // === Project CRUD ===
 
@@ -75,6 +87,10 @@ class ProjectStore(
         )
         projects[projectId] = project
 
+        // Create a live KerMLModel for this project
+        val model = createModel(projectId, name, description)
+        projectModels[projectId] = model
+
         // Create initial empty commit
         val commitId = UUID.randomUUID().toString()
         val commit = CommitData(
@@ -96,9 +112,8 @@ class ProjectStore(
         branches[branchId] = branch
         projectDefaultBranch[projectId] = branchId
 
-        // Create a live KerMLModel for this project
-        val model = createModel(projectId, name, description)
-        projectModels[projectId] = model
+        // The initial snapshot holds the model root; the commit itself records no changes
+        recordSnapshot(projectId, model, commitId, null)
 
         backend?.saveProject(projectId, this)
         return project
@@ -126,6 +141,8 @@ class ProjectStore(
         projectDefaultBranch.remove(projectId)
         projectModels.remove(projectId)
         projectKermlSource.remove(projectId)
+        projectHistories.remove(projectId)
+        projectChangeTrackers.remove(projectId)
         backend?.deleteProject(projectId)
         return true
     }
@@ -143,12 +160,15 @@ class ProjectStore(
 
     fun getCommitsForProject(projectId: String): List<CommitData> {
         val commitIds = projectCommits[projectId] ?: return emptyList()
-        return commitIds.mapNotNull { commits[it] }
+        return readModel(projectId) { commitIds.mapNotNull { commits[it] } } ?: emptyList()
     }
 
     /**
      * Create a new commit with KerML text payload.
      * Parses the KerML, updates the live model, and snapshots element state as DataVersions.
+     *
+     * Top-level members whose text is unchanged since the previous commit keep their elements,
+     * so a commit that edits one package rebuilds only that package.
      */
     fun createCommitWithKerML(
         projectId: String,
@@ -156,45 +176,32 @@ class ProjectStore(
         kermlText: String
     ): CommitData? {
         projects[projectId] ?: return null
-        val model = projectModels[projectId] ?: return null
+        return writeModel(projectId) { model ->
+            applyKerMLCommit(projectId, model, description, kermlText)
+        }
+    }
+
+    private fun applyKerMLCommit(
+        projectId: String,
+        model: KerMLModel,
+        description: String?,
+        kermlText: String
+    ): CommitData? {
         val branch = getDefaultBranch(projectId) ?: return null
         val previousCommitId = branch.headCommitId
 
-        // Reset and parse — kermlText becomes the authoritative source
-        model.reset()
-        model.modelRoot.setProperty("declaredName", "model")
-        model.parseString(kermlText)
-        projectKermlSource[projectId] = kermlText
-
-        // Snapshot current element state as DataVersions
-        val elements = model.engine.getAllElements()
-        val changes = elements.mapNotNull { element ->
-            val elementId = element.id ?: return@mapNotNull null
-            DataVersionData(
-                id = UUID.randomUUID().toString(),
-                identityId = elementId,
-                payload = element.getAllProperties() + mapOf(
-                    "@type" to element.className
-                )
-            )
+        // kermlText becomes the authoritative source; only its changed top-level members are rebuilt
+        val reparse = model.reparse(kermlText)
+        if (reparse.fullRebuild) {
+            // Resetting the engine fires no deletion events, so compare every element
+            projectChangeTrackers[projectId]?.requestFullCapture()
         }
+        projectKermlSource[projectId] = kermlText
 
+        // Record the elements that differ from the previous commit
         val commitId = UUID.randomUUID().toString()
-        val commit = CommitData(
-            id = commitId,
-            description = description,
-            owningProject = projectId,
-            previousCommit = listOfNotNull(previousCommitId),
-            changes = changes
-        )
-        commits[commitId] = commit
-        projectCommits.getOrPut(projectId) { mutableListOf() }.add(commitId)
-
-        // Update branch head
-        branches[branch.id] = branch.copy(headCommitId = commitId)
-
-        backend?.saveProject(projectId, this)
-        return commit
+        val changes = recordSnapshot(projectId, model, commitId, previousCommitId)
+        return createCommitInternal(projectId, branch, description, changes, commitId)
     }
 
     /**
@@ -206,51 +213,147 @@ class ProjectStore(
         changes: List<DataVersionData>
     ): CommitData? {
         projects[projectId] ?: return null
-        val branch = getDefaultBranch(projectId) ?: return null
-        val previousCommitId = branch.headCommitId
+        return writeModel(projectId) {
+            val branch = getDefaultBranch(projectId) ?: return@writeModel null
+            val commitId = UUID.randomUUID().toString()
+            // The changes are not applied to the live model; the snapshot records them as given
+            projectHistories[projectId]?.let { history ->
+                val parent = branch.headCommitId?.let(history::snapshot)
+                history.commit(commitId, parent?.version, payloadStates(changes, parent))
+            }
+            createCommitInternal(projectId, branch, description, changes, commitId)
+        }
+    }
 
-        val commitId = UUID.randomUUID().toString()
-        val commit = CommitData(
-            id = commitId,
-            description = description,
-            owningProject = projectId,
-            previousCommit = listOfNotNull(previousCommitId),
-            changes = changes
-        )
-        commits[commitId] = commit
-        projectCommits.getOrPut(projectId) { mutableListOf() }.add(commitId)
+    // === Model Access ===
 
-        // Update branch head
-        branches[branch.id] = branch.copy(headCommitId = commitId)
+    /**
+     * The project's live model. Callers that may run concurrently with mutations should
+     * access it through [readModel] instead.
+     */
+    fun getModel(projectId: String): KerMLModel? = projectModels[projectId]
 
-        backend?.saveProject(projectId, this)
-        return commit
+    /**
+     * Run [block] against the project's live model under the read lock of its engine.
+     * Reads of the same project proceed in parallel and wait only while a mutation is applied.
+     * Build the response inside [block]: elements must not be read after it returns, and it must not suspend.
+     *
+     * @return the result of [block], or null if the project does not exist
+     */
+    fun <T> readModel(projectId: String, block: (KerMLModel) -> T): T? {
+        val model = projectModels[projectId] ?: return null
+        return model.engine.lock.read { block(model) }
     }
 
-    // === Model Access ===
+    /**
+     * Read rows from the project's live model a page at a time, under the read lock of its engine
+     * only while each page is pulled (see [org.openmbee.mdm.framework.runtime.EngineLock.readPages]).
+     * Use this instead of [readModel] when the rows go to a consumer that may be slow, so that
+     * commits to the project do not wait for it.
+     *
+     * @param open Runs under the read lock and returns the rows; it must not keep live elements
+     *   beyond the rows it produces
+     * @return The pages, or null if the project does not exist; pulling a page throws
+     *   [ConcurrentModificationException] once a commit has changed the model since [open] ran
+     */
+    fun <T> readModelPages(projectId: String, pageSize: Int, open: (KerMLModel) -> Iterator<T>): Iterator<List<T>>? {
+        val model = projectModels[projectId] ?: return null
+        return model.engine.lock.readPages(pageSize) { open(model) }
+    }
 
-    fun getModel(projectId: String): KerMLModel? = projectModels[projectId]
+    /**
+     * Apply a mutation to the project's live model as its single writer.
+     * Mutations of one project run one at a time, in arrival order; other projects are unaffected.
+     */
+    private fun <T> writeModel(projectId: String, block: (KerMLModel) -> T): T? {
+        val model = projectModels[projectId] ?: return null
+        return model.engine.lock.write { block(model) }
+    }
 
     fun getKermlSource(projectId: String): String = projectKermlSource[projectId] ?: ""
 
     /**
-     * Get all elements at a specific commit.
-     * Returns the live model state (linear history on main branch).
+     * The element states recorded for a commit. Snapshots are immutable and can be read without
+     * locking; reading an old commit costs the same as reading the head.
+     *
+     * @return the snapshot, or null if the commit does not belong to the project or its state was
+     *   not recorded (commits made before the project was last restored from storage)
      */
-    fun getElementsAtCommit(projectId: String, commitId: String): List<MDMObject>? {
+    fun getSnapshot(projectId: String, commitId: String): ModelSnapshot? {
         val commit = commits[commitId] ?: return null
         if (commit.owningProject != projectId) return null
-        val model = projectModels[projectId] ?: return null
-        return model.engine.getAllElements()
+        return projectHistories[projectId]?.snapshot(commitId)
     }
 
-    fun getElementAtCommit(projectId: String, commitId: String, elementId: String): MDMObject? {
-        val commit = commits[commitId] ?: return null
-        if (commit.owningProject != projectId) return null
-        val model = projectModels[projectId] ?: return null
-        return model.engine.getElement(elementId)
+    /**
+     * Whether [commitId] is the head of the project's default branch, i.e. the live model is its state.
+     */
+    fun isHeadCommit(projectId: String, commitId: String): Boolean =
+        getDefaultBranch(projectId)?.headCommitId == commitId
+
+    /**
+     * The element states of a commit, read from its snapshot without touching the live model.
+     *
+     * @return the states, or null if the commit does not belong to the project or has no snapshot
+     */
+    fun getElementsAtCommit(projectId: String, commitId: String): List<ElementState>? =
+        getSnapshot(projectId, commitId)?.elements()?.toList()
+
+    /**
+     * The state of one element at a commit, or null if the commit has no snapshot or the
+     * element does not exist in it.
+     */
+    fun getElementAtCommit(projectId: String, commitId: String, elementId: String): ElementState? =
+        getSnapshot(projectId, commitId)?.get(elementId)
+
+    /**
+     * The root namespaces of a commit: namespaces in its snapshot that have no owning relationship.
+     */
+    fun getRootsAtCommit(projectId: String, commitId: String): List<ElementState>? {
+        val snapshot = getSnapshot(projectId, commitId) ?: return null
+        val schema = projectModels[projectId]?.engine?.schema ?: return null
+        return snapshot.elements().filter { state ->
+            state.values["owningRelationship"] == null &&
+                    (state.className == "Namespace" || schema.isSubclassOf(state.className, "Namespace"))
+        }.toList()
+    }
+
+    /**
+     * The elements of a commit that reference [elementId] or are referenced by it, i.e. the
+     * elements it is linked with at that commit.
+     *
+     * @return the related states, or null if the commit has no snapshot or the element does not exist in it
+     */
+    fun getRelatedElementsAtCommit(projectId: String, commitId: String, elementId: String): List<ElementState>? {
+        val snapshot = getSnapshot(projectId, commitId) ?: return null
+        val element = snapshot[elementId] ?: return null
+        val related = LinkedHashSet<String>()
+        collectReferences(element.values.values, related)
+        for (state in snapshot.elements()) {
+            if (state.id != elementId && referencesElement(state.values.values, elementId)) related += state.id
+        }
+        related -= elementId
+        return related.mapNotNull { snapshot[it] }
     }
 
+    private fun collectReferences(values: Collection<Any?>, into: MutableSet<String>) {
+        for (value in values) {
+            when (value) {
+                is Map<*, *> -> (value["@id"] as? String)?.let(into::add)
+                is Collection<*> -> collectReferences(value, into)
+            }
+        }
+    }
+
+    private fun referencesElement(values: Collection<Any?>, elementId: String): Boolean =
+        values.any { value ->
+            when (value) {
+                is Map<*, *> -> value["@id"] == elementId
+                is Collection<*> -> referencesElement(value, elementId)
+                else -> false
+            }
+        }
+
     // === Element Mutations ===
 
     /**
@@ -259,7 +362,10 @@ class ProjectStore(
      */
     fun addElementsFromKerML(projectId: String, kermlText: String): ElementMutationResult? {
         projects[projectId] ?: return null
-        val model = projectModels[projectId] ?: return null
+        return writeModel(projectId) { model -> applyKerMLFragment(projectId, model, kermlText) }
+    }
+
+    private fun applyKerMLFragment(projectId: String, model: KerMLModel, kermlText: String): ElementMutationResult? {
         val branch = getDefaultBranch(projectId) ?: return null
 
         // Snapshot existing element IDs before parsing
@@ -283,18 +389,12 @@ class ProjectStore(
             logger.debug { "KerML fragment parsed but no new elements were created" }
         }
 
-        // Snapshot newly created elements as DataVersions
-        val changes = newIds.mapNotNull { id ->
-            val element = model.engine.getElement(id) ?: return@mapNotNull null
-            DataVersionData(
-                id = UUID.randomUUID().toString(),
-                identityId = id,
-                payload = element.getAllProperties() + mapOf("@type" to element.className)
-            )
-        }
+        // Record the new elements and the existing ones they were linked to
+        val commitId = UUID.randomUUID().toString()
+        val changes = recordSnapshot(projectId, model, commitId, branch.headCommitId)
 
         // Create commit and advance branch head
-        val commit = createCommitInternal(projectId, branch, "Add elements from KerML", changes)
+        val commit = createCommitInternal(projectId, branch, "Add elements from KerML", changes, commitId)
         return ElementMutationResult(commit, newIds.toList())
     }
 
@@ -311,7 +411,15 @@ class ProjectStore(
         properties: Map<String, Any?>
     ): ElementMutationResult? {
         projects[projectId] ?: return null
-        val model = projectModels[projectId] ?: return null
+        return writeModel(projectId) { model -> applyPropertyUpdate(projectId, model, elementId, properties) }
+    }
+
+    private fun applyPropertyUpdate(
+        projectId: String,
+        model: KerMLModel,
+        elementId: String,
+        properties: Map<String, Any?>
+    ): ElementMutationResult? {
         val branch = getDefaultBranch(projectId) ?: return null
 
         val element = model.engine.getElement(elementId)
@@ -346,16 +454,11 @@ class ProjectStore(
             model.engine.setPropertyValue(element, propName, value)
         }
 
-        // Snapshot updated element
-        val changes = listOf(
-            DataVersionData(
-                id = UUID.randomUUID().toString(),
-                identityId = elementId,
-                payload = element.getAllProperties() + mapOf("@type" to element.className)
-            )
-        )
+        // Record the updated element
+        val commitId = UUID.randomUUID().toString()
+        val changes = recordSnapshot(projectId, model, commitId, branch.headCommitId)
 
-        val commit = createCommitInternal(projectId, branch, "Update element $elementId", changes)
+        val commit = createCommitInternal(projectId, branch, "Update element $elementId", changes, commitId)
         return ElementMutationResult(commit, listOf(elementId))
     }
 
@@ -365,7 +468,10 @@ class ProjectStore(
      */
     fun deleteElement(projectId: String, elementId: String): ElementMutationResult? {
         projects[projectId] ?: return null
-        val model = projectModels[projectId] ?: return null
+        return writeModel(projectId) { model -> applyDeletion(projectId, model, elementId) }
+    }
+
+    private fun applyDeletion(projectId: String, model: KerMLModel, elementId: String): ElementMutationResult? {
         val branch = getDefaultBranch(projectId) ?: return null
 
         model.engine.getElement(elementId)
@@ -374,16 +480,11 @@ class ProjectStore(
         // Cascade delete — removes element + composite children
         val deletedIds = model.engine.deleteInstanceWithCascade(elementId)
 
-        // Record deletions as DataVersions with null payload (tombstones)
-        val changes = deletedIds.map { id ->
-            DataVersionData(
-                id = UUID.randomUUID().toString(),
-                identityId = id,
-                payload = null
-            )
-        }
+        // Record deletions as DataVersions with null payload (tombstones), plus the elements that lost links
+        val commitId = UUID.randomUUID().toString()
+        val changes = recordSnapshot(projectId, model, commitId, branch.headCommitId)
 
-        val commit = createCommitInternal(projectId, branch, "Delete element $elementId", changes)
+        val commit = createCommitInternal(projectId, branch, "Delete element $elementId", changes, commitId)
         return ElementMutationResult(commit, deletedIds)
     }
 
@@ -402,10 +503,10 @@ class ProjectStore(
     private fun createCommitInternal(
         projectId: String,
         branch: BranchData,
-        description: String,
-        changes: List<DataVersionData>
+        description: String?,
+        changes: List<DataVersionData>,
+        commitId: String = UUID.randomUUID().toString()
     ): CommitData {
-        val commitId = UUID.randomUUID().toString()
         val commit = CommitData(
             id = commitId,
             description = description,
@@ -420,6 +521,33 @@ class ProjectStore(
         return commit
     }
 
+    /**
+     * Record the elements changed since [parentCommitId] as the snapshot of [commitId].
+     *
+     * @return the changes as DataVersions (null payload for deleted elements)
+     */
+    private fun recordSnapshot(
+        projectId: String,
+        model: KerMLModel,
+        commitId: String,
+        parentCommitId: String?
+    ): List<DataVersionData> {
+        val history = projectHistories.getOrPut(projectId) { VersionedElementStore() }
+        val tracker = projectChangeTrackers.getOrPut(projectId) {
+            ElementChangeTracker().also { model.engine.registerLifecycleHandler(it) }
+        }
+        val parent = parentCommitId?.let(history::snapshot)
+        val changes = tracker.takeChanges(model.engine, parent)
+        history.commit(commitId, parent?.version, changes)
+        return changes.map { (id, state) ->
+            DataVersionData(
+                id = UUID.randomUUID().toString(),
+                identityId = id,
+                payload = state?.toPayload()
+            )
+        }
+    }
+
     private fun validatePropertyValue(metaProp: org.openmbee.mdm.framework.meta.MetaProperty, value: Any?) {
         if (value == null) return // null is always allowed (clears the property)
         when (metaProp.type) {
@@ -445,13 +573,15 @@ class ProjectStore(
      * Called by [FileProjectBackend.loadAll] during startup.
      *
      * Creates a fresh KerMLModel and parses the stored KerML source
-     * to reconstruct the live model state.
+     * to reconstruct the live model state. The snapshots of earlier commits are replayed from
+     * [versions]; commits without a recorded version keep no snapshot.
      */
     fun restoreProject(
         project: ProjectMetadata,
         branch: BranchData,
         commitHistory: List<CommitData>,
-        kermlSource: String
+        kermlSource: String,
+        versions: List<PersistedVersion> = emptyList()
     ): Boolean {
         return try {
             // Create a fresh model and parse the stored KerML source
@@ -481,6 +611,19 @@ class ProjectStore(
             }
             projectCommits[project.id] = commitIds
 
+            val history = VersionedElementStore()
+            projectHistories[project.id] = history
+            val recorded = versions.associateBy { it.version }
+            for (commit in commitHistory) {
+                if (commit.id == branch.headCommitId) continue
+                val version = recorded[commit.id] ?: continue
+                // A version whose parent could not be replayed cannot be rebuilt either
+                if (version.parentVersion != null && version.parentVersion !in history) continue
+                history.commit(version.version, version.parentVersion, version.toStates())
+            }
+            // The head is captured from the reparsed live model, so its snapshot matches the live element IDs
+            branch.headCommitId?.let { recordSnapshot(project.id, model, it, null) }
+
             true
         } catch (e: Exception) {
             logger.error(e) { "Failed to restore project '${project.name}'" }
@@ -488,6 +631,13 @@ class ProjectStore(
         }
     }
 
+    private fun payloadStates(changes: List<DataVersionData>, parent: ModelSnapshot?): Map<String, ElementState?> =
+        changes.associate { change ->
+            change.identityId to change.payload?.let {
+                ElementState.fromPayload(change.identityId, it, parent?.get(change.identityId))
+            }
+        }
+
     private fun createModel(
         projectId: String,
         name: String,
@@ -16,14 +16,19 @@
 package org.openmbee.gearshift.api
 
 import com.fasterxml.jackson.annotation.JsonInclude
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.registerKotlinModule
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.ktor.http.*
 import io.ktor.server.application.*
 import io.ktor.server.request.*
 import io.ktor.server.response.*
 import io.ktor.server.routing.*
+import org.openmbee.mdm.framework.query.gql.GqlQueryExecutor
+import org.openmbee.mdm.framework.query.gql.PreparedGqlStatement
+import org.openmbee.mdm.framework.query.gql.executor.BindingStream
+import org.openmbee.mdm.framework.query.gql.executor.PlanOperator
 import org.openmbee.mdm.framework.query.gql.parser.GqlParseException
-import org.openmbee.mdm.framework.query.gql.query
 import org.openmbee.mdm.framework.runtime.ElementSerializer
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.runtime.MDMObject
@@ -37,7 +42,9 @@ private val logger = KotlinLogging.logger {}
 
 data class QueryRequest(
     val gql: String,
-    val includeLibrary: Boolean = false
+    val includeLibrary: Boolean = false,
+    /** Values of the query's `$name` parameters */
+    val parameters: Map<String, Any?> = emptyMap()
 )
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -46,7 +53,9 @@ data class QueryResponse(
     val columns: List<String> = emptyList(),
     val rows: List<Map<String, Any?>> = emptyList(),
     val rowCount: Int = 0,
-    val errors: List<String> = emptyList()
+    val errors: List<String> = emptyList(),
+    /** Operators of the query plan; only for EXPLAIN and PROFILE queries */
+    val plan: List<PlanOperator>? = null
 )
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -276,7 +285,8 @@ private fun errorResponse(description: String): Map<String, Any> = mapOf(
  * Install query and generate routes scoped to a project.
  *
  * Endpoints:
- * - POST /projects/{projectId}/query/gql
+ * - POST /projects/{projectId}/query/gql (prefix the query with EXPLAIN or PROFILE to get its plan;
+ *   send `Accept: application/x-ndjson` to stream the rows; bind `$name` parameters with `parameters`)
  * - GET  /projects/{projectId}/query/traverse/{elementId}?depth=&detail=&recurse=&types=
  * - GET  /projects/{projectId}/generate
  */
@@ -288,55 +298,34 @@ fun Route.projectQueryRoutes(store: ProjectStore) {
 
             post("/gql") {
                 val projectId = call.parameters["projectId"]!!
-                val model = store.getModel(projectId)
-                if (model == null) {
+                if (store.getModel(projectId) == null) {
                     call.respond(HttpStatusCode.NotFound, errorResponse("Project not found: $projectId"))
                     return@post
                 }
 
                 try {
                     val request = call.receive<QueryRequest>()
-                    val engine = model.engine
-
-                    if (engine.getAllElements().isEmpty()) {
+                    val (keyword, gql) = splitPlanPrefix(request.gql)
+                    val statement = GqlQueryExecutor.prepare(gql)
+                    val missing = statement.parameterNames - request.parameters.keys
+                    if (missing.isNotEmpty()) {
                         call.respond(
                             HttpStatusCode.BadRequest,
-                            QueryResponse(success = false, errors = listOf("No model loaded. Commit KerML first."))
+                            QueryResponse(
+                                success = false,
+                                errors = listOf("Missing query parameters: ${missing.joinToString(", ") { "\$$it" }}")
+                            )
                         )
                         return@post
                     }
-
-                    val result = engine.query(request.gql)
-
-                    val mountableEngine = engine as? MountableEngine
-                    val filteredRows = if (!request.includeLibrary && mountableEngine != null) {
-                        val localIds = mountableEngine.getLocalElements().mapNotNull { it.id }.toSet()
-                        result.rows.filter { row ->
-                            row.values.all { value ->
-                                when (value) {
-                                    null -> true
-                                    is MDMObject -> value.id == null || value.id in localIds
-                                    is List<*> -> value.none { v -> v is MDMObject && v.id != null && v.id !in localIds }
-                                    else -> true
-                                }
-                            }
-                        }
-                    } else {
-                        result.rows
-                    }
-
-                    val formattedRows = filteredRows.map { row ->
-                        row.mapValues { (_, value) -> ModelQueryService.formatQueryValue(value) }
+                    if (call.request.accept()?.contains(ndjson.toString()) == true && keyword != "EXPLAIN") {
+                        streamGql(call, store, projectId, request, keyword, statement)
+                        return@post
                     }
-
-                    call.respond(
-                        QueryResponse(
-                            success = true,
-                            columns = result.columns,
-                            rows = formattedRows,
-                            rowCount = formattedRows.size
-                        )
-                    )
+                    val (status, response) = store.readModel(projectId) { model ->
+                        executeGql(model.engine, request, keyword, statement)
+                    } ?: return@post call.respond(HttpStatusCode.NotFound, errorResponse("Project not found: $projectId"))
+                    call.respond(status, response)
                 } catch (e: GqlParseException) {
                     call.respond(
                         HttpStatusCode.BadRequest,
@@ -353,45 +342,49 @@ fun Route.projectQueryRoutes(store: ProjectStore) {
             get("/traverse/{elementId}") {
                 val projectId = call.parameters["projectId"]!!
                 val elementId = call.parameters["elementId"]!!
-                val model = store.getModel(projectId)
-                if (model == null) {
-                    call.respond(HttpStatusCode.NotFound, errorResponse("Project not found: $projectId"))
-                    return@get
+                val params = parseTreeParams(call)
+                val tree = store.readModel(projectId) { model ->
+                    model.engine.getInstance(elementId) ?: return@readModel null
+                    val service = ModelQueryService(model.engine, ElementSerializer(model.engine))
+                    val visited = mutableSetOf<String>()
+                    service.buildTreeNode(elementId, visited, params)
                 }
-
-                val obj = model.engine.getInstance(elementId)
-                if (obj == null) {
-                    call.respond(HttpStatusCode.NotFound, errorResponse("Element not found: $elementId"))
+                if (tree == null) {
+                    val message = if (store.getModel(projectId) == null) {
+                        "Project not found: $projectId"
+                    } else {
+                        "Element not found: $elementId"
+                    }
+                    call.respond(HttpStatusCode.NotFound, errorResponse(message))
                     return@get
                 }
-
-                val params = parseTreeParams(call)
-                val service = ModelQueryService(model.engine, ElementSerializer(model.engine))
-                val visited = mutableSetOf<String>()
-                call.respond(service.buildTreeNode(elementId, visited, params))
+                call.respond(tree)
             }
         }
 
         get("/generate") {
             val projectId = call.parameters["projectId"]!!
-            val model = store.getModel(projectId)
-            if (model == null) {
+            if (store.getModel(projectId) == null) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Project not found: $projectId"))
                 return@get
             }
 
             try {
-                val rootElement = model.getRootElement()
-                if (rootElement == null || rootElement !is org.openmbee.gearshift.generated.interfaces.Namespace) {
+                val generated = store.readModel(projectId) { model ->
+                    val rootElement = model.getRootElement()
+                    if (rootElement is org.openmbee.gearshift.generated.interfaces.Namespace) {
+                        KerMLWriter().write(rootElement)
+                    } else {
+                        null
+                    }
+                }
+                if (generated == null) {
                     call.respond(
                         HttpStatusCode.BadRequest,
                         GenerateResponse(success = false, errors = listOf("No root namespace found in project"))
                     )
                     return@get
                 }
-
-                val writer = KerMLWriter()
-                val generated = writer.write(rootElement as org.openmbee.gearshift.generated.interfaces.Namespace)
                 call.respond(GenerateResponse(success = true, kerml = generated))
             } catch (e: Exception) {
                 call.respond(
@@ -402,3 +395,163 @@ fun Route.projectQueryRoutes(store: ProjectStore) {
         }
     }
 }
+
+/** Leading EXPLAIN or PROFILE keyword of a GQL request */
+private val planPrefix = Regex("""^\s*(EXPLAIN|PROFILE)\s+""", RegexOption.IGNORE_CASE)
+
+/** Content type of streamed query results: one JSON document per line */
+private val ndjson = ContentType("application", "x-ndjson")
+
+private val ndjsonObjectMapper = ObjectMapper().registerKotlinModule().apply {
+    setSerializationInclusion(JsonInclude.Include.NON_NULL)
+}
+
+/** Rows of a streamed query response produced per hold of the read lock, and written between flushes */
+private const val STREAM_PAGE_ROWS = 64
+
+private const val NO_MODEL_MESSAGE = "No model loaded. Commit KerML first."
+
+/** The upper-cased EXPLAIN/PROFILE keyword of [gql], if any, and the query that follows it */
+private fun splitPlanPrefix(gql: String): Pair<String?, String> {
+    val prefix = planPrefix.find(gql) ?: return null to gql
+    return prefix.groupValues[1].uppercase() to gql.substring(prefix.range.last + 1)
+}
+
+/**
+ * Run a prepared GQL query against [engine] and format the response. Called under the project's
+ * read lock.
+ *
+ * EXPLAIN returns the plan without executing the query; PROFILE executes it and returns the plan
+ * with actual row counts alongside the rows.
+ */
+private fun executeGql(
+    engine: MDMEngine,
+    request: QueryRequest,
+    keyword: String?,
+    statement: PreparedGqlStatement
+): Pair<HttpStatusCode, QueryResponse> {
+    if (engine.getAllElements().isEmpty()) {
+        return HttpStatusCode.BadRequest to
+            QueryResponse(success = false, errors = listOf(NO_MODEL_MESSAGE))
+    }
+
+    if (keyword == "EXPLAIN") {
+        val plan = statement.plan(engine)
+        return HttpStatusCode.OK to QueryResponse(success = true, plan = plan.operators)
+    }
+
+    val (result, plan) = if (keyword == "PROFILE") {
+        statement.profile(engine, request.parameters).let { it.results to it.plan }
+    } else {
+        statement.execute(engine, request.parameters) to null
+    }
+
+    val localIds = if (request.includeLibrary) null else localElementIds(engine)
+    val formattedRows = result.rows
+        .filter { row -> localIds == null || isLocalRow(row, localIds) }
+        .map { row -> formatRow(row) }
+
+    return HttpStatusCode.OK to QueryResponse(
+        success = true,
+        columns = result.columns,
+        rows = formattedRows,
+        rowCount = formattedRows.size,
+        plan = plan?.operators
+    )
+}
+
+/**
+ * Stream a GQL query as NDJSON: a line with the columns, one line per row, then a line with the
+ * row count (and the plan, for PROFILE). Rows are computed as they are written, so LIMIT or a
+ * client that disconnects stops the query.
+ *
+ * Rows are produced a page at a time under the project's read lock and written to the client with
+ * the lock released, so a slow client never holds up commits to the project. A commit that lands
+ * mid-stream ends the stream with an `errors` line, since the remaining rows would come from a
+ * different model state.
+ *
+ * Parse errors and missing parameters are reported before the response starts; errors while
+ * streaming end the stream with an `errors` line.
+ */
+private suspend fun streamGql(
+    call: ApplicationCall,
+    store: ProjectStore,
+    projectId: String,
+    request: QueryRequest,
+    keyword: String?,
+    statement: PreparedGqlStatement
+) {
+    when (store.readModel(projectId) { it.engine.getAllElements().isEmpty() }) {
+        null -> return call.respond(HttpStatusCode.NotFound, errorResponse("Project not found: $projectId"))
+        true -> return call.respond(
+            HttpStatusCode.BadRequest,
+            QueryResponse(success = false, errors = listOf(NO_MODEL_MESSAGE))
+        )
+        false -> {}
+    }
+
+    call.respondTextWriter(contentType = ndjson) {
+        fun writeLine(value: Any) {
+            write(ndjsonObjectMapper.writeValueAsString(value))
+            write("\n")
+        }
+
+        try {
+            var results: BindingStream? = null
+            // Rows are formatted while the lock is held, so that no page refers to live elements
+            val pages = store.readModelPages(projectId, STREAM_PAGE_ROWS) { model ->
+                // PROFILE runs a plan of its own, so that its row counts are this query's
+                val stream = if (keyword == "PROFILE") {
+                    GqlQueryExecutor.stream(statement.query, model.engine, request.parameters)
+                } else {
+                    statement.stream(model.engine, request.parameters)
+                }
+                results = stream
+                val localIds = if (request.includeLibrary) null else localElementIds(model.engine)
+                stream.asSequence()
+                    .filter { row -> localIds == null || isLocalRow(row, localIds) }
+                    .map { row -> formatRow(row) }
+                    .iterator()
+            } ?: throw IllegalStateException("Project not found: $projectId")
+
+            // Pulling a page takes the read lock; writing and flushing it do not
+            var page = if (pages.hasNext()) pages.next() else emptyList()
+            // The first pull opened the results, so their columns are known
+            writeLine(mapOf("columns" to results!!.columns))
+            var rowCount = 0
+            while (page.isNotEmpty()) {
+                page.forEach(::writeLine)
+                rowCount += page.size
+                flush()
+                page = if (pages.hasNext()) pages.next() else emptyList()
+            }
+            writeLine(buildMap {
+                put("rowCount", rowCount)
+                if (keyword == "PROFILE") put("plan", results!!.plan.operators)
+            })
+        } catch (e: java.io.IOException) {
+            throw e
+        } catch (e: ConcurrentModificationException) {
+            writeLine(mapOf("errors" to listOf("The model changed while the results were streamed; run the query again")))
+        } catch (e: Exception) {
+            writeLine(mapOf("errors" to listOf(e.message ?: "Unknown error")))
+        }
+    }
+}
+
+/** IDs of the project's own elements, or null when [engine] has no mounted libraries to exclude */
+private fun localElementIds(engine: MDMEngine): Set<String>? =
+    (engine as? MountableEngine)?.getLocalElements()?.mapNotNullTo(HashSet()) { it.id }
+
+private fun isLocalRow(row: Map<String, Any?>, localIds: Set<String>): Boolean =
+    row.values.all { value ->
+        when (value) {
+            null -> true
+            is MDMObject -> value.id == null || value.id in localIds
+            is List<*> -> value.none { v -> v is MDMObject && v.id != null && v.id !in localIds }
+            else -> true
+        }
+    }
+
+private fun formatRow(row: Map<String, Any?>): Map<String, Any?> =
+    row.mapValues { (_, value) -> ModelQueryService.formatQueryValue(value) }
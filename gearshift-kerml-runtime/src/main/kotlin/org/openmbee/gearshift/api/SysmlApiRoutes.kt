@@ -25,7 +25,6 @@ import org.openmbee.mdm.framework.runtime.CommitData
 import org.openmbee.mdm.framework.runtime.DataVersionData
 import org.openmbee.mdm.framework.runtime.ElementSerializer
 import org.openmbee.mdm.framework.runtime.MountableEngine
-import org.openmbee.mdm.framework.runtime.SerializationMode
 import org.openmbee.mdm.framework.runtime.ProjectMetadata
 import java.util.UUID
 
@@ -259,6 +258,8 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
 
     route("/projects/{projectId}/commits/{commitId}") {
 
+        // Every commit, the head included, is served from its immutable snapshot, never from the live model
+
         get("/elements") {
             val projectId = call.parameters["projectId"]!!
             val commitId = call.parameters["commitId"]!!
@@ -268,16 +269,7 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Project or commit not found"))
                 return@get
             }
-
-            val model = store.getModel(projectId) ?: run {
-                call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
-                return@get
-            }
-
-            // Filter to local elements only (exclude mounted library elements)
-            val localElements = filterLocalElements(model, elements)
-            val serializer = ElementSerializer(model.engine)
-            call.respond(serializer.serializeAll(localElements, SerializationMode.SUMMARY))
+            call.respond(elements.map { it.toElement() })
         }
 
         get("/elements/{elementId}") {
@@ -290,34 +282,19 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Element not found: $elementId"))
                 return@get
             }
-
-            val model = store.getModel(projectId) ?: run {
-                call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
-                return@get
-            }
-
-            val serializer = ElementSerializer(model.engine)
-            call.respond(serializer.serialize(element))
+            call.respond(element.toElement())
         }
 
         get("/roots") {
             val projectId = call.parameters["projectId"]!!
             val commitId = call.parameters["commitId"]!!
 
-            val elements = store.getElementsAtCommit(projectId, commitId)
-            if (elements == null) {
+            val roots = store.getRootsAtCommit(projectId, commitId)
+            if (roots == null) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Project or commit not found"))
                 return@get
             }
-
-            val model = store.getModel(projectId) ?: run {
-                call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
-                return@get
-            }
-
-            val rootNamespaces = model.engine.getRootNamespaces()
-            val serializer = ElementSerializer(model.engine)
-            call.respond(serializer.serializeAll(rootNamespaces, SerializationMode.SUMMARY))
+            call.respond(roots.map { it.toElement() })
         }
 
         // === Relationship endpoint ===
@@ -327,32 +304,12 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
             val commitId = call.parameters["commitId"]!!
             val relatedElementId = call.parameters["relatedElementId"]!!
 
-            val element = store.getElementAtCommit(projectId, commitId, relatedElementId)
-            if (element == null) {
+            val relationships = store.getRelatedElementsAtCommit(projectId, commitId, relatedElementId)
+            if (relationships == null) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Element not found: $relatedElementId"))
                 return@get
             }
-
-            val model = store.getModel(projectId) ?: run {
-                call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
-                return@get
-            }
-
-            // Get all links for this element and serialize the relationship elements
-            val links = model.engine.getLinks(relatedElementId)
-            val serializer = ElementSerializer(model.engine)
-            val relationships = links.mapNotNull { link ->
-                // Find the relationship element itself (the Membership/Relationship object)
-                // For KerML, relationships are first-class elements
-                val relElement = if (link.sourceId == relatedElementId) {
-                    model.engine.getElement(link.targetId)
-                } else {
-                    model.engine.getElement(link.sourceId)
-                }
-                relElement?.let { serializer.serialize(it) }
-            }.distinctBy { it["@id"] }
-
-            call.respond(relationships)
+            call.respond(relationships.map { it.toElement() })
         }
 
         // === Qualified Name Resolution ===
@@ -362,45 +319,42 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
             val qualifiedName = call.request.queryParameters["qualifiedName"]
                 ?: return@get call.respond(HttpStatusCode.BadRequest, errorResponse("qualifiedName parameter required"))
 
-            val model = store.getModel(projectId) ?: run {
+            val resolution = store.readModel(projectId) { model ->
+                val index = model.engine.qualifiedNameIndex
+                    ?: return@readModel HttpStatusCode.ServiceUnavailable to errorResponse("QN index not built")
+                val elementId = index.resolveQualifiedName(qualifiedName)
+                    ?: return@readModel HttpStatusCode.NotFound to errorResponse("No element with qualifiedName: $qualifiedName")
+                val element = model.engine.getElement(elementId)
+                    ?: return@readModel HttpStatusCode.NotFound to errorResponse("Element not found: $elementId")
+                HttpStatusCode.OK to ElementSerializer(model.engine).serialize(element)
+            }
+            if (resolution == null) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
                 return@get
             }
-
-            val index = model.engine.qualifiedNameIndex
-                ?: return@get call.respond(HttpStatusCode.ServiceUnavailable, errorResponse("QN index not built"))
-
-            val elementId = index.resolveQualifiedName(qualifiedName)
-                ?: return@get call.respond(HttpStatusCode.NotFound, errorResponse("No element with qualifiedName: $qualifiedName"))
-
-            val element = model.engine.getElement(elementId)
-                ?: return@get call.respond(HttpStatusCode.NotFound, errorResponse("Element not found: $elementId"))
-
-            val serializer = ElementSerializer(model.engine)
-            call.respond(serializer.serialize(element))
+            call.respond(resolution.first, resolution.second)
         }
 
         post("/elements/resolve") {
             val projectId = call.parameters["projectId"]!!
 
-            val model = store.getModel(projectId) ?: run {
+            if (store.getModel(projectId) == null) {
                 call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
                 return@post
             }
 
-            val index = model.engine.qualifiedNameIndex
-                ?: return@post call.respond(HttpStatusCode.ServiceUnavailable, errorResponse("QN index not built"))
-
             val request = call.receive<ResolveQualifiedNamesRequest>()
-            val serializer = ElementSerializer(model.engine)
-
-            val results = request.qualifiedNames.mapNotNull { qn ->
-                index.resolveQualifiedName(qn)?.let { id ->
-                    model.engine.getElement(id)?.let { element ->
-                        serializer.serialize(element)
+            val results = store.readModel(projectId) { model ->
+                val index = model.engine.qualifiedNameIndex ?: return@readModel null
+                val serializer = ElementSerializer(model.engine)
+                request.qualifiedNames.mapNotNull { qn ->
+                    index.resolveQualifiedName(qn)?.let { id ->
+                        model.engine.getElement(id)?.let { element ->
+                            serializer.serialize(element)
+                        }
                     }
                 }
-            }
+            } ?: return@post call.respond(HttpStatusCode.ServiceUnavailable, errorResponse("QN index not built"))
             call.respond(results)
         }
     }
@@ -430,11 +384,12 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
                     return@post
                 }
 
-                val model = store.getModel(projectId)!!
-                val serializer = ElementSerializer(model.engine)
-                val newElements = result.elementIds.mapNotNull { id ->
-                    model.engine.getElement(id)?.let { serializer.serialize(it) }
-                }
+                val newElements = store.readModel(projectId) { model ->
+                    val serializer = ElementSerializer(model.engine)
+                    result.elementIds.mapNotNull { id ->
+                        model.engine.getElement(id)?.let { serializer.serialize(it) }
+                    }
+                } ?: emptyList()
 
                 call.respond(HttpStatusCode.Created, mapOf(
                     "commit" to result.commit.toApiResponse(),
@@ -465,13 +420,13 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
                     return@patch
                 }
 
-                val model = store.getModel(projectId)!!
-                val serializer = ElementSerializer(model.engine)
-                val element = model.engine.getElement(elementId)!!
+                val element = store.readModel(projectId) { model ->
+                    model.engine.getElement(elementId)?.let { ElementSerializer(model.engine).serialize(it) }
+                }
 
                 call.respond(mapOf(
                     "commit" to result.commit.toApiResponse(),
-                    "element" to serializer.serialize(element)
+                    "element" to element
                 ))
             } catch (e: NoSuchElementException) {
                 call.respond(HttpStatusCode.NotFound, errorResponse(e.message ?: "Element not found"))
@@ -518,22 +473,23 @@ fun Route.sysmlApiRoutes(store: ProjectStore) {
             return@get
         }
 
-        val model = store.getModel(projectId) ?: run {
+        val exportData = store.readModel(projectId) { model ->
+            val branch = store.getDefaultBranch(projectId)
+            val commits = store.getCommitsForProject(projectId)
+            val localElements = filterLocalElements(model, model.engine.getAllElements())
+            val serializer = ElementSerializer(model.engine)
+
+            linkedMapOf<String, Any?>(
+                "project" to project.toApiResponse(branch),
+                "commits" to commits.map { it.toApiResponse() },
+                "elements" to serializer.serializeAll(localElements)
+            )
+        }
+        if (exportData == null) {
             call.respond(HttpStatusCode.NotFound, errorResponse("Model not found"))
             return@get
         }
 
-        val branch = store.getDefaultBranch(projectId)
-        val commits = store.getCommitsForProject(projectId)
-        val localElements = filterLocalElements(model, model.engine.getAllElements())
-        val serializer = ElementSerializer(model.engine)
-
-        val exportData = linkedMapOf<String, Any?>(
-            "project" to project.toApiResponse(branch),
-            "commits" to commits.map { it.toApiResponse() },
-            "elements" to serializer.serializeAll(localElements)
-        )
-
         call.respond(exportData)
     }
 
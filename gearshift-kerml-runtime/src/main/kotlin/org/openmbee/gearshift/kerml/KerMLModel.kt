@@ -17,20 +17,24 @@ package org.openmbee.gearshift.kerml
 
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.antlr.v4.runtime.CharStreams
-import org.antlr.v4.runtime.CommonTokenStream
+import org.openmbee.gearshift.generated.KerMLCompiledOcl
 import org.openmbee.gearshift.generated.KerMLElementFactory
 import org.openmbee.gearshift.generated.interfaces.Element
 import org.openmbee.gearshift.generated.interfaces.Feature
 import org.openmbee.gearshift.generated.interfaces.ModelElement
 import org.openmbee.gearshift.generated.interfaces.Namespace
-import org.openmbee.gearshift.kerml.antlr.KerMLLexer
 import org.openmbee.gearshift.kerml.antlr.KerMLParser
 import org.openmbee.gearshift.kerml.index.IndexReconciler
 import org.openmbee.gearshift.kerml.index.ModelIndex
+import org.openmbee.gearshift.kerml.index.NamespaceParentIndex
 import org.openmbee.gearshift.kerml.parser.KerMLErrorListener
 import org.openmbee.gearshift.kerml.parser.KerMLParseError
 import org.openmbee.gearshift.kerml.parser.KermlParseContext
+import org.openmbee.gearshift.kerml.parser.SourceBlock
+import org.openmbee.gearshift.kerml.parser.SourceBlocks
+import org.openmbee.gearshift.kerml.parser.TwoStageParser
 import org.openmbee.gearshift.kerml.parser.visitors.TypedVisitorFactory
+import org.openmbee.gearshift.kerml.parser.visitors.base.PendingReference
 import org.openmbee.gearshift.kerml.parser.visitors.base.ReferenceCollector
 import org.openmbee.gearshift.kerml.parser.visitors.base.ReferenceResolver
 import org.openmbee.gearshift.settings.GearshiftSettings
@@ -49,6 +53,21 @@ data class KerMLParseResult(
     val errors: List<KerMLParseError> = emptyList()
 )
 
+/**
+ * Result of [KerMLModel.reparse].
+ *
+ * @property parseResult The outcome of parsing the new source
+ * @property fullRebuild Whether the model was reset and rebuilt from the whole source
+ * @property parsedMembers Number of top-level members parsed and built
+ * @property keptMembers Number of top-level members kept unchanged from the previous source
+ */
+data class KerMLReparseResult(
+    val parseResult: KerMLParseResult,
+    val fullRebuild: Boolean,
+    val parsedMembers: Int,
+    val keptMembers: Int
+)
+
 /**
  * KerML model container with parsing and typed element access.
  *
@@ -103,6 +122,19 @@ class KerMLModel(
      */
     private val semanticHandler = KerMLSemanticHandler(engine)
 
+    /**
+     * Owning-namespace pointers used by reference resolution, kept current through lifecycle events.
+     */
+    private val namespaceParents = NamespaceParentIndex(engine)
+
+    /**
+     * The top-level members built by the last [reparse], or null once the model has been changed
+     * by anything else.
+     */
+    private var reparseState: ReparseState? = null
+
+    private val reparseTracker = ReparseTracker()
+
     /**
      * The model root as a typed Namespace.
      */
@@ -112,7 +144,10 @@ class KerMLModel(
     init {
         // Set the root namespace name to "model" by default
         // This provides a namespace for resolveGlobal operations
-        modelRoot.setProperty("declaredName", "model")
+        engine.setPropertyValue(modelRoot, "declaredName", "model")
+
+        engine.registerLifecycleHandler(namespaceParents)
+        engine.registerLifecycleHandler(reparseTracker)
 
         // Register the KerML semantic handler for lifecycle events
         // (only if implied relationships are enabled)
@@ -145,6 +180,7 @@ class KerMLModel(
             val schema = MetamodelRegistry()
             KerMLMetamodelLoader.initialize(schema)
             ViewsExtensionLoader.initialize(schema)
+            KerMLCompiledOcl.register(schema)
             schema.buildIndexes()
             val factory = KerMLElementFactory()
             val engine = MDMEngine(schema, factory)
@@ -163,6 +199,7 @@ class KerMLModel(
             val schema = MetamodelRegistry()
             KerMLMetamodelLoader.initialize(schema)
             ViewsExtensionLoader.initialize(schema)
+            KerMLCompiledOcl.register(schema)
             schema.buildIndexes()
             val factory = KerMLElementFactory()
             val engine = MountableEngine(schema, factory)
@@ -193,6 +230,69 @@ class KerMLModel(
                 return null
             }
 
+            // Prefer the prebuilt image; it is ignored if the sources have changed since it was built
+            val restored = restoreKernelLibraryImage(libraryPath)
+            val libraryEngine = restored ?: parseKernelLibrary(libraryPath) ?: return null
+            if (restored != null) {
+                // Restoring skips parsing, so warm the parser off the startup path instead
+                warmUpParserInBackground(libraryPath)
+            }
+
+            // Register as implicit mount
+            val mount = MountRegistry.register(
+                id = KERNEL_LIBRARY_MOUNT_ID,
+                name = "KerML Kernel Semantic Library",
+                engine = libraryEngine,
+                priority = StandardMount.IMPLICIT_LIBRARY_PRIORITY,
+                isImplicit = true
+            )
+
+            logger.info { "Registered kernel library mount with ${libraryEngine.elementCount()} elements" }
+            return mount
+        }
+
+        /**
+         * Load the kernel library into a fresh engine: restored from the classpath image when it was
+         * built from sources with [expectedSourceHash], parsed from the sources otherwise.
+         *
+         * @return The library engine, or null if the library could not be loaded
+         */
+        internal fun loadKernelLibraryEngine(
+            libraryPath: Path? = null,
+            expectedSourceHash: String = KerMLSemanticLibraryLoader.computeSourceHash(libraryPath)
+        ): MDMEngine? = restoreKernelLibraryImage(libraryPath, expectedSourceHash) ?: parseKernelLibrary(libraryPath)
+
+        /**
+         * Restore the kernel library from the classpath image, if present and current.
+         *
+         * @return The restored engine, or null if the library must be parsed instead
+         */
+        internal fun restoreKernelLibraryImage(
+            libraryPath: Path? = null,
+            expectedSourceHash: String = KerMLSemanticLibraryLoader.computeSourceHash(libraryPath)
+        ): MDMEngine? {
+            val image = KerMLSemanticLibraryLoader.openImage() ?: return null
+            return try {
+                val start = System.currentTimeMillis()
+                val engine = createKerMLEngine()
+                val header = image.use { MountImage.read(it, engine, expectedSourceHash) } ?: return null
+                logger.info {
+                    "Restored kernel library from image: ${header.elementCount} elements, " +
+                        "${header.linkCount} links in ${System.currentTimeMillis() - start}ms"
+                }
+                engine
+            } catch (e: Exception) {
+                logger.warn(e) { "Failed to restore kernel library image - parsing sources instead" }
+                null
+            }
+        }
+
+        /**
+         * Parse the kernel library sources into a dedicated engine.
+         *
+         * @return The library engine, or null if no library file could be loaded
+         */
+        private fun parseKernelLibrary(libraryPath: Path?): MDMEngine? {
             try {
                 // Create a dedicated engine for the library
                 val libraryEngine = createKerMLEngine()
@@ -216,24 +316,24 @@ class KerMLModel(
                 }
 
                 logger.info { "Loaded $successCount library files ($failCount failed)" }
-
-                // Register as implicit mount
-                val mount = MountRegistry.register(
-                    id = KERNEL_LIBRARY_MOUNT_ID,
-                    name = "KerML Kernel Semantic Library",
-                    engine = libraryEngine,
-                    priority = StandardMount.IMPLICIT_LIBRARY_PRIORITY,
-                    isImplicit = true
-                )
-
-                logger.info { "Registered kernel library mount with ${libraryEngine.elementCount()} elements" }
-                return mount
+                return libraryEngine
             } catch (e: Exception) {
                 logger.error(e) { "Failed to initialize kernel library" }
                 return null
             }
         }
 
+        /**
+         * Parse the library sources on a daemon thread to fill the parser's shared prediction DFA.
+         */
+        private fun warmUpParserInBackground(libraryPath: Path?) {
+            Thread({
+                val start = System.currentTimeMillis()
+                val parsed = KerMLSemanticLibraryLoader.warmUpParser(libraryPath)
+                logger.info { "Warmed KerML parser on $parsed library files in ${System.currentTimeMillis() - start}ms" }
+            }, "kerml-parser-warmup").apply { isDaemon = true }.start()
+        }
+
         /**
          * Initialize only the Base library as an implicit mount.
          *
@@ -402,7 +502,11 @@ class KerMLModel(
      * is true. Can also be called explicitly after programmatic element creation (e.g., via API).
      */
     fun applyDefaultNames() {
-        allOfType<Feature>()
+        applyDefaultNames(allOfType<Feature>())
+    }
+
+    private fun applyDefaultNames(features: List<Feature>) {
+        features
             .filter { it.declaredName == null }
             .forEach { feature ->
                 val owner = feature.owningNamespace ?: return@forEach
@@ -435,27 +539,7 @@ class KerMLModel(
             return null
         }
 
-        // Process any pending implied relationships after parsing
-        if (settings.processImpliedRelationships) {
-            val start = System.currentTimeMillis()
-            semanticHandler.processAllPending()
-            logger.debug { "Implied relationships: ${System.currentTimeMillis() - start}ms" }
-        }
-
-        // Apply default names to unnamed features if enabled
-        if (settings.autoNameFeatures) {
-            val start = System.currentTimeMillis()
-            applyDefaultNames()
-            logger.debug { "Default names: ${System.currentTimeMillis() - start}ms" }
-        }
-
-        // Rebuild QN index after model changes
-        engine.qualifiedNameIndex?.let { index ->
-            index.suspended = false
-            val start = System.currentTimeMillis()
-            index.build(engine)
-            logger.debug { "QN index rebuild: ${System.currentTimeMillis() - start}ms" }
-        }
+        finishParse()
 
         logger.debug { "Total parseString: ${System.currentTimeMillis() - totalStart}ms" }
 
@@ -486,6 +570,67 @@ class KerMLModel(
             return null
         }
 
+        finishParse()
+
+        logger.debug { "Total parseFile(${path.fileName}): ${System.currentTimeMillis() - totalStart}ms" }
+
+        // Find the first Package in the parsed model
+        return allOfType<KerMLPackage>().firstOrNull()
+    }
+
+    /**
+     * Parse several KerML files into this model.
+     *
+     * The files are lexed and parsed to syntax trees concurrently. Model elements are then built
+     * from the trees one file at a time in the given order, and references are resolved once over
+     * all files, so a file may refer to elements declared in any other file of the set. Files with
+     * syntax errors contribute no elements.
+     *
+     * @param paths The KerML files, in the order their elements are built
+     * @return One parse result per file, in the given order
+     */
+    fun parseFiles(paths: List<Path>): List<KerMLParseResult> {
+        val totalStart = System.currentTimeMillis()
+
+        // Suspend QN index during bulk parsing — a full rebuild follows
+        engine.qualifiedNameIndex?.let { it.suspended = true }
+
+        var start = System.currentTimeMillis()
+        val parsed = TwoStageParser.parseKerMLConcurrently(paths.map { CharStreams.fromPath(it) })
+        logger.debug { "ANTLR parse of ${paths.size} files: ${System.currentTimeMillis() - start}ms" }
+
+        // Build elements in file order, collecting references across all files
+        start = System.currentTimeMillis()
+        val referenceCollector = ReferenceCollector()
+        val results = parsed.map { file ->
+            if (file.hasErrors) {
+                KerMLParseResult(success = false, errors = file.errors)
+            } else {
+                val rootNamespace = TypedVisitorFactory.Core.rootNamespace.visit(file.tree, newParseContext(referenceCollector))
+                KerMLParseResult(success = true, rootNamespace = rootNamespace)
+            }
+        }
+        logger.debug { "Visitor tree walks: ${System.currentTimeMillis() - start}ms, ${referenceCollector.size()} pending references" }
+
+        start = System.currentTimeMillis()
+        ReferenceResolver(engine, namespaceParents).resolveAll(referenceCollector)
+        logger.debug { "Reference resolution: ${System.currentTimeMillis() - start}ms" }
+
+        lastParseResult = results.lastOrNull()
+        if (results.any { it.success }) {
+            finishParse()
+        } else {
+            engine.qualifiedNameIndex?.let { it.suspended = false }
+        }
+
+        logger.debug { "Total parseFiles(${paths.size}): ${System.currentTimeMillis() - totalStart}ms" }
+        return results
+    }
+
+    /**
+     * Post-parse processing: implied relationships, default names and the QN index rebuild.
+     */
+    private fun finishParse() {
         // Process any pending implied relationships after parsing
         if (settings.processImpliedRelationships) {
             val start = System.currentTimeMillis()
@@ -507,13 +652,15 @@ class KerMLModel(
             index.build(engine)
             logger.debug { "QN index rebuild: ${System.currentTimeMillis() - start}ms" }
         }
-
-        logger.debug { "Total parseFile(${path.fileName}): ${System.currentTimeMillis() - totalStart}ms" }
-
-        // Find the first Package in the parsed model
-        return allOfType<KerMLPackage>().firstOrNull()
     }
 
+    private fun newParseContext(referenceCollector: ReferenceCollector) = KermlParseContext(
+        engine = engine,
+        factory = engine.factory as KerMLElementFactory,
+        referenceCollector = referenceCollector,
+        deterministicElementIds = settings.deterministicElementIds
+    )
+
     /**
      * Parse KerML from a CharStream using the visitor-based architecture.
      */
@@ -521,19 +668,9 @@ class KerMLModel(
         val totalStart = System.currentTimeMillis()
         val errorListener = KerMLErrorListener()
 
-        // Create ANTLR lexer and parser
-        val lexer = KerMLLexer(input)
-        lexer.removeErrorListeners()
-        lexer.addErrorListener(errorListener)
-
-        val tokens = CommonTokenStream(lexer)
-        val parser = KerMLParser(tokens)
-        parser.removeErrorListeners()
-        parser.addErrorListener(errorListener)
-
-        // Parse the root namespace
+        // Parse the root namespace (SLL first, LL only if SLL bails)
         var start = System.currentTimeMillis()
-        val tree = parser.rootNamespace()
+        val tree = TwoStageParser.parseKerML(input, errorListener)
         logger.debug { "ANTLR parse: ${System.currentTimeMillis() - start}ms" }
 
         // Check for syntax errors
@@ -546,12 +683,7 @@ class KerMLModel(
 
         // Create parse context with reference collector
         val referenceCollector = ReferenceCollector()
-        val parseContext = KermlParseContext(
-            engine = engine,
-            factory = engine.factory as KerMLElementFactory,
-            referenceCollector = referenceCollector,
-            deterministicElementIds = settings.deterministicElementIds
-        )
+        val parseContext = newParseContext(referenceCollector)
 
         // Use the typed visitor to parse the tree
         start = System.currentTimeMillis()
@@ -560,7 +692,7 @@ class KerMLModel(
 
         // Resolve collected references after parsing
         start = System.currentTimeMillis()
-        val resolver = ReferenceResolver(engine)
+        val resolver = ReferenceResolver(engine, namespaceParents)
         resolver.resolveAll(referenceCollector)
         logger.debug { "Reference resolution: ${System.currentTimeMillis() - start}ms" }
 
@@ -572,6 +704,298 @@ class KerMLModel(
         )
     }
 
+    // ===== Incremental Reparse =====
+
+    /**
+     * Make the model's content the parse of [kermlText], rebuilding only what changed since the
+     * previous call.
+     *
+     * The source is split into top-level members and each is matched by its text against the
+     * members built last time. Unchanged members keep their elements and IDs; members that
+     * disappeared are deleted with everything they own, and new or edited members are parsed and
+     * built into the existing root namespace, in source order. References are then resolved for
+     * the new members and checked again in the kept ones. A kept member with a reference that now
+     * resolves elsewhere has its implied relationships computed again, since they may derive from
+     * the element it reaches.
+     *
+     * The whole model is reset and rebuilt instead when there is no previous reparse to build on
+     * (the first call, or after anything else changed the model), when the source cannot be split
+     * into members, or when a changed member does not parse on its own. A rebuild leaves the model
+     * as [reset] followed by [parseString] would.
+     *
+     * @param kermlText The complete KerML source
+     * @return The parse outcome and how much of the model was rebuilt
+     */
+    fun reparse(kermlText: String): KerMLReparseResult {
+        val totalStart = System.currentTimeMillis()
+        val blocks = SourceBlocks.split(kermlText)
+        val state = reparseState
+        if (blocks != null && state != null) {
+            val updated = try {
+                updateChangedMembers(state, blocks)
+            } catch (e: Exception) {
+                logger.warn(e) { "Incremental reparse failed, rebuilding the model" }
+                null
+            }
+            if (updated != null) {
+                logger.debug { "Incremental reparse: ${updated.parsedMembers} built, ${updated.keptMembers} kept in ${System.currentTimeMillis() - totalStart}ms" }
+                return updated
+            }
+        }
+
+        val rebuilt = rebuild(kermlText, blocks)
+        logger.debug { "Full reparse: ${rebuilt.parsedMembers} members in ${System.currentTimeMillis() - totalStart}ms" }
+        return rebuilt
+    }
+
+    /**
+     * Reset the model and build it from the whole of [kermlText], one top-level member at a time
+     * when the [blocks] line up with the parse so that the next [reparse] can be incremental.
+     */
+    private fun rebuild(kermlText: String, blocks: List<SourceBlock>?): KerMLReparseResult {
+        reset()
+        engine.setPropertyValue(modelRoot, "declaredName", "model")
+
+        // Suspend QN index during bulk parsing — a full rebuild follows
+        engine.qualifiedNameIndex?.let { it.suspended = true }
+
+        val errorListener = KerMLErrorListener()
+        val tree = TwoStageParser.parseKerML(CharStreams.fromString(kermlText), errorListener)
+        if (errorListener.hasErrors) {
+            engine.qualifiedNameIndex?.let { it.suspended = false }
+            lastParseResult = KerMLParseResult(success = false, errors = errorListener.errors)
+            return KerMLReparseResult(lastParseResult!!, fullRebuild = true, parsedMembers = 0, keptMembers = 0)
+        }
+
+        val bodyElements = tree.namespaceBodyElement()
+        val groups = blocks?.let { alignBlocks(it, bodyElements) }
+
+        reparseTracker.applying = true
+        try {
+            val root = newParseContext(ReferenceCollector()).create<Namespace>()
+            val members = groups?.map { (block, elements) -> block.text to buildMember(root, elements) }
+                ?: listOf(kermlText to buildMember(root, bodyElements))
+
+            resolveMemberReferences(members.flatMap { it.second.references })
+            finishParse()
+
+            reparseState = if (groups != null) ReparseState(root, members) else null
+            lastParseResult = KerMLParseResult(success = true, rootNamespace = root)
+            return KerMLReparseResult(lastParseResult!!, fullRebuild = true, parsedMembers = members.size, keptMembers = 0)
+        } finally {
+            reparseTracker.applying = false
+        }
+    }
+
+    /**
+     * Bring the model from [state] to [blocks] by rebuilding only the members whose text changed.
+     *
+     * @return The result, or null if a changed member does not parse on its own and the model,
+     *   still untouched, must be rebuilt instead
+     */
+    private fun updateChangedMembers(state: ReparseState, blocks: List<SourceBlock>): KerMLReparseResult? {
+        // Match blocks to previous members by text; identical members match in order
+        val previous = HashMap<String, ArrayDeque<ParsedMember>>()
+        for ((text, member) in state.members) {
+            previous.getOrPut(text) { ArrayDeque() }.addLast(member)
+        }
+        // The kept member of each block, or null where the block is new or edited
+        val matched = blocks.map { previous[it.text]?.removeFirstOrNull() }
+        val changed = blocks.filterIndexed { i, _ -> matched[i] == null }
+        val kept = matched.filterNotNull()
+        val removed = previous.values.flatten()
+
+        val root = state.root
+        if (changed.isEmpty() && removed.isEmpty() && kept == state.members.map { it.second }) {
+            lastParseResult = KerMLParseResult(success = true, rootNamespace = root)
+            return KerMLReparseResult(lastParseResult!!, fullRebuild = false, parsedMembers = 0, keptMembers = kept.size)
+        }
+
+        // Parse the changed members before touching the model, so that a failure leaves it intact
+        val parsed = TwoStageParser.parseKerMLConcurrently(changed.map { CharStreams.fromString(it.text) })
+        for ((block, file) in changed.zip(parsed)) {
+            if (file.hasErrors || file.tree.stop?.stopIndex != block.text.length - 1) return null
+        }
+
+        reparseTracker.applying = true
+        try {
+            for (member in removed) {
+                // Deleting each element's owned subtree also removes implied elements built for it
+                for (element in member.elements) {
+                    val id = element.id ?: continue
+                    if (engine.getElement(id) != null) engine.deleteInstanceWithCascade(id)
+                }
+            }
+
+            val built = parsed.map { buildMember(root, it.tree.namespaceBodyElement()) }
+            val next = built.iterator()
+            val members = blocks.mapIndexed { i, block -> block.text to (matched[i] ?: next.next()) }
+            orderMembers(root, members.map { it.second })
+
+            resolveMemberReferences(built.flatMap { it.references })
+            // A kept reference may now resolve to a rebuilt element, through any name the changes touched
+            val retargeted = reresolveMemberReferences(kept.flatMap { it.references })
+
+            val created = ArrayList<MDMObject>()
+            reparseTracker.created = created
+            try {
+                if (settings.processImpliedRelationships) {
+                    // A kept member's implied relationships may derive from what its references reach,
+                    // such as the end features of a supertype, so they are computed again
+                    val affected = kept.filter { member -> member.references.any { (source, _) -> source.id in retargeted } }
+                    semanticHandler.reprocess(affected.flatMap { it.elements })
+                    semanticHandler.processAllPending()
+                }
+                if (settings.autoNameFeatures) {
+                    applyDefaultNames((built.flatMap { it.elements } + created).filterIsInstance<Feature>())
+                }
+            } finally {
+                reparseTracker.created = null
+            }
+
+            reparseState = ReparseState(root, members)
+            lastParseResult = KerMLParseResult(success = true, rootNamespace = root)
+            return KerMLReparseResult(lastParseResult!!, fullRebuild = false, parsedMembers = built.size, keptMembers = kept.size)
+        } finally {
+            reparseTracker.applying = false
+        }
+    }
+
+    /**
+     * Put the root's links to its top-level members in the order of [members], the order a parse
+     * of the whole source creates them in. Links from the first one out of place onward are
+     * recreated; the others are left alone.
+     */
+    private fun orderMembers(root: Namespace, members: List<ParsedMember>) {
+        val rootId = (root as MDMObject).id ?: return
+        val position = HashMap<String, Int>()
+        members.forEachIndexed { i, member ->
+            member.elements.forEach { element -> element.id?.let { position[it] = i } }
+        }
+
+        val links = engine.getLinks(rootId).filter { it.sourceId == rootId && it.targetId in position }
+        val ordered = links.sortedBy { position.getValue(it.targetId) }
+        val first = links.indices.firstOrNull { links[it] !== ordered[it] } ?: return
+        for (link in links.subList(first, links.size)) {
+            engine.unlink(rootId, link.targetId, link.association.name)
+        }
+        for (link in ordered.subList(first, ordered.size)) {
+            engine.link(rootId, link.targetId, link.association.name)
+        }
+    }
+
+    /**
+     * Group [bodyElements] under the [blocks] that span them exactly.
+     *
+     * @return The groups in source order, or null if any block does not start and end on body
+     *   element boundaries
+     */
+    private fun alignBlocks(
+        blocks: List<SourceBlock>,
+        bodyElements: List<KerMLParser.NamespaceBodyElementContext>
+    ): List<Pair<SourceBlock, List<KerMLParser.NamespaceBodyElementContext>>>? {
+        val groups = ArrayList<Pair<SourceBlock, List<KerMLParser.NamespaceBodyElementContext>>>(blocks.size)
+        var next = 0
+        for (block in blocks) {
+            val first = next
+            while (next < bodyElements.size && bodyElements[next].stop.stopIndex <= block.stop) next++
+            if (next == first) return null
+            if (bodyElements[first].start.startIndex != block.start) return null
+            if (bodyElements[next - 1].stop.stopIndex != block.stop) return null
+            groups += block to bodyElements.subList(first, next)
+        }
+        return if (next == bodyElements.size) groups else null
+    }
+
+    /**
+     * Build the elements of one top-level member into [root], recording what it created and the
+     * references it left to resolve.
+     */
+    private fun buildMember(
+        root: Namespace,
+        bodyElements: List<KerMLParser.NamespaceBodyElementContext>
+    ): ParsedMember {
+        val collector = ReferenceCollector()
+        val context = newParseContext(collector).withParent(root, "")
+        val created = ArrayList<MDMObject>()
+        reparseTracker.created = created
+        try {
+            bodyElements.forEach { TypedVisitorFactory.Core.namespace.parseNamespaceBodyElement(it, context) }
+        } finally {
+            reparseTracker.created = null
+        }
+
+        val references = collector.getReferences().mapNotNull { ref ->
+            engine.getInstance(ref.sourceElementId)?.let { it to ref }
+        }
+        return ParsedMember(created, references)
+    }
+
+    /**
+     * Resolve [references], taking each source element's current ID.
+     */
+    private fun resolveMemberReferences(references: List<Pair<MDMObject, PendingReference>>) {
+        val start = System.currentTimeMillis()
+        val collector = ReferenceCollector()
+        for ((source, ref) in references) {
+            val id = source.id ?: continue
+            collector.addReference(if (id == ref.sourceElementId) ref else ref.copy(sourceElementId = id))
+        }
+        ReferenceResolver(engine, namespaceParents).resolveAll(collector)
+        logger.debug { "Reference resolution (${references.size} references): ${System.currentTimeMillis() - start}ms" }
+    }
+
+    /**
+     * Resolve previously resolved [references] again, updating those whose target changed.
+     *
+     * @return IDs of the source elements whose reference was updated
+     */
+    private fun reresolveMemberReferences(references: List<Pair<MDMObject, PendingReference>>): Set<String> {
+        val start = System.currentTimeMillis()
+        val collector = ReferenceCollector()
+        for ((source, ref) in references) {
+            val id = source.id ?: continue
+            collector.addReference(if (id == ref.sourceElementId) ref else ref.copy(sourceElementId = id))
+        }
+        val changed = ReferenceResolver(engine, namespaceParents).reresolveAll(collector)
+        logger.debug { "Reference re-resolution (${references.size} references, ${changed.size} changed): ${System.currentTimeMillis() - start}ms" }
+        return changed
+    }
+
+    /**
+     * What the last [reparse] built for the text of each top-level member, in source order.
+     */
+    private class ReparseState(val root: Namespace, val members: List<Pair<String, ParsedMember>>)
+
+    /**
+     * The elements built from one top-level member.
+     *
+     * @property elements Every element created while building the member
+     * @property references The member's references with their source elements
+     */
+    private class ParsedMember(
+        val elements: List<MDMObject>,
+        val references: List<Pair<MDMObject, PendingReference>>
+    )
+
+    /**
+     * Records the elements created while a reparse builds a member, and forgets the reparse state
+     * when the model is changed by anything else.
+     */
+    private inner class ReparseTracker : LifecycleHandler {
+        var applying = false
+        var created: MutableList<MDMObject>? = null
+
+        override fun handle(event: LifecycleEvent, model: MDMEngine) {
+            when (event) {
+                is LifecycleEvent.OwnershipEstablished, is LifecycleEvent.OwnershipRemoved -> return
+                is LifecycleEvent.InstanceCreated -> created?.add(event.instance)
+                else -> {}
+            }
+            if (!applying) reparseState = null
+        }
+    }
+
     /**
      * Get the last parse result for detailed error information.
      */
@@ -589,7 +1013,9 @@ class KerMLModel(
      */
     override fun reset() {
         lastParseResult = null
+        reparseState = null
         semanticHandler.clearCache()
         super.reset()
+        namespaceParents.clear()
     }
 }
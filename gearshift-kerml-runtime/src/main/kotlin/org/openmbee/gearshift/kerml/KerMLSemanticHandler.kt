@@ -121,6 +121,8 @@ class KerMLSemanticHandler(
         pendingElements.clear()
 
         for (element in elements) {
+            // An element deleted since it was queued gets no implied relationships
+            if (engine.getElement(element.id ?: continue) == null) continue
             val metaClass = element.metaClass
             val allBindings = collectAllSemanticBindings(metaClass)
             if (allBindings.isNotEmpty()) {
@@ -235,7 +237,7 @@ class KerMLSemanticHandler(
         return null
     }
 
-    private fun evaluateCondition(condition: BindingCondition, instance: MDMObject): Boolean {
+    internal fun evaluateCondition(condition: BindingCondition, instance: MDMObject): Boolean {
         return when (condition) {
             is BindingCondition.Default -> true
 
@@ -362,6 +364,10 @@ class KerMLSemanticHandler(
                     instance.isEnd && instance.owningType != null
                 } else false
             }
+
+            is BindingCondition.OperationResult -> {
+                engine.invokeOperation(instance, condition.operation, condition.arguments) == true
+            }
         }
     }
 
@@ -540,7 +546,8 @@ class KerMLSemanticHandler(
      * and process all pending elements.
      */
     fun processAllPending() {
-        val allElements = engine.getAllElements()
+        // Only needed on a cache miss; listing every element is the costliest step here
+        val allElements by lazy { engine.getAllElements() }
 
         // Search for library elements if not already cached
         if (libraryCache["Base::Anything"] == null) {
@@ -570,6 +577,26 @@ class KerMLSemanticHandler(
         processPendingElements()
     }
 
+    /**
+     * Delete the implied relationships owned by [elements] and queue the elements so that the next
+     * [processAllPending] computes them again, e.g. after an element they were derived from has
+     * been replaced.
+     */
+    fun reprocess(elements: Collection<MDMObject>) {
+        for (element in elements) {
+            val id = element.id ?: continue
+            if (engine.getElement(id) == null) continue
+            (element as? Element)?.ownedRelationship.orEmpty()
+                .filter { it.isImplied }
+                .mapNotNull { (it as? MDMObject)?.id }
+                .distinct()
+                .forEach { engine.deleteInstanceWithCascade(it) }
+            if (collectAllSemanticBindings(element.metaClass).isNotEmpty()) {
+                pendingElements.add(element)
+            }
+        }
+    }
+
     /**
      * Clear the library cache (useful for testing).
      */
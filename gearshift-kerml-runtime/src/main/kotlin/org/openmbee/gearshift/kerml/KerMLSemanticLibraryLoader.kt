@@ -17,17 +17,17 @@ package org.openmbee.gearshift.kerml
 
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.antlr.v4.runtime.CharStreams
-import org.antlr.v4.runtime.CommonTokenStream
 import org.openmbee.gearshift.generated.KerMLElementFactory
-import org.openmbee.gearshift.generated.interfaces.Namespace
-import org.openmbee.gearshift.kerml.antlr.KerMLLexer
 import org.openmbee.gearshift.kerml.antlr.KerMLParser
 import org.openmbee.gearshift.kerml.parser.KermlParseContext
+import org.openmbee.gearshift.kerml.parser.TwoStageParser
 import org.openmbee.gearshift.kerml.parser.visitors.RootNamespaceVisitor
 import org.openmbee.mdm.framework.runtime.*
+import java.io.InputStream
 import java.nio.file.Files
 import java.nio.file.Path
 import java.nio.file.Paths
+import java.security.MessageDigest
 
 private val logger = KotlinLogging.logger {}
 
@@ -51,6 +51,12 @@ object KerMLSemanticLibraryLoader {
      */
     private const val RESOURCE_BASE_PATH = "kerml-library"
 
+    /**
+     * Classpath location of the prebuilt library image produced by the
+     * `generateKernelLibraryImage` Gradle task.
+     */
+    const val IMAGE_RESOURCE_PATH = "$RESOURCE_BASE_PATH/kernel-library.mdmimage"
+
     /**
      * Default file system path (fallback if not found on classpath).
      */
@@ -115,7 +121,9 @@ object KerMLSemanticLibraryLoader {
     /**
      * Load the Kernel Semantic Library into the given KerMLModel.
      *
-     * Uses the new typed visitor infrastructure for high-level API usage.
+     * Uses the new typed visitor infrastructure for high-level API usage. The files are lexed and
+     * parsed to syntax trees concurrently; the model is then built from the trees one file at a
+     * time in dependency order.
      *
      * @param factory The factory to load the library into
      * @param libraryPath Optional custom path to the library directory
@@ -125,48 +133,129 @@ object KerMLSemanticLibraryLoader {
         factory: KerMLModel,
         libraryPath: Path? = null
     ): List<LibraryLoadResult> {
-        val results = mutableListOf<LibraryLoadResult>()
-
-        for (libFile in LIBRARY_FILES) {
-            val result = loadLibraryFile(factory, libFile, libraryPath)
-            results.add(result)
+        val sources = LIBRARY_FILES.map { resolveLibrarySource(it, libraryPath) }
+        val available = sources.filter { it.text != null }
+        val start = System.currentTimeMillis()
+        val parsed = TwoStageParser.parseKerMLConcurrently(
+            available.map { CharStreams.fromString(it.text!!, it.fileName) }
+        )
+        logger.debug { "Parsed ${parsed.size} library files in ${System.currentTimeMillis() - start}ms" }
+        val trees = available.zip(parsed).toMap()
+
+        return sources.map { source ->
+            val tree = trees[source]
+                ?: return@map LibraryLoadResult(
+                    source.fileName, source.path, null,
+                    "File not found (tried classpath: ${source.resourcePath})"
+                )
+            tree.errors.forEach { logger.warn { "${source.fileName}: $it" } }
+            buildLibraryModel(factory, tree.tree, source.fileName, source.path)
         }
-
-        return results
     }
 
     /**
-     * Load a single library file, trying classpath first, then file system.
+     * Where a library file was found and its text, null if it is on neither the classpath nor
+     * the file system.
      */
-    private fun loadLibraryFile(
-        factory: KerMLModel,
-        libFile: LibraryFile,
-        overridePath: Path?
-    ): LibraryLoadResult {
-        // Try classpath first
+    private class LibrarySource(val fileName: String, val resourcePath: String, val path: Path, val text: String?)
+
+    /**
+     * Locate a single library file, trying classpath first, then file system.
+     */
+    private fun resolveLibrarySource(libFile: LibraryFile, overridePath: Path?): LibrarySource {
         val resourcePath = "$RESOURCE_BASE_PATH/${libFile.subdir}/${libFile.name}"
-        val inputStream = javaClass.classLoader.getResourceAsStream(resourcePath)
-
-        if (inputStream != null) {
-            return try {
-                val content = inputStream.bufferedReader().use { it.readText() }
-                parseLibraryContent(factory, content, libFile.name)
-            } catch (e: Exception) {
-                LibraryLoadResult(libFile.name, Paths.get(resourcePath), null, "Parse error: ${e.message}")
-            }
+        javaClass.classLoader.getResourceAsStream(resourcePath)?.let { stream ->
+            val text = stream.bufferedReader().use { it.readText() }
+            return LibrarySource(libFile.name, resourcePath, Paths.get(libFile.name), text)
         }
+        val filePath = libraryFilePath(libFile, overridePath)
+        val text = if (Files.exists(filePath)) Files.readString(filePath) else null
+        return LibrarySource(libFile.name, resourcePath, filePath, text)
+    }
 
-        // Fallback to file system
+    /** File system location of a library file, used when it is not on the classpath. */
+    private fun libraryFilePath(libFile: LibraryFile, overridePath: Path?): Path {
         val basePath = overridePath?.parent ?: getLibraryPath().parent ?: Paths.get("references")
-        val filePath = basePath.resolve(libFile.subdir).resolve(libFile.name)
+        return basePath.resolve(libFile.subdir).resolve(libFile.name)
+    }
 
-        return if (Files.exists(filePath)) {
-            parseLibraryFile(factory, filePath, libFile.name)
-        } else {
-            LibraryLoadResult(libFile.name, filePath, null, "File not found (tried classpath: $resourcePath)")
+    /**
+     * Read the text of every library file that [loadLibrary] would parse, resolved the same way
+     * (classpath first, then file system), without building a model.
+     *
+     * @param libraryPath Optional custom path to the library directory
+     * @return Source text by file name, in load order; missing files are left out
+     */
+    fun readLibrarySources(libraryPath: Path? = null): Map<String, String> =
+        LIBRARY_FILES.map { resolveLibrarySource(it, libraryPath) }
+            .filter { it.text != null }
+            .associateTo(LinkedHashMap()) { it.fileName to it.text!! }
+
+    /**
+     * Parse the library sources without building a model, so the parser's shared prediction DFA
+     * is warm before the first user parse. Startup paths that skip parsing the library (such as
+     * restoring it from the image) call this instead.
+     *
+     * @param libraryPath Optional custom path to the library directory
+     * @return The number of library files parsed
+     */
+    fun warmUpParser(libraryPath: Path? = null): Int =
+        TwoStageParser.warmUpKerML(
+            readLibrarySources(libraryPath).map { (name, text) -> CharStreams.fromString(text, name) }
+        )
+
+    // ===== Library Image =====
+
+    /**
+     * Compute a SHA-256 hash over the library sources that [loadLibrary] would read,
+     * resolved the same way (classpath first, then file system).
+     *
+     * A library image records this hash when it is built; an image whose hash does not
+     * match the current sources is ignored and the library is parsed instead.
+     *
+     * @param libraryPath Optional custom path to the library directory
+     * @return Lowercase hex digest
+     */
+    fun computeSourceHash(libraryPath: Path? = null): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        for (libFile in LIBRARY_FILES) {
+            digest.update("${libFile.subdir}/${libFile.name}\u0000".toByteArray(Charsets.UTF_8))
+            val resourcePath = "$RESOURCE_BASE_PATH/${libFile.subdir}/${libFile.name}"
+            val bytes = javaClass.classLoader.getResourceAsStream(resourcePath)?.use { it.readBytes() }
+                ?: libraryFilePath(libFile, libraryPath).takeIf { Files.exists(it) }?.let { Files.readAllBytes(it) }
+            if (bytes != null) {
+                digest.update(bytes)
+            }
+            digest.update((if (bytes != null) 1 else 0).toByte())
         }
+        return digest.digest().joinToString("") { "%02x".format(it) }
     }
 
+    /**
+     * Parse the library into a fresh engine and write it as a [MountImage].
+     *
+     * @param output The image file to write
+     * @param libraryPath Optional custom path to the library directory
+     * @return The number of elements written
+     * @throws IllegalStateException if no library file could be loaded
+     */
+    fun writeImage(output: Path, libraryPath: Path? = null): Int {
+        val engine = KerMLModel.createKerMLEngine()
+        val model = KerMLModel(engine = engine, projectName = "KerML Kernel Semantic Library")
+        val results = loadLibrary(model, libraryPath ?: getLibraryPath())
+        check(results.any { it.success }) { "Failed to load any library files" }
+        results.filterNot { it.success }.forEach { logger.warn { "Library file not in image: ${it.fileName} (${it.error})" } }
+
+        output.parent?.let { Files.createDirectories(it) }
+        Files.newOutputStream(output).use { MountImage.write(engine, computeSourceHash(libraryPath), it) }
+        return engine.elementCount()
+    }
+
+    /**
+     * Open the prebuilt library image on the classpath, if one was packaged.
+     */
+    fun openImage(): InputStream? = javaClass.classLoader.getResourceAsStream(IMAGE_RESOURCE_PATH)
+
     /**
      * Load only the Base library (minimal for core semantics).
      * This loads Base.kerml which contains Anything and things.
@@ -198,78 +287,26 @@ object KerMLSemanticLibraryLoader {
         filePath: Path,
         fileName: String
     ): LibraryLoadResult {
-        return try {
+        val tree = try {
             logger.debug { "Loading library file: $filePath" }
-            val lexer = KerMLLexer(CharStreams.fromPath(filePath))
-            val tokens = CommonTokenStream(lexer)
-            val parser = KerMLParser(tokens)
-
-            val tree = parser.rootNamespace()
-            logger.debug { "Parsed tree, namespace body elements: ${tree.namespaceBodyElement().size}" }
-
-            // Use the new typed visitor with KermlParseContext
-            // Mark as library context so elements get deterministic IDs based on qualified names
-            val elementFactory = factory.engine.factory as KerMLElementFactory
-            val kermlParseContext = KermlParseContext(factory.engine, elementFactory).asLibraryContext()
-            val rootNamespace = RootNamespaceVisitor().visit(tree, kermlParseContext)
-
-            // Assign spec-compliant UUID v5 IDs to all library elements
-            LibraryElementIdAssigner.assignIds(rootNamespace)
-
-            logger.debug { "Root namespace created with id: ${rootNamespace.id}" }
-
-            // Check what memberships we have
-            val memberships = rootNamespace.ownedMembership
-            logger.debug { "Root namespace has ${memberships.size} ownedMemberships" }
-            for (m in memberships) {
-                val element = m.memberElement
-                logger.debug { "  Membership: ${m.memberName} -> ${element?.let { "${it::class.simpleName}(${it.declaredName})" }}" }
-
-                // If it's a namespace, check its contents
-                if (element is Namespace) {
-                    val innerMemberships = element.ownedMembership
-                    logger.debug { "    Inner namespace has ${innerMemberships.size} ownedMemberships" }
-                    for (inner in innerMemberships.take(5)) {
-                        logger.debug { "      - ${inner.memberName} -> ${inner.memberElement?.let { "${it::class.simpleName}(${it.declaredName})" }}" }
-                    }
-                    if (innerMemberships.size > 5) {
-                        logger.debug { "      ... and ${innerMemberships.size - 5} more" }
-                    }
-                }
-            }
-
-            // The library root namespace stays separate - resolveGlobal searches
-            // all root namespaces for top-level elements per KerML 7.2.5.3
-
-            // Create a parse result for compatibility
-            val parseResult = KerMLParseResult(
-                success = true,
-                rootNamespace = rootNamespace
-            )
-
-            LibraryLoadResult(fileName, filePath, parseResult)
+            TwoStageParser.parseKerML(CharStreams.fromPath(filePath))
         } catch (e: Exception) {
             logger.error(e) { "Error loading library file: ${e.message}" }
-            LibraryLoadResult(fileName, filePath, null, "Parse error: ${e.message}")
+            return LibraryLoadResult(fileName, filePath, null, "Parse error: ${e.message}")
         }
+        return buildLibraryModel(factory, tree, fileName, filePath)
     }
 
     /**
-     * Parse library content from a string (for classpath resources).
+     * Build the model elements of one parsed library file.
      */
-    private fun parseLibraryContent(
+    private fun buildLibraryModel(
         factory: KerMLModel,
-        content: String,
-        fileName: String
+        tree: KerMLParser.RootNamespaceContext,
+        fileName: String,
+        filePath: Path
     ): LibraryLoadResult {
         return try {
-            logger.debug { "Loading library from classpath: $fileName" }
-            val lexer = KerMLLexer(CharStreams.fromString(content))
-            val tokens = CommonTokenStream(lexer)
-            val parser = KerMLParser(tokens)
-
-            val tree = parser.rootNamespace()
-
             // Use the new typed visitor with KermlParseContext
             // Mark as library context so elements get deterministic IDs based on qualified names
             val elementFactory = factory.engine.factory as KerMLElementFactory
@@ -279,15 +316,21 @@ object KerMLSemanticLibraryLoader {
             // Assign spec-compliant UUID v5 IDs to all library elements
             LibraryElementIdAssigner.assignIds(rootNamespace)
 
+            logger.debug { "Root namespace for $fileName created with id: ${rootNamespace.id}" }
+
+            // The library root namespace stays separate - resolveGlobal searches
+            // all root namespaces for top-level elements per KerML 7.2.5.3
+
+            // Create a parse result for compatibility
             val parseResult = KerMLParseResult(
                 success = true,
                 rootNamespace = rootNamespace
             )
 
-            LibraryLoadResult(fileName, Paths.get(fileName), parseResult)
+            LibraryLoadResult(fileName, filePath, parseResult)
         } catch (e: Exception) {
-            logger.error(e) { "Error loading library $fileName from classpath" }
-            LibraryLoadResult(fileName, Paths.get(fileName), null, "Parse error: ${e.message}")
+            logger.error(e) { "Error loading library $fileName" }
+            LibraryLoadResult(fileName, filePath, null, "Parse error: ${e.message}")
         }
     }
 
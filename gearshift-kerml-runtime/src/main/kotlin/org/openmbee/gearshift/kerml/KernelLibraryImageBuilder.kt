@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import java.nio.file.Paths
+import kotlin.system.exitProcess
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Build-time entry point for the `generateKernelLibraryImage` Gradle task.
+ *
+ * Parses the Kernel Semantic Library once and writes it as a mount image that
+ * [KerMLModel.initializeKernelLibrary] restores at startup instead of re-parsing.
+ *
+ * Usage: `KernelLibraryImageBuilderKt <output-file> [library-path]`
+ */
+fun main(args: Array<String>) {
+    if (args.isEmpty()) {
+        System.err.println("Usage: KernelLibraryImageBuilderKt <output-file> [library-path]")
+        exitProcess(2)
+    }
+    val output = Paths.get(args[0])
+    val libraryPath = args.getOrNull(1)?.let { Paths.get(it) }
+
+    val start = System.currentTimeMillis()
+    val elementCount = KerMLSemanticLibraryLoader.writeImage(output, libraryPath)
+    logger.info { "Wrote kernel library image ($elementCount elements) to $output in ${System.currentTimeMillis() - start}ms" }
+}
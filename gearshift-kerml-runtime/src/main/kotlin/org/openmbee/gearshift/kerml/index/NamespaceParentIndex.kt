@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.index
+
+import org.openmbee.mdm.framework.runtime.LifecycleEvent
+import org.openmbee.mdm.framework.runtime.LifecycleHandler
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.MountableEngine
+import java.util.IdentityHashMap
+
+/**
+ * Direct pointers from each element to the namespace that owns it, without evaluating any
+ * derived property.
+ *
+ * Ownership in KerML runs through a membership: Element ←(ownedMemberElement)← OwningMembership
+ * ←(ownedMembership)← Namespace. This index keeps both hops as maps so that finding an element's
+ * owning namespace costs two hash lookups instead of two link queries.
+ *
+ * Local elements are tracked incrementally from [LifecycleEvent.LinkCreated] and
+ * [LifecycleEvent.LinkDeleting] on the two ownership associations; register the index with
+ * [MDMEngine.registerLifecycleHandler] and [clear] it whenever the engine is cleared, since
+ * `clear()` fires no events. Local entries are keyed by object identity, so they survive
+ * [MDMEngine.reassignElementId].
+ *
+ * Mounted elements are read-only, so each mounted engine gets a frozen partition of element ID →
+ * namespace ID, computed on first use from its links alone and held by that engine
+ * ([MDMEngine.sharedIndex]), so it is shared by every engine that mounts it and released with it.
+ * Building it resolves no elements, so a memory-mapped mount materializes nothing up front.
+ */
+class NamespaceParentIndex(private val engine: MDMEngine) : LifecycleHandler {
+
+    /** Member element → the first membership that owns it */
+    private val owningMembership = IdentityHashMap<MDMObject, MDMObject>()
+
+    /** Membership → the first namespace that owns it */
+    private val membershipNamespace = IdentityHashMap<MDMObject, MDMObject>()
+
+    init {
+        rebuild()
+    }
+
+    override fun handle(event: LifecycleEvent, model: MDMEngine) {
+        when (event) {
+            is LifecycleEvent.LinkCreated -> when (event.association.name) {
+                OWNED_MEMBER_ELEMENT -> owningMembership.putIfAbsent(event.target, event.source)
+                OWNED_MEMBERSHIP -> membershipNamespace.putIfAbsent(event.target, event.source)
+            }
+            is LifecycleEvent.LinkDeleting -> when (event.association.name) {
+                OWNED_MEMBER_ELEMENT -> owningMembership.remove(event.target, event.source)
+                OWNED_MEMBERSHIP -> membershipNamespace.remove(event.target, event.source)
+            }
+            is LifecycleEvent.InstanceDeleting -> {
+                owningMembership.remove(event.instance)
+                membershipNamespace.remove(event.instance)
+            }
+            else -> {}
+        }
+    }
+
+    /**
+     * The namespace that owns [element] through its owning membership, or null for a root or an
+     * element that is not owned.
+     */
+    fun owningNamespace(element: MDMObject): MDMObject? {
+        owningMembership[element]?.let { return membershipNamespace[it] }
+        val id = element.id ?: return null
+        val mountEngine = (engine as? MountableEngine)?.getMountForElement(id)?.engine ?: return null
+        val namespaceId = mountPartition(mountEngine)[id] ?: return null
+        return mountEngine.getElement(namespaceId)
+    }
+
+    /**
+     * Drop all local entries. Call after the engine is cleared.
+     */
+    fun clear() {
+        owningMembership.clear()
+        membershipNamespace.clear()
+    }
+
+    /**
+     * Recompute the local partition from the engine's current links.
+     */
+    fun rebuild() {
+        clear()
+        val elements = (engine as? MountableEngine)?.getLocalElements() ?: engine.getAllElements()
+        for (element in elements) {
+            val id = element.id ?: continue
+            engine.getLinkedSources(OWNED_MEMBER_ELEMENT, id).firstOrNull()?.let { owningMembership[element] = it }
+            engine.getLinkedSources(OWNED_MEMBERSHIP, id).firstOrNull()?.let { membershipNamespace[element] = it }
+        }
+    }
+
+    companion object {
+        const val OWNED_MEMBER_ELEMENT = "owningMembershipOwnedMemberElementAssociation"
+        const val OWNED_MEMBERSHIP = "membershipOwningNamespaceOwnedMembershipAssociation"
+
+        private const val MOUNT_PARTITION = "kerml.namespaceParents"
+
+        /** The frozen element ID → namespace ID partition of a mounted engine */
+        private fun mountPartition(mountEngine: MDMEngine): Map<String, String> =
+            mountEngine.sharedIndex(MOUNT_PARTITION) { buildPartition(mountEngine) }
+
+        private fun buildPartition(mountEngine: MDMEngine): Map<String, String> {
+            val parents = HashMap<String, String>()
+            for (id in mountEngine.getElementIds()) {
+                val membershipId = firstSourceId(mountEngine, OWNED_MEMBER_ELEMENT, id) ?: continue
+                val namespaceId = firstSourceId(mountEngine, OWNED_MEMBERSHIP, membershipId) ?: continue
+                parents[id] = namespaceId
+            }
+            return parents
+        }
+
+        private fun firstSourceId(mountEngine: MDMEngine, associationName: String, targetId: String): String? {
+            var first: String? = null
+            mountEngine.forEachLinkedSourceId(associationName, targetId) { if (first == null) first = it }
+            return first
+        }
+    }
+}
@@ -110,8 +110,8 @@ class ProjectFileLayout(private val writer: KerMLWriter = KerMLWriter.default())
      * Read all `.kerml` files from a directory and parse them into the model.
      *
      * Files are sorted alphabetically for deterministic parse order.
-     * `_root.kerml` (if present) is parsed first to ensure root-level
-     * elements are available for cross-references.
+     * `_root.kerml` (if present) is built first, and references are
+     * resolved once all files are built.
      *
      * @param dir The directory containing `.kerml` files
      * @param model The model to parse into (should be freshly reset)
@@ -129,19 +129,15 @@ class ProjectFileLayout(private val writer: KerMLWriter = KerMLWriter.default())
         val packageFiles = kermlFiles.filter { it.fileName.toString() != ROOT_FILE }
         val orderedFiles = listOfNotNull(rootFile) + packageFiles
 
-        var lastResult: KerMLParseResult? = null
-        for (file in orderedFiles) {
-            logger.debug { "Parsing ${file.fileName}" }
-            val pkg = model.parseFile(file)
-            if (pkg != null) {
-                lastResult = model.getLastParseResult()
-            } else {
+        // Files are lexed and parsed concurrently; elements are built in this order
+        val results = model.parseFiles(orderedFiles)
+        for ((file, result) in orderedFiles.zip(results)) {
+            if (!result.success) {
                 logger.warn { "Failed to parse ${file.fileName}" }
-                lastResult = model.getLastParseResult()
             }
         }
 
         logger.debug { "Parsed ${orderedFiles.size} file(s) from $dir" }
-        return lastResult
+        return results.lastOrNull()
     }
 }
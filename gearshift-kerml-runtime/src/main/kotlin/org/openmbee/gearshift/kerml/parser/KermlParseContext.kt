@@ -20,11 +20,10 @@ import org.openmbee.gearshift.generated.KerMLElementFactory
 import org.openmbee.gearshift.generated.interfaces.Element
 import org.openmbee.gearshift.generated.interfaces.ModelElement
 import org.openmbee.gearshift.kerml.parser.visitors.base.ReferenceCollector
+import org.openmbee.mdm.framework.runtime.ElementIds
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.runtime.MDMObject
 import java.util.UUID
-import kotlin.reflect.KClass
-import kotlin.reflect.KParameter
 
 /**
  * Context passed to visitors during parsing.
@@ -61,8 +60,9 @@ data class KermlParseContext(
 
     /**
      * Create a new instance using the secondary constructor which handles ownership automatically.
-     * The secondary constructor takes (engine, parent, declaredName, etc.) and uses OwnershipResolver
-     * to set up the correct intermediate membership.
+     * The secondary constructor takes (engine, parent, declaredName, etc.) and uses the schema's
+     * shared OwnershipResolver to set up the correct intermediate membership. Constructors are
+     * called through the generated [KerMLElementFactory.create] table, not reflection.
      *
      * All elements get random UUIDs at parse time. For library elements, spec-compliant
      * UUID v5 IDs are assigned post-parse by [LibraryElementIdAssigner].
@@ -73,62 +73,7 @@ data class KermlParseContext(
     inline fun <reified T : ModelElement> create(
         declaredName: String? = null,
         declaredShortName: String? = null
-    ): T {
-        val typeName = T::class.simpleName ?: throw IllegalArgumentException("Cannot get simpleName for type")
-        val implClassName = "org.openmbee.gearshift.generated.impl.${typeName}Impl"
-
-        // Debug: Check if metaclass exists in schema
-        val metaClass = engine.schema.getClass(typeName)
-        if (metaClass == null) {
-            throw IllegalStateException("MetaClass '$typeName' not found in schema. Available classes: ${engine.schema.getAllClasses().map { it.name }.sorted().take(10)}...")
-        }
-
-        @Suppress("UNCHECKED_CAST")
-        val implClass = Class.forName(implClassName).kotlin as KClass<T>
-
-        // Find the secondary constructor (the one that takes MDMEngine as first param)
-        val constructor = implClass.constructors.find { ctor ->
-            val params = ctor.parameters
-            params.isNotEmpty() && params[0].type.classifier == MDMEngine::class
-        } ?: throw IllegalArgumentException("No suitable constructor found for ${typeName}")
-
-        // Use deterministic UUID v5 when enabled (for reproducible test fixtures),
-        // otherwise random UUID. Library elements always get reassigned post-parse
-        // by LibraryElementIdAssigner with spec-compliant UUID v5 values.
-        val elementId = if (deterministicElementIds && parentQualifiedName.isNotEmpty()) {
-            val qualifiedName = if (declaredName != null) "$parentQualifiedName::$declaredName" else parentQualifiedName
-            org.openmbee.gearshift.kerml.LibraryElementIdAssigner.generateUuidV5(
-                UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8"), // DNS namespace UUID
-                qualifiedName
-            ).toString()
-        } else {
-            UUID.randomUUID().toString()
-        }
-
-        // Build argument map for callBy() which handles defaults
-        val args = mutableMapOf<KParameter, Any?>()
-        for (param in constructor.parameters) {
-            when (param.name) {
-                "engine" -> args[param] = engine
-                "parent" -> args[param] = parent as? Element
-                "declaredName" -> if (declaredName != null) args[param] = declaredName
-                "declaredShortName" -> if (declaredShortName != null) args[param] = declaredShortName
-                "elementId" -> args[param] = elementId
-                // Let other params use their defaults
-            }
-        }
-
-        try {
-            val element = constructor.callBy(args) as MDMObject
-            engine.registerElement(element)
-
-            @Suppress("UNCHECKED_CAST")
-            return element as T
-        } catch (e: java.lang.reflect.InvocationTargetException) {
-            val cause = e.cause
-            throw IllegalStateException("Failed to construct $typeName: ${cause?.message}", cause)
-        }
-    }
+    ): T = construct(T::class.java.simpleName, parent as? Element, declaredName, declaredShortName) as T
 
     /**
      * Create a new Relationship/Membership instance WITHOUT triggering OwnershipResolver.
@@ -145,53 +90,44 @@ data class KermlParseContext(
     inline fun <reified T : ModelElement> createRelationship(
         declaredName: String? = null,
         declaredShortName: String? = null
-    ): T {
-        val typeName = T::class.simpleName ?: throw IllegalArgumentException("Cannot get simpleName for type")
-        val implClassName = "org.openmbee.gearshift.generated.impl.${typeName}Impl"
-
-        val metaClass = engine.schema.getClass(typeName)
-            ?: throw IllegalStateException("MetaClass '$typeName' not found in schema.")
+    ): T = construct(T::class.java.simpleName, null, declaredName, declaredShortName) as T
 
-        @Suppress("UNCHECKED_CAST")
-        val implClass = Class.forName(implClassName).kotlin as KClass<T>
-
-        val constructor = implClass.constructors.find { ctor ->
-            val params = ctor.parameters
-            params.isNotEmpty() && params[0].type.classifier == MDMEngine::class
-        } ?: throw IllegalArgumentException("No suitable constructor found for $typeName")
+    /**
+     * Construct and register an element of [typeName] owned by [owner] (no ownership when null).
+     */
+    fun construct(
+        typeName: String,
+        owner: Element?,
+        declaredName: String?,
+        declaredShortName: String?
+    ): Element {
+        if (engine.schema.getClass(typeName) == null) {
+            throw IllegalStateException("MetaClass '$typeName' not found in schema. Available classes: ${engine.schema.getAllClasses().map { it.name }.sorted().take(10)}...")
+        }
 
+        // Use deterministic UUID v5 when enabled (for reproducible test fixtures),
+        // otherwise random UUID. Library elements always get reassigned post-parse
+        // by LibraryElementIdAssigner with spec-compliant UUID v5 values.
         val elementId = if (deterministicElementIds && parentQualifiedName.isNotEmpty()) {
             val qualifiedName = if (declaredName != null) "$parentQualifiedName::$declaredName" else parentQualifiedName
             org.openmbee.gearshift.kerml.LibraryElementIdAssigner.generateUuidV5(
-                UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8"),
+                UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8"), // DNS namespace UUID
                 qualifiedName
             ).toString()
         } else {
-            UUID.randomUUID().toString()
+            ElementIds.newId()
         }
 
-        // Build argument map — intentionally omit "parent" to skip OwnershipResolver
-        val args = mutableMapOf<KParameter, Any?>()
-        for (param in constructor.parameters) {
-            when (param.name) {
-                "engine" -> args[param] = engine
-                "declaredName" -> if (declaredName != null) args[param] = declaredName
-                "declaredShortName" -> if (declaredShortName != null) args[param] = declaredShortName
-                "elementId" -> args[param] = elementId
-                // Deliberately skip "parent" — the default (null) means no OwnershipResolver
-            }
-        }
-
-        try {
-            val element = constructor.callBy(args) as MDMObject
-            engine.registerElement(element)
-
-            @Suppress("UNCHECKED_CAST")
-            return element as T
-        } catch (e: java.lang.reflect.InvocationTargetException) {
-            val cause = e.cause
-            throw IllegalStateException("Failed to construct $typeName: ${cause?.message}", cause)
-        }
+        val element = KerMLElementFactory.create(
+            className = typeName,
+            engine = engine,
+            parent = owner,
+            declaredName = declaredName,
+            declaredShortName = declaredShortName,
+            elementId = elementId
+        ) ?: throw IllegalArgumentException("No suitable constructor found for $typeName")
+        engine.registerElement(element as MDMObject)
+        return element
     }
 
     /**
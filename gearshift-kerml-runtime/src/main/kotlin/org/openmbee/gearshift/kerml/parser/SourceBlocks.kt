@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.parser
+
+import org.antlr.v4.runtime.BaseErrorListener
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.RecognitionException
+import org.antlr.v4.runtime.Recognizer
+import org.antlr.v4.runtime.Token
+import org.openmbee.gearshift.kerml.antlr.KerMLLexer
+
+/**
+ * The text of one top-level member of a KerML source, from its first token to its last.
+ *
+ * @property text The member's source text, without surrounding whitespace or notes
+ * @property start Offset of the first character in the whole source
+ */
+class SourceBlock(val text: String, val start: Int) {
+
+    /** Offset of the last character in the whole source */
+    val stop: Int get() = start + text.length - 1
+}
+
+/**
+ * Splits KerML source into top-level members using the lexer alone.
+ *
+ * A member ends at a `;` or a closing `}` (together with a `;` directly after it) at brace depth
+ * zero, or at a standalone comment at depth zero. This matches the grammar's root namespace body
+ * for ordinary sources and costs one pass of the lexer, far less than a parse; callers that must
+ * be exact should check the blocks against a parse, since a block that merely looks complete is
+ * only known to be a member once it parses on its own.
+ */
+object SourceBlocks {
+
+    /**
+     * Split [text] into its top-level members, in source order.
+     *
+     * @return The blocks, or null if the text does not lex or its braces do not balance
+     */
+    fun split(text: String): List<SourceBlock>? {
+        var lexError = false
+        val lexer = KerMLLexer(CharStreams.fromString(text))
+        lexer.removeErrorListeners()
+        lexer.addErrorListener(object : BaseErrorListener() {
+            override fun syntaxError(
+                recognizer: Recognizer<*, *>?,
+                offendingSymbol: Any?,
+                line: Int,
+                charPositionInLine: Int,
+                msg: String?,
+                e: RecognitionException?
+            ) {
+                lexError = true
+            }
+        })
+
+        val blocks = mutableListOf<SourceBlock>()
+        var depth = 0
+        var start = -1
+        // Stop offset of a '}' that closed a member, held back in case a ';' follows
+        var closedAt = -1
+
+        fun close(stop: Int) {
+            blocks += SourceBlock(text.substring(start, stop + 1), start)
+            start = -1
+            closedAt = -1
+        }
+
+        for (token in lexer.allTokens) {
+            if (token.channel != Token.DEFAULT_CHANNEL) continue
+            if (closedAt >= 0) {
+                if (token.type == KerMLLexer.SEMICOLON) {
+                    close(token.stopIndex)
+                    continue
+                }
+                close(closedAt)
+            }
+            if (start < 0) start = token.startIndex
+            when (token.type) {
+                KerMLLexer.LBRACE -> depth++
+                KerMLLexer.RBRACE -> {
+                    if (--depth < 0) return null
+                    if (depth == 0) closedAt = token.stopIndex
+                }
+                KerMLLexer.SEMICOLON, KerMLLexer.REGULAR_COMMENT -> if (depth == 0) close(token.stopIndex)
+            }
+        }
+        if (closedAt >= 0) close(closedAt)
+
+        return if (lexError || depth != 0 || start >= 0) null else blocks
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.parser
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import org.antlr.v4.runtime.ANTLRErrorListener
+import org.antlr.v4.runtime.BailErrorStrategy
+import org.antlr.v4.runtime.CharStream
+import org.antlr.v4.runtime.CommonTokenStream
+import org.antlr.v4.runtime.ConsoleErrorListener
+import org.antlr.v4.runtime.DefaultErrorStrategy
+import org.antlr.v4.runtime.Parser
+import org.antlr.v4.runtime.ParserRuleContext
+import org.antlr.v4.runtime.atn.PredictionMode
+import org.antlr.v4.runtime.misc.ParseCancellationException
+import org.openmbee.gearshift.kerml.antlr.KerMLLexer
+import org.openmbee.gearshift.kerml.antlr.KerMLParser
+import org.openmbee.gearshift.kerml.antlr.SysMLLexer
+import org.openmbee.gearshift.kerml.antlr.SysMLParser
+import java.util.concurrent.atomic.AtomicLong
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Two-stage ANTLR parsing for the KerML and SysML grammars.
+ *
+ * Each parse first runs with SLL prediction and a [BailErrorStrategy], which is much cheaper than
+ * full-context LL prediction on these large, ambiguous grammars. SLL accepts exactly the inputs LL
+ * accepts except where it cannot resolve an ambiguity, so when it bails — on such a decision or on
+ * a genuine syntax error — the tokens are rewound and the parse reruns with LL prediction and the
+ * default error strategy, which reports errors to the caller's listener as before.
+ *
+ * Generated parsers keep their prediction DFA in static fields shared by every instance, so each
+ * parse also speeds up the next; [warmUpKerML] fills that cache ahead of the first real parse.
+ */
+object TwoStageParser {
+
+    private val sllParses = AtomicLong()
+    private val llParses = AtomicLong()
+
+    /** Parses completed by the SLL stage alone since startup */
+    val sllCount: Long get() = sllParses.get()
+
+    /** Parses that fell back to the LL stage since startup */
+    val llFallbackCount: Long get() = llParses.get()
+
+    /**
+     * Parse a KerML root namespace. Lexer and parser errors go to [errorListener], or to the
+     * console when none is given.
+     */
+    fun parseKerML(input: CharStream, errorListener: ANTLRErrorListener? = null): KerMLParser.RootNamespaceContext {
+        val lexer = KerMLLexer(input)
+        errorListener?.let {
+            lexer.removeErrorListeners()
+            lexer.addErrorListener(it)
+        }
+        return parse(KerMLParser(CommonTokenStream(lexer)), errorListener) { it.rootNamespace() }
+    }
+
+    /**
+     * Parse several KerML sources concurrently on the common fork-join pool. Lexing and parsing of
+     * each source is independent; building model elements from the trees is left to the caller.
+     *
+     * @return One result per input, in input order
+     */
+    fun parseKerMLConcurrently(inputs: List<CharStream>): List<ParsedKerML> =
+        inputs.parallelStream()
+            .map { input ->
+                val errors = KerMLErrorListener()
+                ParsedKerML(input.sourceName, parseKerML(input, errors), errors.errors)
+            }
+            .toList()
+
+    /**
+     * Parse a SysML root namespace. Lexer and parser errors go to [errorListener], or to the
+     * console when none is given.
+     */
+    fun parseSysML(input: CharStream, errorListener: ANTLRErrorListener? = null): SysMLParser.RootNamespaceContext {
+        val lexer = SysMLLexer(input)
+        errorListener?.let {
+            lexer.removeErrorListeners()
+            lexer.addErrorListener(it)
+        }
+        return parse(SysMLParser(CommonTokenStream(lexer)), errorListener) { it.rootNamespace() }
+    }
+
+    /**
+     * Run [rule] on [parser] with SLL prediction, rerunning it with LL prediction if SLL bails.
+     * Syntax errors are only reported by the LL stage.
+     */
+    fun <P : Parser, T : ParserRuleContext> parse(parser: P, errorListener: ANTLRErrorListener?, rule: (P) -> T): T {
+        parser.removeErrorListeners()
+        parser.errorHandler = BailErrorStrategy()
+        parser.interpreter.predictionMode = PredictionMode.SLL
+        try {
+            return rule(parser).also { sllParses.incrementAndGet() }
+        } catch (e: ParseCancellationException) {
+            logger.trace { "SLL parse bailed, retrying with LL: ${e.message}" }
+        }
+
+        // reset() rewinds the token stream; tokens lexed so far are reused, not re-lexed
+        parser.reset()
+        parser.addErrorListener(errorListener ?: ConsoleErrorListener.INSTANCE)
+        parser.errorHandler = DefaultErrorStrategy()
+        parser.interpreter.predictionMode = PredictionMode.LL
+        return rule(parser).also { llParses.incrementAndGet() }
+    }
+
+    /**
+     * Parse each of [sources] and discard the trees, filling the shared KerML prediction DFA.
+     * Sources that fail to parse are skipped.
+     *
+     * @return The number of sources parsed without errors
+     */
+    fun warmUpKerML(sources: Iterable<CharStream>): Int {
+        var parsed = 0
+        for (source in sources) {
+            val errors = KerMLErrorListener()
+            try {
+                parseKerML(source, errors)
+                if (!errors.hasErrors) parsed++
+            } catch (e: Exception) {
+                logger.debug(e) { "Parser warm-up skipped ${source.sourceName}" }
+            }
+        }
+        return parsed
+    }
+}
+
+/**
+ * A KerML syntax tree together with the syntax errors reported while parsing it.
+ */
+class ParsedKerML(
+    val sourceName: String,
+    val tree: KerMLParser.RootNamespaceContext,
+    val errors: List<KerMLParseError>
+) {
+    val hasErrors: Boolean get() = errors.isNotEmpty()
+}
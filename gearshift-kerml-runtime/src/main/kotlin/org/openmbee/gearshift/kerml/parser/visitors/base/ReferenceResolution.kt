@@ -21,6 +21,7 @@ import org.openmbee.mdm.framework.runtime.MDMObject
 import org.openmbee.gearshift.generated.interfaces.Element
 import org.openmbee.gearshift.generated.interfaces.Membership
 import org.openmbee.gearshift.generated.interfaces.ModelElement
+import org.openmbee.gearshift.kerml.index.NamespaceParentIndex
 import org.openmbee.gearshift.kerml.parser.KermlParseContext
 import kotlin.reflect.KMutableProperty1
 import kotlin.reflect.full.memberProperties
@@ -144,8 +145,19 @@ fun KermlParseContext.registerReference(
 /**
  * Resolves collected references after parsing completes.
  * Links source elements to their resolved targets via property setters.
+ *
+ * Name lookups go through the engine's `declaredName` property index and owning namespaces through
+ * [namespaceParents], both maintained incrementally, so resolving a fragment costs time in
+ * proportion to its references rather than to the size of the model and its mounted libraries.
+ *
+ * @param engine The engine holding the parsed elements
+ * @param namespaceParents Parent pointers for qualified-name checks; without one, owning namespaces
+ * are found by following the ownership links
  */
-class ReferenceResolver(private val engine: MDMEngine) {
+class ReferenceResolver(
+    private val engine: MDMEngine,
+    private val namespaceParents: NamespaceParentIndex? = null
+) {
 
     /**
      * Resolve all pending references in the collector.
@@ -160,10 +172,7 @@ class ReferenceResolver(private val engine: MDMEngine) {
             return 0
         }
 
-        // Build name indexes once — avoids O(refs × elements) linear scans and
-        // repeated evaluation of the recursive qualifiedName derivation.
-        val nameIndex = NameIndex.build(engine)
-        logger.debug { "Built name index for ${references.size} pending references" }
+        val nameIndex = NameIndex(engine, namespaceParents)
 
         var resolved = 0
         for (ref in references) {
@@ -172,16 +181,43 @@ class ReferenceResolver(private val engine: MDMEngine) {
             }
         }
 
-        logger.debug { "Resolved $resolved of ${references.size} references" }
+        logger.debug { "Resolved $resolved of ${references.size} references (${nameIndex.size} distinct names)" }
         collector.clear()
         return resolved
     }
 
+    /**
+     * Resolve the references in [collector] again against the current model, setting only those
+     * whose resolved target differs from the one the source element holds.
+     *
+     * @param collector The reference collector containing previously resolved references
+     * @return IDs of the source elements whose reference was set
+     */
+    fun reresolveAll(collector: ReferenceCollector): Set<String> {
+        val references = collector.getReferences()
+        val nameIndex = NameIndex(engine, namespaceParents)
+
+        val changed = HashSet<String>()
+        for (ref in references) {
+            val sourceElement = engine.getInstance(ref.sourceElementId) as? ModelElement ?: continue
+            val target = resolveTarget(ref, sourceElement, nameIndex)
+            val current = getProperty(sourceElement, ref.targetProperty) as? MDMObject
+            if (current != null && current.id == (target as? MDMObject)?.id) continue
+            if (setProperty(sourceElement, ref.targetProperty, target)) {
+                changed += ref.sourceElementId
+            }
+        }
+
+        logger.debug { "Re-resolved ${references.size} references, ${changed.size} sources changed" }
+        collector.clear()
+        return changed
+    }
+
     /**
      * Resolve a single pending reference.
      *
      * @param ref The pending reference to resolve
-     * @param nameIndex Pre-built name index for O(1) lookups
+     * @param nameIndex Name lookups for this resolution pass
      * @return true if successfully resolved
      */
     private fun resolveReference(ref: PendingReference, nameIndex: NameIndex): Boolean {
@@ -192,6 +228,16 @@ class ReferenceResolver(private val engine: MDMEngine) {
             return false
         }
 
+        // Set the property using reflection
+        return setProperty(sourceElement, ref.targetProperty, resolveTarget(ref, sourceElement, nameIndex))
+    }
+
+    /**
+     * Find the element [ref] names, as the value its target property takes.
+     *
+     * @throws UnresolvedReferenceException if no element has the name
+     */
+    private fun resolveTarget(ref: PendingReference, sourceElement: ModelElement, nameIndex: NameIndex): ModelElement {
         // Resolve the qualified name to find the target element
         val targetElement = nameIndex.resolve(ref.qualifiedName)
         if (targetElement == null) {
@@ -203,7 +249,7 @@ class ReferenceResolver(private val engine: MDMEngine) {
         // For importedMembership, the resolved name may point to the member element
         // (e.g., a Class) rather than the Membership that makes it visible. Navigate
         // to the element's owningMembership so we get the correct Membership type.
-        val resolvedTarget = if (ref.targetProperty == "importedMembership" && targetElement !is Membership) {
+        return if (ref.targetProperty == "importedMembership" && targetElement !is Membership) {
             val owning = (targetElement as? Element)?.owningMembership
             if (owning != null) {
                 logger.debug { "importedMembership: navigated from ${(targetElement as? Element)?.declaredName} to its owningMembership" }
@@ -214,13 +260,10 @@ class ReferenceResolver(private val engine: MDMEngine) {
         } else {
             targetElement
         }
-
-        // Set the property using reflection
-        return setProperty(sourceElement, ref.targetProperty, resolvedTarget)
     }
 
     /**
-     * Ephemeral name index built once per [resolveAll] call.
+     * Name lookups for one [resolveAll] call, memoized per qualified name.
      *
      * Uses only the stored [Element.declaredName] property (no derived property
      * evaluation) to avoid triggering the recursive `qualifiedName` OCL derivation
@@ -230,13 +273,21 @@ class ReferenceResolver(private val engine: MDMEngine) {
      * by the last segment and then verifies the ownership chain matches.
      */
     private class NameIndex(
-        private val byName: Map<String, List<ModelElement>>,
-        private val engine: MDMEngine
+        private val engine: MDMEngine,
+        private val namespaceParents: NamespaceParentIndex?
     ) {
-        fun resolve(qualifiedName: String): ModelElement? {
+        private val resolved = HashMap<String, ModelElement?>()
+
+        val size: Int
+            get() = resolved.size
+
+        fun resolve(qualifiedName: String): ModelElement? =
+            resolved.getOrPut(qualifiedName) { lookup(qualifiedName) }
+
+        private fun lookup(qualifiedName: String): ModelElement? {
             val parts = qualifiedName.split("::")
-            val simpleName = parts.last()
-            val candidates = byName[simpleName] ?: return null
+            val candidates = engine.findElementsByProperty("Element", "declaredName", parts.last())
+                .filterIsInstance<ModelElement>()
 
             if (parts.size == 1) {
                 // Simple name — return first match
@@ -268,45 +319,42 @@ class ReferenceResolver(private val engine: MDMEngine) {
         }
 
         private fun getOwningNamespace(element: Element): Element? {
+            val obj = element as? MDMObject ?: return null
+            if (namespaceParents != null) {
+                return namespaceParents.owningNamespace(obj) as? Element
+            }
+
             // Walk the structural link graph to find the owning namespace
             // WITHOUT triggering derived property evaluation (which causes
             // stack overflow via inheritedMemberships → supertypes cascade).
             //
             // Path: Element ←(ownedMemberElement)← OwningMembership
             //                                       ←(ownedMembership)← Namespace
-            val obj = element as? MDMObject ?: return null
             val elementId = obj.id ?: return null
 
             // Hop 1: Element → its OwningMembership
-            val memberships = engine.getLinkedSources(
-                "owningMembershipOwnedMemberElementAssociation", elementId
-            )
+            val memberships = engine.getLinkedSources(NamespaceParentIndex.OWNED_MEMBER_ELEMENT, elementId)
             val membership = memberships.firstOrNull() ?: return null
             val membershipId = membership.id ?: return null
 
             // Hop 2: OwningMembership → its owning Namespace
-            val namespaces = engine.getLinkedSources(
-                "membershipOwningNamespaceOwnedMembershipAssociation", membershipId
-            )
+            val namespaces = engine.getLinkedSources(NamespaceParentIndex.OWNED_MEMBERSHIP, membershipId)
             return namespaces.firstOrNull() as? Element
         }
+    }
 
-        companion object {
-            fun build(engine: MDMEngine): NameIndex {
-                val allElements = engine.getAllElements()
-                val nameMap = HashMap<String, MutableList<ModelElement>>(allElements.size / 2)
-
-                for (obj in allElements) {
-                    if (obj !is Element) continue
-                    val element = obj as? ModelElement ?: continue
-                    val dn = (obj as Element).declaredName ?: continue
-                    nameMap.getOrPut(dn) { mutableListOf() }.add(element)
-                }
-
-                return NameIndex(nameMap, engine)
-            }
+    /**
+     * Read a property of an element using reflection.
+     *
+     * @return The value, or null if the element has no such property or reading it fails
+     */
+    private fun getProperty(element: ModelElement, propertyName: String): Any? =
+        try {
+            element::class.memberProperties.firstOrNull { it.name == propertyName }?.getter?.call(element)
+        } catch (e: Exception) {
+            logger.debug { "Failed to read property '$propertyName' on ${element::class.simpleName}: ${e.message}" }
+            null
         }
-    }
 
     /**
      * Set a property on an element using reflection.
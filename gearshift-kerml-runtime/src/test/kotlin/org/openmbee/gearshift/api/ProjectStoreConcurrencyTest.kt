@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.api
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainAll
+import io.kotest.matchers.collections.shouldHaveSize
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import org.openmbee.gearshift.kerml.KerMLModel
+import org.openmbee.gearshift.kerml.KerMLTestSpec
+import org.openmbee.mdm.framework.runtime.ElementSerializer
+import org.openmbee.mdm.framework.runtime.MountableEngine
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+private const val READERS = 8
+private const val COMMITS = 40
+private const val WRITERS = 4
+private const val FRAGMENTS_PER_WRITER = 10
+
+private fun localElementCount(model: KerMLModel): Int =
+    (model.engine as MountableEngine).getLocalElements().size
+
+class ProjectStoreConcurrencyTest : KerMLTestSpec({
+
+    describe("ProjectStore concurrency") {
+
+        it("should serve only committed states to readers while commits are applied") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Stress").id
+            val small = "package Vehicles { class Vehicle; class Wheel; }"
+            val large = "package Vehicles { class Vehicle; class Wheel; class Engine { feature mass; } }"
+
+            store.createCommitWithKerML(projectId, "large", large).shouldNotBeNull()
+            val largeCount = store.readModel(projectId, ::localElementCount)!!
+            store.createCommitWithKerML(projectId, "small", small).shouldNotBeNull()
+            val smallCount = store.readModel(projectId, ::localElementCount)!!
+            smallCount shouldNotBe largeCount
+
+            val failures = ConcurrentLinkedQueue<Throwable>()
+            val observedCounts = ConcurrentHashMap.newKeySet<Int>()
+            val writing = AtomicBoolean(true)
+            val started = CountDownLatch(READERS)
+            val pool = Executors.newFixedThreadPool(READERS + 1)
+
+            repeat(READERS) {
+                pool.execute {
+                    started.countDown()
+                    try {
+                        while (writing.get()) {
+                            store.readModel(projectId) { model ->
+                                val elements = (model.engine as MountableEngine).getLocalElements()
+                                // Full serialization evaluates derived properties, filling the shared caches
+                                ElementSerializer(model.engine).serializeAll(elements)
+                                observedCounts += elements.size
+                            }
+                            store.getCommitsForProject(projectId)
+                        }
+                    } catch (e: Throwable) {
+                        failures += e
+                    }
+                }
+            }
+
+            val writer = pool.submit {
+                started.await()
+                try {
+                    repeat(COMMITS) { i ->
+                        store.createCommitWithKerML(projectId, "commit $i", if (i % 2 == 0) large else small)
+                    }
+                } finally {
+                    writing.set(false)
+                }
+            }
+            writer.get(5, TimeUnit.MINUTES)
+            pool.shutdown()
+            pool.awaitTermination(1, TimeUnit.MINUTES) shouldBe true
+
+            failures.shouldBeEmpty()
+            setOf(smallCount, largeCount).shouldContainAll(observedCounts)
+            // Initial empty commit, the two setup commits and every stress commit, in order
+            val history = store.getCommitsForProject(projectId)
+            history shouldHaveSize COMMITS + 3
+            store.getDefaultBranch(projectId)!!.headCommitId shouldBe history.last().id
+        }
+
+        it("should apply concurrent element mutations one at a time") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Writers").id
+            store.createCommitWithKerML(projectId, "base", "package Base;").shouldNotBeNull()
+
+            val failures = ConcurrentLinkedQueue<Throwable>()
+            val createdIds = ConcurrentLinkedQueue<String>()
+            val pool = Executors.newFixedThreadPool(WRITERS)
+            repeat(WRITERS) { w ->
+                pool.execute {
+                    try {
+                        repeat(FRAGMENTS_PER_WRITER) { i ->
+                            val result = store.addElementsFromKerML(projectId, "class C${w}_$i;")
+                            createdIds += result.shouldNotBeNull().elementIds
+                        }
+                    } catch (e: Throwable) {
+                        failures += e
+                    }
+                }
+            }
+            pool.shutdown()
+            pool.awaitTermination(5, TimeUnit.MINUTES) shouldBe true
+
+            failures.shouldBeEmpty()
+            // Every fragment saw the state left by the previous one, so no element was reported twice
+            createdIds.toSet() shouldHaveSize createdIds.size
+            store.readModel(projectId) { model ->
+                createdIds.all { model.engine.getElement(it) != null }
+            } shouldBe true
+
+            val history = store.getCommitsForProject(projectId)
+            history shouldHaveSize 2 + WRITERS * FRAGMENTS_PER_WRITER
+            history.zipWithNext().all { (previous, next) -> next.previousCommit == listOf(previous.id) } shouldBe true
+        }
+
+        it("should not make commits wait for a paged read that is being consumed") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Paged").id
+            store.createCommitWithKerML(projectId, "base", "package Yard { class A; class B; class C; }").shouldNotBeNull()
+
+            val pages = store.readModelPages(projectId, pageSize = 2) { model ->
+                (model.engine as MountableEngine).getLocalElements().mapNotNull { it.id }.iterator()
+            }.shouldNotBeNull()
+            pages.next() shouldHaveSize 2
+
+            // The consumer holds no lock between pages, so the commit completes at once
+            val writer = Executors.newSingleThreadExecutor()
+            writer.submit(Callable {
+                store.createCommitWithKerML(projectId, "more", "package Yard { class A; class D; }")
+            }).get(1, TimeUnit.MINUTES).shouldNotBeNull()
+            writer.shutdown()
+            shouldThrow<ConcurrentModificationException> { pages.next() }
+        }
+    }
+})
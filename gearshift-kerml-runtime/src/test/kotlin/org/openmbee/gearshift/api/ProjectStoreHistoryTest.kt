@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.api
+
+import io.kotest.matchers.collections.shouldContain
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.collections.shouldNotContain
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import org.openmbee.gearshift.kerml.KerMLModel
+import org.openmbee.gearshift.kerml.KerMLTestSpec
+import org.openmbee.mdm.framework.meta.AggregationKind
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.ModelSnapshot
+import org.openmbee.mdm.framework.runtime.MountableEngine
+import java.nio.file.Files
+
+private fun ModelSnapshot.declaredNames(): Set<Any?> =
+    elements().mapNotNull { it.values["declaredName"] }.toSet()
+
+/**
+ * Every local element, in ownership order from the model's root, with its stored links, described
+ * without IDs: local elements are named by their ownership path, library elements by their spec
+ * elementId. Elements not reachable from the root are counted at the end.
+ */
+private fun KerMLModel.outline(): List<String> {
+    val root = getRootElement() as? MDMObject ?: return emptyList()
+    val paths = HashMap<String, String>()
+    val order = ArrayList<MDMObject>()
+    fun outgoing(element: MDMObject) = engine.getLinks(element.id!!).filter { it.sourceId == element.id }
+    fun visit(element: MDMObject, path: String) {
+        paths[element.id!!] = path
+        order += element
+        // An owned element may be linked through several composite associations that subset each other
+        outgoing(element)
+            .filter { it.association.targetEnd.aggregation == AggregationKind.COMPOSITE }
+            .map { it.targetId }.distinct().filter { it !in paths }
+            .forEachIndexed { i, id -> engine.getElement(id)?.let { visit(it, "$path/$i") } }
+    }
+    visit(root, "")
+
+    val localIds = (engine as MountableEngine).getLocalElements().mapNotNullTo(HashSet()) { it.id }
+    fun name(id: String) = paths[id]
+        ?: if (id in localIds) "unreachable" else "library:${engine.getElement(id)?.getProperty("elementId")}"
+    val lines = order.map { element ->
+        val links = outgoing(element)
+            .filter { it.association.targetEnd.aggregation != AggregationKind.COMPOSITE }
+            .map { "${it.association.name} -> ${name(it.targetId)}" }
+        "${paths[element.id]} ${element.className} ${element.getProperty("declaredName")} " +
+            "implied=${element.getProperty("isImplied")} $links"
+    }
+    val unreachable = localIds.count { it !in paths }
+    return lines + "unreachable: $unreachable"
+}
+
+class ProjectStoreHistoryTest : KerMLTestSpec({
+
+    describe("ProjectStore commit snapshots") {
+
+        it("should serve each commit's own element state") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("History").id
+            val first = store.createCommitWithKerML(projectId, "first", "package Fleet { class Truck; }")!!
+            val second = store.createCommitWithKerML(projectId, "second", "package Fleet { class Bus; class Tram; }")!!
+
+            store.isHeadCommit(projectId, first.id) shouldBe false
+            store.isHeadCommit(projectId, second.id) shouldBe true
+
+            val firstNames = store.getSnapshot(projectId, first.id).shouldNotBeNull().declaredNames()
+            firstNames shouldContain "Truck"
+            firstNames shouldNotContain "Bus"
+
+            val secondSnapshot = store.getSnapshot(projectId, second.id).shouldNotBeNull()
+            secondSnapshot.declaredNames() shouldContain "Tram"
+            secondSnapshot.declaredNames() shouldNotContain "Truck"
+            // The head snapshot holds exactly the local elements of the live model
+            val liveIds = store.readModel(projectId) { model ->
+                (model.engine as MountableEngine).getLocalElements().mapNotNull { it.id }.toSet()
+            }
+            secondSnapshot.elementIds().toSet() shouldBe liveIds
+            store.getSnapshot(projectId, "unknown").shouldBeNull()
+        }
+
+        it("should record only the changed elements of a mutation") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Deltas").id
+            store.createCommitWithKerML(projectId, "base", "package Shop { class Cart; class Item; }")!!
+            val before = store.getDefaultBranch(projectId)!!.headCommitId!!
+
+            val cartId = store.getSnapshot(projectId, before)!!.elements()
+                .first { it.values["declaredName"] == "Cart" }.id
+            val update = store.updateElementProperties(projectId, cartId, mapOf("isAbstract" to true))!!
+
+            update.commit.changes.map { it.identityId } shouldBe listOf(cartId)
+            store.getSnapshot(projectId, before)!![cartId]!!.values["isAbstract"] shouldNotBe true
+            store.getSnapshot(projectId, update.commit.id)!![cartId]!!.values["isAbstract"] shouldBe true
+
+            val deletion = store.deleteElement(projectId, cartId)!!
+            deletion.commit.changes.filter { it.payload == null }.map { it.identityId }.toSet() shouldBe
+                deletion.elementIds.toSet()
+            store.getSnapshot(projectId, deletion.commit.id)!![cartId].shouldBeNull()
+            store.getSnapshot(projectId, update.commit.id)!![cartId].shouldNotBeNull()
+        }
+
+        it("should answer element reads from the commit's snapshot, not the live model") {
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Reads").id
+            val first = store.createCommitWithKerML(projectId, "first", "package Fleet { class Truck; }")!!
+            val truck = store.getElementsAtCommit(projectId, first.id)!!.first { it.values["declaredName"] == "Truck" }
+            fun liveRootIds() = store.readModel(projectId) { model ->
+                val localIds = (model.engine as MountableEngine).getLocalElements().map { it.id }.toSet()
+                model.engine.getRootNamespaces().map { it.id }.filter { it in localIds }
+            }!!
+            val firstRootIds = liveRootIds()
+            val second = store.createCommitWithKerML(projectId, "second", "package Depot { class Bus; }")!!
+            val secondRootIds = liveRootIds()
+
+            store.getElementAtCommit(projectId, first.id, truck.id) shouldBe truck
+            store.getElementAtCommit(projectId, second.id, truck.id).shouldBeNull()
+            store.getRootsAtCommit(projectId, first.id)!!.map { it.id } shouldContainExactlyInAnyOrder firstRootIds
+            store.getRootsAtCommit(projectId, second.id)!!.map { it.id } shouldContainExactlyInAnyOrder secondRootIds
+            store.getRelatedElementsAtCommit(projectId, first.id, truck.id)!!.map { it.id } shouldContain
+                (truck.values["owningRelationship"] as Map<*, *>)["@id"]
+            store.getElementsAtCommit(projectId, "unknown").shouldBeNull()
+        }
+
+        it("should restore earlier commits' snapshots from file persistence") {
+            val dataDir = Files.createTempDirectory("project-history-test")
+            try {
+                val store = ProjectStore(enableMounts = true, backend = FileProjectBackend(dataDir))
+                val projectId = store.createProject("Persisted").id
+                val first = store.createCommitWithKerML(projectId, "first", "package Fleet { class Truck; }")!!
+                val second = store.createCommitWithKerML(projectId, "second", "package Fleet { class Bus; }")!!
+                val third = store.createCommitWithKerML(projectId, "third", "package Fleet { class Tram; }")!!
+                val firstIds = store.getSnapshot(projectId, first.id)!!.elementIds().toSet()
+                Files.delete(dataDir.resolve("projects/$projectId/versions/${second.id}.json"))
+
+                val restored = ProjectStore(enableMounts = true)
+                FileProjectBackend(dataDir).loadAll(restored) shouldBe 1
+
+                restored.getSnapshot(projectId, first.id).shouldNotBeNull().elementIds().toSet() shouldBe firstIds
+                restored.getElementsAtCommit(projectId, first.id)!!.map { it.values["declaredName"] } shouldContain "Truck"
+                // A commit whose version was lost has no snapshot, rather than the live state
+                restored.getElementsAtCommit(projectId, second.id).shouldBeNull()
+                restored.getElementsAtCommit(projectId, third.id)!!.map { it.values["declaredName"] } shouldContain "Tram"
+            } finally {
+                Files.walk(dataDir).sorted(Comparator.reverseOrder()).forEach { Files.deleteIfExists(it) }
+            }
+        }
+
+        it("should leave the model as a full parse of each commit's source would") {
+            val sources = listOf(
+                """
+                package Parts {
+                    class Bolt { feature head; }
+                    assoc Joint { end feature a : Bolt; end feature b : Bolt; }
+                }
+                package Garage {
+                    private import Parts::*;
+                    class Wrench :> Parts::Bolt { feature grip :>> Parts::Bolt::head; }
+                    assoc Weld :> Parts::Joint { end feature c; end feature d; }
+                    feature torque : Parts::Bolt;
+                }
+                class Spanner :> Garage::Wrench { feature size; }
+                """,
+                // Parts is edited: its Joint ends and Bolt are rebuilt ahead of the kept members
+                """
+                package Parts {
+                    class Bolt { feature head; }
+                    class Nut;
+                    assoc Joint { end feature x : Bolt; end feature y : Nut; }
+                }
+                package Garage {
+                    private import Parts::*;
+                    class Wrench :> Parts::Bolt { feature grip :>> Parts::Bolt::head; }
+                    assoc Weld :> Parts::Joint { end feature c; end feature d; }
+                    feature torque : Parts::Bolt;
+                }
+                class Spanner :> Garage::Wrench { feature size; }
+                """,
+                // Spanner is removed, and Garage's supertype moves to a new member
+                """
+                package Parts {
+                    class Bolt { feature head; }
+                    class Nut;
+                    assoc Joint { end feature x : Bolt; end feature y : Nut; }
+                }
+                package Garage {
+                    private import Parts::*;
+                    class Wrench :> Parts::Bolt { feature grip :>> Parts::Bolt::head; }
+                    assoc Weld :> Parts::Joint { end feature c; end feature d; }
+                    feature torque : Parts::Bolt;
+                }
+                package Fittings { class Washer :> Parts::Nut; }
+                """
+            ).map { it.trimIndent() }
+
+            val store = ProjectStore(enableMounts = true)
+            val projectId = store.createProject("Incremental").id
+            val first = store.createCommitWithKerML(projectId, "first", sources[0])!!
+            val garageIds = store.getSnapshot(projectId, first.id)!!.elements()
+                .filter { it.values["declaredName"] in setOf("Garage", "Wrench", "Weld") }.map { it.id }
+
+            for ((index, source) in sources.withIndex()) {
+                val commit = if (index == 0) first else store.createCommitWithKerML(projectId, "edit $index", source)!!
+                val snapshot = store.getSnapshot(projectId, commit.id)!!
+                val incremental = store.readModel(projectId) { model ->
+                    val localIds = (model.engine as MountableEngine).getLocalElements().mapNotNull { it.id }.toSet()
+                    snapshot.elementIds().toSet() shouldBe localIds
+                    model.outline()
+                }!!
+
+                val parsed = freshModel()
+                parsed.reset()
+                parsed.parseString(source).shouldNotBeNull()
+                incremental shouldBe parsed.outline()
+            }
+
+            // The unchanged package was never rebuilt
+            val lastIds = store.getSnapshot(projectId, store.getDefaultBranch(projectId)!!.headCommitId!!)!!
+                .elementIds().toSet()
+            garageIds.forEach { lastIds shouldContain it }
+        }
+    }
+})
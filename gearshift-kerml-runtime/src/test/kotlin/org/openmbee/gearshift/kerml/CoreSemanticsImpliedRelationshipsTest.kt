@@ -23,6 +23,8 @@ import org.openmbee.gearshift.generated.interfaces.Feature
 import org.openmbee.gearshift.generated.interfaces.Subclassification
 import org.openmbee.gearshift.generated.interfaces.Subsetting
 import org.openmbee.gearshift.generated.interfaces.Class as KerMLClass
+import org.openmbee.mdm.framework.meta.BindingCondition
+import org.openmbee.mdm.framework.runtime.MDMObject
 import org.openmbee.mdm.framework.runtime.MissingRequiredAssociationException
 
 private val logger = KotlinLogging.logger {}
@@ -301,5 +303,32 @@ class CoreSemanticsImpliedRelationshipsTest : KerMLTestSpec({
                 (owner.name == "OwnedRelTest" || owner.declaredName == "OwnedRelTest") shouldBe true
             }
         }
+
+        context("BindingCondition.OperationResult") {
+
+            it("should pass its arguments to the operation") {
+                val factory = freshModel()
+                factory.parseString(
+                    """
+                    package Test {
+                        class Base;
+                        class Derived :> Base;
+                        class Other;
+                    }
+                """.trimIndent()
+                )
+                val base = factory.findByName<KerMLClass>("Base").shouldNotBeNull() as MDMObject
+                val derived = factory.findByName<KerMLClass>("Derived").shouldNotBeNull() as MDMObject
+                val other = factory.findByName<KerMLClass>("Other").shouldNotBeNull() as MDMObject
+
+                val handler = KerMLSemanticHandler(factory.engine)
+                handler.evaluateCondition(
+                    BindingCondition.OperationResult("specializes", mapOf("supertype" to base)), derived
+                ) shouldBe true
+                handler.evaluateCondition(
+                    BindingCondition.OperationResult("specializes", mapOf("supertype" to other)), derived
+                ) shouldBe false
+            }
+        }
     }
 })
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+import org.openmbee.gearshift.generated.KerMLElementFactory
+import org.openmbee.mdm.framework.runtime.OwnershipResolver
+import kotlin.random.Random
+
+/**
+ * Tests for the generated element constructor table and the shared ownership resolver it relies on.
+ */
+class KerMLElementFactoryTest : DescribeSpec({
+
+    val engine = KerMLModel.createKerMLEngine()
+    val schema = engine.schema
+    val classNames = schema.getAllClasses().map { it.name }.sorted()
+
+    describe("KerMLElementFactory.create") {
+
+        it("should build the matching Impl for every concrete metaclass") {
+            val mismatches = schema.getAllClasses()
+                .filterNot { it.isAbstract }
+                .mapNotNull { metaClass ->
+                    val created = KerMLElementFactory.create(metaClass.name, engine)
+                    val implName = created?.let { it::class.simpleName }
+                    if (implName == "${metaClass.name}Impl") null else "${metaClass.name} -> $implName"
+                }
+
+            mismatches.shouldBeEmpty()
+        }
+
+        it("should return null for an unknown class") {
+            KerMLElementFactory.create("NoSuchClass", engine) shouldBe null
+        }
+    }
+
+    describe("OwnershipResolver memoization") {
+
+        it("should resolve the most specific intermediate") {
+            val resolver = schema.ownershipResolver
+            resolver.resolve("Type", "Feature")?.intermediateType shouldBe "FeatureMembership"
+            resolver.resolve("Namespace", "Package")?.intermediateType shouldBe "OwningMembership"
+        }
+
+        it("should match an uncached resolver for sampled parent and child types") {
+            val random = Random(21)
+            val pairs = List(200) { classNames.random(random) to classNames.random(random) } +
+                listOf("Type" to "Feature", "Function" to "Expression", "Namespace" to "Package")
+            val shared = schema.ownershipResolver
+
+            // Resolve twice so the second pass is answered from the memo
+            pairs.forEach { (parent, child) -> shared.resolve(parent, child) }
+
+            val mismatches = pairs.filter { (parent, child) ->
+                shared.resolve(parent, child) != OwnershipResolver(schema).resolve(parent, child)
+            }
+
+            mismatches.shouldBeEmpty()
+        }
+    }
+})
@@ -19,6 +19,8 @@ import io.github.oshai.kotlinlogging.KotlinLogging
 import io.kotest.core.spec.style.DescribeSpec
 import io.kotest.matchers.collections.shouldHaveSize
 import io.kotest.matchers.collections.shouldNotBeEmpty
+import io.kotest.matchers.ints.shouldBeGreaterThan
+import io.kotest.matchers.nulls.shouldBeNull
 import io.kotest.matchers.nulls.shouldNotBeNull
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNotBe
@@ -28,6 +30,7 @@ import org.openmbee.gearshift.generated.interfaces.Element
 import org.openmbee.gearshift.generated.interfaces.Feature
 import org.openmbee.gearshift.generated.interfaces.Function
 import org.openmbee.gearshift.generated.interfaces.Namespace
+import org.openmbee.mdm.framework.runtime.MDMEngine
 
 private val logger = KotlinLogging.logger {}
 
@@ -321,5 +324,30 @@ class KerMLLibraryLoadingTest : KerMLTestSpec({
                 om1.elementId shouldBe om2.elementId
             }
         }
+
+        context("library image") {
+
+            // The spec-derived elementId, not the engine ID, is what stays stable across loads
+            fun MDMEngine.anythingId(): String? =
+                getAllElements().firstOrNull { it.getProperty("declaredName") == "Anything" }
+                    ?.getProperty("elementId") as? String
+
+            it("should restore the library from the packaged image") {
+                KerMLSemanticLibraryLoader.openImage().shouldNotBeNull().close()
+                val restored = KerMLModel.restoreKernelLibraryImage().shouldNotBeNull()
+
+                restored.elementCount() shouldBeGreaterThan 0
+                restored.anythingId().shouldNotBeNull()
+            }
+
+            it("should parse the sources when the image's source hash does not match") {
+                KerMLModel.restoreKernelLibraryImage(expectedSourceHash = "stale").shouldBeNull()
+                val parsed = KerMLModel.loadKernelLibraryEngine(expectedSourceHash = "stale").shouldNotBeNull()
+
+                val restored = KerMLModel.restoreKernelLibraryImage().shouldNotBeNull()
+                parsed.elementCount() shouldBe restored.elementCount()
+                parsed.anythingId() shouldBe restored.anythingId()
+            }
+        }
     }
 })
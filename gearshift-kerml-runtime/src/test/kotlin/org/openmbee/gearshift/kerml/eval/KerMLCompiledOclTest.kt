@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.eval
+
+import io.kotest.matchers.ints.shouldBeGreaterThan
+import io.kotest.matchers.shouldBe
+import org.openmbee.gearshift.kerml.KerMLTestSpec
+import org.openmbee.mdm.framework.meta.BodyLanguage
+import org.openmbee.mdm.framework.meta.OperationBody
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.MountableEngine
+import org.openmbee.mdm.framework.runtime.OclExpressionEvaluator
+
+/**
+ * Checks the generated KerMLCompiledOcl bodies against the OCL interpreter on the real
+ * KerML metamodel: every compiled constraint and no-argument operation body is evaluated
+ * both ways on every element of a parsed model.
+ */
+class KerMLCompiledOclTest : KerMLTestSpec({
+
+    val source = """
+        package Vehicles {
+            abstract class Vehicle {
+                feature mass : ScalarValues::Real;
+                feature wheels : Wheel[4];
+            }
+            class Wheel;
+            class Car :> Vehicle {
+                feature :>> mass = 1200.0;
+            }
+            assoc Towing {
+                end feature tower : Vehicle;
+                end feature towed : Vehicle;
+            }
+            datatype Speed;
+            behavior Drive {
+                in feature speed : Speed;
+                step accelerate;
+            }
+            function Heavier { in v : Vehicle; return : ScalarValues::Boolean; }
+            connector c : Towing from Car to Vehicle;
+            feature car : Car;
+            inv { car.mass > 1000.0 }
+        }
+    """.trimIndent()
+
+    /** Run [body], mapping a thrown exception to its type so both paths can be compared. */
+    fun outcome(body: () -> Any?): Any? = try {
+        when (val value = body()) {
+            is Collection<*> -> value.toList()
+            else -> value
+        }
+    } catch (e: Exception) {
+        e::class
+    }
+
+    describe("compiled OCL bodies") {
+
+        it("should be bound by the KerML engine factories") {
+            val model = freshModel()
+            val schema = model.engine.schema
+            val compiled = schema.getAllClasses().sumOf { metaClass ->
+                metaClass.constraints.count { schema.getCompiledOclBody(it) != null } +
+                        metaClass.operations.count { op -> op.body?.let { schema.getCompiledOclBody(it) } != null }
+            }
+            compiled shouldBeGreaterThan 0
+        }
+
+        it("should match the interpreter on every element of a KerML model") {
+            val model = freshModel()
+            model.parseString(source)
+            val engine = model.engine
+            val schema = engine.schema
+            val evaluator = OclExpressionEvaluator()
+            var compared = 0
+            val mismatches = mutableListOf<String>()
+
+            // The model's own elements; the mounted library is shared and would dominate the run
+            for (element in (engine as MountableEngine).getLocalElements()) {
+                val classNames = listOf(element.className) + schema.getAllSuperclasses(element.className)
+                for (metaClass in classNames.mapNotNull { schema.getClass(it) }) {
+                    val bodies = metaClass.constraints.flatMap { c -> listOfNotNull<Pair<String, Any>>(c.name to c, c.body?.let { c.name to it }) } +
+                            metaClass.operations
+                                .filter { it.parameters.isEmpty() }
+                                .mapNotNull { op ->
+                                    (op.body as? OperationBody.Expression)
+                                        ?.takeIf { it.language == BodyLanguage.OCL }
+                                        ?.let { op.name to (it as Any) }
+                                }
+                    for ((name, owner) in bodies) {
+                        val compiled = schema.getCompiledOclBody(owner) ?: continue
+                        val ast = schema.getBoundOclBody(owner) ?: continue
+                        val interpreted = outcome { evaluator.evaluate(ast, element, engine) }
+                        val viaCompiled = outcome { evaluator.evaluate(compiled, element, engine) }
+                        compared++
+                        if (viaCompiled != interpreted) {
+                            mismatches += "${metaClass.name}::$name on ${element.className}: " +
+                                    "compiled=${render(viaCompiled)} interpreted=${render(interpreted)}"
+                        }
+                    }
+                }
+            }
+
+            compared shouldBeGreaterThan 0
+            mismatches shouldBe emptyList()
+        }
+    }
+})
+
+private fun render(value: Any?): String = when (value) {
+    is MDMObject -> "${value.className}(${value.id})"
+    is List<*> -> value.joinToString(prefix = "[", postfix = "]") { render(it) }
+    else -> value.toString()
+}
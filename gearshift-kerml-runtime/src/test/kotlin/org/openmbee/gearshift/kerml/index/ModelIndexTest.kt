@@ -20,6 +20,14 @@ import io.kotest.matchers.nulls.shouldNotBeNull
 import io.kotest.matchers.shouldBe
 import org.openmbee.gearshift.generated.interfaces.Element
 import org.openmbee.gearshift.kerml.KerMLTestSpec
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.MappedMount
+import org.openmbee.mdm.framework.runtime.MappedMountEngine
+import org.openmbee.mdm.framework.runtime.MountRegistry
+import org.openmbee.mdm.framework.runtime.MountableEngine
+import java.nio.file.Files
+import org.openmbee.gearshift.generated.interfaces.Class as KerMLClass
+import org.openmbee.gearshift.generated.interfaces.DataType as KerMLDataType
 
 class ModelIndexTest : KerMLTestSpec({
 
@@ -252,4 +260,86 @@ class ModelIndexTest : KerMLTestSpec({
             car.shouldNotBeNull()
         }
     }
+
+    describe("NamespaceParentIndex") {
+
+        it("should track owning namespaces as elements are parsed") {
+            val model = freshModel()
+            val index = NamespaceParentIndex(model.engine)
+            model.engine.registerLifecycleHandler(index)
+            model.parseString("""
+                package Vehicles {
+                    class Vehicle;
+                }
+            """.trimIndent())
+
+            val vehicle = model.allOfType<KerMLClass>().first { it.declaredName == "Vehicle" } as MDMObject
+            (index.owningNamespace(vehicle) as? Element)?.declaredName shouldBe "Vehicles"
+
+            // A rebuilt index agrees with the incrementally maintained one
+            NamespaceParentIndex(model.engine).owningNamespace(vehicle) shouldBe index.owningNamespace(vehicle)
+        }
+
+        it("should find owning namespaces of mounted library elements") {
+            val model = freshModel()
+            val integer = model.allOfType<KerMLDataType>(includeLibrary = true)
+                .first { it.declaredName == "Integer" } as MDMObject
+
+            val owner = NamespaceParentIndex(model.engine).owningNamespace(integer) as? Element
+            owner?.declaredName shouldBe "ScalarValues"
+        }
+
+        it("should index a memory-mapped mount without materializing its elements") {
+            val model = freshModel()
+            val integer = model.allOfType<KerMLDataType>(includeLibrary = true)
+                .first { it.declaredName == "Integer" } as MDMObject
+            val library = (model.engine as MountableEngine).getMountForElement(integer.id!!).shouldNotBeNull().engine
+
+            val path = Files.createTempFile("library", ".mapped")
+            try {
+                MappedMountEngine.write(library, "test", path)
+                val mapped = MappedMountEngine.open(path, library.schema).shouldNotBeNull()
+                MountRegistry.register(MappedMount("mapped-library", "Mapped library", mapped))
+                val session = MountableEngine(library.schema)
+                session.mount("mapped-library")
+
+                val mappedInteger = session.getElement(integer.id!!).shouldNotBeNull()
+                val owner = NamespaceParentIndex(session).owningNamespace(mappedInteger).shouldNotBeNull()
+                owner.getProperty("declaredName") shouldBe "ScalarValues"
+                // Only the element asked about and its namespace were materialized
+                mapped.materializedCount() shouldBe 2
+            } finally {
+                MountRegistry.unregister("mapped-library")
+                Files.deleteIfExists(path)
+            }
+        }
+
+        it("should resolve qualified names among elements with the same simple name") {
+            val model = freshModel()
+            model.parseString("""
+                package A {
+                    class X;
+                }
+                package B {
+                    class X;
+                }
+                class C specializes B::X;
+            """.trimIndent())
+
+            val c = model.allOfType<KerMLClass>().first { it.declaredName == "C" }
+            val general = c.ownedSpecialization.first().general as MDMObject
+            (NamespaceParentIndex(model.engine).owningNamespace(general) as? Element)?.declaredName shouldBe "B"
+        }
+
+        it("should forget local entries when cleared") {
+            val model = freshModel()
+            val index = NamespaceParentIndex(model.engine)
+            model.engine.registerLifecycleHandler(index)
+            model.parseString("package P { class Q; }")
+            val q = model.allOfType<KerMLClass>().first { it.declaredName == "Q" } as MDMObject
+
+            index.clear()
+            index.owningNamespace(q).shouldBeNull()
+        }
+    }
 })
@@ -106,6 +106,35 @@ class ProjectFileLayoutTest : KerMLTestSpec({
                     .forEach { Files.deleteIfExists(it) }
             }
         }
+
+        it("should resolve references to elements of later files") {
+            val tmpDir = Files.createTempDirectory("kerml-layout-test")
+            try {
+                Files.writeString(tmpDir.resolve("Alpha.kerml"), """
+                    package Alpha {
+                        class Car :> Zeta::Engine;
+                    }
+                """.trimIndent())
+                Files.writeString(tmpDir.resolve("Zeta.kerml"), """
+                    package Zeta {
+                        class Engine;
+                    }
+                """.trimIndent())
+
+                val model = freshModel()
+                val result = layout.readFromDirectory(tmpDir, model)
+
+                result.shouldNotBeNull()
+                result.success shouldBe true
+
+                val car = model.allOfType<KerMLClass>().first { it.declaredName == "Car" }
+                car.ownedSpecialization.map { it.general.declaredName } shouldContain "Engine"
+            } finally {
+                Files.walk(tmpDir)
+                    .sorted(Comparator.reverseOrder())
+                    .forEach { Files.deleteIfExists(it) }
+            }
+        }
     }
 
     describe("round-trip") {
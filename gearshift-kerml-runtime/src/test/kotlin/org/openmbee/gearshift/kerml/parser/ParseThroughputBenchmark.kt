@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.parser
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.core.test.EnabledIf
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import org.antlr.v4.runtime.atn.PredictionMode
+import org.openmbee.gearshift.kerml.KerMLSemanticLibraryLoader
+import org.openmbee.gearshift.kerml.antlr.KerMLLexer
+import org.openmbee.gearshift.kerml.antlr.KerMLParser
+import java.io.File
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Syntax-only parse throughput over the Kernel Semantic Library and the demo models, comparing
+ * [TwoStageParser] with plain LL parsing. Run with `-Pbenchmarks`.
+ */
+class ParseThroughputBenchmark : DescribeSpec({
+
+    val enabled: EnabledIf = { System.getProperty("gearshift.benchmarks") == "true" }
+
+    val library = KerMLSemanticLibraryLoader.readLibrarySources()
+    val demos = listOf(File("demo"), File("../demo"))
+        .firstOrNull { it.isDirectory }
+        ?.listFiles { file -> file.extension == "kerml" }
+        ?.sortedBy { it.name }
+        ?.associate { it.name to it.readText() }
+        ?: emptyMap()
+
+    fun parseLL(text: String) {
+        val parser = KerMLParser(CommonTokenStream(KerMLLexer(CharStreams.fromString(text))))
+        parser.removeErrorListeners()
+        parser.interpreter.predictionMode = PredictionMode.LL
+        parser.rootNamespace()
+    }
+
+    fun parseTwoStage(text: String) {
+        TwoStageParser.parseKerML(CharStreams.fromString(text), KerMLErrorListener())
+    }
+
+    /** Parse every source [iterations] times after one warm-up pass; log the median pass time */
+    fun measure(name: String, sources: Map<String, String>, iterations: Int = 5, parse: (String) -> Unit) {
+        sources.values.forEach(parse)
+        val times = List(iterations) {
+            val start = System.nanoTime()
+            sources.values.forEach(parse)
+            (System.nanoTime() - start) / 1_000_000.0
+        }.sorted()
+        val median = times[times.size / 2]
+        val chars = sources.values.sumOf { it.length }
+        logger.info {
+            "BENCHMARK $name: ${sources.size} files, $chars chars, median %.2f ms (%.0f chars/ms)"
+                .format(median, chars / median)
+        }
+    }
+
+    describe("kernel library") {
+        it("LL only").config(enabledIf = enabled) {
+            measure("library LL", library, parse = ::parseLL)
+        }
+        it("SLL then LL").config(enabledIf = enabled) {
+            val fallbacks = TwoStageParser.llFallbackCount
+            measure("library SLL/LL", library, parse = ::parseTwoStage)
+            logger.info { "BENCHMARK library SLL/LL: ${TwoStageParser.llFallbackCount - fallbacks} LL fallbacks" }
+        }
+    }
+
+    describe("demo models") {
+        it("LL only").config(enabledIf = enabled) {
+            measure("demo LL", demos, parse = ::parseLL)
+        }
+        it("SLL then LL").config(enabledIf = enabled) {
+            val fallbacks = TwoStageParser.llFallbackCount
+            measure("demo SLL/LL", demos, parse = ::parseTwoStage)
+            logger.info { "BENCHMARK demo SLL/LL: ${TwoStageParser.llFallbackCount - fallbacks} LL fallbacks" }
+        }
+    }
+})
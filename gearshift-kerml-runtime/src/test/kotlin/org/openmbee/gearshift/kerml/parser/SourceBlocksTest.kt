@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.parser
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.antlr.v4.runtime.CharStreams
+
+class SourceBlocksTest : DescribeSpec({
+
+    describe("split") {
+        it("splits top-level members at depth zero") {
+            val text = """
+                // Vehicles
+                package Vehicles { class Car; class Truck { feature wheels; } }
+                class Loose;
+                /* a standalone comment */
+                package Empty {};
+            """.trimIndent()
+
+            val blocks = SourceBlocks.split(text).shouldNotBeNull()
+            blocks.map { it.text } shouldBe listOf(
+                "package Vehicles { class Car; class Truck { feature wheels; } }",
+                "class Loose;",
+                "/* a standalone comment */",
+                "package Empty {};"
+            )
+            blocks.forEach { text.substring(it.start, it.stop + 1) shouldBe it.text }
+        }
+
+        it("rejects unbalanced braces") {
+            SourceBlocks.split("package P { class A;").shouldBeNull()
+            SourceBlocks.split("package P { } }").shouldBeNull()
+        }
+
+        it("matches the members of a parse") {
+            val text = """
+                package A { class X; }
+                class Y :> A::X;
+                private import A::*;
+                public import A::X;
+                alias Z for A::X;
+                doc /* about the model */
+                comment about Y /* a comment */
+                /* standalone */
+                #M package B {}
+                metaclass M;
+                feature f = 1 + 2;
+            """.trimIndent()
+            val errors = KerMLErrorListener()
+            val tree = TwoStageParser.parseKerML(CharStreams.fromString(text), errors)
+            errors.hasErrors shouldBe false
+            val blocks = SourceBlocks.split(text).shouldNotBeNull()
+
+            blocks.map { it.start to it.stop } shouldBe
+                tree.namespaceBodyElement().map { it.start.startIndex to it.stop.stopIndex }
+        }
+    }
+})
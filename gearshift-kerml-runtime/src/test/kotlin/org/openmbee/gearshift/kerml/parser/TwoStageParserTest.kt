@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.kerml.parser
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldNotBeEmpty
+import io.kotest.matchers.shouldBe
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import org.openmbee.gearshift.kerml.antlr.SysMLLexer
+import org.openmbee.gearshift.kerml.antlr.SysMLParser
+
+class TwoStageParserTest : DescribeSpec({
+
+    // Plain single-stage LL parse, as SysMLGrammarTest runs it
+    fun parsePlainSysML(text: String, errors: KerMLErrorListener): SysMLParser.RootNamespaceContext {
+        val lexer = SysMLLexer(CharStreams.fromString(text))
+        lexer.removeErrorListeners()
+        lexer.addErrorListener(errors)
+        val parser = SysMLParser(CommonTokenStream(lexer))
+        parser.removeErrorListeners()
+        parser.addErrorListener(errors)
+        return parser.rootNamespace()
+    }
+
+    describe("parseKerML") {
+        it("parses valid input") {
+            val errors = KerMLErrorListener()
+            val tree = TwoStageParser.parseKerML(
+                CharStreams.fromString("package P { class A; class B :> A; }"),
+                errors
+            )
+            errors.errors.shouldBeEmpty()
+            tree.namespaceBodyElement().size shouldBe 1
+        }
+
+        it("reports syntax errors through the LL stage") {
+            val errors = KerMLErrorListener()
+            val fallbacks = TwoStageParser.llFallbackCount
+            TwoStageParser.parseKerML(CharStreams.fromString("package P { class A :> ; }"), errors)
+            errors.errors.shouldNotBeEmpty()
+            (TwoStageParser.llFallbackCount > fallbacks) shouldBe true
+        }
+    }
+
+    describe("parseSysML") {
+        it("builds the same tree as a plain LL parse without falling back") {
+            val text = "package P { part def A; part def B :> A { attribute x; } part b : B; }"
+            val errors = KerMLErrorListener()
+            val fallbacks = TwoStageParser.llFallbackCount
+            val tree = TwoStageParser.parseSysML(CharStreams.fromString(text), errors)
+            errors.errors.shouldBeEmpty()
+            TwoStageParser.llFallbackCount shouldBe fallbacks
+
+            val plain = parsePlainSysML(text, KerMLErrorListener())
+            tree.toStringTree(SysMLParser(null)) shouldBe plain.toStringTree(SysMLParser(null))
+        }
+
+        it("falls back to LL when SLL bails and reports the same errors as a plain LL parse") {
+            val text = "package P { part def A :> ; part b : ; }"
+            val errors = KerMLErrorListener()
+            val fallbacks = TwoStageParser.llFallbackCount
+            TwoStageParser.parseSysML(CharStreams.fromString(text), errors)
+            (TwoStageParser.llFallbackCount > fallbacks) shouldBe true
+
+            val plainErrors = KerMLErrorListener()
+            parsePlainSysML(text, plainErrors)
+            errors.errors.shouldNotBeEmpty()
+            errors.errors shouldBe plainErrors.errors
+        }
+    }
+})
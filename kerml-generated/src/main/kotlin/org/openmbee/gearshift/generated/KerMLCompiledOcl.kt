@@ -0,0 +1,1365 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@file:Suppress("UNCHECKED_CAST", "UNUSED_PARAMETER")
+
+package org.openmbee.gearshift.generated
+
+import org.openmbee.mdm.framework.query.ocl.CompiledOclBody
+import org.openmbee.mdm.framework.query.ocl.OclExecutor
+import org.openmbee.mdm.framework.query.ocl.oclTrue
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+
+/**
+ * Ahead-of-time compiled OCL bodies for the KerML metamodel.
+ *
+ * 331 of 366 OCL bodies compiled; the rest are evaluated by the interpreter.
+ * Call [register] before MetamodelRegistry.buildIndexes() so the bodies are bound.
+ */
+object KerMLCompiledOcl {
+
+    /**
+     * Register all compiled bodies with the registry, keyed by their OCL text.
+     */
+    fun register(registry: MetamodelRegistry) {
+        registry.registerCompiledOcl("if annotation->notEmpty() then annotation.annotatedElement\nelse Sequence{owningNamespace} endif", CompiledOclBody(::body0))
+        registry.registerCompiledOcl("if owningAnnotatingRelationship = null then ownedAnnotatingRelationship\nelse ownedAnnotatingRelationship->prepend(owningAnnotatingRelationship) endif", CompiledOclBody(::body1))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Annotation)->select(a | a.annotatedElement <> self)", CompiledOclBody(::body2))
+        registry.registerCompiledOcl("source.oclAsType(AnnotatingElement)", CompiledOclBody(::body3))
+        registry.registerCompiledOcl("if annotatedElement = owningRelatedElement then annotatedElement else null endif", CompiledOclBody(::body4))
+        registry.registerCompiledOcl("if annotatingElement = owningRelatedElement then annotatingElement else null endif", CompiledOclBody(::body5))
+        registry.registerCompiledOcl("associationEnd->size() = 2 implies specializesFromLibrary('Links::BinaryLink')", CompiledOclBody(::body6))
+        registry.registerCompiledOcl("feature->select(isEnd)", CompiledOclBody(::body7))
+        registry.registerCompiledOcl("associationEnd.type", CompiledOclBody(::body8))
+        registry.registerCompiledOcl("if relatedType->isEmpty() then null else relatedType->first() endif", CompiledOclBody(::body9))
+        registry.registerCompiledOcl("typedFeature->selectByKind(Connector)", CompiledOclBody(::body10))
+        registry.registerCompiledOcl("associationEnd->size() > 2 implies not specializesFromLibrary('Links::BinaryLink')", CompiledOclBody(::body11))
+        registry.registerCompiledOcl("not isAbstract implies relatedType->size() >= 2", CompiledOclBody(::body12))
+        registry.registerCompiledOcl("oclIsKindOf(Structure) = oclIsKindOf(AssociationStructure)", CompiledOclBody(::body13))
+        registry.registerCompiledOcl("directedFeature", CompiledOclBody(::body14))
+        registry.registerCompiledOcl("feature->selectByKind(Step)", CompiledOclBody(::body15))
+        registry.registerCompiledOcl("typedFeature->selectByKind(Step)", CompiledOclBody(::body16))
+        registry.registerCompiledOcl("relatedFeature->size() = 2", CompiledOclBody(::body17))
+        registry.registerCompiledOcl("type->selectByKind(Predicate)", CompiledOclBody(::body18))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.payloadType->includes(self))", CompiledOclBody(::body19))
+        registry.registerCompiledOcl("ownedSpecialization->selectByKind(Subclassification)", CompiledOclBody(::body20))
+        registry.registerCompiledOcl("multiplicity <> null implies multiplicity.featuringType->isEmpty()", CompiledOclBody(::body21))
+        registry.registerCompiledOcl("operator = 'collect'", CompiledOclBody(::body22))
+        registry.registerCompiledOcl("if conjugatedType = owningRelatedElement then conjugatedType else null endif", CompiledOclBody(::body23))
+        registry.registerCompiledOcl("relatedFeature->forAll(f |\n    if featuringType->isEmpty() then f.isFeaturedWithin(null)\n    else featuringType->forAll(t | f.isFeaturedWithin(t))\n    endif)", CompiledOclBody(::body24))
+        registry.registerCompiledOcl("connectorEnd->size() > 2 implies not specializesFromLibrary('Links::BinaryLink')", CompiledOclBody(::body25))
+        registry.registerCompiledOcl("not isAbstract implies relatedFeature->size() >= 2", CompiledOclBody(::body26))
+        registry.registerCompiledOcl("type->selectByKind(Association)", CompiledOclBody(::body27))
+        registry.registerCompiledOcl("endFeature", CompiledOclBody(::body28))
+        registry.registerCompiledOcl("connectorEnd.ownedReferenceSubsetting->select(s | s <> null).subsettedFeature", CompiledOclBody(::body29))
+        registry.registerCompiledOcl("if relatedFeature->isEmpty() then null else relatedFeature->first() endif", CompiledOclBody(::body30))
+        registry.registerCompiledOcl("true", CompiledOclBody(::body31))
+        registry.registerCompiledOcl("let features : OrderedSet(Feature) = instantiatedType.feature->\n    select(owningMembership.visibility = VisibilityKind::public) in\nresult.ownedFeature->forAll(f |\n    f.ownedRedefinition.redefinedFeature->\n    intersection(features)->size() = 1)", CompiledOclBody(::body32))
+        registry.registerCompiledOcl("result.specializes(instantiatedType)", CompiledOclBody(::body33))
+        registry.registerCompiledOcl("instantiatedType.feature->collect(f |\n    result.ownedFeatures->select(redefines(f)).valuation->\n    select(v | v <> null).value\n)", CompiledOclBody(::body34))
+        registry.registerCompiledOcl("let features : OrderedSet(Feature) = instantiatedType.feature->\n    select(visibility = VisibilityKind::public) in\nresult.ownedFeature->forAll(f1 | result.ownedFeature->forAll(f2 |\n    f1 <> f2 implies\n    f1.ownedRedefinition.redefinedFeature->\n    intersection(f2.ownedRedefinition.redefinedFeature)->\n    intersection(features)->isEmpty()))", CompiledOclBody(::body35))
+        registry.registerCompiledOcl("ownedFeatures->excluding(result)->isEmpty()", CompiledOclBody(::body36))
+        registry.registerCompiledOcl("if subsettingFeature = owningRelatedElement then subsettingFeature else null endif", CompiledOclBody(::body37))
+        registry.registerCompiledOcl("crossingFeature.isEnd and\ncrossingFeature.owningType <> null and\ncrossingFeature.owningType.endFeature->size() > 1", CompiledOclBody(::body38))
+        registry.registerCompiledOcl("if source = owningRelatedElement then source else null endif", CompiledOclBody(::body39))
+        registry.registerCompiledOcl("if typeDisjoined = owningRelatedElement then typeDisjoined else null endif", CompiledOclBody(::body40))
+        registry.registerCompiledOcl("annotatedElement", CompiledOclBody(::body41))
+        registry.registerCompiledOcl("ownedElement->selectByKind(Documentation)", CompiledOclBody(::body42))
+        registry.registerCompiledOcl("self.libraryNamespace() <> null", CompiledOclBody(::body43))
+        registry.registerCompiledOcl("self.effectiveName()", CompiledOclBody(::body44))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Annotation)->select(a | a.annotatedElement = self)", CompiledOclBody(::body45))
+        registry.registerCompiledOcl("ownedRelationship.ownedRelatedElement", CompiledOclBody(::body46))
+        registry.registerCompiledOcl("if owningRelationship = null then null else owningRelationship.owningRelatedElement endif", CompiledOclBody(::body47))
+        registry.registerCompiledOcl("if owningMembership = null then null else owningMembership.membershipOwningNamespace endif", CompiledOclBody(::body48))
+        registry.registerCompiledOcl("if owningNamespace = null then null\nelse if name <> null and\n    owningNamespace.ownedMember->select(m | m.name = name)->indexOf(self) <> 1 then null\nelse if owningNamespace.owner = null then self.escapedName()\nelse if owningNamespace.qualifiedName = null or self.escapedName() = null then null\nelse owningNamespace.qualifiedName + '::' + self.escapedName()\nendif endif endif endif", CompiledOclBody(::body49))
+        registry.registerCompiledOcl("self.effectiveShortName()", CompiledOclBody(::body50))
+        registry.registerCompiledOcl("ownedElement->selectByKind(TextualRepresentation)", CompiledOclBody(::body51))
+        registry.registerCompiledOcl("MetadataAccessExpression.allInstances()->select(mae | mae.referencedElement = self)", CompiledOclBody(::body52))
+        registry.registerCompiledOcl("AnnotatingElement.allInstances()->select(ae | ae.annotatedElement->includes(self))", CompiledOclBody(::body53))
+        registry.registerCompiledOcl("Import.allInstances()->select(i | i.importedElement = self)", CompiledOclBody(::body54))
+        registry.registerCompiledOcl("Namespace.allInstances()->select(ns | ns.member->includes(self))", CompiledOclBody(::body55))
+        registry.registerCompiledOcl("sourceRelationship->union(targetRelationship)", CompiledOclBody(::body56))
+        registry.registerCompiledOcl("let n : String = if name <> null then name else shortName endif in\nif n = null then null\nelse if n.isBasicName() then n\nelse n.asRestrictedName()\nendif endif", CompiledOclBody(::body57))
+        registry.registerCompiledOcl("if owningRelationship <> null then owningRelationship.libraryNamespace() else null endif", CompiledOclBody(::body58))
+        registry.registerCompiledOcl("if qualifiedName <> null then qualifiedName\nelse if owningRelationship <> null then\n    owningRelationship.path() + '/' + owningRelationship.ownedRelatedElement->indexOf(self).toString()\nelse ''\nendif endif", CompiledOclBody(::body59))
+        registry.registerCompiledOcl("condition.result.specializesFromLibrary('ScalarValues::Boolean')", CompiledOclBody(::body60))
+        registry.registerCompiledOcl("condition.isModelLevelEvaluable", CompiledOclBody(::body61))
+        registry.registerCompiledOcl("ownedMemberFeature", CompiledOclBody(::body62))
+        registry.registerCompiledOcl("ownedMemberFeature.isEnd", CompiledOclBody(::body63))
+        registry.registerCompiledOcl("ownedMembership.selectByKind(ResultExpressionMembership)->\nforAll(mem | ownedFeature.selectByKind(BindingConnector)->\n    exists(binding |\n        binding.relatedFeature->includes(result) and\n        binding.relatedFeature->includes(mem.ownedResultExpression.result)))", CompiledOclBody(::body64))
+        registry.registerCompiledOcl("type->selectByKind(Function)", CompiledOclBody(::body65))
+        registry.registerCompiledOcl("let resultParams : Sequence(Feature) =\n    featureMemberships->\n    selectByKind(ReturnParameterMembership).\n    ownedMemberParameter in\nif resultParams->notEmpty() then resultParams->first()\nelse null\nendif", CompiledOclBody(::body66))
+        registry.registerCompiledOcl("membership->selectByKind(ResultExpressionMembership)->size() <= 1", CompiledOclBody(::body67))
+        registry.registerCompiledOcl("featureMembership->selectByKind(ReturnParameterMembership)->size() = 1", CompiledOclBody(::body68))
+        registry.registerCompiledOcl("FeatureValue.allInstances()->select(fv | fv.value = self)->any(true)", CompiledOclBody(::body69))
+        registry.registerCompiledOcl("Package.allInstances()->select(pkg | pkg.filterCondition->includes(self))->any(true)", CompiledOclBody(::body70))
+        registry.registerCompiledOcl("InstantiationExpression.allInstances()->select(ie | ie.argument->includes(self))->any(true)", CompiledOclBody(::body71))
+        registry.registerCompiledOcl("MultiplicityRange.allInstances()->select(mr | mr.bound->includes(self))->any(true)", CompiledOclBody(::body72))
+        registry.registerCompiledOcl("MultiplicityRange.allInstances()->select(mr | mr.lowerBound = self)->any(true)", CompiledOclBody(::body73))
+        registry.registerCompiledOcl("MultiplicityRange.allInstances()->select(mr | mr.upperBound = self)->any(true)", CompiledOclBody(::body74))
+        registry.registerCompiledOcl("if owningFeatureMembership.oclIsKindOf(ResultExpressionMembership) then owningFeatureMembership.oclAsType(ResultExpressionMembership) else null endif", CompiledOclBody(::body75))
+        registry.registerCompiledOcl("if owningMembership.oclIsKindOf(ElementFilterMembership) then owningMembership.oclAsType(ElementFilterMembership) else null endif", CompiledOclBody(::body76))
+        registry.registerCompiledOcl("let results: Sequence(Element) = evaluate(target) in\nresults->size() = 1 and\nresults->first().oclIsKindOf(LiteralBoolean) and\nresults->first().oclAsType(LiteralBoolean).value", CompiledOclBody(::body77))
+        registry.registerCompiledOcl("let resultExprs : Sequence(Expression) =\n    ownedFeatureMembership->\n    selectByKind(ResultExpressionMembership).\n    ownedResultExpression in\nif resultExprs->isEmpty() then Sequence{}\nelse resultExprs->first().evaluate(target)\nendif", CompiledOclBody(::body78))
+        registry.registerCompiledOcl("ownedCrossFeature() <> null implies crossFeature = ownedCrossFeature()", CompiledOclBody(::body79))
+        registry.registerCompiledOcl("owningFeatureMembership <> null implies\nfeaturingType->exists(t | isFeaturingType(t))", CompiledOclBody(::body80))
+        registry.registerCompiledOcl("isOwnedCrossFeature() implies\nownedSubsetting.subsettedFeature->includesAll(\n    owner.oclAsType(Feature).ownedRedefinition.redefinedFeature->\n    select(crossFeature <> null).crossFeature)", CompiledOclBody(::body81))
+        registry.registerCompiledOcl("isOwnedCrossFeature() implies\nowner.oclAsType(Feature).type->forAll(t | self.specializes(t))", CompiledOclBody(::body82))
+        registry.registerCompiledOcl("typeWithEndFeature->selectByKind(Association)", CompiledOclBody(::body83))
+        registry.registerCompiledOcl("typeWithFeature->selectByKind(Behavior)", CompiledOclBody(::body84))
+        registry.registerCompiledOcl("typeWithFeature->selectByKind(Step)", CompiledOclBody(::body85))
+        registry.registerCompiledOcl("relationship->selectByKind(Connector)", CompiledOclBody(::body86))
+        registry.registerCompiledOcl("typeWithEndFeature->selectByKind(Connector)", CompiledOclBody(::body87))
+        registry.registerCompiledOcl("sourceRelationship->selectByKind(Connector)", CompiledOclBody(::body88))
+        registry.registerCompiledOcl("targetRelationship->selectByKind(Connector)", CompiledOclBody(::body89))
+        registry.registerCompiledOcl("ownedCrossSubsetting.crossedFeature.chainingFeature->at(2).featuringType", CompiledOclBody(::body90))
+        registry.registerCompiledOcl("ownedFeatureChaining.chainingFeature", CompiledOclBody(::body91))
+        registry.registerCompiledOcl("if ownedCrossSubsetting = null then null\nelse\n    let chainingFeatures: Sequence(Feature) =\n        ownedCrossSubsetting.crossedFeature.chainingFeature in\n    if chainingFeatures->size() < 2 then null\n    else chainingFeatures->at(2)\n    endif\nendif", CompiledOclBody(::body92))
+        registry.registerCompiledOcl("if chainingFeature->isEmpty() then self else chainingFeature->last() endif", CompiledOclBody(::body93))
+        registry.registerCompiledOcl("let featuringTypes: OrderedSet(Type) =\n    ownedTypeFeaturing.featuringType->asOrderedSet() in\nif chainingFeature->isEmpty() then featuringTypes\nelse\n    featuringTypes->\n    union(chainingFeature->first().featuringType)->\n    asOrderedSet()\nendif", CompiledOclBody(::body94))
+        registry.registerCompiledOcl("let crossSubsettings: Sequence(CrossSubsetting) =\n    ownedSubsetting->selectByKind(CrossSubsetting) in\nif crossSubsettings->isEmpty() then null\nelse crossSubsettings->first()\nendif", CompiledOclBody(::body95))
+        registry.registerCompiledOcl("if owningMembership.oclIsKindOf(FeatureMembership) then owningMembership.oclAsType(FeatureMembership) else null endif", CompiledOclBody(::body96))
+        registry.registerCompiledOcl("if owningFeatureMembership <> null then\n    owningFeatureMembership.owningType\nelse\n    null\nendif", CompiledOclBody(::body97))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(FeatureChaining)", CompiledOclBody(::body98))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(FeatureInverting)->select(fi | fi.featureInverted = self)", CompiledOclBody(::body99))
+        registry.registerCompiledOcl("ownedSubsetting->selectByKind(Redefinition)", CompiledOclBody(::body100))
+        registry.registerCompiledOcl("let referenceSubsettings: OrderedSet(ReferenceSubsetting) =\n    ownedSubsetting->selectByKind(ReferenceSubsetting) in\nif referenceSubsettings->isEmpty() then null\nelse referenceSubsettings->first()\nendif", CompiledOclBody(::body101))
+        registry.registerCompiledOcl("ownedSpecialization->selectByKind(Subsetting)", CompiledOclBody(::body102))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(TypeFeaturing)->select(tf | tf.featureOfType = self)", CompiledOclBody(::body103))
+        registry.registerCompiledOcl("ownedSpecialization->selectByKind(FeatureTyping)", CompiledOclBody(::body104))
+        registry.registerCompiledOcl("let types: OrderedSet(Type) = OrderedSet{self}->closure(typingFeatures()).typing.type->asOrderedSet() in types->reject(t1 | types->exists(t2 | t2 <> t1 and t2.specializes(t1)))", CompiledOclBody(::body105))
+        registry.registerCompiledOcl("Sequence{2..chainingFeature->size()}->forAll(i |\n    chainingFeature->at(i).isFeaturedWithin(chainingFeature->at(i-1)))", CompiledOclBody(::body106))
+        registry.registerCompiledOcl("chainingFeature->size() <> 1", CompiledOclBody(::body107))
+        registry.registerCompiledOcl("chainingFeature->excludes(self)", CompiledOclBody(::body108))
+        registry.registerCompiledOcl("isConstant implies isVariable", CompiledOclBody(::body109))
+        registry.registerCompiledOcl("crossFeature <> null implies\n    ownedRedefinition.redefinedFeature.crossFeature->\n    forAll(f | f <> null implies crossFeature.specializes(f))", CompiledOclBody(::body110))
+        registry.registerCompiledOcl("crossFeature <> null implies crossFeature.type->asSet() = type->asSet()", CompiledOclBody(::body111))
+        registry.registerCompiledOcl("isEnd and isVariable implies isConstant", CompiledOclBody(::body112))
+        registry.registerCompiledOcl("isEnd implies\n    multiplicities().allSupertypes()->flatten()->\n    selectByKind(MultiplicityRange)->exists(hasBounds(1,1))", CompiledOclBody(::body113))
+        registry.registerCompiledOcl("isEnd implies direction = null", CompiledOclBody(::body114))
+        registry.registerCompiledOcl("isEnd implies not (isDerived or isAbstract or isComposite or isPortion)", CompiledOclBody(::body115))
+        registry.registerCompiledOcl("isVariable implies\n    owningType <> null and\n    owningType.specializesFromLibrary('Occurrences::Occurrence')", CompiledOclBody(::body116))
+        registry.registerCompiledOcl("multiplicity <> null implies multiplicity.featuringType = featuringType", CompiledOclBody(::body117))
+        registry.registerCompiledOcl("ownedSubsetting->selectByKind(CrossSubsetting)->size() <= 1", CompiledOclBody(::body118))
+        registry.registerCompiledOcl("ownedSubsetting->selectByKind(ReferenceSubsetting)->size() <= 1", CompiledOclBody(::body119))
+        registry.registerCompiledOcl("isPortion implies not isVariable", CompiledOclBody(::body120))
+        registry.registerCompiledOcl("FeatureChaining.allInstances()->select(fc | fc.featureTarget = self)", CompiledOclBody(::body121))
+        registry.registerCompiledOcl("FeatureChaining.allInstances()->select(fc | fc.chainingFeature = self)", CompiledOclBody(::body122))
+        registry.registerCompiledOcl("FeatureChainExpression.allInstances()->select(fce | fce.targetFeature = self)", CompiledOclBody(::body123))
+        registry.registerCompiledOcl("Expression.allInstances()->select(e | e.result = self)", CompiledOclBody(::body124))
+        registry.registerCompiledOcl("EndFeatureMembership.allInstances()->select(efm | efm.ownedMemberFeature = self).owningType->any(true)", CompiledOclBody(::body125))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.sourceOutputFeature = self)", CompiledOclBody(::body126))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.targetInputFeature = self)", CompiledOclBody(::body127))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.inheritedFeature->includes(self))", CompiledOclBody(::body128))
+        registry.registerCompiledOcl("if owningFeatureMembership.oclIsKindOf(EndFeatureMembership) then owningFeatureMembership.oclAsType(EndFeatureMembership) else null endif", CompiledOclBody(::body129))
+        registry.registerCompiledOcl("if owningFeatureMembership.oclIsKindOf(ParameterMembership) then owningFeatureMembership.oclAsType(ParameterMembership) else null endif", CompiledOclBody(::body130))
+        registry.registerCompiledOcl("FeatureReferenceExpression.allInstances()->select(fre | fre.referent = self)", CompiledOclBody(::body131))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.directedFeature->includes(self))", CompiledOclBody(::body132))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.endFeature->includes(self))", CompiledOclBody(::body133))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.feature->includes(self))", CompiledOclBody(::body134))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.input->includes(self))", CompiledOclBody(::body135))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.output->includes(self))", CompiledOclBody(::body136))
+        registry.registerCompiledOcl("FeatureValue.allInstances()->select(fv | fv.featureWithValue = self)->any(true)", CompiledOclBody(::body137))
+        registry.registerCompiledOcl("ownedRedefinition.redefinedFeature->closure(ownedRedefinition.redefinedFeature)->asOrderedSet()->prepend(self)", CompiledOclBody(::body138))
+        registry.registerCompiledOcl("featuringType->select(t | t.owner <> self)->union(featuringType->select(t | t.owner = self)->selectByKind(Feature).asCartesianProduct())->union(type)", CompiledOclBody(::body139))
+        registry.registerCompiledOcl("let anythingType: Element = resolveGlobal('Base::Anything').memberElement in\nlet allFeaturingTypes: Sequence(Type) = featuringType->closure(t |\n    if not t.oclIsKindOf(Feature) then Sequence{}\n    else\n        let featuringTypes: OrderedSet(Type) = t.oclAsType(Feature).featuringType in\n        if featuringTypes->isEmpty() then Sequence{anythingType}\n        else featuringTypes\n        endif\n    endif) in\nallFeaturingTypes->exists(t | feature.isFeaturedWithin(t))", CompiledOclBody(::body140))
+        registry.registerCompiledOcl("type.directionOf(self)", CompiledOclBody(::body141))
+        registry.registerCompiledOcl("type->size() = 1 and\nfeaturingType->size() = 1 and\n(featuringType->first().owner = self implies\n    featuringType->first().oclIsKindOf(Feature) and\n    featuringType->first().oclAsType(Feature).isCartesianProduct())", CompiledOclBody(::body142))
+        registry.registerCompiledOcl("specializes(otherType) or\notherType.oclIsKindOf(Feature) and\nownedFeature->isEmpty() and\notherType.ownedFeature->isEmpty() and\nownedRedefinition.allRedefinedFeatures()->exists(f |\n    otherType.oclAsType(Feature).allRedefinedFeatures()->includes(f)) and\ncanAccess(otherType.oclAsType(Feature))", CompiledOclBody(::body143))
+        registry.registerCompiledOcl("if type = null then\n    featuringType->forAll(f | f = resolveGlobal('Base::Anything').memberElement)\nelse\n    featuringType->forAll(f | type.isCompatibleWith(f)) or\n    isVariable and type.specializes(owningType) or\n    chainingFeature->notEmpty() and chainingFeature->first().isVariable and\n    type.specializes(chainingFeature->first().owningType)\nendif", CompiledOclBody(::body144))
+        registry.registerCompiledOcl("owningNamespace <> null and\nowningNamespace.oclIsKindOf(Feature) and\nowningNamespace.oclAsType(Feature).ownedCrossFeature() = self", CompiledOclBody(::body145))
+        registry.registerCompiledOcl("if ownedRedefinition->isEmpty() then\n    null\nelse\n    ownedRedefinition->at(1).redefinedFeature\nendif", CompiledOclBody(::body146))
+        registry.registerCompiledOcl("if not isEnd or owningType = null then null\nelse\n    let ownedMemberFeatures: Sequence(Feature) =\n        ownedMember->selectByKind(Feature)->\n        reject(oclIsKindOf(Multiplicity) or\n               oclIsKindOf(MetadataFeature) or\n               oclIsKindOf(FeatureValue))->\n        reject(owningMembership.oclIsKindOf(FeatureMembership)) in\n    if ownedMemberFeatures->isEmpty() then null\n    else ownedMemberFeatures->first()\n    endif\nendif", CompiledOclBody(::body147))
+        registry.registerCompiledOcl("ownedRedefinition.redefinedFeature->includes(redefinedFeature)", CompiledOclBody(::body148))
+        registry.registerCompiledOcl("let mem: Membership = resolveGlobal(libraryFeatureName) in\nmem <> null and mem.memberElement.oclIsKindOf(Feature) and\nredefines(mem.memberElement.oclAsType(Feature))", CompiledOclBody(::body149))
+        registry.registerCompiledOcl("allSupertypes()->selectByKind(Feature)->\nexists(f | let n: Integer = f.chainingFeature->size() in\n    n >= 2 and\n    f.chainingFeature->at(n-1) = first and\n    f.chainingFeature->at(n) = second)", CompiledOclBody(::body150))
+        registry.registerCompiledOcl("if not isConjugated then\n    let subsettedFeatures: OrderedSet(Feature) =\n        ownedSubsetting->reject(s | s.oclIsKindOf(CrossSubsetting)).subsettedFeature in\n    if chainingFeature->isEmpty() or\n       subsettedFeature->includes(chainingFeature->last())\n    then subsettedFeatures\n    else subsettedFeatures->append(chainingFeature->last())\n    endif\nelse if conjugator.originalType.oclIsKindOf(Feature) then\n    OrderedSet{conjugator.originalType.oclAsType(Feature)}\nelse OrderedSet{}\nendif endif", CompiledOclBody(::body151))
+        registry.registerCompiledOcl("let inputParameters : Sequence(Feature) =\n    ownedFeatures->select(direction = FeatureDirectionKind::_in) in\nlet sourceTargetFeature : Feature =\n    owningExpression.sourceTargetFeature() in\nsourceTargetFeature <> null and\nresult.subsetsChain(inputParameters->first(), sourceTargetFeature) and\nresult.owningType = self", CompiledOclBody(::body152))
+        registry.registerCompiledOcl("let sourceTargetFeature : Feature = sourceTargetFeature() in\nsourceTargetFeature <> null and\nsourceTargetFeature.redefines(targetFeature)", CompiledOclBody(::body153))
+        registry.registerCompiledOcl("let sourceTargetFeature : Feature = sourceTargetFeature() in\nsourceTargetFeature <> null and\nsourceTargetFeature.redefinesFromLibrary('ControlFunctions::\\'.\\'::source::target')", CompiledOclBody(::body154))
+        registry.registerCompiledOcl("let nonParameterMemberships : Sequence(Membership) = ownedMembership->\n    reject(oclIsKindOf(ParameterMembership)) in\nif nonParameterMemberships->isEmpty() or\n    not nonParameterMemberships->first().memberElement.oclIsKindOf(Feature)\nthen null\nelse nonParameterMemberships->first().memberElement.oclAsType(Feature)\nendif", CompiledOclBody(::body155))
+        registry.registerCompiledOcl("argument->notEmpty() implies\ntargetFeature.isFeaturedWithin(argument->first().result)", CompiledOclBody(::body156))
+        registry.registerCompiledOcl("operator = '.'", CompiledOclBody(::body157))
+        registry.registerCompiledOcl("let inputParameters : Feature = ownedFeatures->\n    select(direction = FeatureDirectionKind::_in) in\nif inputParameters->isEmpty() or\n    inputParameters->first().ownedFeature->isEmpty()\nthen null\nelse inputParameters->first().ownedFeature->first()\nendif", CompiledOclBody(::body158))
+        registry.registerCompiledOcl("if featureInverted = owningRelatedElement then featureInverted else null endif", CompiledOclBody(::body159))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.featureMembership->includes(self))", CompiledOclBody(::body160))
+        registry.registerCompiledOcl("if ownedMemberElement.oclIsKindOf(Feature) then ownedMemberElement.oclAsType(Feature) else null endif", CompiledOclBody(::body161))
+        registry.registerCompiledOcl("if membershipOwningNamespace.oclIsKindOf(Type) then membershipOwningNamespace.oclAsType(Type) else null endif", CompiledOclBody(::body162))
+        registry.registerCompiledOcl("ownedMember->selectByKind(BindingConnector)->exists(b |\n    b.relatedFeatures->includes(targetFeature) and\n    b.relatedFeatures->includes(result))", CompiledOclBody(::body163))
+        registry.registerCompiledOcl("result.owningType() = self and result.specializes(referent)", CompiledOclBody(::body164))
+        registry.registerCompiledOcl("let membership : Membership =\n    ownedMembership->reject(m | m.oclIsKindOf(ParameterMembership)) in\nmembership->notEmpty() and\nmembership->at(1).memberElement.oclIsKindOf(Feature)", CompiledOclBody(::body165))
+        registry.registerCompiledOcl("result.owningType = self", CompiledOclBody(::body166))
+        registry.registerCompiledOcl("if not target.oclIsKindOf(Type) then Sequence{}\nelse\n    let feature: Sequence(Feature) =\n        target.oclAsType(Type).feature->select(f |\n            f.ownedRedefinition.redefinedFeature->\n            includes(referent)) in\n    if feature->notEmpty() then\n        feature.valuation.value.evaluate(target)\n    else if referent.featuringType->isEmpty()\n        then referent\n    else Sequence{}\n    endif endif\nendif", CompiledOclBody(::body167))
+        registry.registerCompiledOcl("referent.conformsTo('Anything::self') or\nvisited->excludes(referent) and\n(referent.oclIsKindOf(Expression) and\n    referent.oclAsType(Expression).modelLevelEvaluable(visited->including(referent)) or\nreferent.owningType <> null and\n    (referent.owningType.oclIsKindOf(Metaclass) or\n    referent.owningType.oclIsKindOf(MetadataFeature)) or\nreferent.featuringType->isEmpty() and\n    (referent.valuation = null or\n    referent.valuation.modelLevelEvaluable(visited->including(referent))))", CompiledOclBody(::body168))
+        registry.registerCompiledOcl("if typedFeature = owningRelatedElement then typedFeature else null endif", CompiledOclBody(::body169))
+        registry.registerCompiledOcl("membershipOwningNamespace.oclAsType(Feature)", CompiledOclBody(::body170))
+        registry.registerCompiledOcl("ownedMemberElement.oclAsType(Expression)", CompiledOclBody(::body171))
+        registry.registerCompiledOcl("isInitial implies featureWithValue.isVariable", CompiledOclBody(::body172))
+        registry.registerCompiledOcl("connectorEnd->selectByKind(FlowEnd)", CompiledOclBody(::body173))
+        registry.registerCompiledOcl("let payloadFeatures : Sequence(PayloadFeature) = ownedFeature->selectByKind(PayloadFeature) in if payloadFeatures->isEmpty() then null else payloadFeatures->first() endif", CompiledOclBody(::body174))
+        registry.registerCompiledOcl("if payloadFeature = null then Sequence{} else payloadFeature.type endif", CompiledOclBody(::body175))
+        registry.registerCompiledOcl("if connectorEnd->isEmpty() or connectorEnd.ownedFeature->isEmpty() then null else connectorEnd.ownedFeature->first() endif", CompiledOclBody(::body176))
+        registry.registerCompiledOcl("if connectorEnd->size() < 2 or connectorEnd->at(2).ownedFeature->isEmpty() then null else connectorEnd->at(2).ownedFeature->first() endif", CompiledOclBody(::body177))
+        registry.registerCompiledOcl("ownedFeature->selectByKind(PayloadFeature)->size() <= 1", CompiledOclBody(::body178))
+        registry.registerCompiledOcl("type->selectByKind(Interaction)", CompiledOclBody(::body179))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.flowEnd->includes(self))", CompiledOclBody(::body180))
+        registry.registerCompiledOcl("isEnd", CompiledOclBody(::body181))
+        registry.registerCompiledOcl("ownedFeature->size() = 1", CompiledOclBody(::body182))
+        registry.registerCompiledOcl("owningType <> null and owningType.oclIsKindOf(Flow)", CompiledOclBody(::body183))
+        registry.registerCompiledOcl("step->selectByKind(Expression)", CompiledOclBody(::body184))
+        registry.registerCompiledOcl("Expression.allInstances()->select(e | e.function->includes(self))", CompiledOclBody(::body185))
+        registry.registerCompiledOcl("null", CompiledOclBody(::body186))
+        registry.registerCompiledOcl("importOwningNamespace.owner = null implies visibility = VisibilityKind::private", CompiledOclBody(::body187))
+        registry.registerCompiledOcl("arguments->notEmpty() and\nnot arguments->first().result.specializesFromLibrary('Collections::Array') implies\nresult.specializes(arguments->first().result)", CompiledOclBody(::body188))
+        registry.registerCompiledOcl("operator = '#'", CompiledOclBody(::body189))
+        registry.registerCompiledOcl("instantiatedType()", CompiledOclBody(::body190))
+        registry.registerCompiledOcl("instantiatedType() <> null", CompiledOclBody(::body191))
+        registry.registerCompiledOcl("let members : Sequence(Element) = ownedMembership->\n    reject(oclIsKindOf(FeatureMembership)).memberElement in\nif members->isEmpty() or not members->first().oclIsKindOf(Type) then null\nelse members->first().oclAsType(Type)\nendif", CompiledOclBody(::body192))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.interaction->includes(self))", CompiledOclBody(::body193))
+        registry.registerCompiledOcl("specializes(instantiatedType)", CompiledOclBody(::body194))
+        registry.registerCompiledOcl("instantiatedType.input->collect(inp |\n    ownedFeatures->select(redefines(inp)).valuation->\n    select(v | v <> null).value\n)", CompiledOclBody(::body195))
+        registry.registerCompiledOcl("instantiatedType.oclIsKindOf(Behavior) or\ninstantiatedType.oclIsKindOf(Feature) and\ninstantiatedType.type->exists(oclIsKindOf(Behavior)) and\ninstantiatedType.type->size() = 1", CompiledOclBody(::body196))
+        registry.registerCompiledOcl("let features : OrderedSet(Feature) = instantiatedType.feature in\ninput->forAll(inp1 | input->forAll(inp2 |\n    inp1 <> inp2 implies\n    inp1.ownedRedefinition.redefinedFeature->\n    intersection(inp2.ownedRedefinition.redefinedFeature)->\n    intersection(features)->isEmpty()))", CompiledOclBody(::body197))
+        registry.registerCompiledOcl("ownedFeature->forAll(f |\n    f <> result implies\n    f.direction = FeatureDirectionKind::_in)", CompiledOclBody(::body198))
+        registry.registerCompiledOcl("let parameters : OrderedSet(Feature) = instantiatedType.input in\ninput->forAll(inp |\n    inp.ownedRedefinition.redefinedFeature->\n    intersection(parameters)->size() = 1)", CompiledOclBody(::body199))
+        registry.registerCompiledOcl("Sequence{}", CompiledOclBody(::body200))
+        registry.registerCompiledOcl("self", CompiledOclBody(::body201))
+        registry.registerCompiledOcl("Sequence{self}", CompiledOclBody(::body202))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.inheritedMembership->includes(self))", CompiledOclBody(::body203))
+        registry.registerCompiledOcl("Namespace.allInstances()->select(ns | ns.importedMembership->includes(self))", CompiledOclBody(::body204))
+        registry.registerCompiledOcl("Namespace.allInstances()->select(ns | ns.membership->includes(self))", CompiledOclBody(::body205))
+        registry.registerCompiledOcl("memberElement.elementId", CompiledOclBody(::body206))
+        registry.registerCompiledOcl("not (memberElement.oclIsKindOf(other.memberElement.oclType()) or\n     other.memberElement.oclIsKindOf(memberElement.oclType())) or\n(memberShortName = null or\n (memberShortName <> other.memberShortName and\n  memberShortName <> other.memberName)) and\n(memberName = null or\n (memberName <> other.memberShortName and\n  memberName <> other.memberName))", CompiledOclBody(::body207))
+        registry.registerCompiledOcl("importedMembership.memberElement", CompiledOclBody(::body208))
+        registry.registerCompiledOcl("if not isRecursive or\n   not importedElement.oclIsKindOf(Namespace) or\n   excluded->includes(importedElement)\nthen Sequence{importedMembership}\nelse importedElement.oclAsType(Namespace).\n     visibleMemberships(excluded, true, isImportAll)->\n     prepend(importedMembership)\nendif", CompiledOclBody(::body209))
+        registry.registerCompiledOcl("MetadataFeature.allInstances()->select(mf | mf.metaclass = self)", CompiledOclBody(::body210))
+        registry.registerCompiledOcl("let membership : Membership = ownedMembership->first() in if membership = null then null else membership.memberElement endif", CompiledOclBody(::body211))
+        registry.registerCompiledOcl("referencedElement <> null", CompiledOclBody(::body212))
+        registry.registerCompiledOcl("referencedElement.metadataFeature->collect(m | m.metaclass)->selectByKind(Metaclass)->collect(mc | metaclassFeature(mc))", CompiledOclBody(::body213))
+        registry.registerCompiledOcl("metaclass.ownedFeature->select(f | f.name = referencedElement.name)->any(true)", CompiledOclBody(::body214))
+        registry.registerCompiledOcl("let metaclassTypes : Sequence(Type) = type->selectByKind(Metaclass) in if metaclassTypes->isEmpty() then null else metaclassTypes->first() endif", CompiledOclBody(::body215))
+        registry.registerCompiledOcl("ownedFeature->closure(ownedFeature)->forAll(f | f.declaredName = null and f.declaredShortName = null and f.valuation <> null implies f.valuation.value.isModelLevelEvaluable and f.redefinition.redefinedFeature->size() = 1)", CompiledOclBody(::body216))
+        registry.registerCompiledOcl("type->selectByKind(Metaclass).size() = 1", CompiledOclBody(::body217))
+        registry.registerCompiledOcl("not metaclass.isAbstract", CompiledOclBody(::body218))
+        registry.registerCompiledOcl("specializesFromLibrary('Metaobjects::SemanticMetadata')", CompiledOclBody(::body219))
+        registry.registerCompiledOcl("specializesFromLibrary('KerML::Element')", CompiledOclBody(::body220))
+        registry.registerCompiledOcl("if owningType <> null and owningType.oclIsKindOf(Feature) then\n    featuringType = owningType.oclAsType(Feature).featuringType\nelse\n    featuringType->isEmpty()\nendif", CompiledOclBody(::body221))
+        registry.registerCompiledOcl("bound->forAll(b | b.featuringType = self.featuringType)", CompiledOclBody(::body222))
+        registry.registerCompiledOcl("if upperBound = null then Sequence{} else if lowerBound = null then Sequence{upperBound} else Sequence{lowerBound, upperBound} endif endif", CompiledOclBody(::body223))
+        registry.registerCompiledOcl("let ownedExpressions : Sequence(Expression) = ownedMember->selectByKind(Expression) in if ownedExpressions->size() < 2 then null else ownedExpressions->first() endif", CompiledOclBody(::body224))
+        registry.registerCompiledOcl("let ownedExpressions : Sequence(Expression) = ownedMember->selectByKind(Expression) in if ownedExpressions->isEmpty() then null else if ownedExpressions->size() = 1 then ownedExpressions->at(1) else ownedExpressions->at(2) endif endif", CompiledOclBody(::body225))
+        registry.registerCompiledOcl("if lowerBound = null then ownedMember->notEmpty() and ownedMember->at(1) = upperBound else ownedMember->size() > 1 and ownedMember->at(1) = lowerBound and ownedMember->at(2) = upperBound endif", CompiledOclBody(::body226))
+        registry.registerCompiledOcl("importedMemberships(Set{})", CompiledOclBody(::body227))
+        registry.registerCompiledOcl("membership.memberElement", CompiledOclBody(::body228))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Import)", CompiledOclBody(::body229))
+        registry.registerCompiledOcl("ownedMembership->selectByKind(OwningMembership).ownedMemberElement", CompiledOclBody(::body230))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Membership)", CompiledOclBody(::body231))
+        registry.registerCompiledOcl("ownedMembership->union(importedMembership)->asOrderedSet()", CompiledOclBody(::body232))
+        registry.registerCompiledOcl("membership->forAll(m1 | membership->forAll(m2 | m1 <> m2 implies m1.isDistinguishableFrom(m2)))", CompiledOclBody(::body233))
+        registry.registerCompiledOcl("ownedMembership->\n    select(mem | visibility = null or mem.visibility = visibility)->\n    union(ownedImport->\n        select(imp | visibility = null or imp.visibility = visibility).\n        importedMemberships(excluded->including(self)))", CompiledOclBody(::body234))
+        registry.registerCompiledOcl("let elementMemberships : Sequence(Membership) =\n    memberships->select(memberElement = element) in\nelementMemberships.memberShortName->\n    union(elementMemberships.memberName)->\n    asSet()", CompiledOclBody(::body235))
+        registry.registerCompiledOcl("let qualification : String = qualificationOf(qualifiedName) in\nlet name : String = unqualifiedNameOf(qualifiedName) in\nif qualification = null then resolveLocal(name)\nelse if qualification = '' then self.resolveGlobal(name)\nelse\n    let namespaceMembership : Membership = resolve(qualification) in\n    if namespaceMembership = null or\n       not namespaceMembership.memberElement.oclIsKindOf(Namespace)\n    then null\n    else\n        namespaceMembership.memberElement.oclAsType(Namespace).\n            resolveVisible(name)\n    endif\nendif endif", CompiledOclBody(::body236))
+        registry.registerCompiledOcl("if owningNamespace = null then self.resolveGlobal(name)\nelse\n    let memberships : Membership = membership->\n        select(memberShortName = name or memberName = name) in\n    if memberships->notEmpty() then memberships->first()\n    else owningNamespace.resolveLocal(name)\n    endif\nendif", CompiledOclBody(::body237))
+        registry.registerCompiledOcl("let memberships : Sequence(Membership) =\n    visibleMemberships(Set{}, false, false)->\n    select(memberShortName = name or memberName = name) in\nif memberships->isEmpty() then null\nelse memberships->first()\nendif", CompiledOclBody(::body238))
+        registry.registerCompiledOcl("if importedMembership->includes(mem) then\n    ownedImport->\n        select(importedMemberships(Set{})->includes(mem)).\n        first().visibility\nelse if membership->includes(mem) then\n    mem.visibility\nelse\n    VisibilityKind::private\nendif endif", CompiledOclBody(::body239))
+        registry.registerCompiledOcl("importedNamespace", CompiledOclBody(::body240))
+        registry.registerCompiledOcl("if excluded->includes(importedNamespace) then Sequence{}\nelse importedNamespace.visibleMemberships(excluded, isRecursive, isImportAll)\nendif", CompiledOclBody(::body241))
+        registry.registerCompiledOcl("let libFunctions : Sequence(Element) = Sequence{'BaseFunctions', 'DataFunctions', 'ControlFunctions'}->collect(ns | resolveGlobal(ns + \"::'\" + operator + \"'\").memberElement) in if libFunctions->isEmpty() then null else libFunctions->first().oclAsType(Type) endif", CompiledOclBody(::body242))
+        registry.registerCompiledOcl("ownedMemberElement.name", CompiledOclBody(::body243))
+        registry.registerCompiledOcl("ownedMemberElement.shortName", CompiledOclBody(::body244))
+        registry.registerCompiledOcl("if ownedMemberElement.qualifiedName <> null then\n    ownedMemberElement.qualifiedName + '/owningMembership'\nelse self.oclAsType(Relationship).path()\nendif", CompiledOclBody(::body245))
+        registry.registerCompiledOcl("ownedMembership->selectByKind(ElementFilterMembership).condition", CompiledOclBody(::body246))
+        registry.registerCompiledOcl("self.oclAsType(Namespace).importedMemberships(excluded)->select(m | self.includeAsMember(m.memberElement))", CompiledOclBody(::body247))
+        registry.registerCompiledOcl("let metadataFeatures: Sequence(AnnotatingElement) =\n    element.ownedAnnotation.annotatingElement->selectByKind(MetadataFeature) in\nself.filterCondition->forAll(cond |\n    metadataFeatures->exists(elem | cond.checkCondition(elem)))", CompiledOclBody(::body248))
+        registry.registerCompiledOcl("ownedMemberParameter.direction", CompiledOclBody(::body249))
+        registry.registerCompiledOcl("Flow.allInstances()->select(f | f.payloadFeature = self)->any(true)", CompiledOclBody(::body250))
+        registry.registerCompiledOcl("redefinesFromLibrary('Transfers::Transfer::payload')", CompiledOclBody(::body251))
+        registry.registerCompiledOcl("BooleanExpression.allInstances()->select(be | be.predicate->includes(self))", CompiledOclBody(::body252))
+        registry.registerCompiledOcl("if redefiningFeature = owningRelatedElement then redefiningFeature else null endif", CompiledOclBody(::body253))
+        registry.registerCompiledOcl("let featuringTypes: Sequence(Type) =\n    if redefiningFeature.isVariable then Sequence{redefiningFeature.owningType}\n    else redefiningFeature.featuringType\n    endif in\nfeaturingTypes->forAll(t |\n    let direction: FeatureDirectionKind = t.directionOf(redefinedFeature) in\n    ((direction = FeatureDirectionKind::_in or\n      direction = FeatureDirectionKind::out) implies\n        redefiningFeature.direction = direction)\n    and\n    (direction = FeatureDirectionKind::inout implies\n        redefiningFeature.direction <> null))", CompiledOclBody(::body254))
+        registry.registerCompiledOcl("redefinedFeature.isEnd implies redefiningFeature.isEnd", CompiledOclBody(::body255))
+        registry.registerCompiledOcl("let anythingType: Type =\n    redefiningFeature.resolveGlobal('Base::Anything').memberElement.oclAsType(Type) in\nlet redefiningFeaturingTypes: Set(Type) =\n    if redefiningFeature.isVariable then Set{redefiningFeature.owningType}\n    else redefiningFeature.featuringType->asSet()->including(anythingType)\n    endif in\nlet redefinedFeaturingTypes: Set(Type) =\n    if redefinedFeature.isVariable then Set{redefinedFeature.owningType}\n    else redefinedFeature.featuringType->asSet()->including(anythingType)\n    endif in\nredefiningFeaturingTypes <> redefinedFeaturingTypes", CompiledOclBody(::body256))
+        registry.registerCompiledOcl("source->union(target)", CompiledOclBody(::body257))
+        registry.registerCompiledOcl("if owningRelatedElement <> null then owningRelatedElement.libraryNamespace()\nelse if owningRelationship <> null then owningRelationship.libraryNamespace()\nelse null endif endif", CompiledOclBody(::body258))
+        registry.registerCompiledOcl("if owningRelationship = null and owningRelatedElement <> null then\n    owningRelatedElement.path() + '/' + owningRelatedElement.ownedRelationship->indexOf(self).toString()\nelse self.oclAsType(Element).path()\nendif", CompiledOclBody(::body259))
+        registry.registerCompiledOcl("ownedFeature->selectByKind(Feature)->select(f | f.type->exists(oclIsKindOf(Rendering)))", CompiledOclBody(::body260))
+        registry.registerCompiledOcl("ownedMemberFeature->selectByKind(Expression)->first()", CompiledOclBody(::body261))
+        registry.registerCompiledOcl("FeatureDirectionKind::out", CompiledOclBody(::body262))
+        registry.registerCompiledOcl("argument->notEmpty() implies result.specializes(argument->first().result)", CompiledOclBody(::body263))
+        registry.registerCompiledOcl("operator = 'select'", CompiledOclBody(::body264))
+        registry.registerCompiledOcl("if specific = owningRelatedElement then specific else null endif", CompiledOclBody(::body265))
+        registry.registerCompiledOcl("not specific.isConjugated", CompiledOclBody(::body266))
+        registry.registerCompiledOcl("type->selectByKind(Behavior)", CompiledOclBody(::body267))
+        registry.registerCompiledOcl("featuringType->selectByKind(Behavior)", CompiledOclBody(::body268))
+        registry.registerCompiledOcl("if subclassifier = owningRelatedElement then subclassifier else null endif", CompiledOclBody(::body269))
+        registry.registerCompiledOcl("subsettedFeature.isConstant and subsettingFeature.isVariable implies subsettingFeature.isConstant", CompiledOclBody(::body270))
+        registry.registerCompiledOcl("subsettingFeature.canAccess(subsettedFeature)", CompiledOclBody(::body271))
+        registry.registerCompiledOcl("subsettedFeature.isUnique implies subsettingFeature.isUnique", CompiledOclBody(::body272))
+        registry.registerCompiledOcl("relationship->selectByKind(Association)", CompiledOclBody(::body273))
+        registry.registerCompiledOcl("feature->selectByKind(Connector)->select(c | c.defaultFeaturingType = self)", CompiledOclBody(::body274))
+        registry.registerCompiledOcl("ownedDifferencing.typeDifferenced", CompiledOclBody(::body275))
+        registry.registerCompiledOcl("ownedDifferencing.differencingType", CompiledOclBody(::body276))
+        registry.registerCompiledOcl("feature->select(f | directionOf(f) <> null)", CompiledOclBody(::body277))
+        registry.registerCompiledOcl("featureMembership.ownedMemberFeature", CompiledOclBody(::body278))
+        registry.registerCompiledOcl("ownedFeatureMembership->union(inheritedMembership->selectByKind(FeatureMembership))", CompiledOclBody(::body279))
+        registry.registerCompiledOcl("inheritedMembership->selectByKind(FeatureMembership).memberFeature", CompiledOclBody(::body280))
+        registry.registerCompiledOcl("inheritedMemberships(Set{}, Set{}, false)", CompiledOclBody(::body281))
+        registry.registerCompiledOcl("feature->select(f |\n    let direction: FeatureDirectionKind = directionOf(f) in\n    direction = FeatureDirectionKind::_in or\n    direction = FeatureDirectionKind::inout)", CompiledOclBody(::body282))
+        registry.registerCompiledOcl("ownedIntersecting.intersectingType", CompiledOclBody(::body283))
+        registry.registerCompiledOcl("let ownedMultiplicities: Sequence(Multiplicity) =\n    ownedMember->selectByKind(Multiplicity) in\nif ownedMultiplicities->isEmpty() then null\nelse ownedMultiplicities->first()\nendif", CompiledOclBody(::body284))
+        registry.registerCompiledOcl("feature->select(f |\n    let direction: FeatureDirectionKind = directionOf(f) in\n    direction = FeatureDirectionKind::out or\n    direction = FeatureDirectionKind::inout)", CompiledOclBody(::body285))
+        registry.registerCompiledOcl("let ownedConjugators: Sequence(Conjugation) =\n    ownedRelationship->selectByKind(Conjugation) in\nif ownedConjugators->isEmpty() then null\nelse ownedConjugators->at(1)\nendif", CompiledOclBody(::body286))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Differencing)", CompiledOclBody(::body287))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Disjoining)", CompiledOclBody(::body288))
+        registry.registerCompiledOcl("ownedFeature->select(isEnd)", CompiledOclBody(::body289))
+        registry.registerCompiledOcl("ownedFeatureMembership.ownedMemberFeature", CompiledOclBody(::body290))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(FeatureMembership)", CompiledOclBody(::body291))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Intersecting)", CompiledOclBody(::body292))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Specialization)->select(s | s.specific = self)", CompiledOclBody(::body293))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Unioning)", CompiledOclBody(::body294))
+        registry.registerCompiledOcl("sourceRelationship->selectByKind(Association)", CompiledOclBody(::body295))
+        registry.registerCompiledOcl("targetRelationship->selectByKind(Association)", CompiledOclBody(::body296))
+        registry.registerCompiledOcl("ownedUnioning.unioningType", CompiledOclBody(::body297))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Conjugation)->size() <= 1", CompiledOclBody(::body298))
+        registry.registerCompiledOcl("differencingType->excludes(self)", CompiledOclBody(::body299))
+        registry.registerCompiledOcl("intersectingType->excludes(self)", CompiledOclBody(::body300))
+        registry.registerCompiledOcl("ownedDifferencing->size() <> 1", CompiledOclBody(::body301))
+        registry.registerCompiledOcl("ownedIntersecting->size() <> 1", CompiledOclBody(::body302))
+        registry.registerCompiledOcl("ownedMember->selectByKind(Multiplicity)->size() <= 1", CompiledOclBody(::body303))
+        registry.registerCompiledOcl("ownedUnioning->size() <> 1", CompiledOclBody(::body304))
+        registry.registerCompiledOcl("unioningType->excludes(self)", CompiledOclBody(::body305))
+        registry.registerCompiledOcl("TypeFeaturing.allInstances()->select(tf | tf.featureOfType = self)", CompiledOclBody(::body306))
+        registry.registerCompiledOcl("FeatureTyping.allInstances()->select(ft | ft.typedFeature = self)", CompiledOclBody(::body307))
+        registry.registerCompiledOcl("Type.allInstances()->select(t | t.multiplicity = self)->any(true)", CompiledOclBody(::body308))
+        registry.registerCompiledOcl("ownedIntersecting.typeIntersected", CompiledOclBody(::body309))
+        registry.registerCompiledOcl("InstantiationExpression.allInstances()->select(ie | ie.instantiatedType = self)", CompiledOclBody(::body310))
+        registry.registerCompiledOcl("ownedUnioning.typeUnioned", CompiledOclBody(::body311))
+        registry.registerCompiledOcl("if not membership.memberElement.oclIsKindOf(Feature) then Set{}\nelse membership.memberElement.oclAsType(Feature).allRedefinedFeatures()\nendif", CompiledOclBody(::body312))
+        registry.registerCompiledOcl("OrderedSet{self}->closure(supertypes(false))", CompiledOclBody(::body313))
+        registry.registerCompiledOcl("directionOfExcluding(feature, Set{})", CompiledOclBody(::body314))
+        registry.registerCompiledOcl("let excludedSelf : Set(Type) = excluded->including(self) in\nif feature.owningType = self then feature.direction\nelse\n    let directions : Sequence(FeatureDirectionKind) =\n        supertypes(false)->excluding(excludedSelf).\n        directionOfExcluding(feature, excludedSelf)->\n        select(d | d <> null) in\n    if directions->isEmpty() then null\n    else\n        let direction : FeatureDirectionKind = directions->first() in\n        if not isConjugated then direction\n        else if direction = FeatureDirectionKind::_in then FeatureDirectionKind::out\n        else if direction = FeatureDirectionKind::out then FeatureDirectionKind::_in\n        else direction\n        endif endif endif\n    endif\nendif", CompiledOclBody(::body315))
+        registry.registerCompiledOcl("specializes(otherType)", CompiledOclBody(::body316))
+        registry.registerCompiledOcl("if multiplicity <> null then OrderedSet{multiplicity}\nelse\n    ownedSpecialization.general->closure(t |\n        if t.multiplicity <> null then OrderedSet{}\n        else t.ownedSpecialization.general\n        endif\n    )->select(multiplicity <> null).multiplicity->asOrderedSet()\nendif", CompiledOclBody(::body317))
+        registry.registerCompiledOcl("let reducedMemberships : Sequence(Membership) =\n    memberships->reject(mem1 |\n        memberships->excluding(mem1)->\n            exists(mem2 | allRedefinedFeaturesOf(mem2)->\n                includes(mem1.memberElement))) in\nlet redefinedFeatures : Set(Feature) =\n    ownedFeature.redefinition.redefinedFeature->asSet() in\nreducedMemberships->reject(mem | allRedefinedFeaturesOf(mem)->\n    exists(feature | redefinedFeatures->includes(feature)))", CompiledOclBody(::body318))
+        registry.registerCompiledOcl("if isConjugated then\n    ownedConjugator.originalType.specializes(supertype)\nelse\n    allSupertypes()->includes(supertype)\nendif", CompiledOclBody(::body319))
+        registry.registerCompiledOcl("let mem : Membership = resolveGlobal(libraryTypeName) in\nmem <> null and mem.memberElement.oclIsKindOf(Type) and\nspecializes(mem.memberElement.oclAsType(Type))", CompiledOclBody(::body320))
+        registry.registerCompiledOcl("let visibleMemberships : OrderedSet(Membership) =\n    self.oclAsType(Namespace).\n    visibleMemberships(excluded, isRecursive, includeAll) in\nlet visibleInheritedMemberships : OrderedSet(Membership) =\n    inheritedMemberships(excluded->including(self), Set{}, isRecursive)->\n    select(includeAll or visibility = VisibilityKind::public) in\nvisibleMemberships->union(visibleInheritedMemberships)", CompiledOclBody(::body321))
+        registry.registerCompiledOcl("if featureOfType = owningRelatedElement then featureOfType else null endif", CompiledOclBody(::body322))
+        registry.registerCompiledOcl("ownedRelationship->selectByKind(Expose)", CompiledOclBody(::body323))
+        registry.registerCompiledOcl("expose.importedElement->asSet()", CompiledOclBody(::body324))
+        registry.registerCompiledOcl("featureMembership->selectByKind(ViewRenderingMembership).ownedRendering->first()", CompiledOclBody(::body325))
+        registry.registerCompiledOcl("ownedFeature->selectByKind(ViewpointPredicate)", CompiledOclBody(::body326))
+        registry.registerCompiledOcl("ownedFeature->selectByKind(Feature)->select(f | f.type->exists(oclIsKindOf(View)))", CompiledOclBody(::body327))
+        registry.registerCompiledOcl("ownedMemberFeature->selectByKind(RenderingFeature)->first()", CompiledOclBody(::body328))
+        registry.registerCompiledOcl("ViewpointPredicate.allInstances()->select(vp | vp.viewpointDefinition->includes(self))", CompiledOclBody(::body329))
+        registry.registerCompiledOcl("type->selectByKind(Viewpoint)", CompiledOclBody(::body330))
+    }
+
+    private fun body0(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("annotation"), "notEmpty", emptyList()))) ocl.property(ocl.variable("annotation"), "annotatedElement") else listOf<Any?>(ocl.variable("owningNamespace")))
+
+    private fun body1(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("owningAnnotatingRelationship"), null))) ocl.variable("ownedAnnotatingRelationship") else ocl.arrow(ocl.variable("ownedAnnotatingRelationship"), "prepend", listOf<Any?>(ocl.variable("owningAnnotatingRelationship"))))
+
+    private fun body2(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Annotation")).filter { v0 -> oclTrue(ocl.infix("<>", ocl.property(v0, "annotatedElement"), self)) }
+
+    private fun body3(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("oclAsType", ocl.variable("source"), "AnnotatingElement")
+
+    private fun body4(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("annotatedElement"), ocl.variable("owningRelatedElement")))) ocl.variable("annotatedElement") else null)
+
+    private fun body5(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("annotatingElement"), ocl.variable("owningRelatedElement")))) ocl.variable("annotatingElement") else null)
+
+    private fun body6(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("associationEnd"), "size", emptyList()), 2L)) || oclTrue(ocl.operation(ocl.variable("_it"), "specializesFromLibrary", listOf<Any?>("Links::BinaryLink"))))
+
+    private fun body7(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("feature")).filter { v0 -> oclTrue(ocl.property(v0, "isEnd")) }
+
+    private fun body8(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("associationEnd"), "type")
+
+    private fun body9(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("relatedType"), "isEmpty", emptyList()))) null else ocl.arrow(ocl.variable("relatedType"), "first", emptyList()))
+
+    private fun body10(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typedFeature"), "Connector")
+
+    private fun body11(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix(">", ocl.arrow(ocl.variable("associationEnd"), "size", emptyList()), 2L)) || oclTrue(ocl.prefix("not", ocl.operation(ocl.variable("_it"), "specializesFromLibrary", listOf<Any?>("Links::BinaryLink")))))
+
+    private fun body12(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.prefix("not", (!oclTrue(ocl.variable("isAbstract")) || oclTrue(ocl.infix(">=", ocl.arrow(ocl.variable("relatedType"), "size", emptyList()), 2L))))
+
+    private fun body13(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.typeOp("oclIsKindOf", ocl.variable("_it"), "Structure"), ocl.typeOp("oclIsKindOf", ocl.variable("_it"), "AssociationStructure"))
+
+    private fun body14(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("directedFeature")
+
+    private fun body15(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("feature"), "Step")
+
+    private fun body16(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typedFeature"), "Step")
+
+    private fun body17(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.arrow(ocl.variable("relatedFeature"), "size", emptyList()), 2L)
+
+    private fun body18(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Predicate")
+
+    private fun body19(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "payloadType"), "includes", listOf<Any?>(self))) }
+
+    private fun body20(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedSpecialization"), "Subclassification")
+
+    private fun body21(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.variable("multiplicity"), null)) || oclTrue(ocl.arrow(ocl.property(ocl.variable("multiplicity"), "featuringType"), "isEmpty", emptyList())))
+
+    private fun body22(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.variable("operator"), "collect")
+
+    private fun body23(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("conjugatedType"), ocl.variable("owningRelatedElement")))) ocl.variable("conjugatedType") else null)
+
+    private fun body24(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("relatedFeature")).all { v0 -> oclTrue((if (oclTrue(ocl.arrow(ocl.variable("featuringType"), "isEmpty", emptyList()))) ocl.operation(v0, "isFeaturedWithin", listOf<Any?>(null)) else ocl.asCollection(ocl.variable("featuringType")).all { v1 -> oclTrue(ocl.operation(v0, "isFeaturedWithin", listOf<Any?>(v1))) })) }
+
+    private fun body25(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix(">", ocl.arrow(ocl.variable("connectorEnd"), "size", emptyList()), 2L)) || oclTrue(ocl.prefix("not", ocl.operation(ocl.variable("_it"), "specializesFromLibrary", listOf<Any?>("Links::BinaryLink")))))
+
+    private fun body26(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.prefix("not", (!oclTrue(ocl.variable("isAbstract")) || oclTrue(ocl.infix(">=", ocl.arrow(ocl.variable("relatedFeature"), "size", emptyList()), 2L))))
+
+    private fun body27(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Association")
+
+    private fun body28(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("endFeature")
+
+    private fun body29(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.asCollection(ocl.property(ocl.variable("connectorEnd"), "ownedReferenceSubsetting")).filter { v0 -> oclTrue(ocl.infix("<>", v0, null)) }, "subsettedFeature")
+
+    private fun body30(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("relatedFeature"), "isEmpty", emptyList()))) null else ocl.arrow(ocl.variable("relatedFeature"), "first", emptyList()))
+
+    private fun body31(ocl: OclExecutor, self: MDMObject): Any? =
+        true
+
+    private fun body32(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.property(ocl.variable("instantiatedType"), "feature")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(ocl.variable("owningMembership"), "visibility"), "public")) }; ocl.asCollection(ocl.property(ocl.variable("result"), "ownedFeature")).all { v2 -> oclTrue(ocl.infix("=", ocl.arrow(ocl.arrow(ocl.property(ocl.property(v2, "ownedRedefinition"), "redefinedFeature"), "intersection", listOf<Any?>(v1)), "size", emptyList()), 1L)) } }
+
+    private fun body33(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("result"), "specializes", listOf<Any?>(ocl.variable("instantiatedType")))
+
+    private fun body34(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.property(ocl.variable("instantiatedType"), "feature")).map { v0 -> ocl.property(ocl.asCollection(ocl.property(ocl.asCollection(ocl.property(ocl.variable("result"), "ownedFeatures")).filter { v1 -> oclTrue(ocl.operation(v1, "redefines", listOf<Any?>(v0))) }, "valuation")).filter { v2 -> oclTrue(ocl.infix("<>", v2, null)) }, "value") }
+
+    private fun body35(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.property(ocl.variable("instantiatedType"), "feature")).filter { v0 -> oclTrue(ocl.infix("=", ocl.variable("visibility"), "public")) }; ocl.asCollection(ocl.property(ocl.variable("result"), "ownedFeature")).all { v2 -> oclTrue(ocl.asCollection(ocl.property(ocl.variable("result"), "ownedFeature")).all { v3 -> oclTrue((!oclTrue(ocl.infix("<>", v2, v3)) || oclTrue(ocl.arrow(ocl.arrow(ocl.arrow(ocl.property(ocl.property(v2, "ownedRedefinition"), "redefinedFeature"), "intersection", listOf<Any?>(ocl.property(ocl.property(v3, "ownedRedefinition"), "redefinedFeature"))), "intersection", listOf<Any?>(v1)), "isEmpty", emptyList())))) }) } }
+
+    private fun body36(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.arrow(ocl.variable("ownedFeatures"), "excluding", listOf<Any?>(ocl.variable("result"))), "isEmpty", emptyList())
+
+    private fun body37(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("subsettingFeature"), ocl.variable("owningRelatedElement")))) ocl.variable("subsettingFeature") else null)
+
+    private fun body38(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue((oclTrue(ocl.property(ocl.variable("crossingFeature"), "isEnd")) && oclTrue(ocl.infix("<>", ocl.property(ocl.variable("crossingFeature"), "owningType"), null)))) && oclTrue(ocl.infix(">", ocl.arrow(ocl.property(ocl.property(ocl.variable("crossingFeature"), "owningType"), "endFeature"), "size", emptyList()), 1L)))
+
+    private fun body39(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("source"), ocl.variable("owningRelatedElement")))) ocl.variable("source") else null)
+
+    private fun body40(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("typeDisjoined"), ocl.variable("owningRelatedElement")))) ocl.variable("typeDisjoined") else null)
+
+    private fun body41(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("annotatedElement")
+
+    private fun body42(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedElement"), "Documentation")
+
+    private fun body43(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.operation(self, "libraryNamespace", emptyList()), null)
+
+    private fun body44(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(self, "effectiveName", emptyList())
+
+    private fun body45(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Annotation")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "annotatedElement"), self)) }
+
+    private fun body46(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedRelationship"), "ownedRelatedElement")
+
+    private fun body47(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("owningRelationship"), null))) null else ocl.property(ocl.variable("owningRelationship"), "owningRelatedElement"))
+
+    private fun body48(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("owningMembership"), null))) null else ocl.property(ocl.variable("owningMembership"), "membershipOwningNamespace"))
+
+    private fun body49(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("owningNamespace"), null))) null else (if (oclTrue((oclTrue(ocl.infix("<>", ocl.variable("name"), null)) && oclTrue(ocl.infix("<>", ocl.arrow(ocl.asCollection(ocl.property(ocl.variable("owningNamespace"), "ownedMember")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "name"), ocl.variable("name"))) }, "indexOf", listOf<Any?>(self)), 1L))))) null else (if (oclTrue(ocl.infix("=", ocl.property(ocl.variable("owningNamespace"), "owner"), null))) ocl.operation(self, "escapedName", emptyList()) else (if (oclTrue((oclTrue(ocl.infix("=", ocl.property(ocl.variable("owningNamespace"), "qualifiedName"), null)) || oclTrue(ocl.infix("=", ocl.operation(self, "escapedName", emptyList()), null))))) null else ocl.infix("+", ocl.infix("+", ocl.property(ocl.variable("owningNamespace"), "qualifiedName"), "::"), ocl.operation(self, "escapedName", emptyList()))))))
+
+    private fun body50(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(self, "effectiveShortName", emptyList())
+
+    private fun body51(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedElement"), "TextualRepresentation")
+
+    private fun body52(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("MetadataAccessExpression")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "referencedElement"), self)) }
+
+    private fun body53(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("AnnotatingElement")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "annotatedElement"), "includes", listOf<Any?>(self))) }
+
+    private fun body54(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Import")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "importedElement"), self)) }
+
+    private fun body55(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Namespace")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "member"), "includes", listOf<Any?>(self))) }
+
+    private fun body56(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("sourceRelationship"), "union", listOf<Any?>(ocl.variable("targetRelationship")))
+
+    private fun body57(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = (if (oclTrue(ocl.infix("<>", ocl.variable("name"), null))) ocl.variable("name") else ocl.variable("shortName")); (if (oclTrue(ocl.infix("=", v0, null))) null else (if (oclTrue(ocl.operation(v0, "isBasicName", emptyList()))) v0 else ocl.operation(v0, "asRestrictedName", emptyList()))) }
+
+    private fun body58(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.variable("owningRelationship"), null))) ocl.operation(ocl.variable("owningRelationship"), "libraryNamespace", emptyList()) else null)
+
+    private fun body59(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.variable("qualifiedName"), null))) ocl.variable("qualifiedName") else (if (oclTrue(ocl.infix("<>", ocl.variable("owningRelationship"), null))) ocl.infix("+", ocl.infix("+", ocl.operation(ocl.variable("owningRelationship"), "path", emptyList()), "/"), ocl.operation(ocl.arrow(ocl.property(ocl.variable("owningRelationship"), "ownedRelatedElement"), "indexOf", listOf<Any?>(self)), "toString", emptyList())) else ""))
+
+    private fun body60(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.property(ocl.variable("condition"), "result"), "specializesFromLibrary", listOf<Any?>("ScalarValues::Boolean"))
+
+    private fun body61(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("condition"), "isModelLevelEvaluable")
+
+    private fun body62(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("ownedMemberFeature")
+
+    private fun body63(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedMemberFeature"), "isEnd")
+
+    private fun body64(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.operation(ocl.variable("ownedMembership"), "selectByKind", listOf<Any?>(ocl.variable("ResultExpressionMembership")))).all { v0 -> oclTrue(ocl.asCollection(ocl.operation(ocl.variable("ownedFeature"), "selectByKind", listOf<Any?>(ocl.variable("BindingConnector")))).any { v1 -> oclTrue((oclTrue(ocl.arrow(ocl.property(v1, "relatedFeature"), "includes", listOf<Any?>(ocl.variable("result")))) && oclTrue(ocl.arrow(ocl.property(v1, "relatedFeature"), "includes", listOf<Any?>(ocl.property(ocl.property(v0, "ownedResultExpression"), "result")))))) }) }
+
+    private fun body65(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Function")
+
+    private fun body66(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.property(ocl.typeOp("selectByKind", ocl.variable("featureMemberships"), "ReturnParameterMembership"), "ownedMemberParameter"); (if (oclTrue(ocl.arrow(v0, "notEmpty", emptyList()))) ocl.arrow(v0, "first", emptyList()) else null) }
+
+    private fun body67(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("membership"), "ResultExpressionMembership"), "size", emptyList()), 1L)
+
+    private fun body68(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("featureMembership"), "ReturnParameterMembership"), "size", emptyList()), 1L)
+
+    private fun body69(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("FeatureValue")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "value"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body70(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("Package")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "filterCondition"), "includes", listOf<Any?>(self))) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body71(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("InstantiationExpression")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "argument"), "includes", listOf<Any?>(self))) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body72(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("MultiplicityRange")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "bound"), "includes", listOf<Any?>(self))) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body73(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("MultiplicityRange")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "lowerBound"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body74(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("MultiplicityRange")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "upperBound"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body75(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningFeatureMembership"), "ResultExpressionMembership"))) ocl.typeOp("oclAsType", ocl.variable("owningFeatureMembership"), "ResultExpressionMembership") else null)
+
+    private fun body76(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningMembership"), "ElementFilterMembership"))) ocl.typeOp("oclAsType", ocl.variable("owningMembership"), "ElementFilterMembership") else null)
+
+    private fun body77(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "evaluate", listOf<Any?>(ocl.variable("target"))); (oclTrue((oclTrue(ocl.infix("=", ocl.arrow(v0, "size", emptyList()), 1L)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.arrow(v0, "first", emptyList()), "LiteralBoolean")))) && oclTrue(ocl.property(ocl.typeOp("oclAsType", ocl.arrow(v0, "first", emptyList()), "LiteralBoolean"), "value"))) }
+
+    private fun body78(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.property(ocl.typeOp("selectByKind", ocl.variable("ownedFeatureMembership"), "ResultExpressionMembership"), "ownedResultExpression"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) listOf<Any?>() else ocl.operation(ocl.arrow(v0, "first", emptyList()), "evaluate", listOf<Any?>(ocl.variable("target")))) }
+
+    private fun body79(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.operation(ocl.variable("_it"), "ownedCrossFeature", emptyList()), null)) || oclTrue(ocl.infix("=", ocl.variable("crossFeature"), ocl.operation(ocl.variable("_it"), "ownedCrossFeature", emptyList()))))
+
+    private fun body80(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.variable("owningFeatureMembership"), null)) || oclTrue(ocl.asCollection(ocl.variable("featuringType")).any { v0 -> oclTrue(ocl.operation(ocl.variable("_it"), "isFeaturingType", listOf<Any?>(v0))) }))
+
+    private fun body81(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.operation(ocl.variable("_it"), "isOwnedCrossFeature", emptyList())) || oclTrue(ocl.arrow(ocl.property(ocl.variable("ownedSubsetting"), "subsettedFeature"), "includesAll", listOf<Any?>(ocl.property(ocl.asCollection(ocl.property(ocl.property(ocl.typeOp("oclAsType", ocl.variable("owner"), "Feature"), "ownedRedefinition"), "redefinedFeature")).filter { v0 -> oclTrue(ocl.infix("<>", ocl.variable("crossFeature"), null)) }, "crossFeature")))))
+
+    private fun body82(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.operation(ocl.variable("_it"), "isOwnedCrossFeature", emptyList())) || oclTrue(ocl.asCollection(ocl.property(ocl.typeOp("oclAsType", ocl.variable("owner"), "Feature"), "type")).all { v0 -> oclTrue(ocl.operation(self, "specializes", listOf<Any?>(v0))) }))
+
+    private fun body83(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typeWithEndFeature"), "Association")
+
+    private fun body84(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typeWithFeature"), "Behavior")
+
+    private fun body85(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typeWithFeature"), "Step")
+
+    private fun body86(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("relationship"), "Connector")
+
+    private fun body87(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("typeWithEndFeature"), "Connector")
+
+    private fun body88(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("sourceRelationship"), "Connector")
+
+    private fun body89(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("targetRelationship"), "Connector")
+
+    private fun body90(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.arrow(ocl.property(ocl.property(ocl.variable("ownedCrossSubsetting"), "crossedFeature"), "chainingFeature"), "at", listOf<Any?>(2L)), "featuringType")
+
+    private fun body91(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedFeatureChaining"), "chainingFeature")
+
+    private fun body92(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("ownedCrossSubsetting"), null))) null else run { val v0: Any? = ocl.property(ocl.property(ocl.variable("ownedCrossSubsetting"), "crossedFeature"), "chainingFeature"); (if (oclTrue(ocl.infix("<", ocl.arrow(v0, "size", emptyList()), 2L))) null else ocl.arrow(v0, "at", listOf<Any?>(2L))) })
+
+    private fun body93(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("chainingFeature"), "isEmpty", emptyList()))) self else ocl.arrow(ocl.variable("chainingFeature"), "last", emptyList()))
+
+    private fun body94(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.arrow(ocl.property(ocl.variable("ownedTypeFeaturing"), "featuringType"), "asOrderedSet", emptyList()); (if (oclTrue(ocl.arrow(ocl.variable("chainingFeature"), "isEmpty", emptyList()))) v0 else ocl.arrow(ocl.arrow(v0, "union", listOf<Any?>(ocl.property(ocl.arrow(ocl.variable("chainingFeature"), "first", emptyList()), "featuringType"))), "asOrderedSet", emptyList())) }
+
+    private fun body95(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedSubsetting"), "CrossSubsetting"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body96(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningMembership"), "FeatureMembership"))) ocl.typeOp("oclAsType", ocl.variable("owningMembership"), "FeatureMembership") else null)
+
+    private fun body97(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.variable("owningFeatureMembership"), null))) ocl.property(ocl.variable("owningFeatureMembership"), "owningType") else null)
+
+    private fun body98(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "FeatureChaining")
+
+    private fun body99(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "FeatureInverting")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featureInverted"), self)) }
+
+    private fun body100(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedSubsetting"), "Redefinition")
+
+    private fun body101(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedSubsetting"), "ReferenceSubsetting"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body102(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedSpecialization"), "Subsetting")
+
+    private fun body103(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "TypeFeaturing")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featureOfType"), self)) }
+
+    private fun body104(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedSpecialization"), "FeatureTyping")
+
+    private fun body105(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.arrow(ocl.property(ocl.property(ocl.closure(ocl.asCollection(listOf<Any?>(self).toCollection(LinkedHashSet())), "OperationCallExp(source=VariableExp(name=_it), operationName=typingFeatures, arguments=[])") { v0 -> ocl.operation(v0, "typingFeatures", emptyList()) }, "typing"), "type"), "asOrderedSet", emptyList()); ocl.asCollection(v1).filter { v2 -> !oclTrue(ocl.asCollection(v1).any { v3 -> oclTrue((oclTrue(ocl.infix("<>", v3, v2)) && oclTrue(ocl.operation(v3, "specializes", listOf<Any?>(v2))))) }) } }
+
+    private fun body106(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(listOf<Any?>(ocl.infix("..", 2L, ocl.arrow(ocl.variable("chainingFeature"), "size", emptyList())))).all { v0 -> oclTrue(ocl.operation(ocl.arrow(ocl.variable("chainingFeature"), "at", listOf<Any?>(v0)), "isFeaturedWithin", listOf<Any?>(ocl.arrow(ocl.variable("chainingFeature"), "at", listOf<Any?>(ocl.infix("-", v0, 1L)))))) }
+
+    private fun body107(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.arrow(ocl.variable("chainingFeature"), "size", emptyList()), 1L)
+
+    private fun body108(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("chainingFeature"), "excludes", listOf<Any?>(self))
+
+    private fun body109(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isConstant")) || oclTrue(ocl.variable("isVariable")))
+
+    private fun body110(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.variable("crossFeature"), null)) || oclTrue(ocl.asCollection(ocl.property(ocl.property(ocl.variable("ownedRedefinition"), "redefinedFeature"), "crossFeature")).all { v0 -> oclTrue((!oclTrue(ocl.infix("<>", v0, null)) || oclTrue(ocl.operation(ocl.variable("crossFeature"), "specializes", listOf<Any?>(v0))))) }))
+
+    private fun body111(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.variable("crossFeature"), null)) || oclTrue(ocl.infix("=", ocl.arrow(ocl.property(ocl.variable("crossFeature"), "type"), "asSet", emptyList()), ocl.arrow(ocl.variable("type"), "asSet", emptyList()))))
+
+    private fun body112(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue((oclTrue(ocl.variable("isEnd")) && oclTrue(ocl.variable("isVariable")))) || oclTrue(ocl.variable("isConstant")))
+
+    private fun body113(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isEnd")) || oclTrue(ocl.asCollection(ocl.typeOp("selectByKind", ocl.arrow(ocl.operation(ocl.operation(ocl.variable("_it"), "multiplicities", emptyList()), "allSupertypes", emptyList()), "flatten", emptyList()), "MultiplicityRange")).any { v0 -> oclTrue(ocl.operation(v0, "hasBounds", listOf<Any?>(1L, 1L))) }))
+
+    private fun body114(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isEnd")) || oclTrue(ocl.infix("=", ocl.variable("direction"), null)))
+
+    private fun body115(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isEnd")) || oclTrue(ocl.prefix("not", (oclTrue((oclTrue((oclTrue(ocl.variable("isDerived")) || oclTrue(ocl.variable("isAbstract")))) || oclTrue(ocl.variable("isComposite")))) || oclTrue(ocl.variable("isPortion"))))))
+
+    private fun body116(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isVariable")) || oclTrue((oclTrue(ocl.infix("<>", ocl.variable("owningType"), null)) && oclTrue(ocl.operation(ocl.variable("owningType"), "specializesFromLibrary", listOf<Any?>("Occurrences::Occurrence"))))))
+
+    private fun body117(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("<>", ocl.variable("multiplicity"), null)) || oclTrue(ocl.infix("=", ocl.property(ocl.variable("multiplicity"), "featuringType"), ocl.variable("featuringType"))))
+
+    private fun body118(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedSubsetting"), "CrossSubsetting"), "size", emptyList()), 1L)
+
+    private fun body119(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedSubsetting"), "ReferenceSubsetting"), "size", emptyList()), 1L)
+
+    private fun body120(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isPortion")) || oclTrue(ocl.prefix("not", ocl.variable("isVariable"))))
+
+    private fun body121(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("FeatureChaining")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featureTarget"), self)) }
+
+    private fun body122(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("FeatureChaining")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "chainingFeature"), self)) }
+
+    private fun body123(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("FeatureChainExpression")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "targetFeature"), self)) }
+
+    private fun body124(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Expression")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "result"), self)) }
+
+    private fun body125(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.property(ocl.asCollection(ocl.allInstances("EndFeatureMembership")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "ownedMemberFeature"), self)) }, "owningType")).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body126(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "sourceOutputFeature"), self)) }
+
+    private fun body127(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "targetInputFeature"), self)) }
+
+    private fun body128(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "inheritedFeature"), "includes", listOf<Any?>(self))) }
+
+    private fun body129(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningFeatureMembership"), "EndFeatureMembership"))) ocl.typeOp("oclAsType", ocl.variable("owningFeatureMembership"), "EndFeatureMembership") else null)
+
+    private fun body130(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningFeatureMembership"), "ParameterMembership"))) ocl.typeOp("oclAsType", ocl.variable("owningFeatureMembership"), "ParameterMembership") else null)
+
+    private fun body131(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("FeatureReferenceExpression")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "referent"), self)) }
+
+    private fun body132(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "directedFeature"), "includes", listOf<Any?>(self))) }
+
+    private fun body133(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "endFeature"), "includes", listOf<Any?>(self))) }
+
+    private fun body134(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "feature"), "includes", listOf<Any?>(self))) }
+
+    private fun body135(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "input"), "includes", listOf<Any?>(self))) }
+
+    private fun body136(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "output"), "includes", listOf<Any?>(self))) }
+
+    private fun body137(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("FeatureValue")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featureWithValue"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body138(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.arrow(ocl.closure(ocl.asCollection(ocl.property(ocl.variable("ownedRedefinition"), "redefinedFeature")), "PropertyCallExp(source=VariableExp(name=ownedRedefinition), propertyName=redefinedFeature)") { v0 -> ocl.property(ocl.variable("ownedRedefinition"), "redefinedFeature") }, "asOrderedSet", emptyList()), "prepend", listOf<Any?>(self))
+
+    private fun body139(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.arrow(ocl.asCollection(ocl.variable("featuringType")).filter { v0 -> oclTrue(ocl.infix("<>", ocl.property(v0, "owner"), self)) }, "union", listOf<Any?>(ocl.operation(ocl.typeOp("selectByKind", ocl.asCollection(ocl.variable("featuringType")).filter { v1 -> oclTrue(ocl.infix("=", ocl.property(v1, "owner"), self)) }, "Feature"), "asCartesianProduct", emptyList()))), "union", listOf<Any?>(ocl.variable("type")))
+
+    private fun body140(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.property(ocl.operation(ocl.variable("_it"), "resolveGlobal", listOf<Any?>("Base::Anything")), "memberElement"); run { val v3: Any? = ocl.closure(ocl.asCollection(ocl.variable("featuringType")), "IfExp(condition=PrefixExp(operator=not, operand=TypeExp(source=VariableExp(name=t), operationName=oclIsKindOf, typeName=Feature)), thenExpression=CollectionLiteralExp(kind=SEQUENCE, parts=[]), elseExpression=LetExp(variableName=featuringTypes, variableValue=PropertyCallExp(source=TypeExp(source=VariableExp(name=t), operationName=oclAsType, typeName=Feature), propertyName=featuringType), body=IfExp(condition=ArrowCallExp(source=VariableExp(name=featuringTypes), operationName=isEmpty, arguments=[]), thenExpression=CollectionLiteralExp(kind=SEQUENCE, parts=[VariableExp(name=anythingType)]), elseExpression=VariableExp(name=featuringTypes))))") { v1 -> (if (oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", v1, "Feature")))) listOf<Any?>() else run { val v2: Any? = ocl.property(ocl.typeOp("oclAsType", v1, "Feature"), "featuringType"); (if (oclTrue(ocl.arrow(v2, "isEmpty", emptyList()))) listOf<Any?>(v0) else v2) }) }; ocl.asCollection(v3).any { v4 -> oclTrue(ocl.operation(ocl.variable("feature"), "isFeaturedWithin", listOf<Any?>(v4))) } } }
+
+    private fun body141(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("type"), "directionOf", listOf<Any?>(self))
+
+    private fun body142(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue((oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("type"), "size", emptyList()), 1L)) && oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("featuringType"), "size", emptyList()), 1L)))) && oclTrue((!oclTrue(ocl.infix("=", ocl.property(ocl.arrow(ocl.variable("featuringType"), "first", emptyList()), "owner"), self)) || oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", ocl.arrow(ocl.variable("featuringType"), "first", emptyList()), "Feature")) && oclTrue(ocl.operation(ocl.typeOp("oclAsType", ocl.arrow(ocl.variable("featuringType"), "first", emptyList()), "Feature"), "isCartesianProduct", emptyList())))))))
+
+    private fun body143(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.operation(ocl.variable("_it"), "specializes", listOf<Any?>(ocl.variable("otherType")))) || oclTrue((oclTrue((oclTrue((oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("otherType"), "Feature")) && oclTrue(ocl.arrow(ocl.variable("ownedFeature"), "isEmpty", emptyList())))) && oclTrue(ocl.arrow(ocl.property(ocl.variable("otherType"), "ownedFeature"), "isEmpty", emptyList())))) && oclTrue(ocl.asCollection(ocl.operation(ocl.variable("ownedRedefinition"), "allRedefinedFeatures", emptyList())).any { v0 -> oclTrue(ocl.arrow(ocl.operation(ocl.typeOp("oclAsType", ocl.variable("otherType"), "Feature"), "allRedefinedFeatures", emptyList()), "includes", listOf<Any?>(v0))) }))) && oclTrue(ocl.operation(ocl.variable("_it"), "canAccess", listOf<Any?>(ocl.typeOp("oclAsType", ocl.variable("otherType"), "Feature")))))))
+
+    private fun body144(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("type"), null))) ocl.asCollection(ocl.variable("featuringType")).all { v0 -> oclTrue(ocl.infix("=", v0, ocl.property(ocl.operation(ocl.variable("_it"), "resolveGlobal", listOf<Any?>("Base::Anything")), "memberElement"))) } else (oclTrue((oclTrue(ocl.asCollection(ocl.variable("featuringType")).all { v1 -> oclTrue(ocl.operation(ocl.variable("type"), "isCompatibleWith", listOf<Any?>(v1))) }) || oclTrue((oclTrue(ocl.variable("isVariable")) && oclTrue(ocl.operation(ocl.variable("type"), "specializes", listOf<Any?>(ocl.variable("owningType")))))))) || oclTrue((oclTrue((oclTrue(ocl.arrow(ocl.variable("chainingFeature"), "notEmpty", emptyList())) && oclTrue(ocl.property(ocl.arrow(ocl.variable("chainingFeature"), "first", emptyList()), "isVariable")))) && oclTrue(ocl.operation(ocl.variable("type"), "specializes", listOf<Any?>(ocl.property(ocl.arrow(ocl.variable("chainingFeature"), "first", emptyList()), "owningType"))))))))
+
+    private fun body145(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue((oclTrue(ocl.infix("<>", ocl.variable("owningNamespace"), null)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningNamespace"), "Feature")))) && oclTrue(ocl.infix("=", ocl.operation(ocl.typeOp("oclAsType", ocl.variable("owningNamespace"), "Feature"), "ownedCrossFeature", emptyList()), self)))
+
+    private fun body146(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("ownedRedefinition"), "isEmpty", emptyList()))) null else ocl.property(ocl.arrow(ocl.variable("ownedRedefinition"), "at", listOf<Any?>(1L)), "redefinedFeature"))
+
+    private fun body147(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.prefix("not", (oclTrue(ocl.variable("isEnd")) || oclTrue(ocl.infix("=", ocl.variable("owningType"), null)))))) null else run { val v2: Any? = ocl.asCollection(ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "Feature")).filter { v0 -> !oclTrue((oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", v0, "Multiplicity")) || oclTrue(ocl.typeOp("oclIsKindOf", v0, "MetadataFeature")))) || oclTrue(ocl.typeOp("oclIsKindOf", v0, "FeatureValue")))) }).filter { v1 -> !oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningMembership"), "FeatureMembership")) }; (if (oclTrue(ocl.arrow(v2, "isEmpty", emptyList()))) null else ocl.arrow(v2, "first", emptyList())) })
+
+    private fun body148(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.property(ocl.variable("ownedRedefinition"), "redefinedFeature"), "includes", listOf<Any?>(ocl.variable("redefinedFeature")))
+
+    private fun body149(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "resolveGlobal", listOf<Any?>(ocl.variable("libraryFeatureName"))); (oclTrue((oclTrue(ocl.infix("<>", v0, null)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(v0, "memberElement"), "Feature")))) && oclTrue(ocl.operation(ocl.variable("_it"), "redefines", listOf<Any?>(ocl.typeOp("oclAsType", ocl.property(v0, "memberElement"), "Feature"))))) }
+
+    private fun body150(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.operation(ocl.variable("_it"), "allSupertypes", emptyList()), "Feature")).any { v0 -> oclTrue(run { val v1: Any? = ocl.arrow(ocl.property(v0, "chainingFeature"), "size", emptyList()); (oclTrue((oclTrue(ocl.infix(">=", v1, 2L)) && oclTrue(ocl.infix("=", ocl.arrow(ocl.property(v0, "chainingFeature"), "at", listOf<Any?>(ocl.infix("-", v1, 1L))), ocl.variable("first"))))) && oclTrue(ocl.infix("=", ocl.arrow(ocl.property(v0, "chainingFeature"), "at", listOf<Any?>(v1)), ocl.variable("second")))) }) }
+
+    private fun body151(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.prefix("not", ocl.variable("isConjugated")))) run { val v1: Any? = ocl.property(ocl.asCollection(ocl.variable("ownedSubsetting")).filter { v0 -> !oclTrue(ocl.typeOp("oclIsKindOf", v0, "CrossSubsetting")) }, "subsettedFeature"); (if (oclTrue((oclTrue(ocl.arrow(ocl.variable("chainingFeature"), "isEmpty", emptyList())) || oclTrue(ocl.arrow(ocl.variable("subsettedFeature"), "includes", listOf<Any?>(ocl.arrow(ocl.variable("chainingFeature"), "last", emptyList()))))))) v1 else ocl.arrow(v1, "append", listOf<Any?>(ocl.arrow(ocl.variable("chainingFeature"), "last", emptyList())))) } else (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(ocl.variable("conjugator"), "originalType"), "Feature"))) listOf<Any?>(ocl.typeOp("oclAsType", ocl.property(ocl.variable("conjugator"), "originalType"), "Feature")).toCollection(LinkedHashSet()) else listOf<Any?>().toCollection(LinkedHashSet())))
+
+    private fun body152(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.variable("ownedFeatures")).filter { v0 -> oclTrue(ocl.infix("=", ocl.variable("direction"), "in")) }; run { val v2: Any? = ocl.operation(ocl.variable("owningExpression"), "sourceTargetFeature", emptyList()); (oclTrue((oclTrue(ocl.infix("<>", v2, null)) && oclTrue(ocl.operation(ocl.variable("result"), "subsetsChain", listOf<Any?>(ocl.arrow(v1, "first", emptyList()), v2))))) && oclTrue(ocl.infix("=", ocl.property(ocl.variable("result"), "owningType"), self))) } }
+
+    private fun body153(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "sourceTargetFeature", emptyList()); (oclTrue(ocl.infix("<>", v0, null)) && oclTrue(ocl.operation(v0, "redefines", listOf<Any?>(ocl.variable("targetFeature"))))) }
+
+    private fun body154(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "sourceTargetFeature", emptyList()); (oclTrue(ocl.infix("<>", v0, null)) && oclTrue(ocl.operation(v0, "redefinesFromLibrary", listOf<Any?>("ControlFunctions::'.'::source::target")))) }
+
+    private fun body155(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.variable("ownedMembership")).filter { v0 -> !oclTrue(ocl.typeOp("oclIsKindOf", v0, "ParameterMembership")) }; (if (oclTrue((oclTrue(ocl.arrow(v1, "isEmpty", emptyList())) || oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", ocl.property(ocl.arrow(v1, "first", emptyList()), "memberElement"), "Feature")))))) null else ocl.typeOp("oclAsType", ocl.property(ocl.arrow(v1, "first", emptyList()), "memberElement"), "Feature")) }
+
+    private fun body156(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.arrow(ocl.variable("argument"), "notEmpty", emptyList())) || oclTrue(ocl.operation(ocl.variable("targetFeature"), "isFeaturedWithin", listOf<Any?>(ocl.property(ocl.arrow(ocl.variable("argument"), "first", emptyList()), "result")))))
+
+    private fun body157(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.variable("operator"), ".")
+
+    private fun body158(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.variable("ownedFeatures")).filter { v0 -> oclTrue(ocl.infix("=", ocl.variable("direction"), "in")) }; (if (oclTrue((oclTrue(ocl.arrow(v1, "isEmpty", emptyList())) || oclTrue(ocl.arrow(ocl.property(ocl.arrow(v1, "first", emptyList()), "ownedFeature"), "isEmpty", emptyList()))))) null else ocl.arrow(ocl.property(ocl.arrow(v1, "first", emptyList()), "ownedFeature"), "first", emptyList())) }
+
+    private fun body159(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("featureInverted"), ocl.variable("owningRelatedElement")))) ocl.variable("featureInverted") else null)
+
+    private fun body160(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "featureMembership"), "includes", listOf<Any?>(self))) }
+
+    private fun body161(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("ownedMemberElement"), "Feature"))) ocl.typeOp("oclAsType", ocl.variable("ownedMemberElement"), "Feature") else null)
+
+    private fun body162(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("membershipOwningNamespace"), "Type"))) ocl.typeOp("oclAsType", ocl.variable("membershipOwningNamespace"), "Type") else null)
+
+    private fun body163(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "BindingConnector")).any { v0 -> oclTrue((oclTrue(ocl.arrow(ocl.property(v0, "relatedFeatures"), "includes", listOf<Any?>(ocl.variable("targetFeature")))) && oclTrue(ocl.arrow(ocl.property(v0, "relatedFeatures"), "includes", listOf<Any?>(ocl.variable("result")))))) }
+
+    private fun body164(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.infix("=", ocl.operation(ocl.variable("result"), "owningType", emptyList()), self)) && oclTrue(ocl.operation(ocl.variable("result"), "specializes", listOf<Any?>(ocl.variable("referent")))))
+
+    private fun body165(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.variable("ownedMembership")).filter { v0 -> !oclTrue(ocl.typeOp("oclIsKindOf", v0, "ParameterMembership")) }; (oclTrue(ocl.arrow(v1, "notEmpty", emptyList())) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(ocl.arrow(v1, "at", listOf<Any?>(1L)), "memberElement"), "Feature"))) }
+
+    private fun body166(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.property(ocl.variable("result"), "owningType"), self)
+
+    private fun body167(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", ocl.variable("target"), "Type")))) listOf<Any?>() else run { val v1: Any? = ocl.asCollection(ocl.property(ocl.typeOp("oclAsType", ocl.variable("target"), "Type"), "feature")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(ocl.property(v0, "ownedRedefinition"), "redefinedFeature"), "includes", listOf<Any?>(ocl.variable("referent")))) }; (if (oclTrue(ocl.arrow(v1, "notEmpty", emptyList()))) ocl.operation(ocl.property(ocl.property(v1, "valuation"), "value"), "evaluate", listOf<Any?>(ocl.variable("target"))) else (if (oclTrue(ocl.arrow(ocl.property(ocl.variable("referent"), "featuringType"), "isEmpty", emptyList()))) ocl.variable("referent") else listOf<Any?>())) })
+
+    private fun body168(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.operation(ocl.variable("referent"), "conformsTo", listOf<Any?>("Anything::self"))) || oclTrue((oclTrue(ocl.arrow(ocl.variable("visited"), "excludes", listOf<Any?>(ocl.variable("referent")))) && oclTrue((oclTrue((oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("referent"), "Expression")) && oclTrue(ocl.operation(ocl.typeOp("oclAsType", ocl.variable("referent"), "Expression"), "modelLevelEvaluable", listOf<Any?>(ocl.arrow(ocl.variable("visited"), "including", listOf<Any?>(ocl.variable("referent")))))))) || oclTrue((oclTrue(ocl.infix("<>", ocl.property(ocl.variable("referent"), "owningType"), null)) && oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(ocl.variable("referent"), "owningType"), "Metaclass")) || oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(ocl.variable("referent"), "owningType"), "MetadataFeature")))))))) || oclTrue((oclTrue(ocl.arrow(ocl.property(ocl.variable("referent"), "featuringType"), "isEmpty", emptyList())) && oclTrue((oclTrue(ocl.infix("=", ocl.property(ocl.variable("referent"), "valuation"), null)) || oclTrue(ocl.operation(ocl.property(ocl.variable("referent"), "valuation"), "modelLevelEvaluable", listOf<Any?>(ocl.arrow(ocl.variable("visited"), "including", listOf<Any?>(ocl.variable("referent")))))))))))))))
+
+    private fun body169(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("typedFeature"), ocl.variable("owningRelatedElement")))) ocl.variable("typedFeature") else null)
+
+    private fun body170(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("oclAsType", ocl.variable("membershipOwningNamespace"), "Feature")
+
+    private fun body171(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("oclAsType", ocl.variable("ownedMemberElement"), "Expression")
+
+    private fun body172(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.variable("isInitial")) || oclTrue(ocl.property(ocl.variable("featureWithValue"), "isVariable")))
+
+    private fun body173(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("connectorEnd"), "FlowEnd")
+
+    private fun body174(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedFeature"), "PayloadFeature"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body175(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("payloadFeature"), null))) listOf<Any?>() else ocl.property(ocl.variable("payloadFeature"), "type"))
+
+    private fun body176(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue((oclTrue(ocl.arrow(ocl.variable("connectorEnd"), "isEmpty", emptyList())) || oclTrue(ocl.arrow(ocl.property(ocl.variable("connectorEnd"), "ownedFeature"), "isEmpty", emptyList()))))) null else ocl.arrow(ocl.property(ocl.variable("connectorEnd"), "ownedFeature"), "first", emptyList()))
+
+    private fun body177(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue((oclTrue(ocl.infix("<", ocl.arrow(ocl.variable("connectorEnd"), "size", emptyList()), 2L)) || oclTrue(ocl.arrow(ocl.property(ocl.arrow(ocl.variable("connectorEnd"), "at", listOf<Any?>(2L)), "ownedFeature"), "isEmpty", emptyList()))))) null else ocl.arrow(ocl.property(ocl.arrow(ocl.variable("connectorEnd"), "at", listOf<Any?>(2L)), "ownedFeature"), "first", emptyList()))
+
+    private fun body178(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedFeature"), "PayloadFeature"), "size", emptyList()), 1L)
+
+    private fun body179(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Interaction")
+
+    private fun body180(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "flowEnd"), "includes", listOf<Any?>(self))) }
+
+    private fun body181(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("isEnd")
+
+    private fun body182(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.arrow(ocl.variable("ownedFeature"), "size", emptyList()), 1L)
+
+    private fun body183(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.infix("<>", ocl.variable("owningType"), null)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningType"), "Flow")))
+
+    private fun body184(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("step"), "Expression")
+
+    private fun body185(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Expression")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "function"), "includes", listOf<Any?>(self))) }
+
+    private fun body186(ocl: OclExecutor, self: MDMObject): Any? =
+        null
+
+    private fun body187(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.infix("=", ocl.property(ocl.variable("importOwningNamespace"), "owner"), null)) || oclTrue(ocl.infix("=", ocl.variable("visibility"), "private")))
+
+    private fun body188(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.arrow(ocl.variable("arguments"), "notEmpty", emptyList())) && oclTrue(ocl.prefix("not", (!oclTrue(ocl.operation(ocl.property(ocl.arrow(ocl.variable("arguments"), "first", emptyList()), "result"), "specializesFromLibrary", listOf<Any?>("Collections::Array"))) || oclTrue(ocl.operation(ocl.variable("result"), "specializes", listOf<Any?>(ocl.property(ocl.arrow(ocl.variable("arguments"), "first", emptyList()), "result"))))))))
+
+    private fun body189(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.variable("operator"), "#")
+
+    private fun body190(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "instantiatedType", emptyList())
+
+    private fun body191(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.operation(ocl.variable("_it"), "instantiatedType", emptyList()), null)
+
+    private fun body192(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.property(ocl.asCollection(ocl.variable("ownedMembership")).filter { v0 -> !oclTrue(ocl.typeOp("oclIsKindOf", v0, "FeatureMembership")) }, "memberElement"); (if (oclTrue((oclTrue(ocl.arrow(v1, "isEmpty", emptyList())) || oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", ocl.arrow(v1, "first", emptyList()), "Type")))))) null else ocl.typeOp("oclAsType", ocl.arrow(v1, "first", emptyList()), "Type")) }
+
+    private fun body193(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "interaction"), "includes", listOf<Any?>(self))) }
+
+    private fun body194(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "specializes", listOf<Any?>(ocl.variable("instantiatedType")))
+
+    private fun body195(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.property(ocl.variable("instantiatedType"), "input")).map { v0 -> ocl.property(ocl.asCollection(ocl.property(ocl.asCollection(ocl.variable("ownedFeatures")).filter { v1 -> oclTrue(ocl.operation(v1, "redefines", listOf<Any?>(v0))) }, "valuation")).filter { v2 -> oclTrue(ocl.infix("<>", v2, null)) }, "value") }
+
+    private fun body196(ocl: OclExecutor, self: MDMObject): Any? =
+        (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("instantiatedType"), "Behavior")) || oclTrue((oclTrue((oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("instantiatedType"), "Feature")) && oclTrue(ocl.asCollection(ocl.property(ocl.variable("instantiatedType"), "type")).any { v0 -> oclTrue(ocl.typeOp("oclIsKindOf", v0, "Behavior")) }))) && oclTrue(ocl.infix("=", ocl.arrow(ocl.property(ocl.variable("instantiatedType"), "type"), "size", emptyList()), 1L)))))
+
+    private fun body197(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.property(ocl.variable("instantiatedType"), "feature"); ocl.asCollection(ocl.variable("input")).all { v1 -> oclTrue(ocl.asCollection(ocl.variable("input")).all { v2 -> oclTrue((!oclTrue(ocl.infix("<>", v1, v2)) || oclTrue(ocl.arrow(ocl.arrow(ocl.arrow(ocl.property(ocl.property(v1, "ownedRedefinition"), "redefinedFeature"), "intersection", listOf<Any?>(ocl.property(ocl.property(v2, "ownedRedefinition"), "redefinedFeature"))), "intersection", listOf<Any?>(v0)), "isEmpty", emptyList())))) }) } }
+
+    private fun body198(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("ownedFeature")).all { v0 -> oclTrue((!oclTrue(ocl.infix("<>", v0, ocl.variable("result"))) || oclTrue(ocl.infix("=", ocl.property(v0, "direction"), "in")))) }
+
+    private fun body199(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.property(ocl.variable("instantiatedType"), "input"); ocl.asCollection(ocl.variable("input")).all { v1 -> oclTrue(ocl.infix("=", ocl.arrow(ocl.arrow(ocl.property(ocl.property(v1, "ownedRedefinition"), "redefinedFeature"), "intersection", listOf<Any?>(v0)), "size", emptyList()), 1L)) } }
+
+    private fun body200(ocl: OclExecutor, self: MDMObject): Any? =
+        listOf<Any?>()
+
+    private fun body201(ocl: OclExecutor, self: MDMObject): Any? =
+        self
+
+    private fun body202(ocl: OclExecutor, self: MDMObject): Any? =
+        listOf<Any?>(self)
+
+    private fun body203(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "inheritedMembership"), "includes", listOf<Any?>(self))) }
+
+    private fun body204(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Namespace")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "importedMembership"), "includes", listOf<Any?>(self))) }
+
+    private fun body205(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("Namespace")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "membership"), "includes", listOf<Any?>(self))) }
+
+    private fun body206(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("memberElement"), "elementId")
+
+    private fun body207(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.prefix("not", (oclTrue((oclTrue(ocl.dynamicTypeOp("oclIsKindOf", ocl.variable("memberElement"), ocl.operation(ocl.property(ocl.variable("other"), "memberElement"), "oclType", emptyList()))) || oclTrue(ocl.dynamicTypeOp("oclIsKindOf", ocl.property(ocl.variable("other"), "memberElement"), ocl.operation(ocl.variable("memberElement"), "oclType", emptyList()))))) || oclTrue((oclTrue((oclTrue(ocl.infix("=", ocl.variable("memberShortName"), null)) || oclTrue((oclTrue(ocl.infix("<>", ocl.variable("memberShortName"), ocl.property(ocl.variable("other"), "memberShortName"))) && oclTrue(ocl.infix("<>", ocl.variable("memberShortName"), ocl.property(ocl.variable("other"), "memberName"))))))) && oclTrue((oclTrue(ocl.infix("=", ocl.variable("memberName"), null)) || oclTrue((oclTrue(ocl.infix("<>", ocl.variable("memberName"), ocl.property(ocl.variable("other"), "memberShortName"))) && oclTrue(ocl.infix("<>", ocl.variable("memberName"), ocl.property(ocl.variable("other"), "memberName")))))))))))
+
+    private fun body208(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("importedMembership"), "memberElement")
+
+    private fun body209(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.prefix("not", (oclTrue(ocl.variable("isRecursive")) || oclTrue(ocl.prefix("not", (oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("importedElement"), "Namespace")) || oclTrue(ocl.arrow(ocl.variable("excluded"), "includes", listOf<Any?>(ocl.variable("importedElement"))))))))))) listOf<Any?>(ocl.variable("importedMembership")) else ocl.arrow(ocl.operation(ocl.typeOp("oclAsType", ocl.variable("importedElement"), "Namespace"), "visibleMemberships", listOf<Any?>(ocl.variable("excluded"), true, ocl.variable("isImportAll"))), "prepend", listOf<Any?>(ocl.variable("importedMembership"))))
+
+    private fun body210(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("MetadataFeature")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "metaclass"), self)) }
+
+    private fun body211(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.arrow(ocl.variable("ownedMembership"), "first", emptyList()); (if (oclTrue(ocl.infix("=", v0, null))) null else ocl.property(v0, "memberElement")) }
+
+    private fun body212(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.variable("referencedElement"), null)
+
+    private fun body213(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.asCollection(ocl.property(ocl.variable("referencedElement"), "metadataFeature")).map { v0 -> ocl.property(v0, "metaclass") }, "Metaclass")).map { v1 -> ocl.operation(ocl.variable("_it"), "metaclassFeature", listOf<Any?>(v1)) }
+
+    private fun body214(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.property(ocl.variable("metaclass"), "ownedFeature")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "name"), ocl.property(ocl.variable("referencedElement"), "name"))) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body215(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("type"), "Metaclass"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body216(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.closure(ocl.asCollection(ocl.variable("ownedFeature")), "PropertyCallExp(source=VariableExp(name=_it), propertyName=ownedFeature)") { v0 -> ocl.property(v0, "ownedFeature") }).all { v1 -> oclTrue((!oclTrue((oclTrue((oclTrue(ocl.infix("=", ocl.property(v1, "declaredName"), null)) && oclTrue(ocl.infix("=", ocl.property(v1, "declaredShortName"), null)))) && oclTrue(ocl.infix("<>", ocl.property(v1, "valuation"), null)))) || oclTrue((oclTrue(ocl.property(ocl.property(ocl.property(v1, "valuation"), "value"), "isModelLevelEvaluable")) && oclTrue(ocl.infix("=", ocl.arrow(ocl.property(ocl.property(v1, "redefinition"), "redefinedFeature"), "size", emptyList()), 1L)))))) }
+
+    private fun body217(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.operation(ocl.typeOp("selectByKind", ocl.variable("type"), "Metaclass"), "size", emptyList()), 1L)
+
+    private fun body218(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.prefix("not", ocl.property(ocl.variable("metaclass"), "isAbstract"))
+
+    private fun body219(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "specializesFromLibrary", listOf<Any?>("Metaobjects::SemanticMetadata"))
+
+    private fun body220(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "specializesFromLibrary", listOf<Any?>("KerML::Element"))
+
+    private fun body221(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue((oclTrue(ocl.infix("<>", ocl.variable("owningType"), null)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.variable("owningType"), "Feature"))))) ocl.infix("=", ocl.variable("featuringType"), ocl.property(ocl.typeOp("oclAsType", ocl.variable("owningType"), "Feature"), "featuringType")) else ocl.arrow(ocl.variable("featuringType"), "isEmpty", emptyList()))
+
+    private fun body222(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("bound")).all { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featuringType"), ocl.property(self, "featuringType"))) }
+
+    private fun body223(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("upperBound"), null))) listOf<Any?>() else (if (oclTrue(ocl.infix("=", ocl.variable("lowerBound"), null))) listOf<Any?>(ocl.variable("upperBound")) else listOf<Any?>(ocl.variable("lowerBound"), ocl.variable("upperBound"))))
+
+    private fun body224(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "Expression"); (if (oclTrue(ocl.infix("<", ocl.arrow(v0, "size", emptyList()), 2L))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body225(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "Expression"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else (if (oclTrue(ocl.infix("=", ocl.arrow(v0, "size", emptyList()), 1L))) ocl.arrow(v0, "at", listOf<Any?>(1L)) else ocl.arrow(v0, "at", listOf<Any?>(2L)))) }
+
+    private fun body226(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("lowerBound"), null))) (oclTrue(ocl.arrow(ocl.variable("ownedMember"), "notEmpty", emptyList())) && oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("ownedMember"), "at", listOf<Any?>(1L)), ocl.variable("upperBound")))) else (oclTrue((oclTrue(ocl.infix(">", ocl.arrow(ocl.variable("ownedMember"), "size", emptyList()), 1L)) && oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("ownedMember"), "at", listOf<Any?>(1L)), ocl.variable("lowerBound"))))) && oclTrue(ocl.infix("=", ocl.arrow(ocl.variable("ownedMember"), "at", listOf<Any?>(2L)), ocl.variable("upperBound")))))
+
+    private fun body227(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "importedMemberships", listOf<Any?>(listOf<Any?>().toSet()))
+
+    private fun body228(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("membership"), "memberElement")
+
+    private fun body229(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Import")
+
+    private fun body230(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.typeOp("selectByKind", ocl.variable("ownedMembership"), "OwningMembership"), "ownedMemberElement")
+
+    private fun body231(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Membership")
+
+    private fun body232(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.arrow(ocl.variable("ownedMembership"), "union", listOf<Any?>(ocl.variable("importedMembership"))), "asOrderedSet", emptyList())
+
+    private fun body233(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("membership")).all { v0 -> oclTrue(ocl.asCollection(ocl.variable("membership")).all { v1 -> oclTrue((!oclTrue(ocl.infix("<>", v0, v1)) || oclTrue(ocl.operation(v0, "isDistinguishableFrom", listOf<Any?>(v1))))) }) }
+
+    private fun body234(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.asCollection(ocl.variable("ownedMembership")).filter { v0 -> oclTrue((oclTrue(ocl.infix("=", ocl.variable("visibility"), null)) || oclTrue(ocl.infix("=", ocl.property(v0, "visibility"), ocl.variable("visibility"))))) }, "union", listOf<Any?>(ocl.operation(ocl.asCollection(ocl.variable("ownedImport")).filter { v1 -> oclTrue((oclTrue(ocl.infix("=", ocl.variable("visibility"), null)) || oclTrue(ocl.infix("=", ocl.property(v1, "visibility"), ocl.variable("visibility"))))) }, "importedMemberships", listOf<Any?>(ocl.arrow(ocl.variable("excluded"), "including", listOf<Any?>(self))))))
+
+    private fun body235(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.variable("memberships")).filter { v0 -> oclTrue(ocl.infix("=", ocl.variable("memberElement"), ocl.variable("element"))) }; ocl.arrow(ocl.arrow(ocl.property(v1, "memberShortName"), "union", listOf<Any?>(ocl.property(v1, "memberName"))), "asSet", emptyList()) }
+
+    private fun body236(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "qualificationOf", listOf<Any?>(ocl.variable("qualifiedName"))); run { val v1: Any? = ocl.operation(ocl.variable("_it"), "unqualifiedNameOf", listOf<Any?>(ocl.variable("qualifiedName"))); (if (oclTrue(ocl.infix("=", v0, null))) ocl.operation(ocl.variable("_it"), "resolveLocal", listOf<Any?>(v1)) else (if (oclTrue(ocl.infix("=", v0, ""))) ocl.operation(self, "resolveGlobal", listOf<Any?>(v1)) else run { val v2: Any? = ocl.operation(ocl.variable("_it"), "resolve", listOf<Any?>(v0)); (if (oclTrue((oclTrue(ocl.infix("=", v2, null)) || oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", ocl.property(v2, "memberElement"), "Namespace")))))) null else ocl.operation(ocl.typeOp("oclAsType", ocl.property(v2, "memberElement"), "Namespace"), "resolveVisible", listOf<Any?>(v1))) })) } }
+
+    private fun body237(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("owningNamespace"), null))) ocl.operation(self, "resolveGlobal", listOf<Any?>(ocl.variable("name"))) else run { val v1: Any? = ocl.asCollection(ocl.variable("membership")).filter { v0 -> oclTrue((oclTrue(ocl.infix("=", ocl.variable("memberShortName"), ocl.variable("name"))) || oclTrue(ocl.infix("=", ocl.variable("memberName"), ocl.variable("name"))))) }; (if (oclTrue(ocl.arrow(v1, "notEmpty", emptyList()))) ocl.arrow(v1, "first", emptyList()) else ocl.operation(ocl.variable("owningNamespace"), "resolveLocal", listOf<Any?>(ocl.variable("name")))) })
+
+    private fun body238(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(ocl.operation(ocl.variable("_it"), "visibleMemberships", listOf<Any?>(listOf<Any?>().toSet(), false, false))).filter { v0 -> oclTrue((oclTrue(ocl.infix("=", ocl.variable("memberShortName"), ocl.variable("name"))) || oclTrue(ocl.infix("=", ocl.variable("memberName"), ocl.variable("name"))))) }; (if (oclTrue(ocl.arrow(v1, "isEmpty", emptyList()))) null else ocl.arrow(v1, "first", emptyList())) }
+
+    private fun body239(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("importedMembership"), "includes", listOf<Any?>(ocl.variable("mem"))))) ocl.property(ocl.operation(ocl.asCollection(ocl.variable("ownedImport")).filter { v0 -> oclTrue(ocl.arrow(ocl.operation(v0, "importedMemberships", listOf<Any?>(listOf<Any?>().toSet())), "includes", listOf<Any?>(ocl.variable("mem")))) }, "first", emptyList()), "visibility") else (if (oclTrue(ocl.arrow(ocl.variable("membership"), "includes", listOf<Any?>(ocl.variable("mem"))))) ocl.property(ocl.variable("mem"), "visibility") else "private"))
+
+    private fun body240(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.variable("importedNamespace")
+
+    private fun body241(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.arrow(ocl.variable("excluded"), "includes", listOf<Any?>(ocl.variable("importedNamespace"))))) listOf<Any?>() else ocl.operation(ocl.variable("importedNamespace"), "visibleMemberships", listOf<Any?>(ocl.variable("excluded"), ocl.variable("isRecursive"), ocl.variable("isImportAll"))))
+
+    private fun body242(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v1: Any? = ocl.asCollection(listOf<Any?>("BaseFunctions", "DataFunctions", "ControlFunctions")).map { v0 -> ocl.property(ocl.operation(ocl.variable("_it"), "resolveGlobal", listOf<Any?>(ocl.infix("+", ocl.infix("+", ocl.infix("+", v0, "::'"), ocl.variable("operator")), "'"))), "memberElement") }; (if (oclTrue(ocl.arrow(v1, "isEmpty", emptyList()))) null else ocl.typeOp("oclAsType", ocl.arrow(v1, "first", emptyList()), "Type")) }
+
+    private fun body243(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedMemberElement"), "name")
+
+    private fun body244(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedMemberElement"), "shortName")
+
+    private fun body245(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.property(ocl.variable("ownedMemberElement"), "qualifiedName"), null))) ocl.infix("+", ocl.property(ocl.variable("ownedMemberElement"), "qualifiedName"), "/owningMembership") else ocl.operation(ocl.typeOp("oclAsType", self, "Relationship"), "path", emptyList()))
+
+    private fun body246(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.typeOp("selectByKind", ocl.variable("ownedMembership"), "ElementFilterMembership"), "condition")
+
+    private fun body247(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.operation(ocl.typeOp("oclAsType", self, "Namespace"), "importedMemberships", listOf<Any?>(ocl.variable("excluded")))).filter { v0 -> oclTrue(ocl.operation(self, "includeAsMember", listOf<Any?>(ocl.property(v0, "memberElement")))) }
+
+    private fun body248(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.property(ocl.property(ocl.variable("element"), "ownedAnnotation"), "annotatingElement"), "MetadataFeature"); ocl.asCollection(ocl.property(self, "filterCondition")).all { v1 -> oclTrue(ocl.asCollection(v0).any { v2 -> oclTrue(ocl.operation(v1, "checkCondition", listOf<Any?>(v2))) }) } }
+
+    private fun body249(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedMemberParameter"), "direction")
+
+    private fun body250(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("Flow")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "payloadFeature"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body251(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "redefinesFromLibrary", listOf<Any?>("Transfers::Transfer::payload"))
+
+    private fun body252(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("BooleanExpression")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "predicate"), "includes", listOf<Any?>(self))) }
+
+    private fun body253(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("redefiningFeature"), ocl.variable("owningRelatedElement")))) ocl.variable("redefiningFeature") else null)
+
+    private fun body254(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = (if (oclTrue(ocl.property(ocl.variable("redefiningFeature"), "isVariable"))) listOf<Any?>(ocl.property(ocl.variable("redefiningFeature"), "owningType")) else ocl.property(ocl.variable("redefiningFeature"), "featuringType")); ocl.asCollection(v0).all { v1 -> oclTrue(run { val v2: Any? = ocl.operation(v1, "directionOf", listOf<Any?>(ocl.variable("redefinedFeature"))); (oclTrue((!oclTrue((oclTrue(ocl.infix("=", v2, "in")) || oclTrue(ocl.infix("=", v2, "out")))) || oclTrue(ocl.infix("=", ocl.property(ocl.variable("redefiningFeature"), "direction"), v2)))) && oclTrue((!oclTrue(ocl.infix("=", v2, "inout")) || oclTrue(ocl.infix("<>", ocl.property(ocl.variable("redefiningFeature"), "direction"), null))))) }) } }
+
+    private fun body255(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.property(ocl.variable("redefinedFeature"), "isEnd")) || oclTrue(ocl.property(ocl.variable("redefiningFeature"), "isEnd")))
+
+    private fun body256(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("oclAsType", ocl.property(ocl.operation(ocl.variable("redefiningFeature"), "resolveGlobal", listOf<Any?>("Base::Anything")), "memberElement"), "Type"); run { val v1: Any? = (if (oclTrue(ocl.property(ocl.variable("redefiningFeature"), "isVariable"))) listOf<Any?>(ocl.property(ocl.variable("redefiningFeature"), "owningType")).toSet() else ocl.arrow(ocl.arrow(ocl.property(ocl.variable("redefiningFeature"), "featuringType"), "asSet", emptyList()), "including", listOf<Any?>(v0))); run { val v2: Any? = (if (oclTrue(ocl.property(ocl.variable("redefinedFeature"), "isVariable"))) listOf<Any?>(ocl.property(ocl.variable("redefinedFeature"), "owningType")).toSet() else ocl.arrow(ocl.arrow(ocl.property(ocl.variable("redefinedFeature"), "featuringType"), "asSet", emptyList()), "including", listOf<Any?>(v0))); ocl.infix("<>", v1, v2) } } }
+
+    private fun body257(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("source"), "union", listOf<Any?>(ocl.variable("target")))
+
+    private fun body258(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.variable("owningRelatedElement"), null))) ocl.operation(ocl.variable("owningRelatedElement"), "libraryNamespace", emptyList()) else (if (oclTrue(ocl.infix("<>", ocl.variable("owningRelationship"), null))) ocl.operation(ocl.variable("owningRelationship"), "libraryNamespace", emptyList()) else null))
+
+    private fun body259(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue((oclTrue(ocl.infix("=", ocl.variable("owningRelationship"), null)) && oclTrue(ocl.infix("<>", ocl.variable("owningRelatedElement"), null))))) ocl.infix("+", ocl.infix("+", ocl.operation(ocl.variable("owningRelatedElement"), "path", emptyList()), "/"), ocl.operation(ocl.arrow(ocl.property(ocl.variable("owningRelatedElement"), "ownedRelationship"), "indexOf", listOf<Any?>(self)), "toString", emptyList())) else ocl.operation(ocl.typeOp("oclAsType", self, "Element"), "path", emptyList()))
+
+    private fun body260(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedFeature"), "Feature")).filter { v0 -> oclTrue(ocl.asCollection(ocl.property(v0, "type")).any { v1 -> oclTrue(ocl.typeOp("oclIsKindOf", v1, "Rendering")) }) }
+
+    private fun body261(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedMemberFeature"), "Expression"), "first", emptyList())
+
+    private fun body262(ocl: OclExecutor, self: MDMObject): Any? =
+        "out"
+
+    private fun body263(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.arrow(ocl.variable("argument"), "notEmpty", emptyList())) || oclTrue(ocl.operation(ocl.variable("result"), "specializes", listOf<Any?>(ocl.property(ocl.arrow(ocl.variable("argument"), "first", emptyList()), "result")))))
+
+    private fun body264(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("=", ocl.variable("operator"), "select")
+
+    private fun body265(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("specific"), ocl.variable("owningRelatedElement")))) ocl.variable("specific") else null)
+
+    private fun body266(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.prefix("not", ocl.property(ocl.variable("specific"), "isConjugated"))
+
+    private fun body267(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Behavior")
+
+    private fun body268(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("featuringType"), "Behavior")
+
+    private fun body269(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("subclassifier"), ocl.variable("owningRelatedElement")))) ocl.variable("subclassifier") else null)
+
+    private fun body270(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue((oclTrue(ocl.property(ocl.variable("subsettedFeature"), "isConstant")) && oclTrue(ocl.property(ocl.variable("subsettingFeature"), "isVariable")))) || oclTrue(ocl.property(ocl.variable("subsettingFeature"), "isConstant")))
+
+    private fun body271(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("subsettingFeature"), "canAccess", listOf<Any?>(ocl.variable("subsettedFeature")))
+
+    private fun body272(ocl: OclExecutor, self: MDMObject): Any? =
+        (!oclTrue(ocl.property(ocl.variable("subsettedFeature"), "isUnique")) || oclTrue(ocl.property(ocl.variable("subsettingFeature"), "isUnique")))
+
+    private fun body273(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("relationship"), "Association")
+
+    private fun body274(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("feature"), "Connector")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "defaultFeaturingType"), self)) }
+
+    private fun body275(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedDifferencing"), "typeDifferenced")
+
+    private fun body276(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedDifferencing"), "differencingType")
+
+    private fun body277(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("feature")).filter { v0 -> oclTrue(ocl.infix("<>", ocl.operation(ocl.variable("_it"), "directionOf", listOf<Any?>(v0)), null)) }
+
+    private fun body278(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("featureMembership"), "ownedMemberFeature")
+
+    private fun body279(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("ownedFeatureMembership"), "union", listOf<Any?>(ocl.typeOp("selectByKind", ocl.variable("inheritedMembership"), "FeatureMembership")))
+
+    private fun body280(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.typeOp("selectByKind", ocl.variable("inheritedMembership"), "FeatureMembership"), "memberFeature")
+
+    private fun body281(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "inheritedMemberships", listOf<Any?>(listOf<Any?>().toSet(), listOf<Any?>().toSet(), false))
+
+    private fun body282(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("feature")).filter { v0 -> oclTrue(run { val v1: Any? = ocl.operation(ocl.variable("_it"), "directionOf", listOf<Any?>(v0)); (oclTrue(ocl.infix("=", v1, "in")) || oclTrue(ocl.infix("=", v1, "inout"))) }) }
+
+    private fun body283(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedIntersecting"), "intersectingType")
+
+    private fun body284(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "Multiplicity"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "first", emptyList())) }
+
+    private fun body285(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("feature")).filter { v0 -> oclTrue(run { val v1: Any? = ocl.operation(ocl.variable("_it"), "directionOf", listOf<Any?>(v0)); (oclTrue(ocl.infix("=", v1, "out")) || oclTrue(ocl.infix("=", v1, "inout"))) }) }
+
+    private fun body286(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Conjugation"); (if (oclTrue(ocl.arrow(v0, "isEmpty", emptyList()))) null else ocl.arrow(v0, "at", listOf<Any?>(1L))) }
+
+    private fun body287(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Differencing")
+
+    private fun body288(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Disjoining")
+
+    private fun body289(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.variable("ownedFeature")).filter { v0 -> oclTrue(ocl.property(v0, "isEnd")) }
+
+    private fun body290(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedFeatureMembership"), "ownedMemberFeature")
+
+    private fun body291(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "FeatureMembership")
+
+    private fun body292(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Intersecting")
+
+    private fun body293(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Specialization")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "specific"), self)) }
+
+    private fun body294(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Unioning")
+
+    private fun body295(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("sourceRelationship"), "Association")
+
+    private fun body296(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("targetRelationship"), "Association")
+
+    private fun body297(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedUnioning"), "unioningType")
+
+    private fun body298(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Conjugation"), "size", emptyList()), 1L)
+
+    private fun body299(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("differencingType"), "excludes", listOf<Any?>(self))
+
+    private fun body300(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("intersectingType"), "excludes", listOf<Any?>(self))
+
+    private fun body301(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.arrow(ocl.variable("ownedDifferencing"), "size", emptyList()), 1L)
+
+    private fun body302(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.arrow(ocl.variable("ownedIntersecting"), "size", emptyList()), 1L)
+
+    private fun body303(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<=", ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedMember"), "Multiplicity"), "size", emptyList()), 1L)
+
+    private fun body304(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.infix("<>", ocl.arrow(ocl.variable("ownedUnioning"), "size", emptyList()), 1L)
+
+    private fun body305(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.variable("unioningType"), "excludes", listOf<Any?>(self))
+
+    private fun body306(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("TypeFeaturing")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "featureOfType"), self)) }
+
+    private fun body307(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("FeatureTyping")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "typedFeature"), self)) }
+
+    private fun body308(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.asCollection(ocl.allInstances("Type")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "multiplicity"), self)) }).firstOrNull { v1 -> oclTrue(true) }
+
+    private fun body309(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedIntersecting"), "typeIntersected")
+
+    private fun body310(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("InstantiationExpression")).filter { v0 -> oclTrue(ocl.infix("=", ocl.property(v0, "instantiatedType"), self)) }
+
+    private fun body311(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.property(ocl.variable("ownedUnioning"), "typeUnioned")
+
+    private fun body312(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.prefix("not", ocl.typeOp("oclIsKindOf", ocl.property(ocl.variable("membership"), "memberElement"), "Feature")))) listOf<Any?>().toSet() else ocl.operation(ocl.typeOp("oclAsType", ocl.property(ocl.variable("membership"), "memberElement"), "Feature"), "allRedefinedFeatures", emptyList()))
+
+    private fun body313(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.closure(ocl.asCollection(listOf<Any?>(self).toCollection(LinkedHashSet())), "OperationCallExp(source=VariableExp(name=_it), operationName=supertypes, arguments=[BooleanLiteralExp(value=false)])") { v0 -> ocl.operation(v0, "supertypes", listOf<Any?>(false)) }
+
+    private fun body314(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "directionOfExcluding", listOf<Any?>(ocl.variable("feature"), listOf<Any?>().toSet()))
+
+    private fun body315(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.arrow(ocl.variable("excluded"), "including", listOf<Any?>(self)); (if (oclTrue(ocl.infix("=", ocl.property(ocl.variable("feature"), "owningType"), self))) ocl.property(ocl.variable("feature"), "direction") else run { val v2: Any? = ocl.asCollection(ocl.operation(ocl.arrow(ocl.operation(ocl.variable("_it"), "supertypes", listOf<Any?>(false)), "excluding", listOf<Any?>(v0)), "directionOfExcluding", listOf<Any?>(ocl.variable("feature"), v0))).filter { v1 -> oclTrue(ocl.infix("<>", v1, null)) }; (if (oclTrue(ocl.arrow(v2, "isEmpty", emptyList()))) null else run { val v3: Any? = ocl.arrow(v2, "first", emptyList()); (if (oclTrue(ocl.prefix("not", ocl.variable("isConjugated")))) v3 else (if (oclTrue(ocl.infix("=", v3, "in"))) "out" else (if (oclTrue(ocl.infix("=", v3, "out"))) "in" else v3))) }) }) }
+
+    private fun body316(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.operation(ocl.variable("_it"), "specializes", listOf<Any?>(ocl.variable("otherType")))
+
+    private fun body317(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("<>", ocl.variable("multiplicity"), null))) listOf<Any?>(ocl.variable("multiplicity")).toCollection(LinkedHashSet()) else ocl.arrow(ocl.property(ocl.asCollection(ocl.closure(ocl.asCollection(ocl.property(ocl.variable("ownedSpecialization"), "general")), "IfExp(condition=InfixExp(left=PropertyCallExp(source=VariableExp(name=t), propertyName=multiplicity), operator=<>, right=NullLiteralExp), thenExpression=CollectionLiteralExp(kind=ORDERED_SET, parts=[]), elseExpression=PropertyCallExp(source=PropertyCallExp(source=VariableExp(name=t), propertyName=ownedSpecialization), propertyName=general))") { v0 -> (if (oclTrue(ocl.infix("<>", ocl.property(v0, "multiplicity"), null))) listOf<Any?>().toCollection(LinkedHashSet()) else ocl.property(ocl.property(v0, "ownedSpecialization"), "general")) }).filter { v1 -> oclTrue(ocl.infix("<>", ocl.variable("multiplicity"), null)) }, "multiplicity"), "asOrderedSet", emptyList()))
+
+    private fun body318(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v2: Any? = ocl.asCollection(ocl.variable("memberships")).filter { v0 -> !oclTrue(ocl.asCollection(ocl.arrow(ocl.variable("memberships"), "excluding", listOf<Any?>(v0))).any { v1 -> oclTrue(ocl.arrow(ocl.operation(ocl.variable("_it"), "allRedefinedFeaturesOf", listOf<Any?>(v1)), "includes", listOf<Any?>(ocl.property(v0, "memberElement")))) }) }; run { val v3: Any? = ocl.arrow(ocl.property(ocl.property(ocl.variable("ownedFeature"), "redefinition"), "redefinedFeature"), "asSet", emptyList()); ocl.asCollection(v2).filter { v4 -> !oclTrue(ocl.asCollection(ocl.operation(ocl.variable("_it"), "allRedefinedFeaturesOf", listOf<Any?>(v4))).any { v5 -> oclTrue(ocl.arrow(v3, "includes", listOf<Any?>(v5))) }) } } }
+
+    private fun body319(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.variable("isConjugated"))) ocl.operation(ocl.property(ocl.variable("ownedConjugator"), "originalType"), "specializes", listOf<Any?>(ocl.variable("supertype"))) else ocl.arrow(ocl.operation(ocl.variable("_it"), "allSupertypes", emptyList()), "includes", listOf<Any?>(ocl.variable("supertype"))))
+
+    private fun body320(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.variable("_it"), "resolveGlobal", listOf<Any?>(ocl.variable("libraryTypeName"))); (oclTrue((oclTrue(ocl.infix("<>", v0, null)) && oclTrue(ocl.typeOp("oclIsKindOf", ocl.property(v0, "memberElement"), "Type")))) && oclTrue(ocl.operation(ocl.variable("_it"), "specializes", listOf<Any?>(ocl.typeOp("oclAsType", ocl.property(v0, "memberElement"), "Type"))))) }
+
+    private fun body321(ocl: OclExecutor, self: MDMObject): Any? =
+        run { val v0: Any? = ocl.operation(ocl.typeOp("oclAsType", self, "Namespace"), "visibleMemberships", listOf<Any?>(ocl.variable("excluded"), ocl.variable("isRecursive"), ocl.variable("includeAll"))); run { val v2: Any? = ocl.asCollection(ocl.operation(ocl.variable("_it"), "inheritedMemberships", listOf<Any?>(ocl.arrow(ocl.variable("excluded"), "including", listOf<Any?>(self)), listOf<Any?>().toSet(), ocl.variable("isRecursive")))).filter { v1 -> oclTrue((oclTrue(ocl.variable("includeAll")) || oclTrue(ocl.infix("=", ocl.variable("visibility"), "public")))) }; ocl.arrow(v0, "union", listOf<Any?>(v2)) } }
+
+    private fun body322(ocl: OclExecutor, self: MDMObject): Any? =
+        (if (oclTrue(ocl.infix("=", ocl.variable("featureOfType"), ocl.variable("owningRelatedElement")))) ocl.variable("featureOfType") else null)
+
+    private fun body323(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedRelationship"), "Expose")
+
+    private fun body324(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.property(ocl.variable("expose"), "importedElement"), "asSet", emptyList())
+
+    private fun body325(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.property(ocl.typeOp("selectByKind", ocl.variable("featureMembership"), "ViewRenderingMembership"), "ownedRendering"), "first", emptyList())
+
+    private fun body326(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("ownedFeature"), "ViewpointPredicate")
+
+    private fun body327(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.typeOp("selectByKind", ocl.variable("ownedFeature"), "Feature")).filter { v0 -> oclTrue(ocl.asCollection(ocl.property(v0, "type")).any { v1 -> oclTrue(ocl.typeOp("oclIsKindOf", v1, "View")) }) }
+
+    private fun body328(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.arrow(ocl.typeOp("selectByKind", ocl.variable("ownedMemberFeature"), "RenderingFeature"), "first", emptyList())
+
+    private fun body329(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.asCollection(ocl.allInstances("ViewpointPredicate")).filter { v0 -> oclTrue(ocl.arrow(ocl.property(v0, "viewpointDefinition"), "includes", listOf<Any?>(self))) }
+
+    private fun body330(ocl: OclExecutor, self: MDMObject): Any? =
+        ocl.typeOp("selectByKind", ocl.variable("type"), "Viewpoint")
+}
+
@@ -21,6 +21,7 @@ import org.openmbee.mdm.framework.runtime.ElementFactory
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.runtime.MDMObject
 import org.openmbee.gearshift.generated.impl.*
+import org.openmbee.gearshift.generated.interfaces.Element
 
 /**
  * Factory for creating typed KerML element instances.
@@ -140,5 +141,114 @@ class KerMLElementFactory : ElementFactory {
     }
 
     override fun supportsClass(className: String): Boolean = true
+
+    companion object {
+        /**
+         * Create a new element of [className] through its creation constructor, which registers it
+         * with [engine] and, when [parent] is given, owns it via the resolved intermediate.
+         *
+         * @return The new element, or null if [className] is not a concrete class of the metamodel
+         */
+        fun create(
+            className: String,
+            engine: MDMEngine,
+            parent: Element? = null,
+            aliasIds: List<String> = emptyList(),
+            declaredName: String? = null,
+            declaredShortName: String? = null,
+            elementId: String = "",
+            isImpliedIncluded: Boolean = false
+        ): Element? = when (className) {
+            "AnnotatingElement" -> AnnotatingElementImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Annotation" -> AnnotationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Association" -> AssociationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "AssociationStructure" -> AssociationStructureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Behavior" -> BehaviorImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "BindingConnector" -> BindingConnectorImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "BooleanExpression" -> BooleanExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Class" -> ClassImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Classifier" -> ClassifierImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "CollectExpression" -> CollectExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Comment" -> CommentImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Conjugation" -> ConjugationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Connector" -> ConnectorImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ConstructorExpression" -> ConstructorExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "CrossSubsetting" -> CrossSubsettingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "DataType" -> DataTypeImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Dependency" -> DependencyImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Differencing" -> DifferencingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Disjoining" -> DisjoiningImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Documentation" -> DocumentationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ElementFilterMembership" -> ElementFilterMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "EndFeatureMembership" -> EndFeatureMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Expression" -> ExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Feature" -> FeatureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureChainExpression" -> FeatureChainExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureChaining" -> FeatureChainingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureInverting" -> FeatureInvertingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureMembership" -> FeatureMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureReferenceExpression" -> FeatureReferenceExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureTyping" -> FeatureTypingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FeatureValue" -> FeatureValueImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Featuring" -> FeaturingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Flow" -> FlowImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "FlowEnd" -> FlowEndImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Function" -> FunctionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "IndexExpression" -> IndexExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Interaction" -> InteractionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Intersecting" -> IntersectingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Invariant" -> InvariantImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "InvocationExpression" -> InvocationExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LibraryPackage" -> LibraryPackageImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralBoolean" -> LiteralBooleanImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralExpression" -> LiteralExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralInfinity" -> LiteralInfinityImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralInteger" -> LiteralIntegerImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralRational" -> LiteralRationalImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "LiteralString" -> LiteralStringImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Membership" -> MembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "MembershipExpose" -> MembershipExposeImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "MembershipImport" -> MembershipImportImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Metaclass" -> MetaclassImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "MetadataAccessExpression" -> MetadataAccessExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "MetadataFeature" -> MetadataFeatureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Multiplicity" -> MultiplicityImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "MultiplicityRange" -> MultiplicityRangeImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Namespace" -> NamespaceImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "NamespaceExpose" -> NamespaceExposeImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "NamespaceImport" -> NamespaceImportImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "NullExpression" -> NullExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "OperatorExpression" -> OperatorExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "OwningMembership" -> OwningMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Package" -> PackageImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ParameterMembership" -> ParameterMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "PayloadFeature" -> PayloadFeatureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Predicate" -> PredicateImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Redefinition" -> RedefinitionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ReferenceSubsetting" -> ReferenceSubsettingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Rendering" -> RenderingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "RenderingFeature" -> RenderingFeatureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ResultExpressionMembership" -> ResultExpressionMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ReturnParameterMembership" -> ReturnParameterMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "SelectExpression" -> SelectExpressionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Specialization" -> SpecializationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Step" -> StepImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Structure" -> StructureImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "SubView" -> SubViewImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Subclassification" -> SubclassificationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Subsetting" -> SubsettingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Succession" -> SuccessionImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "SuccessionFlow" -> SuccessionFlowImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "TextualRepresentation" -> TextualRepresentationImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Type" -> TypeImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "TypeFeaturing" -> TypeFeaturingImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Unioning" -> UnioningImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "View" -> ViewImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ViewRenderingMembership" -> ViewRenderingMembershipImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "Viewpoint" -> ViewpointImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            "ViewpointPredicate" -> ViewpointPredicateImpl(engine, parent, aliasIds, declaredName, declaredShortName, elementId, isImpliedIncluded)
+            else -> null
+        }
+    }
 }
 
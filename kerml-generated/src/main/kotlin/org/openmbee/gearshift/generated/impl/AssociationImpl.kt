@@ -19,7 +19,6 @@ package org.openmbee.gearshift.generated.impl
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.meta.MetaClass as FrameworkMetaClass
 import org.openmbee.mdm.framework.runtime.MDMObject
-import org.openmbee.mdm.framework.runtime.OwnershipResolver
 import org.openmbee.gearshift.generated.interfaces.*
 import org.openmbee.gearshift.generated.interfaces.Annotation as KerMLAnnotation
 import org.openmbee.gearshift.generated.interfaces.Function as KerMLFunction
@@ -47,7 +46,7 @@ open class AssociationImpl(
         elementId: String = "",
         isImpliedIncluded: Boolean = false
     ) : this("Association", engine.schema.getClass("Association")!!, engine) {
-        this.id = java.util.UUID.randomUUID().toString()
+        this.id = org.openmbee.mdm.framework.runtime.ElementIds.newId()
         engine.registerElement(this)
 
         if (aliasIds.isNotEmpty()) this.aliasIds = aliasIds
@@ -58,8 +57,7 @@ open class AssociationImpl(
 
         // Establish ownership via appropriate intermediate
         parent?.let { owner ->
-            val resolver = OwnershipResolver(engine.schema)
-            val resolved = resolver.resolve(owner.className, "Association")
+            val resolved = engine.schema.ownershipResolver.resolve(owner.className, "Association")
             if (resolved != null) {
                 val membership = engine.createElement(resolved.intermediateType)
                 engine.setProperty(membership.id!!, resolved.binding.ownedElementEnd, this)
@@ -37,6 +37,9 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.1")
     testImplementation("io.kotest:kotest-runner-junit5:5.8.0")
     testImplementation("io.kotest:kotest-assertions-core:5.8.0")
+
+    // Compiles generated OCL bodies in the compiled/interpreted parity tests
+    testImplementation(kotlin("scripting-jsr223"))
 }
 
 tasks.test {
@@ -67,6 +67,12 @@ data class CodeGenConfig(
      */
     val generateDocs: Boolean = true,
 
+    /**
+     * Whether to compile OCL constraint and operation bodies to Kotlin
+     * (generates `<metamodelName>CompiledOcl`, registered with the MetamodelRegistry at startup).
+     */
+    val compileOclBodies: Boolean = false,
+
     /**
      * File header comment (copyright, license, etc.).
      */
@@ -15,10 +15,14 @@
  */
 package org.openmbee.mdm.framework.codegen
 
+import org.openmbee.mdm.framework.meta.BodyLanguage
+import org.openmbee.mdm.framework.meta.ConstraintBody
 import org.openmbee.mdm.framework.meta.MetaAssociationEnd
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.MetaOperation
 import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.meta.OperationBody
+import org.openmbee.mdm.framework.query.ocl.OclParser
 import org.openmbee.mdm.framework.runtime.MetamodelRegistry
 import org.openmbee.mdm.framework.runtime.MetamodelRegistry.Companion.DEFAULT_BASE_CLASS
 import java.nio.file.Files
@@ -73,6 +77,13 @@ class MetamodelCodeGenerator(
         val factoryCode = generateElementFactory(classes, registry)
         val factoryFile = config.utilOutputDir.resolve("${config.metamodelName}ElementFactory.kt")
         Files.writeString(factoryFile, factoryCode)
+
+        // Generate ahead-of-time compiled OCL bodies
+        if (config.compileOclBodies) {
+            val compiledOclCode = generateCompiledOcl(classes)
+            val compiledOclFile = config.utilOutputDir.resolve("${config.metamodelName}CompiledOcl.kt")
+            Files.writeString(compiledOclFile, compiledOclCode)
+        }
     }
 
     /**
@@ -221,7 +232,6 @@ class MetamodelCodeGenerator(
         sb.appendLine("import org.openmbee.mdm.framework.runtime.MDMEngine")
         sb.appendLine("import org.openmbee.mdm.framework.meta.MetaClass as FrameworkMetaClass")
         sb.appendLine("import org.openmbee.mdm.framework.runtime.MDMObject")
-        sb.appendLine("import org.openmbee.mdm.framework.runtime.OwnershipResolver")
         sb.appendLine("import ${config.interfacePackage}.*")
         // Add explicit imports for classes that conflict with Kotlin stdlib
         sb.appendLine("import ${config.interfacePackage}.Annotation as KerMLAnnotation")
@@ -381,7 +391,7 @@ class MetamodelCodeGenerator(
 
         // Generate ID and register with engine immediately
         // Property setters use engine.setProperty(id!!, ...) which requires element to be registered
-        sb.appendLine("        this.id = java.util.UUID.randomUUID().toString()")
+        sb.appendLine("        this.id = org.openmbee.mdm.framework.runtime.ElementIds.newId()")
         sb.appendLine("        engine.registerElement(this)")
         sb.appendLine()
 
@@ -398,8 +408,7 @@ class MetamodelCodeGenerator(
         sb.appendLine()
         sb.appendLine("        // Establish ownership via appropriate intermediate")
         sb.appendLine("        parent?.let { owner ->")
-        sb.appendLine("            val resolver = OwnershipResolver(engine.schema)")
-        sb.appendLine("            val resolved = resolver.resolve(owner.className, \"${metaClass.name}\")")
+        sb.appendLine("            val resolved = engine.schema.ownershipResolver.resolve(owner.className, \"${metaClass.name}\")")
         sb.appendLine("            if (resolved != null) {")
         sb.appendLine("                val membership = engine.createElement(resolved.intermediateType)")
         sb.appendLine("                engine.setProperty(membership.id!!, resolved.binding.ownedElementEnd, this)")
@@ -783,6 +792,20 @@ class MetamodelCodeGenerator(
         sb.appendLine("import org.openmbee.mdm.framework.runtime.MDMEngine")
         sb.appendLine("import org.openmbee.mdm.framework.runtime.MDMObject")
         sb.appendLine("import ${config.implPackage}.*")
+
+        // Creation table parameters mirror the root element's creation constructor
+        val rootClass = findRootElementClass(registry)
+        val rootClassName = rootClass?.name ?: "Element"
+        val rootTypeName = TypeMapper.getAliasedTypeName(rootClassName)
+        val rootProperties = rootClass?.attributes
+            ?.filter { !it.isDerived && !it.isReadOnly }
+            ?.sortedBy { it.name }
+            ?: emptyList()
+        if (rootTypeName != rootClassName) {
+            sb.appendLine("import ${config.interfacePackage}.$rootClassName as $rootTypeName")
+        } else {
+            sb.appendLine("import ${config.interfacePackage}.$rootClassName")
+        }
         sb.appendLine()
 
         // Factory name from metamodel name (e.g., "KerML" -> "KerMLElementFactory")
@@ -827,6 +850,117 @@ class MetamodelCodeGenerator(
         sb.appendLine()
 
         sb.appendLine("    override fun supportsClass(className: String): Boolean = true")
+        sb.appendLine()
+
+        // Reflection-free creation table: one direct creation-constructor call per concrete class
+        sb.appendLine("    companion object {")
+        sb.appendLine("        /**")
+        sb.appendLine("         * Create a new element of [className] through its creation constructor, which registers it")
+        sb.appendLine("         * with [engine] and, when [parent] is given, owns it via the resolved intermediate.")
+        sb.appendLine("         *")
+        sb.appendLine("         * @return The new element, or null if [className] is not a concrete class of the metamodel")
+        sb.appendLine("         */")
+        sb.appendLine("        fun create(")
+        sb.appendLine("            className: String,")
+        sb.appendLine("            engine: MDMEngine,")
+        sb.appendLine("            parent: $rootTypeName? = null,")
+        for ((index, prop) in rootProperties.withIndex()) {
+            val kotlinType = TypeMapper.mapPropertyType(prop)
+            val defaultValue = getPropertyDefaultValue(prop)
+            val comma = if (index < rootProperties.size - 1) "," else ""
+            sb.appendLine("            ${prop.name}: $kotlinType = $defaultValue$comma")
+        }
+        sb.appendLine("        ): $rootTypeName? = when (className) {")
+        val arguments = (listOf("engine", "parent") + rootProperties.map { it.name }).joinToString(", ")
+        for (metaClass in concreteClasses) {
+            sb.appendLine("            \"${metaClass.name}\" -> ${metaClass.name}Impl($arguments)")
+        }
+        sb.appendLine("            else -> null")
+        sb.appendLine("        }")
+        sb.appendLine("    }")
+        sb.appendLine("}")
+        sb.appendLine()
+
+        return sb.toString()
+    }
+
+    /**
+     * Generate ahead-of-time compiled OCL bodies for the metamodel.
+     *
+     * Every distinct OCL text used by a constraint or operation body of the given classes is compiled
+     * by [OclKotlinCompiler] into a private function, and the generated `register` function maps each
+     * text to its compiled body. Bodies that fail to parse or use a construct the compiler does not
+     * support are skipped and stay on the interpreter.
+     *
+     * The object is named using the metamodelName from config (e.g., "KerMLCompiledOcl"); call
+     * `KerMLCompiledOcl.register(registry)` before `registry.buildIndexes()`.
+     */
+    fun generateCompiledOcl(classes: Collection<MetaClass>): String {
+        val texts = LinkedHashSet<String>()
+        for (metaClass in classes.sortedBy { it.name }) {
+            for (constraint in metaClass.constraints) {
+                if (constraint.language.equals("OCL", ignoreCase = true) && constraint.expression.isNotBlank()) {
+                    texts.add(constraint.expression)
+                }
+                val body = constraint.body
+                if (body is ConstraintBody.Expression && body.language.equals("OCL", ignoreCase = true)) {
+                    texts.add(body.code)
+                }
+            }
+            for (operation in metaClass.operations) {
+                val body = operation.body
+                if (body is OperationBody.Expression && body.language == BodyLanguage.OCL) {
+                    texts.add(body.code)
+                }
+            }
+        }
+
+        val compiler = OclKotlinCompiler()
+        val compiled = texts.mapNotNull { text ->
+            val ast = try {
+                OclParser.parseUncached(text)
+            } catch (_: Exception) {
+                return@mapNotNull null
+            }
+            compiler.compile(ast)?.let { text to it }
+        }
+
+        val objectName = "${config.metamodelName}CompiledOcl"
+        val sb = StringBuilder()
+
+        sb.appendLine(config.fileHeader)
+        sb.appendLine()
+        sb.appendLine("@file:Suppress(\"UNCHECKED_CAST\", \"UNUSED_PARAMETER\")")
+        sb.appendLine()
+        sb.appendLine("package ${config.utilPackage}")
+        sb.appendLine()
+        sb.appendLine("import org.openmbee.mdm.framework.query.ocl.CompiledOclBody")
+        sb.appendLine("import org.openmbee.mdm.framework.query.ocl.OclExecutor")
+        sb.appendLine("import org.openmbee.mdm.framework.query.ocl.oclTrue")
+        sb.appendLine("import org.openmbee.mdm.framework.runtime.MDMObject")
+        sb.appendLine("import org.openmbee.mdm.framework.runtime.MetamodelRegistry")
+        sb.appendLine()
+        sb.appendLine("/**")
+        sb.appendLine(" * Ahead-of-time compiled OCL bodies for the ${config.metamodelName} metamodel.")
+        sb.appendLine(" *")
+        sb.appendLine(" * ${compiled.size} of ${texts.size} OCL bodies compiled; the rest are evaluated by the interpreter.")
+        sb.appendLine(" * Call [register] before MetamodelRegistry.buildIndexes() so the bodies are bound.")
+        sb.appendLine(" */")
+        sb.appendLine("object $objectName {")
+        sb.appendLine()
+        sb.appendLine("    /**")
+        sb.appendLine("     * Register all compiled bodies with the registry, keyed by their OCL text.")
+        sb.appendLine("     */")
+        sb.appendLine("    fun register(registry: MetamodelRegistry) {")
+        compiled.forEachIndexed { index, (text, _) ->
+            sb.appendLine("        registry.registerCompiledOcl(${OclKotlinCompiler.kotlinString(text)}, CompiledOclBody(::body$index))")
+        }
+        sb.appendLine("    }")
+        compiled.forEachIndexed { index, (_, code) ->
+            sb.appendLine()
+            sb.appendLine("    private fun body$index(ocl: OclExecutor, self: MDMObject): Any? =")
+            sb.appendLine("        $code")
+        }
         sb.appendLine("}")
         sb.appendLine()
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.codegen
+
+import org.openmbee.mdm.framework.query.ocl.*
+
+/**
+ * Compiles OCL ASTs to Kotlin expression source for ahead-of-time evaluation.
+ *
+ * Implements [OclVisitor] to emit one Kotlin expression per OCL body. The emitted code runs in a scope
+ * with `ocl: OclExecutor` and `self: MDMObject` in scope (see [CompiledOclBody]):
+ * - let, iterator and accumulator variables become Kotlin locals, resolved at compile time
+ * - if/and/or/implies and iterators become native Kotlin control flow and collection calls
+ * - property access, navigation, operations and operators call the [OclExecutor] primitives the
+ *   interpreter uses, so compiled and interpreted bodies share their semantics
+ *
+ * Compilation is all-or-nothing per body: any construct without a compiled form throws
+ * [UnsupportedOperationException] internally and [compile] returns null, leaving the body
+ * to the interpreter.
+ */
+class OclKotlinCompiler : OclVisitor<String> {
+
+    /** Lexical scope: OCL variable name → Kotlin local, innermost binding last */
+    private val scope = ArrayDeque<Pair<String, String>>()
+    private var nextLocal = 0
+
+    /**
+     * Compile an OCL body to a Kotlin expression, or null if it uses an unsupported construct.
+     */
+    fun compile(expression: OclExpression): String? {
+        scope.clear()
+        nextLocal = 0
+        return try {
+            expression.accept(this)
+        } catch (_: UnsupportedOperationException) {
+            null
+        }
+    }
+
+    // ===== Literals =====
+
+    override fun visitNullLiteral(exp: NullLiteralExp): String = "null"
+
+    override fun visitBooleanLiteral(exp: BooleanLiteralExp): String = exp.value.toString()
+
+    override fun visitIntegerLiteral(exp: IntegerLiteralExp): String {
+        if (exp.value == Long.MIN_VALUE) {
+            throw UnsupportedOperationException("Integer literal out of range: ${exp.value}")
+        }
+        return if (exp.value < 0) "(${exp.value}L)" else "${exp.value}L"
+    }
+
+    override fun visitRealLiteral(exp: RealLiteralExp): String {
+        if (exp.value.isNaN() || exp.value.isInfinite()) {
+            throw UnsupportedOperationException("Non-finite real literal: ${exp.value}")
+        }
+        return if (exp.value < 0) "(${exp.value})" else exp.value.toString()
+    }
+
+    override fun visitStringLiteral(exp: StringLiteralExp): String = kotlinString(exp.value)
+
+    override fun visitUnlimitedNaturalLiteral(exp: UnlimitedNaturalLiteralExp): String = "Long.MAX_VALUE"
+
+    override fun visitCollectionLiteral(exp: CollectionLiteralExp): String {
+        val elements = "listOf<Any?>(${exp.parts.joinToString(", ") { it.accept(this) }})"
+        return when (exp.kind) {
+            CollectionKind.SET -> "$elements.toSet()"
+            CollectionKind.ORDERED_SET -> "$elements.toCollection(LinkedHashSet())"
+            CollectionKind.SEQUENCE, CollectionKind.BAG -> elements
+        }
+    }
+
+    // ===== Variables and Properties =====
+
+    override fun visitVariable(exp: VariableExp): String {
+        val name = exp.name
+        if (name.contains("::")) {
+            val parts = name.split("::")
+            // Malformed literals are left to the executor, which reports them at evaluation time
+            if (parts.size == 2) return kotlinString(parts[1].removePrefix("_").lowercase())
+        } else {
+            lookupLocal(name)?.let { return it }
+            if (name == "self") return "self"
+        }
+        return "ocl.variable(${kotlinString(name)})"
+    }
+
+    override fun visitPropertyCall(exp: PropertyCallExp): String =
+        "ocl.property(${exp.source.accept(this)}, ${kotlinString(exp.propertyName)})"
+
+    override fun visitNavigationCall(exp: NavigationCallExp): String =
+        "ocl.navigate(${exp.source.accept(this)}, ${kotlinString(exp.navigationName)})"
+
+    // ===== Operations =====
+
+    override fun visitOperationCall(exp: OperationCallExp): String {
+        val source = exp.source
+        if (exp.operationName == "allInstances" && source is VariableExp) {
+            return "ocl.allInstances(${kotlinString(source.name)})"
+        }
+        val compiledSource = source?.accept(this) ?: "null"
+        return "ocl.operation($compiledSource, ${kotlinString(exp.operationName)}, ${argumentList(exp.arguments)})"
+    }
+
+    override fun visitArrowCall(exp: ArrowCallExp): String {
+        val source = exp.source.accept(this)
+        return "ocl.arrow($source, ${kotlinString(exp.operationName)}, ${argumentList(exp.arguments)})"
+    }
+
+    // ===== Iterators =====
+
+    override fun visitIterator(exp: IteratorExp): String {
+        val source = exp.source.accept(this)
+        val collection = "ocl.asCollection($source)"
+
+        when (exp.iteratorName) {
+            "selectByKind", "selectAsKind", "selectByType" -> {
+                val typeName = (exp.body as? VariableExp)?.name
+                    ?: throw UnsupportedOperationException("${exp.iteratorName} requires a type name")
+                val op = if (exp.iteratorName == "selectByType") "selectByType" else "selectByKind"
+                return "ocl.typeOp(${kotlinString(op)}, $source, ${kotlinString(typeName)})"
+            }
+        }
+
+        val local = bindLocal(exp.iteratorVariable)
+        val body = try {
+            exp.body.accept(this)
+        } finally {
+            scope.removeLast()
+        }
+
+        return when (exp.iteratorName) {
+            "select" -> "$collection.filter { $local -> oclTrue($body) }"
+            "reject" -> "$collection.filter { $local -> !oclTrue($body) }"
+            "collect" -> "$collection.map { $local -> $body }"
+            "forAll" -> "$collection.all { $local -> oclTrue($body) }"
+            "exists" -> "$collection.any { $local -> oclTrue($body) }"
+            "one", "exists1" -> "($collection.count { $local -> oclTrue($body) } == 1)"
+            "any" -> "$collection.firstOrNull { $local -> oclTrue($body) }"
+            "isUnique" -> "$collection.map { $local -> $body }.let { it.size == it.toSet().size }"
+            "sortedBy" -> "$collection.sortedBy { $local -> ($body) as? Comparable<Any> }"
+            "closure" -> "ocl.closure($collection, ${kotlinString(exp.body.toString())}) { $local -> $body }"
+            else -> throw UnsupportedOperationException("Unknown iterator: ${exp.iteratorName}")
+        }
+    }
+
+    override fun visitIterate(exp: IterateExp): String {
+        val collection = "ocl.asCollection(${exp.source.accept(this)})"
+        val init = exp.accumulatorInit.accept(this)
+        val element = bindLocal(exp.iteratorVariable)
+        val accumulator = bindLocal(exp.accumulatorVariable)
+        val body = try {
+            exp.body.accept(this)
+        } finally {
+            scope.removeLast()
+            scope.removeLast()
+        }
+        val items = freshLocal()
+        return "run { val $items = $collection; var $accumulator: Any? = $init; " +
+                "for ($element in $items) { $accumulator = $body }; $accumulator }"
+    }
+
+    // ===== Control Flow =====
+
+    override fun visitIf(exp: IfExp): String =
+        "(if (oclTrue(${exp.condition.accept(this)})) ${exp.thenExpression.accept(this)} " +
+                "else ${exp.elseExpression.accept(this)})"
+
+    override fun visitLet(exp: LetExp): String {
+        val value = exp.variableValue.accept(this)
+        val local = bindLocal(exp.variableName)
+        val body = try {
+            exp.body.accept(this)
+        } finally {
+            scope.removeLast()
+        }
+        return "run { val $local: Any? = $value; $body }"
+    }
+
+    // ===== Type Operations =====
+
+    override fun visitTypeOp(exp: TypeExp): String =
+        "ocl.typeOp(${kotlinString(exp.operationName)}, ${exp.source.accept(this)}, ${kotlinString(exp.typeName)})"
+
+    override fun visitDynamicTypeOp(exp: DynamicTypeExp): String =
+        "ocl.dynamicTypeOp(${kotlinString(exp.operationName)}, ${exp.source.accept(this)}, " +
+                "${exp.typeExpression.accept(this)})"
+
+    // ===== Binary/Unary =====
+
+    override fun visitInfix(exp: InfixExp): String {
+        val left = exp.left.accept(this)
+        val right = exp.right.accept(this)
+        return when (exp.operator) {
+            "and" -> "(oclTrue($left) && oclTrue($right))"
+            "or" -> "(oclTrue($left) || oclTrue($right))"
+            "implies" -> "(!oclTrue($left) || oclTrue($right))"
+            else -> "ocl.infix(${kotlinString(exp.operator)}, $left, $right)"
+        }
+    }
+
+    override fun visitPrefix(exp: PrefixExp): String =
+        "ocl.prefix(${kotlinString(exp.operator)}, ${exp.operand.accept(this)})"
+
+    // ===== Helpers =====
+
+    private fun argumentList(arguments: List<OclExpression>): String =
+        if (arguments.isEmpty()) "emptyList()"
+        else "listOf<Any?>(${arguments.joinToString(", ") { it.accept(this) }})"
+
+    private fun freshLocal(): String = "v${nextLocal++}"
+
+    private fun bindLocal(oclName: String): String {
+        val local = freshLocal()
+        scope.addLast(oclName to local)
+        return local
+    }
+
+    private fun lookupLocal(oclName: String): String? = scope.lastOrNull { it.first == oclName }?.second
+
+    companion object {
+        /**
+         * Render a string as a Kotlin string literal.
+         */
+        fun kotlinString(value: String): String = buildString {
+            append('"')
+            for (c in value) {
+                when (c) {
+                    '\\' -> append("\\\\")
+                    '"' -> append("\\\"")
+                    '$' -> append("\\$")
+                    '\n' -> append("\\n")
+                    '\r' -> append("\\r")
+                    '\t' -> append("\\t")
+                    else -> if (c < ' ') append("\\u%04x".format(c.code)) else append(c)
+                }
+            }
+            append('"')
+        }
+    }
+}
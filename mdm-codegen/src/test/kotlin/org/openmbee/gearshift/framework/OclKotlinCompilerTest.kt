@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.codegen
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.string.shouldContain
+import io.kotest.matchers.string.shouldNotContain
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaConstraint
+import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.query.ocl.CompiledOclBody
+import org.openmbee.mdm.framework.query.ocl.IteratorExp
+import org.openmbee.mdm.framework.query.ocl.OclParser
+import org.openmbee.mdm.framework.query.ocl.PropertyCallExp
+import org.openmbee.mdm.framework.query.ocl.VariableExp
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+import org.openmbee.mdm.framework.runtime.OclExpressionEvaluator
+import java.nio.file.Paths
+import javax.script.ScriptEngineManager
+
+class OclKotlinCompilerTest : DescribeSpec({
+
+    fun compile(ocl: String): String? = OclKotlinCompiler().compile(OclParser.parseUncached(ocl))
+
+    fun createRegistry(): MetamodelRegistry {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "value", type = "Integer", lowerBound = 0, upperBound = 1)
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return registry
+    }
+
+    describe("expression compilation") {
+
+        it("should compile let and iterator variables to Kotlin locals") {
+            val code = compile("let n = name in children->select(c | c.name = n)").shouldNotBeNull()
+            code shouldContain "val v0: Any? = ocl.variable(\"name\")"
+            code shouldContain "filter { v1 -> oclTrue(ocl.infix(\"=\", ocl.property(v1, \"name\"), v0)) }"
+            code shouldNotContain "ocl.variable(\"n\")"
+            code shouldNotContain "ocl.variable(\"c\")"
+        }
+
+        it("should compile boolean operators to short-circuit Kotlin") {
+            compile("a and b") shouldBe "(oclTrue(ocl.variable(\"a\")) && oclTrue(ocl.variable(\"b\")))"
+            compile("a implies b") shouldBe "(!oclTrue(ocl.variable(\"a\")) || oclTrue(ocl.variable(\"b\")))"
+        }
+
+        it("should resolve enum literals at compile time") {
+            compile("FeatureDirectionKind::_in") shouldBe "\"in\""
+        }
+
+        it("should bind the innermost of shadowed variables") {
+            val code = compile("let x = 1 in let x = x + 1 in x").shouldNotBeNull()
+            code shouldBe "run { val v0: Any? = 1L; run { val v1: Any? = ocl.infix(\"+\", v0, 1L); v1 } }"
+        }
+
+        it("should escape string literals") {
+            compile("'a\$b\"c'") shouldBe "\"a\\\$b\\\"c\""
+        }
+
+        it("should leave bodies with unsupported constructs to the interpreter") {
+            // The parser only accepts type names here, so build the AST directly
+            val children = OclParser.parseUncached("children")
+            val byKind = IteratorExp(children, "selectByKind", "c", PropertyCallExp(VariableExp("c"), "name"))
+            OclKotlinCompiler().compile(byKind).shouldBeNull()
+            OclKotlinCompiler().compile(IteratorExp(children, "unknownIterator", "c", VariableExp("c"))).shouldBeNull()
+        }
+    }
+
+    describe("generated compiled OCL object") {
+
+        it("should register every distinct OCL body by its text") {
+            val registry = MetamodelRegistry()
+            registry.registerClass(
+                MetaClass(
+                    name = "Node",
+                    constraints = listOf(
+                        MetaConstraint(name = "deriveSize", expression = "children->size()"),
+                        MetaConstraint(name = "deriveSizeAgain", expression = "children->size()")
+                    )
+                )
+            )
+            val generator = MetamodelCodeGenerator(
+                CodeGenConfig(
+                    outputDir = Paths.get("build/test-codegen"),
+                    metamodelName = "Test",
+                    utilPackage = "test",
+                    compileOclBodies = true
+                )
+            )
+
+            val code = generator.generateCompiledOcl(registry.getAllClasses())
+
+            code shouldContain "object TestCompiledOcl"
+            code shouldContain "registry.registerCompiledOcl(\"children->size()\", CompiledOclBody(::body0))"
+            code shouldContain "private fun body0(ocl: OclExecutor, self: MDMObject): Any? ="
+            code shouldNotContain "body1"
+        }
+    }
+
+    describe("compiled and interpreted parity") {
+
+        val corpus = listOf(
+            "name",
+            "self.name",
+            "value + 1",
+            "value * 2 - 3 > 4",
+            "not (value > 1) or name = 'root'",
+            "value > 100 implies name = 'x'",
+            "if value > 1 then 'big' else 'small' endif",
+            "let n = name in n.size()",
+            "let x = 1 in let x = x + 1 in x",
+            "children->size()",
+            "children->isEmpty()",
+            "children.name",
+            "children->select(c | c.value > 1)->collect(c | c.name)",
+            "children->reject(c | c.value > 1)->size()",
+            "children->forAll(c | c.value >= 0)",
+            "children->exists(c | c.name = 'b')",
+            "children->one(c | c.value = 2)",
+            "children->any(c | c.value > 1).name",
+            "children->isUnique(c | c.value)",
+            "children->sortedBy(c | c.value)->collect(c | c.name)",
+            "children->collect(c | children->select(d | d.value > c.value)->size())",
+            "children->iterate(c; acc = 0 | acc + c.value)",
+            "self->closure(n | n.children)->size()",
+            "children->selectByKind(Node)->size()",
+            "children->select(c | c.oclIsKindOf(Node))->size()",
+            "Node.allInstances()->size()",
+            "Set{1, 2, 2}->size()",
+            "Sequence{1, 2, 3}->sum()",
+            "OrderedSet{'b', 'a', 'b'}->first()",
+            "children->first().parent.name"
+        )
+
+        val registry = createRegistry()
+        val engine = MDMEngine(registry)
+        val (rootId, root) = engine.createInstance("Node")
+        engine.setProperty(rootId, "name", "root")
+        engine.setProperty(rootId, "value", 1L)
+        for ((childName, childValue) in listOf("a" to 3L, "b" to 2L, "c" to 0L)) {
+            val (childId, _) = engine.createInstance("Node")
+            engine.setProperty(childId, "name", childName)
+            engine.setProperty(childId, "value", childValue)
+            engine.createLink("nodeChildrenAssoc", rootId, childId)
+        }
+
+        // Compile the whole corpus as one script returning the bodies in corpus order
+        val compiled: List<CompiledOclBody> = run {
+            val script = buildString {
+                appendLine("import org.openmbee.mdm.framework.query.ocl.*")
+                appendLine("listOf<CompiledOclBody>(")
+                for (ocl in corpus) {
+                    val code = compile(ocl) ?: error("Corpus expression should compile: $ocl")
+                    appendLine("    CompiledOclBody { ocl, self -> $code },")
+                }
+                appendLine(")")
+            }
+            val scriptEngine = ScriptEngineManager().getEngineByExtension("kts")
+                ?: error("Kotlin script engine not available")
+            @Suppress("UNCHECKED_CAST")
+            scriptEngine.eval(script) as List<CompiledOclBody>
+        }
+
+        val evaluator = OclExpressionEvaluator()
+        corpus.forEachIndexed { index, ocl ->
+            it("should match the interpreter for: $ocl") {
+                val interpreted = evaluator.evaluate(ocl, root, engine)
+                val viaCompiled = evaluator.evaluate(compiled[index], root, engine)
+                viaCompiled shouldBe interpreted
+            }
+        }
+    }
+})
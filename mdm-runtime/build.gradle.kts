@@ -65,6 +65,8 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
+    // Benchmark specs are skipped unless requested: ./gradlew :mdm-runtime:test -Pbenchmarks
+    systemProperty("mdm.benchmarks", project.hasProperty("benchmarks"))
 }
 
 kotlin {
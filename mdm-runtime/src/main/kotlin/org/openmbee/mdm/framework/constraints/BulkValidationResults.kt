@@ -47,7 +47,12 @@ data class BulkValidationResults(
     /**
      * Time taken for validation in milliseconds.
      */
-    val executionTimeMs: Long
+    val executionTimeMs: Long,
+
+    /**
+     * Whether the run was cancelled; if so, [instanceResults] covers only the instances validated before.
+     */
+    val cancelled: Boolean = false
 ) {
     /**
      * Whether all instances passed validation.
@@ -81,6 +86,9 @@ data class BulkValidationResults(
         appendLine("  Invalid: $invalidInstances")
         appendLine("  Total violations: $constraintViolations")
         appendLine("  Execution time: ${executionTimeMs}ms")
+        if (cancelled) {
+            appendLine("  Cancelled after ${instanceResults.size} of $totalInstances instances")
+        }
     }
 
     companion object {
@@ -112,3 +120,73 @@ data class TypeValidationResults(
      */
     val overall: BulkValidationResults
 )
+
+/**
+ * How a bulk validation run is executed.
+ */
+data class BulkValidationOptions(
+    /**
+     * Number of worker threads; 1 validates on the calling thread.
+     */
+    val parallelism: Int = 1,
+
+    /**
+     * Number of instances per work unit, and between progress reports.
+     */
+    val chunkSize: Int = DEFAULT_CHUNK_SIZE,
+
+    /**
+     * Receives progress after every chunk.
+     */
+    val progress: ValidationProgressListener? = null,
+
+    /**
+     * Stops the run before the next instance once cancelled.
+     */
+    val cancellation: ValidationCancellation? = null
+) {
+    init {
+        require(parallelism > 0) { "parallelism must be positive: $parallelism" }
+        require(chunkSize > 0) { "chunkSize must be positive: $chunkSize" }
+    }
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 256
+
+        /**
+         * Options that use every available processor.
+         */
+        fun parallel(
+            progress: ValidationProgressListener? = null,
+            cancellation: ValidationCancellation? = null
+        ) = BulkValidationOptions(
+            parallelism = Runtime.getRuntime().availableProcessors(),
+            progress = progress,
+            cancellation = cancellation
+        )
+    }
+}
+
+/**
+ * Progress callback for bulk validation. Parallel runs call it from worker threads.
+ */
+fun interface ValidationProgressListener {
+    /**
+     * @param completed Instances validated so far
+     * @param total Instances in the run
+     */
+    fun onProgress(completed: Int, total: Int)
+}
+
+/**
+ * Cooperative cancellation for a bulk validation run.
+ */
+class ValidationCancellation {
+    @Volatile
+    var isCancelled: Boolean = false
+        private set
+
+    fun cancel() {
+        isCancelled = true
+    }
+}
@@ -136,6 +136,18 @@ interface EngineAccessor {
      * @param result The closure result to cache
      */
     fun putClosureCache(elementId: String, bodyKey: String, result: Set<Any?>) {}
+
+    /**
+     * Read a stored property directly off an object.
+     * Engines that track derived-value dependencies record the read.
+     */
+    fun readStoredProperty(element: MDMObject, propertyName: String): Any? = element.getProperty(propertyName)
+
+    /**
+     * Compute a closure result that will be cached for [elementId], letting engines that track
+     * derived-value dependencies record its reads against the closure cache entry.
+     */
+    fun <T> trackClosure(elementId: String, bodyKey: String, compute: () -> T): T = compute()
 }
 
 /**
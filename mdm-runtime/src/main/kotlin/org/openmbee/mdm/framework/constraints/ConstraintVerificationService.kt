@@ -23,9 +23,15 @@ import org.openmbee.mdm.framework.query.ocl.OclExecutor
 import org.openmbee.mdm.framework.query.ocl.OclExpression
 import org.openmbee.mdm.framework.query.ocl.OclParseException
 import org.openmbee.mdm.framework.query.ocl.OclParser
+import org.openmbee.mdm.framework.runtime.EngineLock
 import org.openmbee.mdm.framework.runtime.MDMObject
 import org.openmbee.mdm.framework.runtime.MetamodelRegistry
 import org.openmbee.mdm.framework.storage.ModelRepository
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicInteger
 
 private val logger = KotlinLogging.logger {}
 
@@ -47,11 +53,16 @@ data class CompiledConstraint(
  * - Pre-compiles OCL expressions for efficient evaluation
  * - Provides bulk validation across all instances or by type
  * - Supports single-instance validation
+ *
+ * Bulk validation can run in parallel (see [BulkValidationOptions]). When an [engineLock] is given,
+ * bulk runs hold its read lock so writers cannot change the model mid-run; otherwise the caller
+ * must keep the model unchanged while validating.
  */
 class ConstraintVerificationService(
     private val metamodelRegistry: MetamodelRegistry,
     private val modelRepository: ModelRepository,
-    private val engineAccessor: EngineAccessor
+    private val engineAccessor: EngineAccessor,
+    private val engineLock: EngineLock? = null
 ) {
     /**
      * Cache of compiled constraints per metaclass name.
@@ -64,6 +75,11 @@ class ConstraintVerificationService(
      */
     private val parseErrors = mutableListOf<String>()
 
+    /**
+     * Applicable constraints per concrete class name, resolved on first use.
+     */
+    private val applicableConstraints = ConcurrentHashMap<String, List<CompiledConstraint>>()
+
     /**
      * Initialize the service by discovering and compiling all VERIFICATION constraints.
      * Call this after the metamodel is loaded.
@@ -73,6 +89,7 @@ class ConstraintVerificationService(
     fun initializeConstraints(): List<String> {
         constraintCache.clear()
         parseErrors.clear()
+        applicableConstraints.clear()
 
         metamodelRegistry.getAllClasses().forEach { metaClass ->
             val verificationConstraints = collectVerificationConstraints(metaClass)
@@ -124,7 +141,10 @@ class ConstraintVerificationService(
      * Get all compiled constraints applicable to an instance of the given class.
      * Includes constraints from the class itself and all superclasses.
      */
-    private fun getConstraintsForClass(className: String): List<CompiledConstraint> {
+    private fun getConstraintsForClass(className: String): List<CompiledConstraint> =
+        applicableConstraints.getOrPut(className) { collectConstraintsForClass(className) }
+
+    private fun collectConstraintsForClass(className: String): List<CompiledConstraint> {
         val result = mutableListOf<CompiledConstraint>()
 
         // Add constraints from this class
@@ -132,7 +152,7 @@ class ConstraintVerificationService(
 
         // Add constraints from superclasses
         metamodelRegistry.getClass(className)?.superclasses?.forEach { superName ->
-            result.addAll(getConstraintsForClass(superName))
+            result.addAll(collectConstraintsForClass(superName))
         }
 
         return result.distinctBy { it.name }
@@ -141,41 +161,13 @@ class ConstraintVerificationService(
     /**
      * Validate all instances in the repository against their VERIFICATION constraints.
      *
+     * @param options Parallelism, progress reporting and cancellation for the run
      * @return Aggregated validation results
      */
-    fun validateAll(): BulkValidationResults {
-        val startTime = System.currentTimeMillis()
-        val allInstances = modelRepository.getAll()
-
-        val instanceResults = mutableMapOf<String, ValidationResults>()
-        var validCount = 0
-        var invalidCount = 0
-        var violationCount = 0
-
-        allInstances.forEach { instance ->
-            val instanceId = instance.id ?: return@forEach
-            val results = validateInstanceInternal(instanceId, instance)
-            instanceResults[instanceId] = results
-
-            if (results.isValid) {
-                validCount++
-            } else {
-                invalidCount++
-                violationCount += results.errors.size
-            }
-        }
-
-        val executionTime = System.currentTimeMillis() - startTime
-        logger.info { "Validated ${allInstances.size} instances in ${executionTime}ms: $validCount valid, $invalidCount invalid" }
-
-        return BulkValidationResults(
-            instanceResults = instanceResults,
-            totalInstances = allInstances.size,
-            validInstances = validCount,
-            invalidInstances = invalidCount,
-            constraintViolations = violationCount,
-            executionTimeMs = executionTime
-        )
+    fun validateAll(options: BulkValidationOptions = BulkValidationOptions()): BulkValidationResults {
+        val results = validateBulk(options) { modelRepository.getAll() }
+        logger.info { "Validated ${results.totalInstances} instances in ${results.executionTimeMs}ms: ${results.validInstances} valid, ${results.invalidInstances} invalid" }
+        return results
     }
 
     /**
@@ -183,46 +175,23 @@ class ConstraintVerificationService(
      *
      * @param className The metaclass name to validate
      * @param includeSubtypes Whether to include instances of subclasses
+     * @param options Parallelism, progress reporting and cancellation for the run
      * @return Aggregated validation results
      */
-    fun validateByType(className: String, includeSubtypes: Boolean = true): BulkValidationResults {
-        val startTime = System.currentTimeMillis()
-
-        val instances = if (includeSubtypes) {
-            getInstancesIncludingSubtypes(className)
-        } else {
-            modelRepository.getByType(className)
-        }
-
-        val instanceResults = mutableMapOf<String, ValidationResults>()
-        var validCount = 0
-        var invalidCount = 0
-        var violationCount = 0
-
-        instances.forEach { instance ->
-            val instanceId = instance.id ?: return@forEach
-            val results = validateInstanceInternal(instanceId, instance)
-            instanceResults[instanceId] = results
-
-            if (results.isValid) {
-                validCount++
+    fun validateByType(
+        className: String,
+        includeSubtypes: Boolean = true,
+        options: BulkValidationOptions = BulkValidationOptions()
+    ): BulkValidationResults {
+        val results = validateBulk(options) {
+            if (includeSubtypes) {
+                getInstancesIncludingSubtypes(className)
             } else {
-                invalidCount++
-                violationCount += results.errors.size
+                modelRepository.getByType(className)
             }
         }
-
-        val executionTime = System.currentTimeMillis() - startTime
-        logger.info { "Validated ${instances.size} instances of $className in ${executionTime}ms: $validCount valid, $invalidCount invalid" }
-
-        return BulkValidationResults(
-            instanceResults = instanceResults,
-            totalInstances = instances.size,
-            validInstances = validCount,
-            invalidInstances = invalidCount,
-            constraintViolations = violationCount,
-            executionTimeMs = executionTime
-        )
+        logger.info { "Validated ${results.totalInstances} instances of $className in ${results.executionTimeMs}ms: ${results.validInstances} valid, ${results.invalidInstances} invalid" }
+        return results
     }
 
     /**
@@ -256,24 +225,41 @@ class ConstraintVerificationService(
     }
 
     /**
-     * Validate multiple instances by their IDs.
+     * Validate multiple instances by their IDs. Unknown IDs count towards the total but have no results.
      *
      * @param instanceIds The IDs of instances to validate
+     * @param options Parallelism, progress reporting and cancellation for the run
      * @return Aggregated validation results
      */
-    fun validateInstances(instanceIds: List<String>): BulkValidationResults {
+    fun validateInstances(
+        instanceIds: List<String>,
+        options: BulkValidationOptions = BulkValidationOptions()
+    ): BulkValidationResults =
+        validateBulk(options, totalInstances = instanceIds.size) {
+            instanceIds.mapNotNull { modelRepository.get(it) }
+        }
+
+    /**
+     * Validate [collect]ed instances in chunks, on a dedicated fork-join pool when
+     * [BulkValidationOptions.parallelism] is above one. The model is held under the engine's read
+     * lock for the whole run, so every worker sees the same state. Results keep the order in which
+     * the instances were collected, whatever the parallelism.
+     */
+    private fun validateBulk(
+        options: BulkValidationOptions,
+        totalInstances: Int? = null,
+        collect: () -> List<MDMObject>
+    ): BulkValidationResults {
         val startTime = System.currentTimeMillis()
+        val validate = { runBulk(collect(), options) }
+        val outcome = engineLock?.read(validate) ?: validate()
 
-        val instanceResults = mutableMapOf<String, ValidationResults>()
+        val instanceResults = LinkedHashMap<String, ValidationResults>()
         var validCount = 0
         var invalidCount = 0
         var violationCount = 0
-
-        instanceIds.forEach { instanceId ->
-            val instance = modelRepository.get(instanceId) ?: return@forEach
-            val results = validateInstanceInternal(instanceId, instance)
+        for ((instanceId, results) in outcome.results) {
             instanceResults[instanceId] = results
-
             if (results.isValid) {
                 validCount++
             } else {
@@ -282,18 +268,71 @@ class ConstraintVerificationService(
             }
         }
 
-        val executionTime = System.currentTimeMillis() - startTime
-
         return BulkValidationResults(
             instanceResults = instanceResults,
-            totalInstances = instanceIds.size,
+            totalInstances = totalInstances ?: outcome.instanceCount,
             validInstances = validCount,
             invalidInstances = invalidCount,
             constraintViolations = violationCount,
-            executionTimeMs = executionTime
+            executionTimeMs = System.currentTimeMillis() - startTime,
+            cancelled = outcome.cancelled
         )
     }
 
+    private class BulkOutcome(
+        val results: List<Pair<String, ValidationResults>>,
+        val instanceCount: Int,
+        val cancelled: Boolean
+    )
+
+    private fun runBulk(instances: List<MDMObject>, options: BulkValidationOptions): BulkOutcome {
+        val chunks = instances.chunked(options.chunkSize)
+        val completed = AtomicInteger()
+        val cancellation = options.cancellation
+
+        // One executor per chunk, rebound for every evaluation
+        val validateChunk = { chunk: List<MDMObject> ->
+            var executor: OclExecutor? = null
+            val chunkResults = ArrayList<Pair<String, ValidationResults>>(chunk.size)
+            var processed = 0
+            for (instance in chunk) {
+                if (cancellation?.isCancelled == true) break
+                processed++
+                val instanceId = instance.id ?: continue
+                val constraints = getConstraintsForClass(instance.className)
+                val results = if (constraints.isEmpty()) {
+                    ValidationResults.valid()
+                } else {
+                    val chunkExecutor = executor ?: OclExecutor(engineAccessor, instance, instanceId).also { executor = it }
+                    ValidationResults.fromResults(constraints.map { evaluateConstraint(it, instance, instanceId, chunkExecutor) })
+                }
+                chunkResults.add(instanceId to results)
+            }
+            options.progress?.onProgress(completed.addAndGet(processed), instances.size)
+            chunkResults
+        }
+
+        val results = if (options.parallelism <= 1 || chunks.size <= 1) {
+            chunks.flatMap(validateChunk)
+        } else {
+            val pool = ForkJoinPool(options.parallelism)
+            try {
+                chunks.map { chunk -> pool.submit(Callable { validateChunk(chunk) }) }
+                    .flatMap { task ->
+                        try {
+                            task.get()
+                        } catch (e: ExecutionException) {
+                            throw e.cause ?: e
+                        }
+                    }
+            } finally {
+                pool.shutdown()
+            }
+        }
+
+        return BulkOutcome(results, instances.size, cancellation?.isCancelled == true)
+    }
+
     /**
      * Internal method to validate an instance against all applicable constraints.
      */
@@ -312,16 +351,21 @@ class ConstraintVerificationService(
     }
 
     /**
-     * Evaluate a single constraint against an instance.
+     * Evaluate a single constraint against an instance, on [executor] when given.
      */
     private fun evaluateConstraint(
         constraint: CompiledConstraint,
         instance: MDMObject,
-        instanceId: String
+        instanceId: String,
+        executor: OclExecutor? = null
     ): ValidationResult {
         return try {
-            val executor = OclExecutor(engineAccessor, instance, instanceId)
-            val result = executor.evaluate(constraint.ast)
+            val result = if (executor != null) {
+                executor.rebind(engineAccessor, instance, instanceId)
+                executor.evaluate(constraint.ast)
+            } else {
+                OclExecutor(engineAccessor, instance, instanceId).evaluate(constraint.ast)
+            }
 
             when (result) {
                 true -> ValidationResult.valid()
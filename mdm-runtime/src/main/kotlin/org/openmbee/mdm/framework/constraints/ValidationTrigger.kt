@@ -63,6 +63,8 @@ fun interface ValidationFailureListener {
  *
  * This class implements [InstanceLifecycleListener] to automatically validate
  * instances when they are created or updated, based on the configured [ValidationMode].
+ * It only re-checks the instance that changed; [org.openmbee.mdm.framework.runtime.IncrementalValidator]
+ * also re-checks the instances whose constraints navigate to it.
  *
  * @param verificationService The service to use for validation
  * @param mode The validation mode determining when validation occurs
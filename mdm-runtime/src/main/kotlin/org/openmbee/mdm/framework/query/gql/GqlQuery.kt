@@ -16,8 +16,11 @@
 package org.openmbee.mdm.framework.query.gql
 
 import org.openmbee.mdm.framework.query.gql.ast.GqlQuery
+import org.openmbee.mdm.framework.query.gql.executor.BindingStream
 import org.openmbee.mdm.framework.query.gql.executor.BindingTable
 import org.openmbee.mdm.framework.query.gql.executor.GqlExecutor
+import org.openmbee.mdm.framework.query.gql.executor.ProfiledQuery
+import org.openmbee.mdm.framework.query.gql.executor.QueryPlan
 import org.openmbee.mdm.framework.query.gql.parser.GqlParser
 import org.openmbee.mdm.framework.runtime.MDMEngine
 
@@ -34,9 +37,17 @@ import org.openmbee.mdm.framework.runtime.MDMEngine
  * ```kotlin
  * val results = engine.query("MATCH (n:Classifier) RETURN n.name")
  * ```
+ *
+ * Queries given as text are prepared through a bounded cache, so repeating a query, with the same
+ * or different parameter values, skips parsing and usually planning.
  */
 object GqlQueryExecutor {
 
+    /** Prepared statements kept for queries given as text */
+    private const val STATEMENT_CACHE_SIZE = 256
+
+    private val statements = GqlStatementCache(STATEMENT_CACHE_SIZE)
+
     /**
      * Parse a GQL query string into an AST.
      */
@@ -44,17 +55,26 @@ object GqlQueryExecutor {
         return GqlParser.parse(query)
     }
 
+    /**
+     * Prepare a GQL query string for repeated execution, reusing a cached statement for the same text.
+     *
+     * @param query The GQL query string, which may contain `$name` parameters
+     * @return The prepared statement
+     */
+    fun prepare(query: String): PreparedGqlStatement {
+        return statements.get(query)
+    }
+
     /**
      * Execute a GQL query string against an MDMEngine.
      *
      * @param query The GQL query string
      * @param engine The MDMEngine to query against
+     * @param parameters Values of the query's `$name` parameters
      * @return A BindingTable with the query results
      */
-    fun execute(query: String, engine: MDMEngine): BindingTable {
-        val ast = GqlParser.parse(query)
-        val executor = GqlExecutor(engine)
-        return executor.execute(ast)
+    fun execute(query: String, engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): BindingTable {
+        return prepare(query).execute(engine, parameters)
     }
 
     /**
@@ -62,12 +82,50 @@ object GqlQueryExecutor {
      *
      * @param query The parsed GQL query AST
      * @param engine The MDMEngine to query against
+     * @param parameters Values of the query's `$name` parameters
      * @return A BindingTable with the query results
      */
-    fun execute(query: GqlQuery, engine: MDMEngine): BindingTable {
-        val executor = GqlExecutor(engine)
+    fun execute(query: GqlQuery, engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): BindingTable {
+        val executor = GqlExecutor(engine, parameters)
         return executor.execute(query)
     }
+
+    /**
+     * Execute a GQL query lazily. Rows are computed as the stream is iterated, so a consumer
+     * that stops early stops the query; iterate it under the engine's read lock.
+     *
+     * @param query The parsed GQL query AST
+     * @param engine The MDMEngine to query against
+     * @param parameters Values of the query's `$name` parameters
+     * @return A BindingStream over the query results
+     */
+    fun stream(query: GqlQuery, engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): BindingStream {
+        val executor = GqlExecutor(engine, parameters)
+        return executor.stream(executor.plan(query))
+    }
+
+    /**
+     * Plan a GQL query without executing it (EXPLAIN).
+     *
+     * @param query The GQL query string
+     * @param engine The MDMEngine whose statistics drive the plan
+     * @return The chosen plan with estimated row counts
+     */
+    fun explain(query: String, engine: MDMEngine): QueryPlan {
+        return prepare(query).plan(engine)
+    }
+
+    /**
+     * Execute a GQL query and report its plan with actual row counts (PROFILE).
+     *
+     * @param query The GQL query string
+     * @param engine The MDMEngine to query against
+     * @param parameters Values of the query's `$name` parameters
+     * @return The results together with the executed plan
+     */
+    fun profile(query: String, engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): ProfiledQuery {
+        return prepare(query).profile(engine, parameters)
+    }
 }
 
 /**
@@ -76,19 +134,19 @@ object GqlQueryExecutor {
  * Usage:
  * ```kotlin
  * val engine: MDMEngine = ...
- * val results = engine.query("MATCH (n:Classifier) RETURN n.name")
+ * val results = engine.query("MATCH (n:Classifier {declaredName: \$name}) RETURN n", mapOf("name" to "Vehicle"))
  * for (row in results) {
- *     println(row["n.name"])
+ *     println(row["n"])
  * }
  * ```
  */
-fun MDMEngine.query(gql: String): BindingTable {
-    return GqlQueryExecutor.execute(gql, this)
+fun MDMEngine.query(gql: String, parameters: Map<String, Any?> = emptyMap()): BindingTable {
+    return GqlQueryExecutor.execute(gql, this, parameters)
 }
 
 /**
  * Extension function to execute a pre-parsed GQL query on an MDMEngine.
  */
-fun MDMEngine.query(gql: GqlQuery): BindingTable {
-    return GqlQueryExecutor.execute(gql, this)
+fun MDMEngine.query(gql: GqlQuery, parameters: Map<String, Any?> = emptyMap()): BindingTable {
+    return GqlQueryExecutor.execute(gql, this, parameters)
 }
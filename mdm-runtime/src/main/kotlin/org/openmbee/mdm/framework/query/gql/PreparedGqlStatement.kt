@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql
+
+import org.openmbee.mdm.framework.query.gql.ast.*
+import org.openmbee.mdm.framework.query.gql.executor.BindingStream
+import org.openmbee.mdm.framework.query.gql.executor.BindingTable
+import org.openmbee.mdm.framework.query.gql.executor.GqlExecutor
+import org.openmbee.mdm.framework.query.gql.executor.ProfiledQuery
+import org.openmbee.mdm.framework.query.gql.executor.QueryPlan
+import org.openmbee.mdm.framework.query.gql.parser.GqlParser
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import java.lang.ref.WeakReference
+
+/**
+ * A parsed GQL query that can be executed any number of times with different parameter values.
+ *
+ * Parameters (`$name`) are bound when the statement runs, so the plan does not depend on them: the
+ * statement plans once per engine and reuses the plan until the engine it was planned for is
+ * replaced or its element count drifts far enough to make the estimates stale.
+ *
+ * Usage:
+ * ```kotlin
+ * val statement = GqlQueryExecutor.prepare("MATCH (n:Element {declaredName: \$name}) RETURN n")
+ * val results = statement.execute(engine, mapOf("name" to "Vehicle"))
+ * ```
+ */
+class PreparedGqlStatement internal constructor(val query: GqlQuery) {
+
+    /** Names of the parameters the query reads; each must be given a value when it runs */
+    val parameterNames: Set<String> = collectParameters(query)
+
+    @Volatile
+    private var cachedPlan: CachedPlan? = null
+
+    /**
+     * The plan this statement runs against [engine], reused from earlier executions when still fresh.
+     * A shared plan carries no actual row counts; use [profile] for those.
+     */
+    fun plan(engine: MDMEngine): QueryPlan {
+        val elementCount = engine.elementCount()
+        cachedPlan?.takeIf { it.engine.get() === engine && it.isFresh(elementCount) }?.let { return it.plan }
+        return GqlExecutor(engine).plan(query).also {
+            cachedPlan = CachedPlan(WeakReference(engine), it, elementCount)
+        }
+    }
+
+    /**
+     * Execute the statement against [engine] with [parameters] bound.
+     */
+    fun execute(engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): BindingTable =
+        stream(engine, parameters).toTable()
+
+    /**
+     * Execute the statement lazily; iterate the stream under the engine's read lock.
+     */
+    fun stream(engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): BindingStream {
+        checkParameters(parameters)
+        return GqlExecutor(engine, parameters, recordRows = false).stream(plan(engine))
+    }
+
+    /**
+     * Execute the statement with a plan of its own, reporting actual row counts (PROFILE).
+     */
+    fun profile(engine: MDMEngine, parameters: Map<String, Any?> = emptyMap()): ProfiledQuery {
+        checkParameters(parameters)
+        val executor = GqlExecutor(engine, parameters)
+        val plan = executor.plan(query)
+        return ProfiledQuery(executor.execute(plan), plan)
+    }
+
+    private fun checkParameters(parameters: Map<String, Any?>) {
+        val missing = parameterNames.filter { it !in parameters }
+        require(missing.isEmpty()) { "Missing query parameters: ${missing.joinToString(", ") { "\$$it" }}" }
+    }
+
+    private class CachedPlan(val engine: WeakReference<MDMEngine>, val plan: QueryPlan, val elementCount: Int) {
+        fun isFresh(currentCount: Int): Boolean =
+            currentCount <= elementCount * PLAN_DRIFT && currentCount * PLAN_DRIFT >= elementCount
+    }
+
+    private companion object {
+        /** Factor by which the element count may grow or shrink before a cached plan is replanned */
+        const val PLAN_DRIFT = 2
+
+        fun collectParameters(query: GqlQuery): Set<String> {
+            val names = LinkedHashSet<String>()
+            fun visit(expr: GqlExpression?) {
+                when (expr) {
+                    null, is VariableRef, is Literal -> {}
+                    is Parameter -> names += expr.name
+                    is PropertyAccess -> visit(expr.base)
+                    is BinaryOp -> { visit(expr.left); visit(expr.right) }
+                    is UnaryOp -> visit(expr.operand)
+                    is FunctionCall -> expr.args.forEach { visit(it) }
+                    is ListExpr -> expr.elements.forEach { visit(it) }
+                    is InExpr -> { visit(expr.value); visit(expr.list) }
+                    is IsNullExpr -> visit(expr.value)
+                    is CaseExpr -> {
+                        visit(expr.operand)
+                        expr.whenClauses.forEach { visit(it.condition); visit(it.result) }
+                        visit(expr.elseExpr)
+                    }
+                    is LabelCheck -> visit(expr.variable)
+                    is ExistsExpr -> visitPattern(expr.pattern, ::visit)
+                }
+            }
+            query.matchClauses.forEach { clause -> clause.patterns.forEach { visitPattern(it, ::visit) } }
+            visit(query.whereClause?.expression)
+            with(query.returnClause) {
+                items.forEach { visit(it.expression) }
+                orderBy.forEach { visit(it.expression) }
+                visit(skip)
+                visit(limit)
+            }
+            return names
+        }
+
+        fun visitPattern(pattern: PathPattern, visit: (GqlExpression?) -> Unit) {
+            for (element in pattern.elements) {
+                when (element) {
+                    is NodePattern -> element.properties?.values?.forEach(visit)
+                    is EdgePattern -> element.properties?.values?.forEach(visit)
+                    is PathPattern -> visitPattern(element, visit)
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Bounded cache of prepared statements keyed by query text, least recently used first out.
+ * Runs of whitespace outside quoted text do not distinguish queries.
+ */
+internal class GqlStatementCache(private val capacity: Int) {
+
+    private val statements = object : LinkedHashMap<String, PreparedGqlStatement>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, PreparedGqlStatement>): Boolean =
+            size > capacity
+    }
+
+    val size: Int
+        get() = synchronized(statements) { statements.size }
+
+    /**
+     * The cached statement for [text], parsing and caching it on a miss. Parse errors are thrown and
+     * not cached.
+     */
+    fun get(text: String): PreparedGqlStatement {
+        val key = normalize(text)
+        synchronized(statements) { statements[key]?.let { return it } }
+        // Parse outside the lock; if two threads race, the first statement cached wins
+        val statement = PreparedGqlStatement(GqlParser.parse(text))
+        synchronized(statements) { return statements.getOrPut(key) { statement } }
+    }
+
+    fun clear() {
+        synchronized(statements) { statements.clear() }
+    }
+
+    companion object {
+        /**
+         * [text] with leading and trailing whitespace removed and every other run of whitespace outside
+         * quotes collapsed: to a newline if it contains one, so that line comments still end, else to
+         * a space.
+         */
+        fun normalize(text: String): String {
+            val trimmed = text.trim()
+            val out = StringBuilder(trimmed.length)
+            var quote: Char? = null
+            var i = 0
+            while (i < trimmed.length) {
+                val c = trimmed[i]
+                when {
+                    quote != null -> {
+                        out.append(c)
+                        if (c == '\\' && i + 1 < trimmed.length) {
+                            out.append(trimmed[++i])
+                        } else if (c == quote) {
+                            quote = null
+                        }
+                    }
+                    c == '\'' || c == '"' || c == '`' -> {
+                        quote = c
+                        out.append(c)
+                    }
+                    c.isWhitespace() -> {
+                        var newline = false
+                        while (i < trimmed.length && trimmed[i].isWhitespace()) {
+                            if (trimmed[i] == '\n') newline = true
+                            i++
+                        }
+                        out.append(if (newline) '\n' else ' ')
+                        continue
+                    }
+                    else -> out.append(c)
+                }
+                i++
+            }
+            return out.toString()
+        }
+    }
+}
@@ -79,9 +79,20 @@ data class EdgePattern(
  */
 data class PathPattern(
     val elements: List<GraphPattern>,
-    val variable: String? = null
+    val variable: String? = null,
+    val search: PathSearch = PathSearch.ANY_SHORTEST
 ) : GraphPattern
 
+/**
+ * Which paths a variable-length edge binds for each element it reaches.
+ */
+enum class PathSearch {
+    /** One shortest path per reached element: ANY SHORTEST, and the default */
+    ANY_SHORTEST,
+    /** Every shortest path per reached element: ALL SHORTEST */
+    ALL_SHORTEST
+}
+
 /**
  * Edge direction types from GQL specification.
  */
@@ -141,12 +152,22 @@ data class WhereClause(val expression: GqlExpression)
 // ===== RETURN Clause =====
 
 /**
- * A RETURN clause specifying what to output.
+ * A RETURN clause specifying what to output, with optional GROUP BY, ORDER BY, SKIP and LIMIT.
+ * SKIP and LIMIT are non-negative integer expressions.
+ *
+ * A clause whose items or sort keys call aggregate functions returns one row per group. Rows
+ * are grouped by the [groupBy] variables and by every item that does not aggregate, so without
+ * GROUP BY the non-aggregated items are the grouping keys; [groupBy] is null when the clause has
+ * no GROUP BY, and empty for `GROUP BY ()`.
  */
 data class ReturnClause(
     val items: List<ReturnItem>,
     val distinct: Boolean = false,
-    val returnAll: Boolean = false
+    val returnAll: Boolean = false,
+    val orderBy: List<OrderItem> = emptyList(),
+    val skip: GqlExpression? = null,
+    val limit: GqlExpression? = null,
+    val groupBy: List<String>? = null
 )
 
 /**
@@ -157,6 +178,16 @@ data class ReturnItem(
     val alias: String?
 )
 
+/**
+ * A sort key in ORDER BY: expr [ASC|DESC] [NULLS FIRST|NULLS LAST]
+ * Without an explicit null ordering, nulls sort as the largest value.
+ */
+data class OrderItem(
+    val expression: GqlExpression,
+    val descending: Boolean = false,
+    val nullsFirst: Boolean? = null
+)
+
 // ===== Expressions =====
 
 /**
@@ -188,6 +219,11 @@ data class Literal(val value: Any?) : GqlExpression {
     }
 }
 
+/**
+ * Query parameter: $name, bound to a value when the query is executed
+ */
+data class Parameter(val name: String) : GqlExpression
+
 /**
  * Binary operation: a + b, a = b, a AND b
  */
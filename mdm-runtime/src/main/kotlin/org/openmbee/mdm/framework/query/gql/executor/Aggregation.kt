@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+import org.openmbee.mdm.framework.query.gql.ast.FunctionCall
+import org.openmbee.mdm.framework.query.gql.ast.GqlExpression
+import org.openmbee.mdm.framework.query.gql.ast.Literal
+import org.openmbee.mdm.framework.runtime.MDMObject
+import kotlin.math.ceil
+import kotlin.math.floor
+import kotlin.math.sqrt
+
+/**
+ * Aggregate functions of RETURN, computed by hash aggregation.
+ *
+ * Each group keeps one [Accumulator] per aggregate call and folds every input row into it as the
+ * row arrives, so grouping holds a running state per group rather than the group's rows. Only
+ * COLLECT_LIST and the percentiles keep their input values, and at most [MAX_COLLECTED_VALUES] of
+ * them per group. Nulls are skipped by every aggregate except COUNT(*).
+ */
+internal object Aggregates {
+
+    /** Functions that aggregate over the rows of a group when called in RETURN or ORDER BY */
+    val NAMES = setOf(
+        "COUNT", "SUM", "AVG", "MIN", "MAX", "COLLECT",
+        "STDDEV_SAMP", "STDDEV_POP", "PERCENTILE_CONT", "PERCENTILE_DISC"
+    )
+
+    /** Values one COLLECT_LIST or percentile may hold per group before the query fails */
+    const val MAX_COLLECTED_VALUES = 100_000
+
+    fun isAggregate(expr: GqlExpression): Boolean = expr is FunctionCall && expr.name.uppercase() in NAMES
+
+    /** COUNT(*), which counts rows rather than values */
+    fun countsRows(call: FunctionCall): Boolean =
+        call.name.equals("COUNT", ignoreCase = true) && call.args.singleOrNull() == Literal("*")
+
+    /**
+     * A fresh accumulator for [call]. [fraction] is the value of a percentile's second argument;
+     * [compare] orders values for MIN and MAX.
+     */
+    fun accumulator(call: FunctionCall, fraction: Any?, compare: (Any, Any) -> Int?): Accumulator {
+        val accumulator = when (call.name.uppercase()) {
+            "COUNT" -> Count(countsRows(call))
+            "SUM" -> Sum()
+            "AVG" -> Average()
+            "MIN" -> Extreme(compare, smallest = true)
+            "MAX" -> Extreme(compare, smallest = false)
+            "COLLECT" -> Collect()
+            "STDDEV_SAMP" -> StandardDeviation(sample = true)
+            "STDDEV_POP" -> StandardDeviation(sample = false)
+            "PERCENTILE_CONT" -> Percentile(percentileFraction(call, fraction), continuous = true)
+            "PERCENTILE_DISC" -> Percentile(percentileFraction(call, fraction), continuous = false)
+            else -> throw IllegalArgumentException("Not an aggregate function: ${call.name}")
+        }
+        return if (call.distinct) Distinct(accumulator) else accumulator
+    }
+
+    /** Key under which [value] groups: values the executor compares as equal share a key */
+    fun groupKey(value: Any?): Any? = when (value) {
+        // Compare -0.0 and 0.0, and integers and reals of equal value, as equal
+        is Number -> value.toDouble().let { if (it == 0.0) 0.0 else it }
+        is MDMObject -> value.id?.let { ElementKey(it) } ?: value
+        is List<*> -> value.map { groupKey(it) }
+        else -> value
+    }
+
+    private fun percentileFraction(call: FunctionCall, fraction: Any?): Double {
+        val value = (fraction as? Number)?.toDouble()
+        require(value != null && value in 0.0..1.0) { "${call.name} fraction must be between 0 and 1: $fraction" }
+        return value
+    }
+
+    private data class ElementKey(val id: String)
+}
+
+/** Running state of one aggregate over the rows of one group */
+internal abstract class Accumulator {
+    abstract fun add(value: Any?)
+    abstract fun result(): Any?
+}
+
+private class Count(private val countNulls: Boolean) : Accumulator() {
+    private var count = 0L
+
+    override fun add(value: Any?) {
+        if (value != null || countNulls) count++
+    }
+
+    override fun result(): Any = count
+}
+
+/** Integral while every value is, then a Double; 0 over no values */
+private class Sum : Accumulator() {
+    private var integral = 0L
+    private var real = 0.0
+    private var isReal = false
+
+    override fun add(value: Any?) {
+        if (value !is Number) return
+        if (value is Long || value is Int || value is Short || value is Byte) {
+            integral += value.toLong()
+        } else {
+            real += value.toDouble()
+            isReal = true
+        }
+    }
+
+    override fun result(): Any = if (isReal) integral + real else integral
+}
+
+private class Average : Accumulator() {
+    private var sum = 0.0
+    private var count = 0L
+
+    override fun add(value: Any?) {
+        if (value is Number) {
+            sum += value.toDouble()
+            count++
+        }
+    }
+
+    override fun result(): Any? = if (count == 0L) null else sum / count
+}
+
+/** MIN or MAX; values that do not compare with the current extreme are skipped */
+private class Extreme(private val compare: (Any, Any) -> Int?, private val smallest: Boolean) : Accumulator() {
+    private var extreme: Any? = null
+
+    override fun add(value: Any?) {
+        value ?: return
+        val current = extreme
+        if (current == null) {
+            extreme = value
+            return
+        }
+        val order = compare(value, current) ?: return
+        if (if (smallest) order < 0 else order > 0) extreme = value
+    }
+
+    override fun result(): Any? = extreme
+}
+
+private class Collect : Accumulator() {
+    private val values = ArrayList<Any?>()
+
+    override fun add(value: Any?) {
+        value ?: return
+        checkCollected(values.size, "COLLECT_LIST")
+        values.add(value)
+    }
+
+    override fun result(): Any = values
+}
+
+/** Welford's online algorithm, so that large groups keep their precision */
+private class StandardDeviation(private val sample: Boolean) : Accumulator() {
+    private var count = 0L
+    private var mean = 0.0
+    private var squares = 0.0
+
+    override fun add(value: Any?) {
+        if (value !is Number) return
+        val x = value.toDouble()
+        count++
+        val delta = x - mean
+        mean += delta / count
+        squares += delta * (x - mean)
+    }
+
+    override fun result(): Any? {
+        val n = if (sample) count - 1 else count
+        return if (n <= 0L) null else sqrt(squares / n)
+    }
+}
+
+/**
+ * PERCENTILE_CONT interpolates between the two nearest values; PERCENTILE_DISC returns the
+ * smallest value whose cumulative share reaches [fraction].
+ */
+private class Percentile(private val fraction: Double, private val continuous: Boolean) : Accumulator() {
+    private val values = ArrayList<Double>()
+
+    override fun add(value: Any?) {
+        if (value !is Number) return
+        checkCollected(values.size, if (continuous) "PERCENTILE_CONT" else "PERCENTILE_DISC")
+        values.add(value.toDouble())
+    }
+
+    override fun result(): Any? {
+        if (values.isEmpty()) return null
+        values.sort()
+        if (!continuous) {
+            val index = (ceil(fraction * values.size).toInt() - 1).coerceIn(0, values.size - 1)
+            return values[index]
+        }
+        val position = fraction * (values.size - 1)
+        val lower = floor(position).toInt()
+        val upper = minOf(lower + 1, values.size - 1)
+        return values[lower] + (values[upper] - values[lower]) * (position - lower)
+    }
+}
+
+/** Feeds [inner] each distinct value once */
+private class Distinct(private val inner: Accumulator) : Accumulator() {
+    private val seen = HashSet<Any?>()
+
+    override fun add(value: Any?) {
+        if (value != null && seen.add(Aggregates.groupKey(value))) inner.add(value)
+    }
+
+    override fun result(): Any? = inner.result()
+}
+
+private fun checkCollected(size: Int, function: String) {
+    require(size < Aggregates.MAX_COLLECTED_VALUES) {
+        "$function holds more than ${Aggregates.MAX_COLLECTED_VALUES} values in one group"
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+/**
+ * Lazily computed result of a GQL query.
+ *
+ * Rows are produced as the stream is iterated, so stopping early stops the query. The stream
+ * reads the model while it is iterated: consume it under the engine's read lock, and only once.
+ *
+ * @property columns Result columns, known before the first row
+ * @property plan The plan being executed; its actual row counts grow as rows are consumed
+ */
+class BindingStream internal constructor(
+    val columns: List<String>,
+    val plan: QueryPlan,
+    private val rows: Sequence<Map<String, Any?>>
+) : Sequence<Map<String, Any?>> {
+
+    override fun iterator(): Iterator<Map<String, Any?>> = rows.iterator()
+
+    /**
+     * Consume the whole stream into a BindingTable.
+     */
+    fun toTable(): BindingTable = BindingTable(columns, rows.toList())
+}
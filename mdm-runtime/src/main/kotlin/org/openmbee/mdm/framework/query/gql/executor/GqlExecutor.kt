@@ -18,183 +18,233 @@ package org.openmbee.mdm.framework.query.gql.executor
 import org.openmbee.mdm.framework.query.gql.ast.*
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.runtime.MDMObject
+import java.util.IdentityHashMap
+import java.util.PriorityQueue
 
 /**
  * Executes GQL queries against an MDMEngine.
  *
  * This executor evaluates GQL AST nodes against the model:
- * - MATCH clauses find elements matching graph patterns
- * - WHERE clauses filter bindings
- * - RETURN clauses project results into a BindingTable
+ * - MATCH clauses find elements matching graph patterns, in the order chosen by [GqlPlanner]
+ * - WHERE clauses filter bindings, as early as the plan allows
+ * - RETURN clauses project results, grouping them when they aggregate, then apply ORDER BY, SKIP
+ *   and LIMIT
+ *
+ * Execution is pull-based: every plan step is a lazy transformation of a binding sequence, so a
+ * consumer that stops early (LIMIT, or a client that closes a stream) stops all upstream work.
+ * ORDER BY has to see every row; with a LIMIT it keeps only the top SKIP + LIMIT rows.
+ *
+ * Bindings are [SlotRow]s: every variable has a fixed slot chosen at planning time, binding a
+ * variable copies one small array, and filters pass rows through without copying. Rows become
+ * column-keyed maps only as they leave the [BindingStream].
+ *
+ * Variable-length edges are matched by the [PathFinder] with shortest-path semantics.
+ *
+ * Query parameters (`$name`) read [parameters]; plans never depend on parameter values, so one plan
+ * can serve every execution of a prepared statement. A plan shared between executions should be run
+ * with [recordRows] off, since actual row counts are kept on the plan itself.
  */
-class GqlExecutor(private val engine: MDMEngine) {
+class GqlExecutor(
+    private val engine: MDMEngine,
+    private val parameters: Map<String, Any?> = emptyMap(),
+    private val recordRows: Boolean = true
+) {
+
+    private val pathFinder = PathFinder(engine)
+
+    /** Steps of the EXISTS sub-patterns of every plan streamed so far, by identity */
+    private val existsPlans = IdentityHashMap<ExistsExpr, List<PlanStep>>()
 
     /**
      * Execute a GQL query and return the results as a BindingTable.
      */
-    fun execute(query: GqlQuery): BindingTable {
-        // Start with a single empty binding
-        var bindings: List<MutableMap<String, Any?>> = listOf(mutableMapOf())
+    fun execute(query: GqlQuery): BindingTable = execute(plan(query))
+
+    /**
+     * Plan a GQL query without executing it.
+     */
+    fun plan(query: GqlQuery): QueryPlan = GqlPlanner(engine).plan(query)
+
+    /**
+     * Execute a plan produced by [plan], recording the actual row count of each operator.
+     */
+    fun execute(plan: QueryPlan): BindingTable = stream(plan).toTable()
+
+    /**
+     * Execute a plan lazily. Rows are computed as the stream is consumed, and the plan's actual
+     * row counts reflect what has been consumed so far.
+     *
+     * The stream reads the engine while it is iterated; consume it under the engine's read lock.
+     */
+    fun stream(plan: QueryPlan): BindingStream {
+        if (recordRows) plan.resetActualRows()
+        existsPlans.putAll(plan.existsPlans)
+
+        // Start with a single row that binds nothing
+        var bindings: Sequence<SlotRow> = sequenceOf(plan.layout.emptyRow())
 
         // Process MATCH clauses - each extends bindings
-        for (matchClause in query.matchClauses) {
-            bindings = executeMatch(matchClause, bindings)
+        for (clausePlan in plan.clauses) {
+            bindings = executeMatch(clausePlan, bindings)
         }
 
-        // Filter by WHERE clause
-        if (query.whereClause != null) {
-            bindings = bindings.filter { evaluateWhere(query.whereClause, it) }
+        // Filter by whatever part of the WHERE clause was not pushed down
+        plan.residualFilter?.let { filter ->
+            bindings = executeStep(filter, bindings)
         }
 
         // Project RETURN clause
-        return projectReturn(query.returnClause, bindings)
+        return projectReturn(plan, bindings)
     }
 
     // ===== MATCH Execution =====
 
-    private fun executeMatch(
-        clause: MatchClause,
-        bindings: List<MutableMap<String, Any?>>
-    ): List<MutableMap<String, Any?>> {
-        var result = bindings
-
-        for (pattern in clause.patterns) {
-            result = executePathPattern(pattern, result)
-        }
-
-        // For optional match, if no results, keep original bindings with nulls for NEW variables
-        if (clause.isOptional && result.isEmpty()) {
-            return bindings.map { binding ->
-                val newBinding = binding.toMutableMap()
-                // Add null values for NEW pattern variables (not already bound)
-                for (pattern in clause.patterns) {
-                    addNullsForPattern(pattern, newBinding, binding.keys)
+    private fun executeMatch(clausePlan: ClausePlan, bindings: Sequence<SlotRow>): Sequence<SlotRow> {
+        val optionalStep = clausePlan.optionalStep
+            ?: return clausePlan.steps.fold(bindings) { rows, step -> executeStep(step, rows) }
+
+        // For optional match, if no results, keep the original bindings: the clause's new
+        // variables are left unbound, which reads as null. Steps are row-wise, so each binding
+        // is matched on its own; bindings are held back only until the first match shows that
+        // the clause is not empty.
+        return sequence {
+            var matched = false
+            val unmatched = mutableListOf<SlotRow>()
+            for (binding in bindings) {
+                val rows = clausePlan.steps.fold(sequenceOf(binding)) { rows, step -> executeStep(step, rows) }
+                for (row in rows) {
+                    if (!matched) {
+                        matched = true
+                        unmatched.clear()
+                    }
+                    if (recordRows) optionalStep.recordRow()
+                    yield(row)
                 }
-                newBinding
+                if (!matched) unmatched.add(binding)
             }
-        }
-
-        return result
-    }
-
-    private fun addNullsForPattern(
-        pattern: PathPattern,
-        binding: MutableMap<String, Any?>,
-        existingKeys: Set<String>
-    ) {
-        // Only add null for NEW variables (not already bound)
-        if (pattern.variable != null && pattern.variable !in existingKeys) {
-            binding[pattern.variable] = null
-        }
-        for (element in pattern.elements) {
-            when (element) {
-                is NodePattern -> if (element.variable != null && element.variable !in existingKeys) {
-                    binding[element.variable] = null
-                }
-                is EdgePattern -> if (element.variable != null && element.variable !in existingKeys) {
-                    binding[element.variable] = null
-                }
-                is PathPattern -> addNullsForPattern(element, binding, existingKeys)
+            for (binding in unmatched) {
+                if (recordRows) optionalStep.recordRow()
+                yield(binding)
             }
         }
     }
 
-    private fun executePathPattern(
-        pattern: PathPattern,
-        bindings: List<MutableMap<String, Any?>>
-    ): List<MutableMap<String, Any?>> {
-        val elements = pattern.elements
-        if (elements.isEmpty()) return bindings
-
-        var result = bindings
+    private fun executeStep(step: PlanStep, bindings: Sequence<SlotRow>): Sequence<SlotRow> {
+        val result = when (step) {
+            is NodeScanStep -> scan(step, bindings)
+            is IndexSeekStep -> bindCandidates(step.node, bindings) { seek(step) }
+            is IndexRangeStep -> bindCandidates(step.node, bindings) {
+                engine.findElementsByPropertyRange(
+                    step.label, step.property, step.from, step.fromInclusive, step.to, step.toInclusive
+                )
+            }
+            is ExpandStep -> bindings.flatMap { expand(step, it) }
+            is FilterStep -> bindings.filter { evaluateExpression(step.predicate, it) == true }
+            is BindPathStep -> bindPathVariable(step.pattern, bindings)
+            is OptionalStep, is ReturnStep, is AggregateStep -> bindings
+        }
+        return result.recording(step)
+    }
 
-        // Process elements in sequence (alternating nodes and edges)
-        var i = 0
-        while (i < elements.size) {
-            val element = elements[i]
+    private fun <T> Sequence<T>.recording(step: PlanStep): Sequence<T> =
+        if (recordRows) onEach { step.recordRow() } else this
 
-            when (element) {
-                is NodePattern -> {
-                    result = matchNodePattern(element, result)
-                }
-                is EdgePattern -> {
-                    // Edge must be between two nodes
-                    if (i > 0 && i < elements.size - 1) {
-                        val prevNode = elements[i - 1] as? NodePattern
-                        val nextNode = elements[i + 1] as? NodePattern
-                        if (prevNode != null && nextNode != null) {
-                            result = matchEdgePattern(element, prevNode, nextNode, result)
-                            i++ // Skip the next node, we've already handled it
-                        }
-                    }
-                }
-                is PathPattern -> {
-                    result = executePathPattern(element, result)
-                }
+    /**
+     * Bind a node to every candidate element, or re-check it when the plan binds it earlier.
+     * Candidates are looked up once, on first use.
+     */
+    private fun scan(step: NodeScanStep, bindings: Sequence<SlotRow>): Sequence<SlotRow> {
+        val node = step.node
+        if (step.alreadyBound) {
+            return bindings.filter { binding ->
+                val existingValue = binding[node.variable!!]
+                existingValue is MDMObject &&
+                    matchesLabels(existingValue, node.labels) &&
+                    matchesProperties(existingValue, node.properties, binding)
             }
-            i++
         }
 
-        // Bind path variable if specified
-        if (pattern.variable != null) {
-            result = result.map { binding ->
-                val newBinding = binding.toMutableMap()
-                // Path variable gets all the matched elements
-                val pathElements = pattern.elements.mapNotNull { elem ->
-                    when (elem) {
-                        is NodePattern -> elem.variable?.let { binding[it] }
-                        is EdgePattern -> elem.variable?.let { binding[it] }
-                        else -> null
-                    }
-                }
-                newBinding[pattern.variable] = pathElements
-                newBinding
-            }
+        return bindCandidates(node, bindings) { findMatchingNodes(node) }
+    }
+
+    /**
+     * Bind an unbound node to each of the elements [lookup] returns that match its property map.
+     * The lookup runs once, on first use.
+     */
+    private fun bindCandidates(
+        node: NodePattern,
+        bindings: Sequence<SlotRow>,
+        lookup: () -> List<MDMObject>
+    ): Sequence<SlotRow> {
+        val candidates by lazy(lookup)
+        return bindings.flatMap { binding ->
+            val slot = binding.slotFor(node.variable!!)
+            candidates.asSequence()
+                .filter { matchesProperties(it, node.properties, binding) }
+                .map { candidate -> binding.with(slot, candidate) }
         }
+    }
 
-        return result
+    /**
+     * Elements of the seek's label whose property equals its value. A parameter bound to a value the
+     * index cannot look up exactly is answered by scanning the label instead.
+     */
+    private fun seek(step: IndexSeekStep): List<MDMObject> {
+        val value = evaluateExpression(step.value, SlotLayout.EMPTY.emptyRow())
+        if (value != null && GqlPlanner.indexes(value, step.propertyType, ordered = false)) {
+            return engine.findElementsByProperty(step.label, step.property, value)
+        }
+        return engine.getElementsByClass(step.label).filter { valuesEqual(engine.getProperty(it, step.property), value) }
     }
 
-    private fun matchNodePattern(
-        pattern: NodePattern,
-        bindings: List<MutableMap<String, Any?>>
-    ): List<MutableMap<String, Any?>> {
-        val variable = pattern.variable
+    /**
+     * Follow a planned edge from an already bound node. Against the textual order the edge is
+     * walked backwards, so edge bindings get their source and target swapped back.
+     */
+    private fun expand(step: ExpandStep, binding: SlotRow): Sequence<SlotRow> = sequence {
+        val source = binding[step.from.variable!!] as? MDMObject ?: return@sequence
+        val targetSlot = binding.slotFor(step.target.variable!!)
+        val edgeSlot = step.edge.variable?.let { binding.slotFor(it) } ?: -1
+        val boundTarget = if (step.targetBound) binding[targetSlot] as? MDMObject else null
+
+        val matches = if (boundTarget != null && step.edge.quantifier != null) {
+            pathFinder.connect(source, boundTarget, step.edge, step.search)
+        } else {
+            findMatchingEdgeTargets(source, step.edge, binding, step.search)
+        }
+        for ((edgeValue, target) in matches) {
+            if (boundTarget != null && !valuesEqual(boundTarget, target)) continue
+            if (!matchesLabels(target, step.target.labels)) continue
+            if (!matchesProperties(target, step.target.properties, binding)) continue
 
-        // If variable is already bound, verify it matches
-        if (variable != null) {
-            val alreadyBound = bindings.any { it.containsKey(variable) && it[variable] != null }
-            if (alreadyBound) {
-                return bindings.filter { binding ->
-                    val existingValue = binding[variable]
-                    if (existingValue is MDMObject) {
-                        matchesLabels(existingValue, pattern.labels) &&
-                            matchesProperties(existingValue, pattern.properties, binding)
+            yield(binding.extend { values ->
+                if (edgeSlot >= 0) {
+                    values[edgeSlot] = if (step.reversed && edgeValue is Map<*, *>) {
+                        mapOf("type" to edgeValue["type"], "source" to edgeValue["target"], "target" to edgeValue["source"])
                     } else {
-                        false
+                        edgeValue
                     }
                 }
-            }
+                values[targetSlot] = target
+            })
         }
+    }
 
-        // Find all matching elements
-        val candidates = findMatchingNodes(pattern)
+    private fun bindPathVariable(pattern: PathPattern, bindings: Sequence<SlotRow>): Sequence<SlotRow> =
+        if (pattern.variable == null) bindings else bindings.map { bindPathVariable(pattern, it) }
 
-        // Extend bindings with matching nodes
-        val result = mutableListOf<MutableMap<String, Any?>>()
-        for (binding in bindings) {
-            for (node in candidates) {
-                if (matchesProperties(node, pattern.properties, binding)) {
-                    val newBinding = binding.toMutableMap()
-                    if (variable != null) {
-                        newBinding[variable] = node
-                    }
-                    result.add(newBinding)
+    private fun bindPathVariable(pattern: PathPattern, binding: SlotRow): SlotRow {
+        // Path variable gets all the matched elements, including those of nested sub-paths
+        fun collect(path: PathPattern, into: MutableList<Any?>) {
+            for (elem in path.elements) {
+                when (elem) {
+                    is NodePattern -> elem.variable?.let { into += binding[it] }
+                    is EdgePattern -> elem.variable?.let { into += binding[it] }
+                    is PathPattern -> collect(elem, into)
                 }
             }
         }
-
-        return result
+        return binding.with(pattern.variable!!, mutableListOf<Any?>().also { collect(pattern, it) }.filterNotNull())
     }
 
     private fun findMatchingNodes(pattern: NodePattern): List<MDMObject> {
@@ -219,18 +269,13 @@ class GqlExecutor(private val engine: MDMEngine) {
     private fun matchesProperties(
         element: MDMObject,
         properties: Map<String, GqlExpression>?,
-        binding: Map<String, Any?>
+        binding: SlotRow
     ): Boolean {
         if (properties.isNullOrEmpty()) return true
 
         for ((propName, expectedExpr) in properties) {
             val actualValue = engine.getProperty(element, propName)
-            val contextBinding: Map<String, Any?> = if (element.id != null) {
-                binding + ("__current" to element)
-            } else {
-                binding
-            }
-            val expectedValue = evaluateExpression(expectedExpr, contextBinding)
+            val expectedValue = evaluateExpression(expectedExpr, binding)
 
             if (!valuesEqual(actualValue, expectedValue)) {
                 return false
@@ -239,50 +284,20 @@ class GqlExecutor(private val engine: MDMEngine) {
         return true
     }
 
-    private fun matchEdgePattern(
-        edge: EdgePattern,
-        sourceNode: NodePattern,
-        targetNode: NodePattern,
-        bindings: List<MutableMap<String, Any?>>
-    ): List<MutableMap<String, Any?>> {
-        val result = mutableListOf<MutableMap<String, Any?>>()
-
-        for (binding in bindings) {
-            val sourceVar = sourceNode.variable
-            val sourceObj = if (sourceVar != null) binding[sourceVar] as? MDMObject else null
-
-            if (sourceObj == null) continue
-
-            // Find matching edges from source
-            val targets = findMatchingEdgeTargets(sourceObj, edge, binding)
-
-            for ((edgeBinding, target) in targets) {
-                // Verify target matches target node pattern
-                if (!matchesLabels(target, targetNode.labels)) continue
-                if (!matchesProperties(target, targetNode.properties, binding)) continue
-
-                val newBinding = binding.toMutableMap()
-                newBinding.putAll(edgeBinding)
-
-                // Bind target variable
-                if (targetNode.variable != null) {
-                    newBinding[targetNode.variable] = target
-                }
-
-                result.add(newBinding)
-            }
-        }
-
-        return result
-    }
-
+    /**
+     * Edges and targets reached from [source] across [edge]. Single hops are looked up eagerly;
+     * variable-length hops are explored lazily by the [PathFinder], as the result is consumed.
+     */
     private fun findMatchingEdgeTargets(
         source: MDMObject,
         edge: EdgePattern,
-        binding: Map<String, Any?>
-    ): List<Pair<Map<String, Any?>, MDMObject>> {
-        val results = mutableListOf<Pair<Map<String, Any?>, MDMObject>>()
-        val sourceId = source.id ?: return results
+        binding: SlotRow,
+        search: PathSearch
+    ): Sequence<EdgeMatch> {
+        if (edge.quantifier != null) return pathFinder.expand(source, edge, search)
+
+        val results = mutableListOf<EdgeMatch>()
+        val sourceId = source.id ?: return emptySequence()
 
         // Edge labels map to association names
         val associationNames = if (edge.labels.isEmpty()) {
@@ -310,110 +325,32 @@ class GqlExecutor(private val engine: MDMEngine) {
             for (target in targets) {
                 // Check edge properties if specified
                 if (matchesEdgeProperties(edge.properties, binding)) {
-                    val edgeBinding = mutableMapOf<String, Any?>()
-                    if (edge.variable != null) {
-                        // For edge variables, bind to a map with association info
-                        edgeBinding[edge.variable] = mapOf(
-                            "type" to assocName,
-                            "source" to source,
-                            "target" to target
-                        )
+                    // For edge variables, bind to a map with association info
+                    val edgeValue = if (edge.variable != null) {
+                        mapOf("type" to assocName, "source" to source, "target" to target)
+                    } else {
+                        null
                     }
-                    results.add(edgeBinding to target)
+                    results.add(EdgeMatch(edgeValue, target))
                 }
             }
         }
 
-        // Handle variable-length paths
-        if (edge.quantifier != null) {
-            val additionalResults = expandVariableLengthPath(source, edge, binding, results)
-            results.addAll(additionalResults)
-        }
-
-        return results
+        return results.asSequence()
     }
 
     private fun matchesEdgeProperties(
         properties: Map<String, GqlExpression>?,
-        binding: Map<String, Any?>
+        binding: SlotRow
     ): Boolean {
         // Edge properties are not directly supported in MDM graph
         // For now, always return true
         return properties.isNullOrEmpty()
     }
 
-    private fun expandVariableLengthPath(
-        source: MDMObject,
-        edge: EdgePattern,
-        binding: Map<String, Any?>,
-        initialResults: List<Pair<Map<String, Any?>, MDMObject>>
-    ): List<Pair<Map<String, Any?>, MDMObject>> {
-        val quantifier = edge.quantifier ?: return emptyList()
-
-        val minHops = when (quantifier) {
-            is FixedQuantifier -> quantifier.count
-            is RangeQuantifier -> quantifier.min ?: 0
-        }
-        val maxHops = when (quantifier) {
-            is FixedQuantifier -> quantifier.count
-            is RangeQuantifier -> quantifier.max ?: 10 // Default max depth
-        }
-
-        if (minHops == 1 && maxHops == 1) {
-            return emptyList() // Already handled by initial traversal
-        }
-
-        val results = mutableListOf<Pair<Map<String, Any?>, MDMObject>>()
-        val visited = mutableSetOf<String>()
-        visited.add(source.id ?: return emptyList())
-
-        // BFS to find paths of length minHops..maxHops
-        data class WorkItem(val node: MDMObject, val depth: Int, val path: List<MDMObject>)
-        val queue = ArrayDeque<WorkItem>()
-        queue.add(WorkItem(source, 0, listOf(source)))
-
-        while (queue.isNotEmpty()) {
-            val (current, depth, path) = queue.removeFirst()
-
-            if (depth >= maxHops) continue
-
-            val currentId = current.id ?: continue
-            val edgeCopy = edge.copy(quantifier = null)
-            val targets = findMatchingEdgeTargets(current, edgeCopy, binding)
-
-            for ((edgeBinding, target) in targets) {
-                val targetId = target.id ?: continue
-                if (targetId in visited) continue
-
-                visited.add(targetId)
-                val newPath = path + target
-                val newDepth = depth + 1
-
-                if (newDepth >= minHops) {
-                    val pathBinding = edgeBinding.toMutableMap()
-                    if (edge.variable != null) {
-                        pathBinding[edge.variable] = newPath
-                    }
-                    results.add(pathBinding to target)
-                }
-
-                if (newDepth < maxHops) {
-                    queue.add(WorkItem(target, newDepth, newPath))
-                }
-            }
-        }
-
-        return results
-    }
-
-    // ===== WHERE Evaluation =====
-
-    private fun evaluateWhere(clause: WhereClause, binding: Map<String, Any?>): Boolean {
-        val result = evaluateExpression(clause.expression, binding)
-        return result == true
-    }
+    // ===== Expression Evaluation =====
 
-    private fun evaluateExpression(expr: GqlExpression, binding: Map<String, Any?>): Any? {
+    private fun evaluateExpression(expr: GqlExpression, binding: SlotRow): Any? {
         return when (expr) {
             is VariableRef -> binding[expr.name]
 
@@ -428,6 +365,11 @@ class GqlExecutor(private val engine: MDMEngine) {
 
             is Literal -> expr.value
 
+            is Parameter -> {
+                require(expr.name in parameters) { "Missing query parameter: \$${expr.name}" }
+                parameters[expr.name]
+            }
+
             is BinaryOp -> evaluateBinaryOp(expr, binding)
 
             is UnaryOp -> evaluateUnaryOp(expr, binding)
@@ -466,14 +408,14 @@ class GqlExecutor(private val engine: MDMEngine) {
             }
 
             is ExistsExpr -> {
-                // Check if pattern would match anything
-                val testBindings = executePathPattern(expr.pattern, listOf(binding.toMutableMap()))
-                testBindings.isNotEmpty()
+                // Run the planned sub-pattern from this row, stopping at its first match
+                val steps = existsPlans[expr] ?: error("EXISTS sub-pattern was not planned: ${PlanText.expression(expr)}")
+                steps.fold(sequenceOf(binding)) { rows, step -> executeStep(step, rows) }.any()
             }
         }
     }
 
-    private fun evaluateBinaryOp(expr: BinaryOp, binding: Map<String, Any?>): Any? {
+    private fun evaluateBinaryOp(expr: BinaryOp, binding: SlotRow): Any? {
         // Short-circuit evaluation for AND/OR
         if (expr.operator == BinaryOperator.AND) {
             val left = evaluateExpression(expr.left, binding)
@@ -512,7 +454,7 @@ class GqlExecutor(private val engine: MDMEngine) {
         }
     }
 
-    private fun evaluateUnaryOp(expr: UnaryOp, binding: Map<String, Any?>): Any? {
+    private fun evaluateUnaryOp(expr: UnaryOp, binding: SlotRow): Any? {
         val operand = evaluateExpression(expr.operand, binding)
         return when (expr.operator) {
             UnaryOperator.NOT -> operand != true
@@ -521,7 +463,7 @@ class GqlExecutor(private val engine: MDMEngine) {
         }
     }
 
-    private fun evaluateFunction(expr: FunctionCall, binding: Map<String, Any?>): Any? {
+    private fun evaluateFunction(expr: FunctionCall, binding: SlotRow): Any? {
         val args = expr.args.map { evaluateExpression(it, binding) }
 
         return when (expr.name.uppercase()) {
@@ -683,7 +625,7 @@ class GqlExecutor(private val engine: MDMEngine) {
         }
     }
 
-    private fun evaluateCaseExpr(expr: CaseExpr, binding: Map<String, Any?>): Any? {
+    private fun evaluateCaseExpr(expr: CaseExpr, binding: SlotRow): Any? {
         val operand = expr.operand?.let { evaluateExpression(it, binding) }
 
         for (whenClause in expr.whenClauses) {
@@ -703,41 +645,160 @@ class GqlExecutor(private val engine: MDMEngine) {
 
     // ===== RETURN Projection =====
 
-    private fun projectReturn(
-        clause: ReturnClause,
-        bindings: List<MutableMap<String, Any?>>
-    ): BindingTable {
-        if (clause.returnAll) {
-            // RETURN * - return all bound variables
-            val columns = bindings.firstOrNull()?.keys?.toList() ?: emptyList()
-            val rows = if (clause.distinct) {
-                bindings.map { it.toMap() }.distinct()
-            } else {
-                bindings.map { it.toMap() }
-            }
-            return BindingTable(columns, rows)
+    /**
+     * Project each binding to its RETURN values, then apply DISTINCT, ORDER BY, SKIP and LIMIT.
+     * Rows stay positional until they leave the stream, where they become column-keyed maps.
+     */
+    private fun projectReturn(plan: QueryPlan, input: Sequence<SlotRow>): BindingStream {
+        // An aggregating RETURN projects one row per group, through the clause rewritten to read
+        // aggregate results from the group rows
+        val aggregation = plan.aggregation
+        val clause = aggregation?.clause ?: plan.query.returnClause
+        val layout = aggregation?.layout ?: plan.layout
+        val bindings = if (aggregation != null) aggregate(aggregation, input) else input
+        val returnStep = plan.returnStep
+
+        if (!clause.returnAll && clause.items.isEmpty()) {
+            // No items - return empty or count
+            return BindingStream(emptyList(), plan, emptySequence())
         }
 
-        if (clause.items.isEmpty()) {
-            // No items - return empty or count
-            return BindingTable.EMPTY
+        // RETURN * returns all bound variables, in the order the query introduces them
+        val columns = if (clause.returnAll) {
+            plan.variableOrder
+        } else {
+            plan.query.returnClause.items.map { item -> item.alias ?: expressionName(item.expression) }
         }
 
-        // Project specified items
-        val columns = clause.items.map { item ->
-            item.alias ?: expressionName(item.expression)
+        val returnSlots = if (clause.returnAll) IntArray(columns.size) { layout.slotOf(columns[it]) } else null
+        val project: (SlotRow) -> List<Any?> = if (returnSlots != null) {
+            { binding -> Array(returnSlots.size) { binding[returnSlots[it]] }.asList() }
+        } else {
+            { binding -> Array(clause.items.size) { evaluateExpression(clause.items[it].expression, binding) }.asList() }
         }
 
-        val rows = bindings.map { binding ->
-            clause.items.associate { item ->
-                val columnName = item.alias ?: expressionName(item.expression)
-                val value = evaluateExpression(item.expression, binding)
-                columnName to value
+        val skip = pageBound(clause.skip, "SKIP") ?: 0
+        val limit = pageBound(clause.limit, "LIMIT")
+
+        val rows = if (clause.orderBy.isEmpty()) {
+            val projected = bindings.map(project)
+            val distinct = if (clause.distinct) projected.distinct() else projected
+            distinct.page(skip, limit)
+        } else {
+            // Sort keys may name RETURN aliases as well as bound variables; aliases take precedence
+            val sortLayout = if (clause.returnAll) layout else SlotLayout(layout.variables + columns)
+            val sortable = bindings.mapIndexed { index, binding ->
+                val row = project(binding)
+                val scope = if (clause.returnAll) binding else SlotRow(sortLayout, concat(binding.values, row.toTypedArray()))
+                SortableRow(row, clause.orderBy.map { evaluateExpression(it.expression, scope) }, index)
+            }
+            val candidates = if (clause.distinct) sortable.distinctBy { it.row } else sortable
+            val comparator = sortComparator(clause.orderBy)
+            sequence {
+                val sorted = if (limit != null) {
+                    topK(candidates, saturatedAdd(skip, limit), comparator)
+                } else {
+                    candidates.sortedWith(comparator).toList()
+                }
+                val end = if (limit != null) minOf(sorted.size, saturatedAdd(skip, limit)) else sorted.size
+                for (index in skip until end) {
+                    yield(sorted[index].row)
+                }
             }
         }
 
-        val finalRows = if (clause.distinct) rows.distinct() else rows
-        return BindingTable(columns, finalRows)
+        return BindingStream(columns, plan, rows.map { row -> columnMap(columns, row) }.recording(returnStep))
+    }
+
+    /**
+     * Group [bindings] by the step's keys, folding each row into its group's accumulators as it
+     * arrives. Each group yields its first row followed by the aggregate results. Without keys there
+     * is exactly one group, even over no rows.
+     */
+    private fun aggregate(step: AggregateStep, bindings: Sequence<SlotRow>): Sequence<SlotRow> = sequence {
+        val groups = LinkedHashMap<List<Any?>, Group>()
+        for (binding in bindings) {
+            val key = step.keys.map { Aggregates.groupKey(evaluateExpression(it, binding)) }
+            val group = groups.getOrPut(key) { Group(binding.values, accumulators(step, binding)) }
+            step.aggregates.forEachIndexed { index, call ->
+                val value = if (Aggregates.countsRows(call)) Unit else evaluateExpression(call.args.first(), binding)
+                group.accumulators[index].add(value)
+            }
+        }
+        if (groups.isEmpty() && step.keys.isEmpty()) {
+            val empty = step.layout.emptyRow()
+            groups[emptyList()] = Group(arrayOfNulls(step.layout.size - step.aggregates.size), accumulators(step, empty))
+        }
+        for (group in groups.values) {
+            yield(SlotRow(step.layout, concat(group.values, Array(group.accumulators.size) { group.accumulators[it].result() })))
+        }
+    }.recording(step)
+
+    private fun accumulators(step: AggregateStep, binding: SlotRow): List<Accumulator> =
+        step.aggregates.map { call ->
+            val fraction = call.args.getOrNull(1)?.let { evaluateExpression(it, binding) }
+            Aggregates.accumulator(call, fraction, this::compare)
+        }
+
+    /** A group of [AggregateStep]: the variable values of its first row, and its running aggregates */
+    private class Group(val values: Array<Any?>, val accumulators: List<Accumulator>)
+
+    private fun concat(first: Array<Any?>, second: Array<Any?>): Array<Any?> =
+        Array(first.size + second.size) { if (it < first.size) first[it] else second[it - first.size] }
+
+    private fun columnMap(columns: List<String>, row: List<Any?>): Map<String, Any?> {
+        val map = LinkedHashMap<String, Any?>(columns.size * 2)
+        for (i in columns.indices) map[columns[i]] = row[i]
+        return map
+    }
+
+    /** A projected row with its ORDER BY keys; [index] keeps equal keys in arrival order */
+    private class SortableRow(val row: List<Any?>, val keys: List<Any?>, val index: Int)
+
+    private fun sortComparator(orderBy: List<OrderItem>): Comparator<SortableRow> = Comparator { a, b ->
+        for ((i, item) in orderBy.withIndex()) {
+            val result = compareSortKeys(a.keys[i], b.keys[i], item)
+            if (result != 0) return@Comparator result
+        }
+        a.index.compareTo(b.index)
+    }
+
+    private fun compareSortKeys(a: Any?, b: Any?, item: OrderItem): Int {
+        if (a == null || b == null) {
+            if (a == b) return 0
+            // Nulls sort as the largest value unless NULLS FIRST/LAST says otherwise
+            val nullsFirst = item.nullsFirst ?: item.descending
+            return if ((a == null) == nullsFirst) -1 else 1
+        }
+        val result = compare(a, b) ?: a.toString().compareTo(b.toString())
+        return if (item.descending) -result else result
+    }
+
+    /** The [k] smallest items in sorted order, holding at most [k] items at a time */
+    private fun <T> topK(items: Sequence<T>, k: Int, comparator: Comparator<T>): List<T> {
+        if (k <= 0) return emptyList()
+        val heap = PriorityQueue(minOf(k, TOP_K_INITIAL_CAPACITY) + 1, comparator.reversed())
+        for (item in items) {
+            heap.add(item)
+            if (heap.size > k) heap.poll()
+        }
+        return heap.sortedWith(comparator)
+    }
+
+    private fun <T> Sequence<T>.page(skip: Int, limit: Int?): Sequence<T> {
+        val skipped = if (skip > 0) drop(skip) else this
+        return if (limit != null) skipped.take(limit) else skipped
+    }
+
+    private fun saturatedAdd(a: Int, b: Int): Int = (a.toLong() + b).coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
+
+    /** Value of a SKIP or LIMIT expression, saturated to Int range */
+    private fun pageBound(expr: GqlExpression?, clause: String): Int? {
+        expr ?: return null
+        val value = evaluateExpression(expr, SlotLayout.EMPTY.emptyRow()) as? Number
+            ?: throw IllegalArgumentException("$clause must be an integer")
+        require(value.toLong() >= 0) { "$clause must not be negative: $value" }
+        return value.toLong().coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
     }
 
     private fun expressionName(expr: GqlExpression): String {
@@ -874,4 +935,9 @@ class GqlExecutor(private val engine: MDMEngine) {
             }
         }
     }
+
+    private companion object {
+        /** Heap capacity allocated up front for ORDER BY ... LIMIT; grows beyond as needed */
+        const val TOP_K_INITIAL_CAPACITY = 1024
+    }
 }
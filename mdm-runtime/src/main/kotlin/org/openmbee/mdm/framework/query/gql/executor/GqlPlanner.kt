@@ -0,0 +1,820 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+import org.openmbee.mdm.framework.query.gql.ast.*
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import java.util.Collections
+import java.util.IdentityHashMap
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Cost-based planner for GQL MATCH patterns.
+ *
+ * Each path pattern is split into chains of alternating nodes and edges (more than one only where
+ * two nodes meet), and each chain into an anchor node scan followed by edge expansions. The planner
+ * tries every node as the anchor and grows the bound segment one edge at a time towards whichever
+ * side produces fewer rows, walking edges backwards when it grows to the left. Patterns of one
+ * MATCH clause are joined greedily, cheapest first, so that patterns sharing variables with what is
+ * already bound expand from it instead of forming a cross product. EXISTS sub-patterns are planned
+ * the same way, as steps that start from a row binding every variable of the query.
+ *
+ * Cost is the estimated number of bindings touched, from class-index cardinalities and sampled
+ * association fan-out ([GqlStatistics]). Ties keep the textual left-to-right order. A node with a
+ * single label may be bound through a property index instead of a class scan when the metamodel
+ * declares one for a property it is matched on.
+ *
+ * WHERE is split into its AND-ed conjuncts; each conjunct runs as a filter right after the step
+ * that binds its last variable. Only clauses after the last OPTIONAL MATCH take pushed-down
+ * filters, since filtering the input of an optional clause changes whether it null-fills. Inline
+ * property maps are checked when their node is bound, and a node whose property map refers to
+ * other variables is only bound once those are.
+ */
+internal class GqlPlanner(
+    private val engine: MDMEngine,
+    private val statistics: GqlStatistics = GqlStatistics(engine)
+) {
+    private var anonymousCount = 0
+
+    fun plan(query: GqlQuery): QueryPlan {
+        val conjuncts = query.whereClause?.let { conjunctsOf(it.expression) }.orEmpty()
+            .map { Conjunct(it, referencedVariables(it)) }
+        var state = State(LinkedHashSet(), 1.0, 0.0, BooleanArray(conjuncts.size))
+        val lastOptional = query.matchClauses.indexOfLast { it.isOptional }
+
+        val clauses = query.matchClauses.mapIndexed { index, clause ->
+            val pushdown = index > lastOptional
+            val rowsBefore = state.rows
+            val steps = mutableListOf<PlanStep>()
+            state = planClause(clause, state, if (pushdown) conjuncts else emptyList(), steps)
+            val optionalStep = if (clause.isOptional) {
+                // Rows without a match are kept only when the whole clause matches nothing
+                state.rows = maxOf(state.rows, rowsBefore)
+                OptionalStep(clause, state.rows)
+            } else {
+                null
+            }
+            ClausePlan(clause, steps, optionalStep)
+        }
+
+        val residual = conjuncts.filterIndexed { index, _ -> !state.placed[index] }
+        val residualFilter = when {
+            residual.isEmpty() -> null
+            residual.size == conjuncts.size -> query.whereClause!!.expression
+            else -> residual.map { it.expression }.reduce { left, right -> BinaryOp(left, BinaryOperator.AND, right) }
+        }?.let { predicate ->
+            state.rows *= selectivity(predicate)
+            FilterStep(predicate, state.rows)
+        }
+
+        val variableOrder = variableOrder(query)
+        val existsPlans = planExists(query, variableOrder)
+        val layout = slotLayout(variableOrder, existsPlans.keys)
+        val aggregation = planAggregation(query.returnClause, layout, state.rows)
+        return QueryPlan(
+            query = query,
+            clauses = clauses,
+            residualFilter = residualFilter,
+            aggregation = aggregation,
+            returnStep = ReturnStep(query.returnClause, limited(aggregation?.estimatedRows ?: state.rows, query.returnClause)),
+            variableOrder = variableOrder,
+            layout = layout,
+            existsPlans = existsPlans
+        )
+    }
+
+    // ===== Clauses and patterns =====
+
+    private fun planClause(
+        clause: MatchClause,
+        initial: State,
+        conjuncts: List<Conjunct>,
+        steps: MutableList<PlanStep>
+    ): State = planPatterns(clause.patterns, initial, conjuncts, steps)
+
+    /** Plan the chains of [patterns] greedily, cheapest first, then bind each path variable */
+    private fun planPatterns(
+        patterns: List<PathPattern>,
+        initial: State,
+        conjuncts: List<Conjunct>,
+        steps: MutableList<PlanStep>
+    ): State {
+        var state = initial
+        // Name anonymous nodes once, so that every candidate plan refers to the same variables
+        val remaining = patterns.flatMap { pattern -> chainsOf(pattern).map { pattern to it } }.toMutableList()
+
+        while (remaining.isNotEmpty()) {
+            var best: Candidate? = null
+            var bestIndex = 0
+            for ((index, entry) in remaining.withIndex()) {
+                val candidate = planChain(entry.second, state, conjuncts, strict = true) ?: continue
+                if (best == null || cheaper(candidate.state.cost, best.state.cost)) {
+                    best = candidate
+                    bestIndex = index
+                }
+            }
+            // Every chain waits on a property map that refers to a variable bound later: take the
+            // first one as written, and let the map read the unbound variable as null
+            if (best == null) best = planChain(remaining.first().second, state, conjuncts, strict = false)!!
+            steps += best.steps
+            state = best.state
+            val pattern = remaining.removeAt(bestIndex).first
+            if (pattern.variable != null && remaining.none { it.first === pattern }) {
+                state = bindPath(pattern, state, conjuncts, steps)
+            }
+        }
+        return state
+    }
+
+    private fun bindPath(pattern: PathPattern, initial: State, conjuncts: List<Conjunct>, steps: MutableList<PlanStep>): State {
+        val state = initial.copy()
+        state.bound += pattern.variable!!
+        state.cost += state.rows
+        steps += BindPathStep(pattern, state.rows)
+        placeFilters(state, conjuncts, steps)
+        return state
+    }
+
+    /**
+     * Cheapest plan for [chain] over all anchors, or null if no anchor is valid. When not [strict],
+     * nodes are bound even if their property maps refer to variables that are not bound yet.
+     */
+    private fun planChain(chain: Chain, state: State, conjuncts: List<Conjunct>, strict: Boolean): Candidate? {
+        var best: Candidate? = null
+        for (anchor in chain.nodes.indices) {
+            val candidate = planFromAnchor(chain, anchor, state, conjuncts, strict) ?: continue
+            if (best == null || cheaper(candidate.state.cost, best.state.cost)) best = candidate
+        }
+        return best
+    }
+
+    private fun planFromAnchor(
+        chain: Chain,
+        anchor: Int,
+        initial: State,
+        conjuncts: List<Conjunct>,
+        strict: Boolean
+    ): Candidate? {
+        var current = bindNode(chain.nodes[anchor], initial, conjuncts, strict) ?: return null
+        var left = anchor
+        var right = anchor
+        while (left > 0 || right < chain.nodes.lastIndex) {
+            val toRight = if (right < chain.nodes.lastIndex) expand(chain, right, right + 1, current.state, conjuncts, strict) else null
+            val toLeft = if (left > 0) expand(chain, left, left - 1, current.state, conjuncts, strict) else null
+            val next = when {
+                toRight == null && toLeft == null -> return null
+                toLeft == null -> toRight!!
+                toRight == null -> toLeft
+                toLeft.state.rows < toRight.state.rows -> toLeft
+                else -> toRight
+            }
+            if (next === toRight) right++ else left--
+            current = Candidate(current.steps + next.steps, next.state)
+        }
+        return current
+    }
+
+    private fun bindNode(node: NodePattern, initial: State, conjuncts: List<Conjunct>, strict: Boolean): Candidate? {
+        if (strict && !dependenciesBound(node, initial.bound)) return null
+        val state = initial.copy()
+        val variable = node.variable!!
+        val step: PlanStep
+        if (variable in state.bound) {
+            state.cost += state.rows
+            state.rows *= propertySelectivity(node)
+            step = NodeScanStep(node, true, state.rows)
+        } else {
+            val cardinality = statistics.nodeCardinality(node.labels)
+            val access = indexAccesses(node, conjuncts, state.placed).minByOrNull { it.rows }
+            if (access != null && cheaper(access.rows, cardinality)) {
+                access.conjuncts.forEach { state.placed[it] = true }
+                state.cost += state.rows * access.rows
+                state.rows *= access.rows * access.residualSelectivity
+                step = access.step(state.rows)
+            } else {
+                state.cost += state.rows * cardinality
+                state.rows *= cardinality * propertySelectivity(node)
+                step = NodeScanStep(node, false, state.rows)
+            }
+            state.bound += variable
+        }
+        val steps = mutableListOf(step)
+        placeFilters(state, conjuncts, steps)
+        return Candidate(steps, state)
+    }
+
+    /**
+     * Property index lookups that can bind [node] instead of a class scan: an equality from its
+     * property map or from a WHERE conjunct, or a range from comparison conjuncts when the index is
+     * sorted. Only literals of the property's own kind are looked up, so that index keys compare
+     * exactly as the executor does; conjuncts answered by an index need no filter afterwards.
+     * Parameters are looked up by equality only, and have their kind checked when the query runs.
+     */
+    private fun indexAccesses(node: NodePattern, conjuncts: List<Conjunct>, placed: BooleanArray): List<IndexAccess> {
+        val label = node.labels.singleOrNull() ?: return emptyList()
+        val variable = node.variable!!
+        val accesses = mutableListOf<IndexAccess>()
+        val mapSelectivity = propertySelectivity(node)
+
+        node.properties?.forEach { (property, expr) ->
+            val value = lookupValue(expr) ?: return@forEach
+            val type = indexedType(label, property, value, ordered = false) ?: return@forEach
+            val rows = seekRows(node, property, value)
+            accesses += IndexAccess(rows, mapSelectivity / EQUALITY_SELECTIVITY, emptyList()) { estimate ->
+                IndexSeekStep(node, label, property, value, type, estimate)
+            }
+        }
+
+        val lower = HashMap<String, Pair<Int, Comparison>>()
+        val upper = HashMap<String, Pair<Int, Comparison>>()
+        for ((index, conjunct) in conjuncts.withIndex()) {
+            if (placed[index]) continue
+            val comparison = comparisonOf(conjunct.expression, variable) ?: continue
+            val property = comparison.property
+            when (comparison.operator) {
+                BinaryOperator.EQUALS -> {
+                    val type = indexedType(label, property, comparison.value, ordered = false) ?: continue
+                    val rows = seekRows(node, property, comparison.value)
+                    accesses += IndexAccess(rows, mapSelectivity, listOf(index)) { estimate ->
+                        IndexSeekStep(node, label, property, comparison.value, type, estimate)
+                    }
+                }
+                BinaryOperator.GREATER_THAN, BinaryOperator.GREATER_THAN_OR_EQUALS ->
+                    if (indexedType(label, property, comparison.value, ordered = true) != null) {
+                        lower.putIfAbsent(property, index to comparison)
+                    }
+                else ->
+                    if (indexedType(label, property, comparison.value, ordered = true) != null) {
+                        upper.putIfAbsent(property, index to comparison)
+                    }
+            }
+        }
+
+        for (property in lower.keys + upper.keys) {
+            val from = lower[property]
+            val to = upper[property]
+            // Bounds of different kinds never match anything; leave them to the filters
+            if (from != null && to != null && (from.second.literal is Number) != (to.second.literal is Number)) continue
+            val bounds = listOfNotNull(from, to)
+            val rows = statistics.nodeCardinality(node.labels) * bounds.fold(1.0) { acc, _ -> acc * DEFAULT_SELECTIVITY }
+            accesses += IndexAccess(rows, mapSelectivity, bounds.map { it.first }) { estimate ->
+                IndexRangeStep(
+                    node, label, property,
+                    from?.second?.literal, from?.second?.operator == BinaryOperator.GREATER_THAN_OR_EQUALS,
+                    to?.second?.literal, to?.second?.operator == BinaryOperator.LESS_THAN_OR_EQUALS,
+                    estimate
+                )
+            }
+        }
+        return accesses
+    }
+
+    /** [expr] as `variable.property <op> value`, with the literal or parameter moved to the right */
+    private fun comparisonOf(expr: GqlExpression, variable: String): Comparison? {
+        if (expr !is BinaryOp) return null
+        val flipped = when (expr.operator) {
+            BinaryOperator.EQUALS -> BinaryOperator.EQUALS
+            BinaryOperator.LESS_THAN -> BinaryOperator.GREATER_THAN
+            BinaryOperator.LESS_THAN_OR_EQUALS -> BinaryOperator.GREATER_THAN_OR_EQUALS
+            BinaryOperator.GREATER_THAN -> BinaryOperator.LESS_THAN
+            BinaryOperator.GREATER_THAN_OR_EQUALS -> BinaryOperator.LESS_THAN_OR_EQUALS
+            else -> return null
+        }
+        fun access(e: GqlExpression) = (e as? PropertyAccess)?.takeIf { (it.base as? VariableRef)?.name == variable }
+        val left = access(expr.left)
+        val right = access(expr.right)
+        return when {
+            left != null -> lookupValue(expr.right)?.let { Comparison(left.property, expr.operator, it) }
+            right != null -> lookupValue(expr.left)?.let { Comparison(right.property, flipped, it) }
+            else -> null
+        }
+    }
+
+    /** [expr] if an index could look it up: a non-null literal or a parameter */
+    private fun lookupValue(expr: GqlExpression): GqlExpression? = when (expr) {
+        is Literal -> expr.takeIf { it.value != null }
+        is Parameter -> expr
+        else -> null
+    }
+
+    /** Elements an index seek for [value] returns; a parameter is estimated like any equality */
+    private fun seekRows(node: NodePattern, property: String, value: GqlExpression): Double = when (value) {
+        is Literal -> engine.countElementsByProperty(node.labels.single(), property, value.value!!).toDouble()
+        else -> statistics.nodeCardinality(node.labels) * EQUALITY_SELECTIVITY
+    }
+
+    /**
+     * The declared type of [label].[property] if a property index may answer lookups of [value] on
+     * it: an index must cover the class (a sorted one for [ordered] lookups), and the property must be
+     * a single-valued stored attribute. A literal must also be of the attribute's kind; a parameter
+     * is only ever looked up by equality, and its kind is checked once it is bound.
+     */
+    private fun indexedType(label: String, property: String, value: GqlExpression, ordered: Boolean): String? {
+        if (ordered && value !is Literal) return null
+        if (engine.propertyIndexKind(label, property) == null) return null
+        if (ordered && engine.propertyIndexes.indexFor(label, property, needsOrder = true) == null) return null
+        val registry = engine.metamodelRegistry
+        val attribute = (listOf(label) + registry.getAllSuperclasses(label)).firstNotNullOfOrNull { className ->
+            registry.getClass(className)?.attributes?.firstOrNull { it.name == property }
+        } ?: return null
+        if (attribute.isDerived || attribute.upperBound != 1) return null
+        if (value is Literal && !indexes(value.value, attribute.type, ordered)) return null
+        return attribute.type
+    }
+
+    private fun expand(
+        chain: Chain,
+        fromIndex: Int,
+        toIndex: Int,
+        initial: State,
+        conjuncts: List<Conjunct>,
+        strict: Boolean
+    ): Candidate? {
+        val reversed = toIndex < fromIndex
+        val edge = chain.edges[minOf(fromIndex, toIndex)]
+        if (reversed && !isReversible(edge)) return null
+        val target = chain.nodes[toIndex]
+        if (strict && !dependenciesBound(target, initial.bound)) return null
+
+        val state = initial.copy()
+        val executed = if (reversed) reverse(edge) else edge
+        val fanOut = statistics.fanOut(executed)
+        val targetVariable = target.variable!!
+        val targetBound = targetVariable in state.bound
+        val selectivity = if (targetBound) {
+            1.0 / maxOf(1.0, statistics.nodeCardinality(target.labels))
+        } else {
+            statistics.labelSelectivity(executed, target.labels)
+        }
+        state.cost += state.rows * (1.0 + fanOut)
+        state.rows *= fanOut * selectivity * propertySelectivity(target)
+        state.bound += targetVariable
+        edge.variable?.let { state.bound += it }
+
+        val steps = mutableListOf<PlanStep>(
+            ExpandStep(chain.nodes[fromIndex], executed, target, targetBound, reversed, chain.search, state.rows)
+        )
+        placeFilters(state, conjuncts, steps)
+        return Candidate(steps, state)
+    }
+
+    /** Append a filter for every pushable conjunct whose variables are now all bound */
+    private fun placeFilters(state: State, conjuncts: List<Conjunct>, steps: MutableList<PlanStep>) {
+        for ((index, conjunct) in conjuncts.withIndex()) {
+            if (state.placed[index]) continue
+            val variables = conjunct.variables ?: continue
+            if (!state.bound.containsAll(variables)) continue
+            state.placed[index] = true
+            state.cost += state.rows
+            state.rows *= selectivity(conjunct.expression)
+            steps += FilterStep(conjunct.expression, state.rows)
+        }
+    }
+
+    // ===== Pattern structure =====
+
+    /**
+     * Split [pattern] into chains of alternating nodes and edges, naming anonymous nodes so that
+     * expansions can start from them. Nested sub-paths are spliced in. The pattern splits where two
+     * nodes meet, and the chains then join on shared variables like separate patterns; an edge with
+     * no node on one side gets an anonymous one.
+     */
+    private fun chainsOf(pattern: PathPattern): List<Chain> {
+        val chains = mutableListOf<Chain>()
+        var nodes = mutableListOf<NodePattern>()
+        var edges = mutableListOf<EdgePattern>()
+        fun anonymous(node: NodePattern = NodePattern(null, emptyList(), null)) =
+            node.variable?.let { node } ?: node.copy(variable = ANONYMOUS_PREFIX + anonymousCount++)
+
+        for (element in flatten(pattern)) {
+            when (element) {
+                is NodePattern -> {
+                    if (nodes.size > edges.size) {
+                        chains += Chain(nodes, edges, pattern.search)
+                        nodes = mutableListOf()
+                        edges = mutableListOf()
+                    }
+                    nodes += anonymous(element)
+                }
+                is EdgePattern -> {
+                    if (nodes.size == edges.size) nodes += anonymous()
+                    edges += element
+                }
+                is PathPattern -> {}
+            }
+        }
+        if (edges.isNotEmpty() && nodes.size == edges.size) nodes += anonymous()
+        if (nodes.isNotEmpty()) chains += Chain(nodes, edges, pattern.search)
+        return chains
+    }
+
+    /** The nodes and edges of [pattern], with nested sub-paths spliced in */
+    private fun flatten(pattern: PathPattern): List<GraphPattern> = pattern.elements.flatMap { element ->
+        if (element is PathPattern) flatten(element) else listOf(element)
+    }
+
+    /**
+     * Only plain edges over registered associations are walked backwards: a variable-length edge
+     * binds its path in traversal order, and an end-name label navigates differently per direction.
+     */
+    private fun isReversible(edge: EdgePattern): Boolean =
+        edge.quantifier == null && edge.labels.all { engine.metamodelRegistry.getAssociation(it) != null }
+
+    private fun dependenciesBound(node: NodePattern, bound: Set<String>): Boolean {
+        val properties = node.properties ?: return true
+        return properties.values.all { expr ->
+            val variables = referencedVariables(expr) ?: return@all true
+            variables.all { it == node.variable || it in bound }
+        }
+    }
+
+    private fun variableOrder(query: GqlQuery): List<String> {
+        val order = LinkedHashSet<String>()
+        for (clause in query.matchClauses) {
+            clause.patterns.forEach { collectVariables(it, order) }
+        }
+        return order.toList()
+    }
+
+    /**
+     * Slots for the query's variables in [variableOrder], then anonymous nodes, then variables that
+     * only the [exists] sub-patterns bind.
+     */
+    private fun slotLayout(variableOrder: List<String>, exists: Collection<ExistsExpr>): SlotLayout {
+        val variables = LinkedHashSet(variableOrder)
+        repeat(anonymousCount) { variables += ANONYMOUS_PREFIX + it }
+        exists.forEach { collectVariables(it.pattern, variables) }
+        return SlotLayout(variables.toList())
+    }
+
+    /**
+     * Steps for every EXISTS sub-pattern of [query], by identity. A sub-pattern is evaluated on a
+     * row binding every variable of the query's MATCH clauses (and of any sub-pattern it is nested
+     * in), so its steps start from those.
+     */
+    private fun planExists(query: GqlQuery, variableOrder: List<String>): Map<ExistsExpr, List<PlanStep>> {
+        val plans = IdentityHashMap<ExistsExpr, List<PlanStep>>()
+        fun plan(exists: Set<ExistsExpr>, bound: Set<String>) {
+            for (expr in exists) {
+                if (expr in plans) continue
+                val steps = mutableListOf<PlanStep>()
+                val state = planPatterns(listOf(expr.pattern), State(LinkedHashSet(bound), 1.0, 0.0, BooleanArray(0)), emptyList(), steps)
+                plans[expr] = steps
+                plan(existsIn { collectExists(expr.pattern, it) }, state.bound)
+            }
+        }
+
+        val clause = query.returnClause
+        val expressions = listOfNotNull(query.whereClause?.expression) +
+            clause.items.map { it.expression } + clause.orderBy.map { it.expression }
+        plan(existsIn { into ->
+            expressions.forEach { collectExists(it, into) }
+            query.matchClauses.forEach { match -> match.patterns.forEach { collectExists(it, into) } }
+        }, variableOrder.toSet())
+        return plans
+    }
+
+    private fun existsIn(collect: (MutableSet<ExistsExpr>) -> Unit): Set<ExistsExpr> =
+        Collections.newSetFromMap(IdentityHashMap<ExistsExpr, Boolean>()).also(collect)
+
+    private fun collectExists(pattern: PathPattern, into: MutableSet<ExistsExpr>) {
+        for (element in pattern.elements) {
+            when (element) {
+                is NodePattern -> element.properties?.values?.forEach { collectExists(it, into) }
+                is EdgePattern -> element.properties?.values?.forEach { collectExists(it, into) }
+                is PathPattern -> collectExists(element, into)
+            }
+        }
+    }
+
+    private fun collectExists(expr: GqlExpression, into: MutableSet<ExistsExpr>) {
+        val children = when (expr) {
+            is ExistsExpr -> {
+                into += expr
+                return
+            }
+            is VariableRef, is Literal, is Parameter -> emptyList()
+            is PropertyAccess -> listOf(expr.base)
+            is BinaryOp -> listOf(expr.left, expr.right)
+            is UnaryOp -> listOf(expr.operand)
+            is FunctionCall -> expr.args
+            is ListExpr -> expr.elements
+            is InExpr -> listOf(expr.value, expr.list)
+            is IsNullExpr -> listOf(expr.value)
+            is CaseExpr -> listOfNotNull(expr.operand, expr.elseExpr) +
+                expr.whenClauses.flatMap { listOf(it.condition, it.result) }
+            is LabelCheck -> listOf(expr.variable)
+        }
+        children.forEach { collectExists(it, into) }
+    }
+
+    private fun collectVariables(pattern: PathPattern, into: MutableSet<String>) {
+        for (element in pattern.elements) {
+            when (element) {
+                is NodePattern -> element.variable?.let { into += it }
+                is EdgePattern -> element.variable?.let { into += it }
+                is PathPattern -> collectVariables(element, into)
+            }
+        }
+        pattern.variable?.let { into += it }
+    }
+
+    // ===== Aggregation =====
+
+    /**
+     * Hash aggregation for a RETURN clause that calls aggregate functions or has a GROUP BY; null
+     * for one that does neither. The keys are the GROUP BY variables and the items that do not
+     * aggregate; aggregates in sort keys are computed alongside those of the items.
+     */
+    private fun planAggregation(clause: ReturnClause, layout: SlotLayout, rows: Double): AggregateStep? {
+        if (clause.returnAll) return null
+        val aggregates = mutableListOf<FunctionCall>()
+        val items = clause.items.map { it.copy(expression = replaceAggregates(it.expression, aggregates)) }
+        val orderBy = clause.orderBy.map { it.copy(expression = replaceAggregates(it.expression, aggregates)) }
+        if (aggregates.isEmpty() && clause.groupBy == null) return null
+
+        val keys = LinkedHashSet<GqlExpression>()
+        clause.groupBy?.forEach { keys += VariableRef(it) }
+        clause.items.filter { !containsAggregate(it.expression) }.forEach { keys += it.expression }
+
+        val output = SlotLayout(layout.variables + aggregates.indices.map { AGGREGATE_PREFIX + it })
+        val groups = if (keys.isEmpty()) 1.0 else min(rows, max(1.0, rows * GROUP_SELECTIVITY))
+        return AggregateStep(keys.toList(), aggregates, clause.copy(items = items, orderBy = orderBy), output, groups)
+    }
+
+    /** [expr] with every aggregate call replaced by a reference to its slot among [aggregates] */
+    private fun replaceAggregates(expr: GqlExpression, aggregates: MutableList<FunctionCall>): GqlExpression {
+        fun replace(e: GqlExpression) = replaceAggregates(e, aggregates)
+        return when (expr) {
+            is FunctionCall -> if (Aggregates.isAggregate(expr)) {
+                val index = aggregates.indexOf(expr).takeIf { it >= 0 } ?: aggregates.size.also { aggregates += expr }
+                VariableRef(AGGREGATE_PREFIX + index)
+            } else {
+                expr.copy(args = expr.args.map(::replace))
+            }
+            is VariableRef, is Literal, is Parameter, is ExistsExpr -> expr
+            is PropertyAccess -> expr.copy(base = replace(expr.base))
+            is BinaryOp -> expr.copy(left = replace(expr.left), right = replace(expr.right))
+            is UnaryOp -> expr.copy(operand = replace(expr.operand))
+            is ListExpr -> expr.copy(elements = expr.elements.map(::replace))
+            is InExpr -> expr.copy(value = replace(expr.value), list = replace(expr.list))
+            is IsNullExpr -> expr.copy(value = replace(expr.value))
+            is CaseExpr -> CaseExpr(
+                expr.operand?.let(::replace),
+                expr.whenClauses.map { WhenClause(replace(it.condition), replace(it.result)) },
+                expr.elseExpr?.let(::replace)
+            )
+            is LabelCheck -> expr.copy(variable = replace(expr.variable))
+        }
+    }
+
+    private fun containsAggregate(expr: GqlExpression): Boolean =
+        mutableListOf<FunctionCall>().also { replaceAggregates(expr, it) }.isNotEmpty()
+
+    // ===== Predicates =====
+
+    private fun conjunctsOf(expr: GqlExpression): List<GqlExpression> =
+        if (expr is BinaryOp && expr.operator == BinaryOperator.AND) {
+            conjunctsOf(expr.left) + conjunctsOf(expr.right)
+        } else {
+            listOf(expr)
+        }
+
+    /** Variables [expr] reads; null if it contains a sub-pattern, which is never pushed down */
+    private fun referencedVariables(expr: GqlExpression): Set<String>? {
+        val variables = mutableSetOf<String>()
+        fun visit(e: GqlExpression): Boolean = when (e) {
+            is VariableRef -> variables.add(e.name).let { true }
+            is PropertyAccess -> visit(e.base)
+            is Literal, is Parameter -> true
+            is BinaryOp -> visit(e.left) && visit(e.right)
+            is UnaryOp -> visit(e.operand)
+            is FunctionCall -> e.args.all { visit(it) }
+            is ListExpr -> e.elements.all { visit(it) }
+            is InExpr -> visit(e.value) && visit(e.list)
+            is IsNullExpr -> visit(e.value)
+            is CaseExpr -> (e.operand?.let { visit(it) } ?: true) &&
+                e.whenClauses.all { visit(it.condition) && visit(it.result) } &&
+                (e.elseExpr?.let { visit(it) } ?: true)
+            is LabelCheck -> visit(e.variable)
+            is ExistsExpr -> false
+        }
+        return if (visit(expr)) variables else null
+    }
+
+    private fun selectivity(expr: GqlExpression): Double = when {
+        expr is BinaryOp && expr.operator == BinaryOperator.AND -> selectivity(expr.left) * selectivity(expr.right)
+        expr is BinaryOp && expr.operator == BinaryOperator.EQUALS -> EQUALITY_SELECTIVITY
+        expr is InExpr && !expr.negated -> IN_SELECTIVITY
+        else -> DEFAULT_SELECTIVITY
+    }
+
+    private fun propertySelectivity(node: NodePattern): Double {
+        var selectivity = 1.0
+        repeat(node.properties?.size ?: 0) { selectivity *= EQUALITY_SELECTIVITY }
+        return selectivity
+    }
+
+    private fun limited(rows: Double, clause: ReturnClause): Double {
+        val limit = (clause.limit as? Literal)?.value as? Number ?: return rows
+        return min(rows, limit.toDouble())
+    }
+
+    private fun cheaper(cost: Double, than: Double): Boolean = cost < than * (1.0 - COST_TOLERANCE)
+
+    // ===== Planning state =====
+
+    /** Alternating nodes and edges of a path pattern; [search] is the pattern's */
+    private class Chain(val nodes: List<NodePattern>, val edges: List<EdgePattern>, val search: PathSearch)
+
+    private class Conjunct(val expression: GqlExpression, val variables: Set<String>?)
+
+    private class State(
+        val bound: MutableSet<String>,
+        var rows: Double,
+        var cost: Double,
+        /** Which WHERE conjuncts already have a filter step */
+        val placed: BooleanArray
+    ) {
+        fun copy() = State(LinkedHashSet(bound), rows, cost, placed.copyOf())
+    }
+
+    private class Candidate(val steps: List<PlanStep>, val state: State)
+
+    /** `property <operator> value` on one node variable, as written in a WHERE conjunct */
+    private class Comparison(val property: String, val operator: BinaryOperator, val value: GqlExpression) {
+        /** The value of a literal comparison */
+        val literal: Any?
+            get() = (value as? Literal)?.value
+    }
+
+    /**
+     * A property index lookup binding a node: [rows] elements are expected, of which the node's
+     * other properties keep [residualSelectivity]; [conjuncts] are the WHERE conjuncts it answers.
+     */
+    private class IndexAccess(
+        val rows: Double,
+        val residualSelectivity: Double,
+        val conjuncts: List<Int>,
+        val step: (Double) -> PlanStep
+    )
+
+    companion object {
+        /** Prefix of the variables given to anonymous nodes; never projected */
+        const val ANONYMOUS_PREFIX = "__anon"
+
+        /** Prefix of the slots holding aggregate results */
+        private const val AGGREGATE_PREFIX = "__agg"
+
+        private const val EQUALITY_SELECTIVITY = 0.1
+        private const val IN_SELECTIVITY = 0.2
+        private const val DEFAULT_SELECTIVITY = 0.5
+        private const val COST_TOLERANCE = 1e-9
+
+        /** Share of the input rows expected to start a group of their own */
+        private const val GROUP_SELECTIVITY = 0.1
+
+        /** Attribute types whose values are numbers, and so share numeric index keys */
+        private val NUMERIC_TYPES = setOf("Integer", "Real", "Double", "Float", "Long", "Natural")
+
+        /**
+         * Whether an index on an attribute of type [type] finds exactly the elements whose value equals
+         * [value] (or, when [ordered], compares with it) the way the executor compares values.
+         */
+        fun indexes(value: Any?, type: String, ordered: Boolean): Boolean = when (value) {
+            is String -> type == "String"
+            is Boolean -> !ordered && type == "Boolean"
+            is Number -> type in NUMERIC_TYPES
+            else -> false
+        }
+
+        /** Edge direction that walks [edge] from its right node back to its left node */
+        fun reverse(edge: EdgePattern): EdgePattern = edge.copy(
+            direction = when (Navigation.of(edge.direction)) {
+                Navigation.TARGETS -> EdgeDirection.LEFT
+                Navigation.SOURCES -> EdgeDirection.RIGHT
+                Navigation.BOTH -> EdgeDirection.UNDIRECTED
+            }
+        )
+    }
+}
+
+/**
+ * Which link ends an edge pattern follows from its bound node, as evaluated by the executor.
+ */
+internal enum class Navigation {
+    TARGETS, SOURCES, BOTH;
+
+    companion object {
+        fun of(direction: EdgeDirection): Navigation = when (direction) {
+            EdgeDirection.LEFT, EdgeDirection.LEFT_OR_UNDIRECTED -> SOURCES
+            EdgeDirection.UNDIRECTED -> BOTH
+            else -> TARGETS
+        }
+    }
+}
+
+/**
+ * Cardinality statistics for [GqlPlanner], gathered lazily per query.
+ *
+ * Node cardinalities are read from the engine's class index without materializing extents.
+ * Association fan-out is the average link count over a sample of the elements at the navigated
+ * end, capped by the multiplicity of the far end.
+ */
+internal class GqlStatistics(private val engine: MDMEngine) {
+    private val classCounts = HashMap<String, Int>()
+    private val fanOuts = HashMap<Pair<String, Navigation>, Double>()
+
+    val elementCount: Double by lazy { engine.elementCount().toDouble() }
+
+    /** Elements matching any of [labels]; overlapping labels are counted once per label */
+    fun nodeCardinality(labels: List<String>): Double =
+        if (labels.isEmpty()) elementCount else labels.sumOf { classCount(it) }.toDouble()
+
+    /** Average number of elements reached from one bound element across [edge] */
+    fun fanOut(edge: EdgePattern): Double {
+        val navigation = Navigation.of(edge.direction)
+        val single = if (edge.labels.isEmpty()) {
+            DEFAULT_FAN_OUT
+        } else {
+            edge.labels.sumOf { associationFanOut(it, navigation) }
+        }
+        val quantifier = edge.quantifier ?: return single
+        val maxHops = when (quantifier) {
+            is FixedQuantifier -> quantifier.count
+            is RangeQuantifier -> quantifier.max ?: MAX_ESTIMATED_HOPS
+        }.coerceAtMost(MAX_ESTIMATED_HOPS)
+        var reached = 0.0
+        var frontier = 1.0
+        repeat(maxHops) {
+            frontier *= single
+            reached += frontier
+        }
+        return min(reached, elementCount)
+    }
+
+    /** Fraction of the elements reached across [edge] that carry one of [labels] */
+    fun labelSelectivity(edge: EdgePattern, labels: List<String>): Double {
+        if (labels.isEmpty() || edge.labels.isEmpty()) return 1.0
+        val navigation = Navigation.of(edge.direction)
+        var reachable = 0.0
+        for (label in edge.labels) {
+            val association = engine.metamodelRegistry.getAssociation(label) ?: return 1.0
+            if (navigation != Navigation.SOURCES) reachable += classCount(association.targetEnd.type)
+            if (navigation != Navigation.TARGETS) reachable += classCount(association.sourceEnd.type)
+        }
+        if (reachable <= 0.0) return 1.0
+        return min(1.0, nodeCardinality(labels) / reachable)
+    }
+
+    private fun classCount(className: String): Int =
+        classCounts.getOrPut(className) { engine.countElementsByClass(className) }
+
+    private fun associationFanOut(associationName: String, navigation: Navigation): Double =
+        fanOuts.getOrPut(associationName to navigation) {
+            when (navigation) {
+                Navigation.BOTH -> associationFanOut(associationName, Navigation.TARGETS) +
+                    associationFanOut(associationName, Navigation.SOURCES)
+                else -> sampleFanOut(associationName, navigation == Navigation.TARGETS)
+            }
+        }
+
+    private fun sampleFanOut(associationName: String, forward: Boolean): Double {
+        val association = engine.metamodelRegistry.getAssociation(associationName) ?: return DEFAULT_FAN_OUT
+        val fromEnd = if (forward) association.sourceEnd else association.targetEnd
+        val farEnd = if (forward) association.targetEnd else association.sourceEnd
+        val sample = engine.sampleElementIdsByClass(fromEnd.type, FAN_OUT_SAMPLE_SIZE)
+        if (sample.isEmpty()) return 0.0
+        val links = sample.sumOf { id ->
+            if (forward) {
+                engine.getLinkedTargets(associationName, id).size
+            } else {
+                engine.getLinkedSources(associationName, id).size
+            }
+        }
+        val average = links.toDouble() / sample.size
+        return if (farEnd.upperBound >= 0) min(average, farEnd.upperBound.toDouble()) else average
+    }
+
+    companion object {
+        /** Fan-out assumed for unlabeled edges and unknown associations */
+        const val DEFAULT_FAN_OUT = 4.0
+
+        private const val FAN_OUT_SAMPLE_SIZE = 64
+        private const val MAX_ESTIMATED_HOPS = 4
+    }
+}
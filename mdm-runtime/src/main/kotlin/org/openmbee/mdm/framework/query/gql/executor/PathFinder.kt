@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+import org.openmbee.mdm.framework.query.gql.ast.*
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MDMObject
+
+/** An element reached across an edge, with the value its edge variable binds (if it has one) */
+internal data class EdgeMatch(val edgeValue: Any?, val target: MDMObject)
+
+/**
+ * Traversal of quantified (variable-length) edges for [GqlExecutor].
+ *
+ * A quantified edge matches every element whose shortest distance from the start lies within the
+ * quantifier's bounds; a range without a maximum is unbounded. Its edge variable binds the elements
+ * of a shortest path, start included, or one row per shortest path under [PathSearch.ALL_SHORTEST].
+ *
+ * Searches are breadth-first, one level at a time, and keep a parent pointer per reached element so
+ * that paths are only built when bound. When both ends are bound the search runs from both sides,
+ * always growing the smaller frontier. Unbounded edges whose paths are not bound are answered from
+ * the engine's reachability index when one covers exactly their associations.
+ */
+internal class PathFinder(private val engine: MDMEngine) {
+
+    /** Matches of quantified [edge] starting from [source], produced lazily level by level */
+    fun expand(source: MDMObject, edge: EdgePattern, search: PathSearch): Sequence<EdgeMatch> {
+        if (!edge.properties.isNullOrEmpty()) return emptySequence()
+        val bounds = Bounds.of(edge.quantifier!!)
+        reachable(source, edge, bounds)?.let { ids ->
+            val zeroHop = if (bounds.min == 0) sequenceOf(EdgeMatch(null, source)) else emptySequence()
+            return zeroHop + ids.asSequence().filter { it != source.id }.mapNotNull { engine.getElement(it) }
+                .map { EdgeMatch(null, it) }
+        }
+        return singleSource(source, edge, bounds, search)
+    }
+
+    /** Matches of quantified [edge] from [source] that end at the already bound [target] */
+    fun connect(source: MDMObject, target: MDMObject, edge: EdgePattern, search: PathSearch): Sequence<EdgeMatch> {
+        if (!edge.properties.isNullOrEmpty()) return emptySequence()
+        val sourceId = source.id ?: return emptySequence()
+        val targetId = target.id ?: return emptySequence()
+        val bounds = Bounds.of(edge.quantifier!!)
+        if (sourceId == targetId) {
+            return if (bounds.min == 0) sequenceOf(EdgeMatch(edge.variable?.let { listOf(source) }, source)) else emptySequence()
+        }
+        reachable(source, edge, bounds)?.let { ids ->
+            return if (targetId in ids) sequenceOf(EdgeMatch(null, target)) else emptySequence()
+        }
+        if (!isReversible(edge) || (search == PathSearch.ALL_SHORTEST && edge.variable != null)) {
+            return singleSource(source, edge, bounds, search).filter { it.target.id == targetId }
+        }
+        return bidirectional(source, target, edge, bounds)?.let { sequenceOf(it) } ?: emptySequence()
+    }
+
+    // ===== Searches =====
+
+    private fun singleSource(source: MDMObject, edge: EdgePattern, bounds: Bounds, search: PathSearch): Sequence<EdgeMatch> =
+        sequence {
+            val sourceId = source.id ?: return@sequence
+            val navigation = Navigation.of(edge.direction)
+            val start = Reached(source, 0)
+            val visited = hashMapOf(sourceId to start)
+            if (bounds.min == 0) yieldAll(matches(start, edge, search))
+
+            var frontier = listOf(start)
+            var depth = 0
+            while (frontier.isNotEmpty() && bounds.allows(depth + 1)) {
+                depth++
+                val next = ArrayList<Reached>()
+                for (node in frontier) {
+                    for (neighbour in neighbours(node.element, edge.labels, navigation)) {
+                        val id = neighbour.id ?: continue
+                        val seen = visited[id]
+                        if (seen == null) {
+                            val reached = Reached(neighbour, depth, node)
+                            visited[id] = reached
+                            next += reached
+                        } else if (search == PathSearch.ALL_SHORTEST && seen.depth == depth && seen.parents.none { it === node }) {
+                            seen.parents += node
+                        }
+                    }
+                }
+                // A level's parents are complete only once the level before it is fully expanded
+                if (depth >= bounds.min) next.forEach { yieldAll(matches(it, edge, search)) }
+                frontier = next
+            }
+        }
+
+    /**
+     * One shortest path from [source] to [target], searching from both ends; null if their distance
+     * is outside [bounds]. Each round grows the smaller frontier by one level and keeps the shortest
+     * meeting found in that level.
+     */
+    private fun bidirectional(source: MDMObject, target: MDMObject, edge: EdgePattern, bounds: Bounds): EdgeMatch? {
+        val forward = Navigation.of(edge.direction)
+        val backward = when (forward) {
+            Navigation.TARGETS -> Navigation.SOURCES
+            Navigation.SOURCES -> Navigation.TARGETS
+            Navigation.BOTH -> Navigation.BOTH
+        }
+        val fromSource = hashMapOf(source.id!! to Reached(source, 0))
+        val fromTarget = hashMapOf(target.id!! to Reached(target, 0))
+        var sourceFrontier = fromSource.values.toList()
+        var targetFrontier = fromTarget.values.toList()
+        var sourceDepth = 0
+        var targetDepth = 0
+
+        while (sourceFrontier.isNotEmpty() && targetFrontier.isNotEmpty() && bounds.allows(sourceDepth + targetDepth + 1)) {
+            val growSource = sourceFrontier.size <= targetFrontier.size
+            val visited = if (growSource) fromSource else fromTarget
+            val other = if (growSource) fromTarget else fromSource
+            val depth = if (growSource) ++sourceDepth else ++targetDepth
+            val next = ArrayList<Reached>()
+            var meeting: Pair<Reached, Reached>? = null
+
+            for (node in if (growSource) sourceFrontier else targetFrontier) {
+                for (neighbour in neighbours(node.element, edge.labels, if (growSource) forward else backward)) {
+                    val id = neighbour.id ?: continue
+                    if (id in visited) continue
+                    val reached = Reached(neighbour, depth, node)
+                    visited[id] = reached
+                    next += reached
+                    val met = other[id] ?: continue
+                    if (meeting == null || reached.depth + met.depth < meeting.first.depth + meeting.second.depth) {
+                        meeting = reached to met
+                    }
+                }
+            }
+
+            if (meeting != null) {
+                val (sourceSide, targetSide) = if (growSource) meeting else meeting.second to meeting.first
+                val distance = sourceSide.depth + targetSide.depth
+                if (distance < bounds.min) return null
+                val path = edge.variable?.let { pathTo(sourceSide) + pathTo(targetSide).asReversed().drop(1) }
+                return EdgeMatch(path, target)
+            }
+            if (growSource) sourceFrontier = next else targetFrontier = next
+        }
+        return null
+    }
+
+    /** Ids reachable in one or more hops from the reachability index, when it may answer [edge] */
+    private fun reachable(source: MDMObject, edge: EdgePattern, bounds: Bounds): Set<String>? {
+        if (edge.variable != null || bounds.max != null || bounds.min > 1 || edge.labels.isEmpty()) return null
+        val navigation = Navigation.of(edge.direction)
+        if (navigation == Navigation.BOTH) return null
+        val sourceId = source.id ?: return null
+        return engine.reachableElementIds(sourceId, edge.labels.toSet(), forward = navigation == Navigation.TARGETS)
+    }
+
+    // ===== Hops and paths =====
+
+    /** Elements one hop from [element], following the navigation the executor uses for single edges */
+    private fun neighbours(element: MDMObject, labels: List<String>, navigation: Navigation): List<MDMObject> {
+        val id = element.id ?: return emptyList()
+        val associationNames = labels.ifEmpty { engine.getLinks(id).map { it.association.name }.distinct() }
+        return associationNames.flatMap { name ->
+            when (navigation) {
+                Navigation.TARGETS -> engine.getLinkedTargets(name, id)
+                Navigation.SOURCES -> engine.getLinkedSources(name, id)
+                Navigation.BOTH -> engine.getLinkedTargets(name, id) + engine.getLinkedSources(name, id)
+            }
+        }
+    }
+
+    /** Only registered associations navigate the same links in both directions */
+    private fun isReversible(edge: EdgePattern): Boolean =
+        edge.labels.isNotEmpty() && edge.labels.all { engine.metamodelRegistry.getAssociation(it) != null }
+
+    private fun matches(reached: Reached, edge: EdgePattern, search: PathSearch): Sequence<EdgeMatch> = when {
+        edge.variable == null -> sequenceOf(EdgeMatch(null, reached.element))
+        search == PathSearch.ALL_SHORTEST -> allPathsTo(reached).map { EdgeMatch(it, reached.element) }
+        else -> sequenceOf(EdgeMatch(pathTo(reached), reached.element))
+    }
+
+    /** The path from the search root to [reached] along first parents */
+    private fun pathTo(reached: Reached): List<MDMObject> {
+        val path = ArrayList<MDMObject>(reached.depth + 1)
+        var node: Reached? = reached
+        while (node != null) {
+            path += node.element
+            node = node.parents.firstOrNull()
+        }
+        return path.asReversed()
+    }
+
+    private fun allPathsTo(reached: Reached): Sequence<List<MDMObject>> =
+        if (reached.parents.isEmpty()) {
+            sequenceOf(listOf(reached.element))
+        } else {
+            reached.parents.asSequence().flatMap { parent -> allPathsTo(parent).map { it + reached.element } }
+        }
+
+    /** An element reached at [depth] hops, with the elements one hop closer to the root it was reached from */
+    private class Reached(val element: MDMObject, val depth: Int, parent: Reached? = null) {
+        val parents: MutableList<Reached> = if (parent == null) ArrayList(0) else arrayListOf(parent)
+    }
+
+    /** Hop bounds of a quantifier; [max] is null when unbounded */
+    private class Bounds(val min: Int, val max: Int?) {
+        fun allows(hops: Int): Boolean = max == null || hops <= max
+
+        companion object {
+            fun of(quantifier: PathQuantifier): Bounds = when (quantifier) {
+                is FixedQuantifier -> Bounds(quantifier.count, quantifier.count)
+                is RangeQuantifier -> Bounds(quantifier.min ?: 0, quantifier.max)
+            }
+        }
+    }
+}
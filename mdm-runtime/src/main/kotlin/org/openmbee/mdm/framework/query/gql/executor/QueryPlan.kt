@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+import org.openmbee.mdm.framework.query.gql.ast.*
+import java.util.Locale
+
+/**
+ * One operator of a [QueryPlan], in execution order.
+ *
+ * @property operator Operator kind: NodeScan, IndexSeek, IndexRange, Expand, Filter, BindPath, Optional,
+ *   Aggregate or Return
+ * @property detail The pattern or predicate the operator evaluates
+ * @property estimatedRows Rows the planner expects the operator to produce
+ * @property actualRows Rows the operator produced, once the plan has been executed
+ */
+data class PlanOperator(
+    val operator: String,
+    val detail: String,
+    val estimatedRows: Double,
+    val actualRows: Long? = null
+)
+
+/**
+ * The execution plan chosen by the GQL planner, as reported by EXPLAIN and PROFILE.
+ *
+ * Running a plan records the actual row count of every operator, so a plan that has been
+ * executed doubles as its own profile; plans shared by a prepared statement run without
+ * recording. Execution is lazy, so the counts cover the rows pulled through each operator
+ * before the consumer stopped.
+ */
+class QueryPlan internal constructor(
+    internal val query: GqlQuery,
+    internal val clauses: List<ClausePlan>,
+    internal val residualFilter: FilterStep?,
+    /** Grouping of the rows when RETURN aggregates; null when it does not */
+    internal val aggregation: AggregateStep?,
+    internal val returnStep: ReturnStep,
+    /** Variables in the order a left-to-right evaluation binds them; fixes RETURN * column order */
+    internal val variableOrder: List<String>,
+    /** Slots of every variable the plan binds, including anonymous nodes and EXISTS sub-patterns */
+    internal val layout: SlotLayout,
+    /** Steps matching each EXISTS sub-pattern (by identity) from a row of the query */
+    internal val existsPlans: Map<ExistsExpr, List<PlanStep>> = emptyMap()
+) {
+    /** Operators in execution order */
+    val operators: List<PlanOperator>
+        get() = buildList {
+            for (clause in clauses) {
+                clause.steps.forEach { add(it.toOperator()) }
+                clause.optionalStep?.let { add(it.toOperator()) }
+            }
+            residualFilter?.let { add(it.toOperator()) }
+            aggregation?.let { add(it.toOperator()) }
+            add(returnStep.toOperator())
+        }
+
+    /** Rows the planner expects the query to return */
+    val estimatedRows: Double get() = returnStep.estimatedRows
+
+    /** One line per operator, with estimated and (after execution) actual row counts */
+    fun render(): String = operators.joinToString("\n") { op ->
+        val estimate = String.format(Locale.ROOT, "%.1f", op.estimatedRows)
+        val actual = op.actualRows?.let { " actual=$it" } ?: ""
+        "${op.operator.padEnd(OPERATOR_WIDTH)} ${op.detail} (estimated=$estimate$actual)"
+    }
+
+    override fun toString(): String = render()
+
+    internal fun resetActualRows() {
+        for (clause in clauses) {
+            clause.steps.forEach { it.actualRows = 0 }
+            clause.optionalStep?.actualRows = 0
+        }
+        residualFilter?.actualRows = 0
+        aggregation?.actualRows = 0
+        returnStep.actualRows = 0
+    }
+
+    private companion object {
+        const val OPERATOR_WIDTH = 10
+    }
+}
+
+/**
+ * A query together with the plan that produced it, with actual row counts filled in.
+ */
+data class ProfiledQuery(
+    val results: BindingTable,
+    val plan: QueryPlan
+)
+
+// ===== Plan steps =====
+
+/** The steps planned for one MATCH clause */
+internal class ClausePlan(
+    val clause: MatchClause,
+    val steps: List<PlanStep>,
+    /** Records the null-filling of an OPTIONAL MATCH; null for a required clause */
+    val optionalStep: OptionalStep?
+)
+
+internal sealed class PlanStep(val operator: String, val estimatedRows: Double) {
+    var actualRows: Long? = null
+
+    abstract val detail: String
+
+    fun recordRow() {
+        actualRows = (actualRows ?: 0) + 1
+    }
+
+    fun toOperator() = PlanOperator(operator, detail, estimatedRows, actualRows)
+}
+
+/** Bind [node] to every matching element, or re-check it when its variable is already bound */
+internal class NodeScanStep(
+    val node: NodePattern,
+    val alreadyBound: Boolean,
+    estimatedRows: Double
+) : PlanStep("NodeScan", estimatedRows) {
+    override val detail: String
+        get() = PlanText.node(node) + if (alreadyBound) " (bound)" else ""
+}
+
+/**
+ * Bind [node] to the elements of [label] whose [property] equals [value], found through a property index.
+ * [value] is a literal or a parameter; a parameter value whose kind the index cannot look up exactly
+ * (see [GqlPlanner.indexes]) falls back to a scan of [label].
+ */
+internal class IndexSeekStep(
+    val node: NodePattern,
+    val label: String,
+    val property: String,
+    val value: GqlExpression,
+    val propertyType: String,
+    estimatedRows: Double
+) : PlanStep("IndexSeek", estimatedRows) {
+    override val detail: String
+        get() = PlanText.node(node) + " $property = " + PlanText.expression(value)
+}
+
+/**
+ * Bind [node] to the elements of [label] whose [property] lies between [from] and [to], found through a
+ * sorted property index. A null bound leaves that side open.
+ */
+internal class IndexRangeStep(
+    val node: NodePattern,
+    val label: String,
+    val property: String,
+    val from: Any?,
+    val fromInclusive: Boolean,
+    val to: Any?,
+    val toInclusive: Boolean,
+    estimatedRows: Double
+) : PlanStep("IndexRange", estimatedRows) {
+    override val detail: String
+        get() = PlanText.node(node) + " " + buildString {
+            from?.let { append(PlanText.expression(Literal(it))).append(if (fromInclusive) " <= " else " < ") }
+            append(property)
+            to?.let { append(if (toInclusive) " <= " else " < ").append(PlanText.expression(Literal(it))) }
+        }
+}
+
+/**
+ * Follow [edge] from the element bound to [from] and bind [target].
+ *
+ * [edge] is the pattern edge as executed; when [reversed] it is the original edge turned around,
+ * and edge bindings are swapped back so that source and target keep the pattern's orientation.
+ */
+internal class ExpandStep(
+    val from: NodePattern,
+    val edge: EdgePattern,
+    val target: NodePattern,
+    val targetBound: Boolean,
+    val reversed: Boolean,
+    /** How a quantified [edge] binds paths, from the enclosing path pattern */
+    val search: PathSearch,
+    estimatedRows: Double
+) : PlanStep("Expand", estimatedRows) {
+    override val detail: String
+        get() = PlanText.node(from) + PlanText.edge(edge) + PlanText.node(target) +
+            if (targetBound) " (bound)" else ""
+}
+
+/** Keep the bindings for which [predicate] is true */
+internal class FilterStep(
+    val predicate: GqlExpression,
+    estimatedRows: Double
+) : PlanStep("Filter", estimatedRows) {
+    override val detail: String get() = PlanText.expression(predicate)
+}
+
+/** Bind a path variable once all elements of its pattern are bound */
+internal class BindPathStep(
+    val pattern: PathPattern,
+    estimatedRows: Double
+) : PlanStep("BindPath", estimatedRows) {
+    override val detail: String get() = pattern.variable ?: ""
+}
+
+/** Null-fill the new variables of an OPTIONAL MATCH that matched nothing */
+internal class OptionalStep(
+    val clause: MatchClause,
+    estimatedRows: Double
+) : PlanStep("Optional", estimatedRows) {
+    override val detail: String get() = clause.patterns.joinToString(", ") { PlanText.path(it) }
+}
+
+/**
+ * Hash aggregation for a RETURN that aggregates: one row per distinct value of [keys], with the
+ * [aggregates] computed over the group's rows. [clause] is the RETURN clause with every aggregate
+ * call replaced by a reference to its result, evaluated over rows of [layout]: the group's first
+ * input row followed by one slot per aggregate. Never executed as a step.
+ */
+internal class AggregateStep(
+    val keys: List<GqlExpression>,
+    val aggregates: List<FunctionCall>,
+    val clause: ReturnClause,
+    val layout: SlotLayout,
+    estimatedRows: Double
+) : PlanStep("Aggregate", estimatedRows) {
+    override val detail: String
+        get() = buildString {
+            if (keys.isNotEmpty()) {
+                append("by ").append(keys.joinToString(", ") { PlanText.expression(it) })
+                if (aggregates.isNotEmpty()) append(": ")
+            }
+            append(aggregates.joinToString(", ") { PlanText.expression(it) })
+        }
+}
+
+/** Projection of the RETURN clause; never executed as a step */
+internal class ReturnStep(
+    val clause: ReturnClause,
+    estimatedRows: Double
+) : PlanStep("Return", estimatedRows) {
+    override val detail: String
+        get() = when {
+            clause.returnAll -> "*"
+            else -> (if (clause.distinct) "DISTINCT " else "") + clause.items.joinToString(", ") { item ->
+                PlanText.expression(item.expression) + (item.alias?.let { " AS $it" } ?: "")
+            }
+        } + page
+
+    private val page: String
+        get() = buildString {
+            if (clause.orderBy.isNotEmpty()) {
+                append(" ORDER BY ")
+                append(clause.orderBy.joinToString(", ") { item ->
+                    PlanText.expression(item.expression) + if (item.descending) " DESC" else ""
+                })
+            }
+            clause.skip?.let { append(" SKIP ").append(PlanText.expression(it)) }
+            clause.limit?.let { append(" LIMIT ").append(PlanText.expression(it)) }
+        }
+}
+
+// ===== Plan text =====
+
+/**
+ * GQL-like rendering of patterns and expressions for plan output.
+ */
+internal object PlanText {
+
+    fun node(node: NodePattern): String {
+        val variable = node.variable?.takeUnless { it.startsWith(GqlPlanner.ANONYMOUS_PREFIX) } ?: ""
+        val labels = if (node.labels.isEmpty()) "" else ":" + node.labels.joinToString("|")
+        val properties = node.properties?.takeIf { it.isNotEmpty() }?.entries?.joinToString(", ", " {", "}") {
+            "${it.key}: ${expression(it.value)}"
+        } ?: ""
+        return "($variable$labels$properties)"
+    }
+
+    fun edge(edge: EdgePattern): String {
+        val labels = if (edge.labels.isEmpty()) "" else ":" + edge.labels.joinToString("|")
+        val quantifier = when (val q = edge.quantifier) {
+            null -> ""
+            is FixedQuantifier -> "{${q.count}}"
+            is RangeQuantifier -> "{${q.min ?: ""},${q.max ?: ""}}"
+        }
+        val body = "[${edge.variable ?: ""}$labels]"
+        val arrow = when (edge.direction) {
+            EdgeDirection.LEFT -> "<-$body-"
+            EdgeDirection.RIGHT -> "-$body->"
+            EdgeDirection.UNDIRECTED -> "~$body~"
+            EdgeDirection.LEFT_OR_UNDIRECTED -> "<~$body~"
+            EdgeDirection.UNDIRECTED_OR_RIGHT -> "~$body~>"
+            EdgeDirection.LEFT_OR_RIGHT -> "<-$body->"
+            EdgeDirection.ANY -> "-$body-"
+        }
+        return arrow + quantifier
+    }
+
+    fun path(pattern: PathPattern): String {
+        val body = pattern.elements.joinToString("") { element ->
+            when (element) {
+                is NodePattern -> node(element)
+                is EdgePattern -> edge(element)
+                is PathPattern -> "(${path(element)})"
+            }
+        }
+        return pattern.variable?.let { "$it = $body" } ?: body
+    }
+
+    fun expression(expr: GqlExpression): String = when (expr) {
+        is VariableRef -> expr.name
+        is PropertyAccess -> "${expression(expr.base)}.${expr.property}"
+        is Literal -> when (val value = expr.value) {
+            null -> "NULL"
+            is String -> "'$value'"
+            else -> value.toString()
+        }
+        is Parameter -> "\$${expr.name}"
+        is BinaryOp -> "${operand(expr.left)} ${expr.operator.symbol} ${operand(expr.right)}"
+        is UnaryOp -> if (expr.operator == UnaryOperator.NOT) {
+            "NOT ${operand(expr.operand)}"
+        } else {
+            "${expr.operator.symbol}${operand(expr.operand)}"
+        }
+        is FunctionCall -> "${expr.name}(${if (expr.distinct) "DISTINCT " else ""}${expr.args.joinToString(", ") { expression(it) }})"
+        is ListExpr -> expr.elements.joinToString(", ", "[", "]") { expression(it) }
+        is InExpr -> "${operand(expr.value)} ${if (expr.negated) "NOT IN" else "IN"} ${operand(expr.list)}"
+        is IsNullExpr -> "${operand(expr.value)} IS ${if (expr.negated) "NOT NULL" else "NULL"}"
+        is CaseExpr -> buildString {
+            append("CASE")
+            expr.operand?.let { append(' ').append(expression(it)) }
+            for (clause in expr.whenClauses) {
+                append(" WHEN ").append(expression(clause.condition)).append(" THEN ").append(expression(clause.result))
+            }
+            expr.elseExpr?.let { append(" ELSE ").append(expression(it)) }
+            append(" END")
+        }
+        is LabelCheck -> "${operand(expr.variable)} IS ${if (expr.negated) "NOT " else ""}${expr.label}"
+        is ExistsExpr -> "EXISTS { ${path(expr.pattern)} }"
+    }
+
+    private fun operand(expr: GqlExpression): String =
+        if (expr is BinaryOp || expr is InExpr || expr is IsNullExpr) "(${expression(expr)})" else expression(expr)
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.gql.executor
+
+/**
+ * Fixed slot of every variable a query can bind, assigned once when the query is planned.
+ *
+ * A name listed twice resolves to its last slot, so a layout extended with more names lets
+ * the new names shadow the old ones.
+ */
+internal class SlotLayout(val variables: List<String>) {
+
+    private val slots = HashMap<String, Int>(variables.size * 2).apply {
+        variables.forEachIndexed { slot, variable -> put(variable, slot) }
+    }
+
+    val size: Int get() = variables.size
+
+    /** Slot of [variable], or -1 if the layout has none */
+    fun slotOf(variable: String): Int = slots[variable] ?: -1
+
+    fun emptyRow(): SlotRow = SlotRow(this, arrayOfNulls(size))
+
+    companion object {
+        val EMPTY = SlotLayout(emptyList())
+    }
+}
+
+/**
+ * One binding of a query: variable values stored at the slots of a [SlotLayout].
+ *
+ * Unbound variables read as null, as do variables left unmatched by an OPTIONAL MATCH. A row is
+ * never changed once created: binding a variable copies the slot array, and steps that only
+ * filter pass their input rows through untouched.
+ */
+internal class SlotRow(val layout: SlotLayout, internal val values: Array<Any?>) {
+
+    operator fun get(variable: String): Any? {
+        val slot = layout.slotOf(variable)
+        return if (slot < 0) null else values[slot]
+    }
+
+    operator fun get(slot: Int): Any? = values[slot]
+
+    /** This row with [variable] bound to [value] */
+    fun with(variable: String, value: Any?): SlotRow = with(slotFor(variable), value)
+
+    fun with(slot: Int, value: Any?): SlotRow = SlotRow(layout, values.copyOf().also { it[slot] = value })
+
+    /** Copy of this row with several slots assigned by [assign] */
+    inline fun extend(assign: (Array<Any?>) -> Unit): SlotRow = SlotRow(layout, values.copyOf().also(assign))
+
+    fun slotFor(variable: String): Int {
+        val slot = layout.slotOf(variable)
+        check(slot >= 0) { "Variable '$variable' has no slot in the query plan" }
+        return slot
+    }
+}
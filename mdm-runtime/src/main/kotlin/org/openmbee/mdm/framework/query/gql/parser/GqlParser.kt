@@ -210,7 +210,13 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
             }
         }
 
-        return GqlQuery(matchClauses, whereClause, ReturnClause(items, distinct, returnAll))
+        val returnClause = withOrderAndPage(
+            ReturnClause(items, distinct, returnAll),
+            ctx.orderByClause(),
+            ctx.offsetClause(),
+            ctx.limitClause()
+        )
+        return GqlQuery(matchClauses, whereClause, returnClause)
     }
 
     private fun processAmbientLinearQueryStatement(ctx: GQLParser.AmbientLinearQueryStatementContext): GqlQuery {
@@ -295,7 +301,21 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
         val pathPatternExpr = ctx.pathPatternExpression()
 
         val elements = processPathPatternExpression(pathPatternExpr)
-        return PathPattern(elements, pathVar)
+        return PathPattern(elements, pathVar, processPathSearch(ctx.pathPatternPrefix()))
+    }
+
+    /**
+     * Variable-length edges always bind shortest paths; ALL SHORTEST binds every one of them.
+     * Other prefixes (path modes, ANY, ALL) keep the default of one shortest path per element.
+     */
+    private fun processPathSearch(ctx: GQLParser.PathPatternPrefixContext?): PathSearch {
+        val shortest = ctx?.pathSearchPrefix()?.shortestPathSearch() ?: return PathSearch.ANY_SHORTEST
+        return when {
+            shortest.allShortestPathSearch() != null -> PathSearch.ALL_SHORTEST
+            shortest.anyShortestPathSearch() != null -> PathSearch.ANY_SHORTEST
+            shortest.countedShortestPathSearch()?.numberOfPaths()?.text == "1" -> PathSearch.ANY_SHORTEST
+            else -> throw GqlParseException("Unsupported path search: ${ctx.text}")
+        }
     }
 
     private fun processPathPatternExpression(ctx: GQLParser.PathPatternExpressionContext): List<GraphPattern> {
@@ -643,7 +663,45 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
 
     private fun processPrimitiveResultStatement(ctx: GQLParser.PrimitiveResultStatementContext): ReturnClause {
         val returnStmt = ctx.returnStatement() ?: return ReturnClause(emptyList())
-        return processReturnStatement(returnStmt)
+        val returnClause = processReturnStatement(returnStmt)
+        val page = ctx.orderByAndPageStatement() ?: return returnClause
+        return withOrderAndPage(returnClause, page.orderByClause(), page.offsetClause(), page.limitClause())
+    }
+
+    private fun withOrderAndPage(
+        returnClause: ReturnClause,
+        orderBy: GQLParser.OrderByClauseContext?,
+        offset: GQLParser.OffsetClauseContext?,
+        limit: GQLParser.LimitClauseContext?
+    ): ReturnClause {
+        val orderItems = orderBy?.sortSpecificationList()?.sortSpecification()?.map { spec ->
+            val ordering = spec.orderingSpecification()
+            val nullOrdering = spec.nullOrdering()
+            OrderItem(
+                expression = processAggregatingValueExpression(spec.sortKey().aggregatingValueExpression()),
+                descending = ordering?.DESC() != null || ordering?.DESCENDING() != null,
+                nullsFirst = nullOrdering?.let { it.FIRST() != null }
+            )
+        } ?: emptyList()
+        return returnClause.copy(
+            orderBy = orderItems,
+            skip = offset?.let { processNonNegativeInteger(it.nonNegativeIntegerSpecification()) },
+            limit = limit?.let { processNonNegativeInteger(it.nonNegativeIntegerSpecification()) }
+        )
+    }
+
+    private fun processNonNegativeInteger(ctx: GQLParser.NonNegativeIntegerSpecificationContext): GqlExpression {
+        ctx.dynamicParameterSpecification()?.let { return processParameter(it) }
+        val integer = ctx.unsignedInteger()
+            ?: throw GqlParseException("Invalid integer: ${ctx.text}")
+        val text = integer.text.replace("_", "").lowercase()
+        val value = when {
+            text.startsWith("0x") -> text.drop(2).toLongOrNull(16)
+            text.startsWith("0o") -> text.drop(2).toLongOrNull(8)
+            text.startsWith("0b") -> text.drop(2).toLongOrNull(2)
+            else -> text.toLongOrNull()
+        } ?: throw GqlParseException("Invalid integer: ${integer.text}")
+        return Literal(value)
     }
 
     private fun processReturnStatement(ctx: GQLParser.ReturnStatementContext): ReturnClause {
@@ -664,7 +722,11 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
             }
         }
 
-        return ReturnClause(items, distinct, returnAll)
+        val groupBy = body.groupByClause()?.groupingElementList()?.groupingElement()?.map { element ->
+            element.bindingVariableReference().bindingVariable().text
+        }
+
+        return ReturnClause(items, distinct, returnAll, groupBy = groupBy)
     }
 
     private fun processAggregatingValueExpression(ctx: GQLParser.AggregatingValueExpressionContext): GqlExpression {
@@ -1050,39 +1112,33 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
     }
 
     private fun processAggregateFunction(ctx: GQLParser.AggregateFunctionContext): GqlExpression {
-        // Parse aggregate function from text
-        val text = ctx.text.uppercase()
-        return when {
-            text.startsWith("COUNT(*)") -> FunctionCall("COUNT", listOf(Literal("*")))
-            text.startsWith("COUNT(") -> FunctionCall("COUNT", listOf(Literal("*")))
-            text.startsWith("SUM(") -> {
-                val inner = extractFunctionArg(ctx.text)
-                FunctionCall("SUM", listOf(parseSimpleExpression(inner)))
-            }
-
-            text.startsWith("AVG(") -> {
-                val inner = extractFunctionArg(ctx.text)
-                FunctionCall("AVG", listOf(parseSimpleExpression(inner)))
-            }
-
-            text.startsWith("MIN(") -> {
-                val inner = extractFunctionArg(ctx.text)
-                FunctionCall("MIN", listOf(parseSimpleExpression(inner)))
-            }
-
-            text.startsWith("MAX(") -> {
-                val inner = extractFunctionArg(ctx.text)
-                FunctionCall("MAX", listOf(parseSimpleExpression(inner)))
-            }
+        if (ctx.ASTERISK() != null) {
+            return FunctionCall("COUNT", listOf(Literal("*")))
+        }
 
-            else -> FunctionCall("COUNT", listOf(Literal("*")))
+        ctx.generalSetFunction()?.let { function ->
+            // COLLECT_LIST shares its implementation with the list function COLLECT
+            val name = function.generalSetFunctionType().text.uppercase().let { if (it == "COLLECT_LIST") "COLLECT" else it }
+            val distinct = function.setQuantifier()?.DISTINCT() != null
+            return FunctionCall(name, listOf(processValueExpression(function.valueExpression())), distinct)
         }
+
+        val function = ctx.binarySetFunction()
+            ?: throw GqlParseException("Unsupported aggregate function: ${ctx.text}")
+        val dependent = function.dependentValueExpression()
+        return FunctionCall(
+            function.binarySetFunctionType().text.uppercase(),
+            listOf(
+                processNumericValueExpression(dependent.numericValueExpression()),
+                processNumericValueExpression(function.independentValueExpression().numericValueExpression())
+            ),
+            distinct = dependent.setQuantifier()?.DISTINCT() != null
+        )
     }
 
-    private fun extractFunctionArg(funcCall: String): String {
-        val start = funcCall.indexOf('(')
-        val end = funcCall.lastIndexOf(')')
-        return if (start >= 0 && end > start) funcCall.substring(start + 1, end) else ""
+    private fun processNumericValueExpression(ctx: GQLParser.NumericValueExpressionContext): GqlExpression {
+        ctx.valueExpressionPrimary()?.let { return processValueExpressionPrimary(it) }
+        throw GqlParseException("Unsupported numeric expression: ${ctx.text}")
     }
 
     private fun parseSimpleExpression(text: String): GqlExpression {
@@ -1106,10 +1162,22 @@ private class GqlAstBuilder : GQLBaseVisitor<Any?>() {
                 return processUnsignedLiteral(child)
             }
         }
+        ctx.generalValueSpecification()?.dynamicParameterSpecification()?.let { return processParameter(it) }
         // Fallback to text parsing
         return parseLiteralFromText(ctx.text)
     }
 
+    /** `$name`, or `$"name"` / `` $`name` `` for names that are not regular identifiers */
+    private fun processParameter(ctx: GQLParser.DynamicParameterSpecificationContext): Parameter {
+        val name = ctx.GENERAL_PARAMETER_REFERENCE().text.removePrefix("$")
+        val unquoted = if (name.length >= 2 && name.first() in "\"`" && name.last() == name.first()) {
+            name.substring(1, name.length - 1)
+        } else {
+            name
+        }
+        return Parameter(unquoted)
+    }
+
     private fun processUnsignedLiteral(ctx: GQLParser.UnsignedLiteralContext): GqlExpression {
         // Try to get child contexts
         for (i in 0 until ctx.childCount) {
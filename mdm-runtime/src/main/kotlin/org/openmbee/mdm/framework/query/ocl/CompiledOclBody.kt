@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.query.ocl
+
+import org.openmbee.mdm.framework.runtime.MDMObject
+
+/**
+ * An OCL body compiled ahead of time to Kotlin by the mdm-codegen OCL compiler.
+ *
+ * Compiled bodies replace the AST walk with straight-line Kotlin: let/iterator variables become
+ * Kotlin locals and control flow becomes native `if`/`&&`/loops, while every primitive step
+ * (property access, navigation, operation calls, operators) is delegated to the same [OclExecutor]
+ * methods the interpreter uses, so both paths share one set of semantics.
+ *
+ * Compiled bodies are registered by expression text via
+ * [org.openmbee.mdm.framework.runtime.MetamodelRegistry.registerCompiledOcl] and bound to their
+ * constraints/operations at `buildIndexes()`.
+ */
+fun interface CompiledOclBody {
+    /**
+     * Evaluate the body.
+     *
+     * @param ocl Executor bound to [self], with any operation arguments in its variables
+     * @param self The context object
+     */
+    fun evaluate(ocl: OclExecutor, self: MDMObject): Any?
+}
+
+/**
+ * OCL truth test used by compiled bodies: only `true` counts as true (null and non-booleans do not).
+ */
+fun oclTrue(value: Any?): Boolean = value == true
@@ -46,17 +46,53 @@ data class OclAsTypeView(
  * @param contextObject The "self" object for this evaluation
  */
 class OclExecutor(
-    private val engineAccessor: EngineAccessor,
-    private val contextObject: MDMObject,
-    private val contextId: String
+    engineAccessor: EngineAccessor,
+    contextObject: MDMObject,
+    private var contextId: String
 ) : OclVisitor<Any?> {
 
+    // Nullable so a pooled executor can drop its engine and context between evaluations
+    private var boundAccessor: EngineAccessor? = engineAccessor
+    private var boundContext: MDMObject? = contextObject
+
+    private val engineAccessor: EngineAccessor
+        get() = boundAccessor ?: throw IllegalStateException("OclExecutor is not bound to a context")
+
+    private val contextObject: MDMObject
+        get() = boundContext ?: throw IllegalStateException("OclExecutor is not bound to a context")
+
     /** Variable bindings (self, let variables, iterator variables) */
     private val variables: MutableMap<String, Any?> = mutableMapOf(
         "self" to contextObject,
         "_it" to contextObject  // Default iterator variable equals self in non-iterator contexts
     )
 
+    /**
+     * Re-target this executor at a new context so it can be reused across evaluations
+     * without reallocating the executor and its variable map.
+     *
+     * Must not be called while an evaluation on this executor is in progress.
+     */
+    fun rebind(engineAccessor: EngineAccessor, contextObject: MDMObject, contextId: String) {
+        boundAccessor = engineAccessor
+        boundContext = contextObject
+        this.contextId = contextId
+        variables.clear()
+        variables["self"] = contextObject
+        variables["_it"] = contextObject
+    }
+
+    /**
+     * Drop the engine, context and variable bindings of a finished evaluation, so an idle
+     * pooled executor does not keep a model reachable. [rebind] makes it usable again.
+     */
+    fun unbind() {
+        boundAccessor = null
+        boundContext = null
+        contextId = ""
+        variables.clear()
+    }
+
     /**
      * Evaluate an OCL expression.
      */
@@ -76,6 +112,22 @@ class OclExecutor(
         }
     }
 
+    /**
+     * Evaluate a body compiled by the mdm-codegen OCL compiler, with optional additional
+     * variable bindings (operation arguments).
+     */
+    fun evaluateCompiled(body: CompiledOclBody, bindings: Map<String, Any?> = emptyMap()): Any? {
+        if (bindings.isEmpty()) return body.evaluate(this, contextObject)
+        val savedBindings = variables.toMap()
+        variables.putAll(bindings)
+        try {
+            return body.evaluate(this, contextObject)
+        } finally {
+            variables.clear()
+            variables.putAll(savedBindings)
+        }
+    }
+
     // ===== Literals =====
 
     override fun visitNullLiteral(exp: NullLiteralExp): Any? = null
@@ -97,29 +149,34 @@ class OclExecutor(
 
     // ===== Variables and Properties =====
 
-    override fun visitVariable(exp: VariableExp): Any? {
+    override fun visitVariable(exp: VariableExp): Any? = variable(exp.name)
+
+    /**
+     * Resolve a bare name: enum literal, bound variable, or implicit property/navigation on self.
+     */
+    fun variable(name: String): Any? {
         // Check for enum literal (Type::value syntax)
-        if (exp.name.contains("::")) {
-            return resolveEnumLiteral(exp.name)
+        if (name.contains("::")) {
+            return resolveEnumLiteral(name)
         }
 
         // First check for explicit variable bindings
-        if (variables.containsKey(exp.name)) {
-            return variables[exp.name]
+        if (variables.containsKey(name)) {
+            return variables[name]
         }
 
         // Fall back to property access on self (OCL allows bare property names)
         val self = variables["self"] as? MDMObject
         if (self != null) {
             // Try direct property access
-            val value = self.getProperty(exp.name)
+            val value = engineAccessor.readStoredProperty(self, name)
             if (value != null) return value
 
             val selfId = findObjectId(self)
             if (selfId != null) {
                 // Try via engine for derived properties
                 try {
-                    val derivedValue = engineAccessor.getProperty(selfId, exp.name)
+                    val derivedValue = engineAccessor.getProperty(selfId, name)
                     if (derivedValue != null) return derivedValue
                 } catch (_: Exception) {
                     // Property not found via engine
@@ -127,7 +184,7 @@ class OclExecutor(
 
                 // Try navigation (association traversal) - returns single element or null for [0..1]
                 try {
-                    val linkedTargets = engineAccessor.getLinkedTargets(exp.name, selfId)
+                    val linkedTargets = engineAccessor.getLinkedTargets(name, selfId)
                     if (linkedTargets.isNotEmpty()) {
                         // For single-valued associations, return the single element
                         // For multi-valued, return the collection
@@ -157,36 +214,41 @@ class OclExecutor(
         return parts[1].removePrefix("_").lowercase()
     }
 
-    override fun visitPropertyCall(exp: PropertyCallExp): Any? {
-        val source = exp.source.accept(this)
+    override fun visitPropertyCall(exp: PropertyCallExp): Any? =
+        property(exp.source.accept(this), exp.propertyName)
+
+    /**
+     * Access a property on an evaluated source (object, type view, map, or implicit collect over a collection).
+     */
+    fun property(source: Any?, propertyName: String): Any? {
         return when (source) {
             is OclAsTypeView -> {
                 // Handle property access on a type-casted object
                 // Use the view type for property lookup (derivation constraints, etc.)
                 val sourceId = findObjectId(source.obj)
                 if (sourceId != null) {
-                    engineAccessor.getPropertyAs(sourceId, exp.propertyName, source.viewType)
+                    engineAccessor.getPropertyAs(sourceId, propertyName, source.viewType)
                 } else {
                     // Fallback to direct property access
-                    source.obj.getProperty(exp.propertyName)
+                    engineAccessor.readStoredProperty(source.obj, propertyName)
                 }
             }
 
             is MDMObject -> {
                 // First try direct property access
-                val value = source.getProperty(exp.propertyName)
+                val value = engineAccessor.readStoredProperty(source, propertyName)
                 if (value != null) return value
 
                 // Then try via engine (handles derived properties)
                 val sourceId = findObjectId(source)
                 if (sourceId != null) {
-                    engineAccessor.getProperty(sourceId, exp.propertyName)
+                    engineAccessor.getProperty(sourceId, propertyName)
                 } else {
                     null
                 }
             }
 
-            is Map<*, *> -> source[exp.propertyName]
+            is Map<*, *> -> source[propertyName]
 
             // OCL implicit collect: collection.property means collection->collect(property)
             is Collection<*> -> {
@@ -195,9 +257,9 @@ class OclExecutor(
                         is OclAsTypeView -> {
                             val objectId = findObjectId(element.obj)
                             val value = if (objectId != null) {
-                                engineAccessor.getPropertyAs(objectId, exp.propertyName, element.viewType)
+                                engineAccessor.getPropertyAs(objectId, propertyName, element.viewType)
                             } else {
-                                element.obj.getProperty(exp.propertyName)
+                                engineAccessor.readStoredProperty(element.obj, propertyName)
                             }
                             when (value) {
                                 is Collection<*> -> value.filterNotNull()
@@ -207,15 +269,15 @@ class OclExecutor(
                         }
 
                         is MDMObject -> {
-                            var value = element.getProperty(exp.propertyName)
+                            var value = engineAccessor.readStoredProperty(element, propertyName)
                             val objectId = findObjectId(element)
                             if (value == null && objectId != null) {
                                 // Try derived property via engine
-                                value = engineAccessor.getProperty(objectId, exp.propertyName)
+                                value = engineAccessor.getProperty(objectId, propertyName)
                             }
                             if (value == null && objectId != null) {
                                 // Try association navigation (including reverse navigation)
-                                val linkedTargets = engineAccessor.getLinkedTargets(exp.propertyName, objectId)
+                                val linkedTargets = engineAccessor.getLinkedTargets(propertyName, objectId)
                                 if (linkedTargets.isNotEmpty()) {
                                     value = linkedTargets
                                 }
@@ -228,7 +290,7 @@ class OclExecutor(
                         }
 
                         is Map<*, *> -> {
-                            val value = element[exp.propertyName]
+                            val value = element[propertyName]
                             if (value != null) listOf(value) else emptyList()
                         }
 
@@ -240,13 +302,18 @@ class OclExecutor(
             null -> null
 
             else -> throw OclEvaluationException(
-                "Cannot access property '${exp.propertyName}' on ${source.javaClass.simpleName}"
+                "Cannot access property '$propertyName' on ${source.javaClass.simpleName}"
             )
         }
     }
 
-    override fun visitNavigationCall(exp: NavigationCallExp): Any? {
-        val source = exp.source.accept(this)
+    override fun visitNavigationCall(exp: NavigationCallExp): Any? =
+        navigate(exp.source.accept(this), exp.navigationName)
+
+    /**
+     * Navigate an association end from an evaluated source (object, type view, or implicit collect).
+     */
+    fun navigate(source: Any?, navigationName: String): Any? {
         return when (source) {
             is OclAsTypeView -> {
                 // Handle navigation on a type-casted object
@@ -256,7 +323,7 @@ class OclExecutor(
 
                 // For now, association navigation uses the same mechanism
                 // Future: could add getLinkedTargetsAs for view-type-specific navigation
-                engineAccessor.getLinkedTargets(exp.navigationName, sourceId)
+                engineAccessor.getLinkedTargets(navigationName, sourceId)
             }
 
             is MDMObject -> {
@@ -265,7 +332,7 @@ class OclExecutor(
 
                 // Try to find association by navigation name
                 // The navigation name could be an association end name
-                engineAccessor.getLinkedTargets(exp.navigationName, sourceId)
+                engineAccessor.getLinkedTargets(navigationName, sourceId)
             }
 
             // OCL implicit collect: collection.navigation means collection->collect(navigation)
@@ -275,7 +342,7 @@ class OclExecutor(
                         is OclAsTypeView -> {
                             val elementId = findObjectId(element.obj)
                             if (elementId != null) {
-                                engineAccessor.getLinkedTargets(exp.navigationName, elementId)
+                                engineAccessor.getLinkedTargets(navigationName, elementId)
                             } else {
                                 emptyList()
                             }
@@ -284,7 +351,7 @@ class OclExecutor(
                         is MDMObject -> {
                             val elementId = findObjectId(element)
                             if (elementId != null) {
-                                engineAccessor.getLinkedTargets(exp.navigationName, elementId)
+                                engineAccessor.getLinkedTargets(navigationName, elementId)
                             } else {
                                 emptyList()
                             }
@@ -307,20 +374,32 @@ class OclExecutor(
         // Handle Type.allInstances() — source is a VariableExp with the type name
         if (exp.operationName == "allInstances" && exp.source is VariableExp) {
             val typeName = (exp.source as VariableExp).name
-            return engineAccessor.getElementsByClass(typeName)
+            return allInstances(typeName)
         }
 
         val source = exp.source?.accept(this)
         val args = exp.arguments.map { it.accept(this) }
 
-        return evaluateOperation(source, exp.operationName, args)
+        return operation(source, exp.operationName, args)
     }
 
+    /**
+     * All instances of a class (including subclasses), for `Type.allInstances()`.
+     */
+    fun allInstances(typeName: String): List<MDMObject> = engineAccessor.getElementsByClass(typeName)
+
     override fun visitArrowCall(exp: ArrowCallExp): Any? {
         val source = exp.source.accept(this)
+        val args = exp.arguments.map { it.accept(this) }
+        return arrow(source, exp.operationName, args)
+    }
 
+    /**
+     * Apply an arrow (`->`) operation to an evaluated source with evaluated arguments.
+     */
+    fun arrow(source: Any?, operationName: String, args: List<Any?>): Any? {
         // Handle object-level operations before converting to collection
-        when (exp.operationName) {
+        when (operationName) {
             "oclType" -> {
                 // Return the type (class name) of the object
                 return when (source) {
@@ -336,7 +415,7 @@ class OclExecutor(
         }
 
         val collection = asCollection(source)
-        return evaluateCollectionOperation(collection, exp.operationName, exp.arguments)
+        return evaluateCollectionOperation(collection, operationName, args)
     }
 
     // ===== Iterators =====
@@ -391,7 +470,9 @@ class OclExecutor(
             "closure" -> {
                 // Transitive closure: collect all elements reachable by repeatedly
                 // applying the body expression until no new elements are found
-                computeClosure(collection, exp.iteratorVariable, exp.body)
+                closure(collection, exp.body.toString()) { element ->
+                    evaluateIteratorBody(exp.iteratorVariable, element, exp.body)
+                }
             }
 
             "exists1" -> {
@@ -485,20 +566,24 @@ class OclExecutor(
 
     // ===== Type Operations =====
 
-    override fun visitTypeOp(exp: TypeExp): Any? {
-        val source = exp.source.accept(this)
+    override fun visitTypeOp(exp: TypeExp): Any? =
+        typeOp(exp.operationName, exp.source.accept(this), exp.typeName)
 
-        return when (exp.operationName) {
+    /**
+     * Apply a type operation with a static type name (oclIsKindOf, oclIsTypeOf, oclAsType, selectByKind, selectByType).
+     */
+    fun typeOp(operationName: String, source: Any?, typeName: String): Any? {
+        return when (operationName) {
             "oclIsKindOf" -> {
                 when (source) {
-                    is MDMObject -> isKindOf(source, exp.typeName)
+                    is MDMObject -> isKindOf(source, typeName)
                     else -> false
                 }
             }
 
             "oclIsTypeOf" -> {
                 when (source) {
-                    is MDMObject -> source.className == exp.typeName
+                    is MDMObject -> source.className == typeName
                     else -> false
                 }
             }
@@ -507,8 +592,8 @@ class OclExecutor(
                 // Type cast - wrap the object to track the view type for method dispatch.
                 // This enables self.oclAsType(ParentClass).method() to call the parent's method.
                 when (source) {
-                    is MDMObject -> OclAsTypeView(source, exp.typeName)
-                    is OclAsTypeView -> OclAsTypeView(source.obj, exp.typeName)
+                    is MDMObject -> OclAsTypeView(source, typeName)
+                    is OclAsTypeView -> OclAsTypeView(source.obj, typeName)
                     else -> source
                 }
             }
@@ -518,7 +603,7 @@ class OclExecutor(
                 val collection = asCollection(source)
                 collection.filter { element ->
                     when (element) {
-                        is MDMObject -> isKindOf(element, exp.typeName)
+                        is MDMObject -> isKindOf(element, typeName)
                         else -> false
                     }
                 }
@@ -529,20 +614,26 @@ class OclExecutor(
                 val collection = asCollection(source)
                 collection.filter { element ->
                     when (element) {
-                        is MDMObject -> element.className == exp.typeName
+                        is MDMObject -> element.className == typeName
                         else -> false
                     }
                 }
             }
 
-            else -> throw OclEvaluationException("Unknown type operation: ${exp.operationName}")
+            else -> throw OclEvaluationException("Unknown type operation: $operationName")
         }
     }
 
     override fun visitDynamicTypeOp(exp: DynamicTypeExp): Any? {
         val source = exp.source.accept(this)
         val typeValue = exp.typeExpression.accept(this)
+        return dynamicTypeOp(exp.operationName, source, typeValue)
+    }
 
+    /**
+     * Apply a type operation whose type is given by an evaluated expression (type name or typed object).
+     */
+    fun dynamicTypeOp(operationName: String, source: Any?, typeValue: Any?): Any? {
         // The type expression should evaluate to a type name (String) or an MDMObject whose className is the type
         val typeName = when (typeValue) {
             is String -> typeValue
@@ -552,7 +643,7 @@ class OclExecutor(
             )
         }
 
-        return when (exp.operationName) {
+        return when (operationName) {
             "oclIsKindOf" -> {
                 when (source) {
                     is MDMObject -> isKindOf(source, typeName)
@@ -575,7 +666,7 @@ class OclExecutor(
                 }
             }
 
-            else -> throw OclEvaluationException("Unknown dynamic type operation: ${exp.operationName}")
+            else -> throw OclEvaluationException("Unknown dynamic type operation: $operationName")
         }
     }
 
@@ -601,8 +692,15 @@ class OclExecutor(
 
         val left = exp.left.accept(this)
         val right = exp.right.accept(this)
+        return infix(exp.operator, left, right)
+    }
 
-        return when (exp.operator) {
+    /**
+     * Apply a non-short-circuit binary operator to evaluated operands.
+     * `and`, `or` and `implies` short-circuit and are handled by the caller.
+     */
+    fun infix(operator: String, left: Any?, right: Any?): Any? {
+        return when (operator) {
             // Comparison
             "=" -> left == right
             "<>" -> left != right
@@ -625,14 +723,18 @@ class OclExecutor(
             // String
             "concat" -> (left?.toString() ?: "") + (right?.toString() ?: "")
 
-            else -> throw OclEvaluationException("Unknown operator: ${exp.operator}")
+            else -> throw OclEvaluationException("Unknown operator: $operator")
         }
     }
 
-    override fun visitPrefix(exp: PrefixExp): Any? {
-        val operand = exp.operand.accept(this)
+    override fun visitPrefix(exp: PrefixExp): Any? =
+        prefix(exp.operator, exp.operand.accept(this))
 
-        return when (exp.operator) {
+    /**
+     * Apply a unary prefix operator (not, -) to an evaluated operand.
+     */
+    fun prefix(operator: String, operand: Any?): Any? {
+        return when (operator) {
             "not" -> operand != true
             "-" -> when (operand) {
                 is Long -> -operand
@@ -642,7 +744,7 @@ class OclExecutor(
                 else -> throw OclEvaluationException("Cannot negate: $operand")
             }
 
-            else -> throw OclEvaluationException("Unknown prefix operator: ${exp.operator}")
+            else -> throw OclEvaluationException("Unknown prefix operator: $operator")
         }
     }
 
@@ -669,13 +771,29 @@ class OclExecutor(
      * if its full closure is already cached, the cached result is unioned directly instead
      * of re-expanding. This avoids redundant traversals when multiple elements share
      * overlapping transitive graphs (e.g., allSupertypes on types with common ancestors).
+     *
+     * @param bodyKey Identifies the body expression in the closure cache (the body AST's `toString()`)
+     * @param expand Evaluates the body for one element
      */
-    private fun computeClosure(
+    fun closure(
+        initial: List<Any?>,
+        bodyKey: String,
+        expand: (Any?) -> Any?
+    ): Set<Any?> {
+        // Only single-element closures are cached
+        val initialId = if (initial.size == 1) (initial[0] as? MDMObject)?.id else null
+        if (initialId == null) return expandClosure(initial, bodyKey, expand)
+
+        return engineAccessor.trackClosure(initialId, bodyKey) {
+            expandClosure(initial, bodyKey, expand).also { engineAccessor.putClosureCache(initialId, bodyKey, it) }
+        }
+    }
+
+    private fun expandClosure(
         initial: List<Any?>,
-        iteratorVar: String,
-        body: OclExpression
+        bodyKey: String,
+        expand: (Any?) -> Any?
     ): Set<Any?> {
-        val bodyKey = body.toString()
         val result = LinkedHashSet<Any?>()
         val workQueue = ArrayDeque<Any?>()
 
@@ -703,7 +821,7 @@ class OclExecutor(
                 }
             }
 
-            val related = evaluateIteratorBody(iteratorVar, current, body)
+            val related = expand(current)
             val relatedCollection = asCollection(related)
 
             for (newElement in relatedCollection) {
@@ -714,18 +832,13 @@ class OclExecutor(
             }
         }
 
-        // Cache the result for the initial element(s)
-        if (initial.size == 1) {
-            val initialId = (initial[0] as? MDMObject)?.id
-            if (initialId != null) {
-                engineAccessor.putClosureCache(initialId, bodyKey, result)
-            }
-        }
-
         return result
     }
 
-    private fun asCollection(value: Any?): List<Any?> = when (value) {
+    /**
+     * Coerce a value to a list: null → empty, collection → its elements, anything else → singleton.
+     */
+    fun asCollection(value: Any?): List<Any?> = when (value) {
         null -> emptyList()
         is Collection<*> -> value.toList()
         else -> listOf(value)
@@ -752,7 +865,11 @@ class OclExecutor(
         }
     }
 
-    private fun evaluateOperation(source: Any?, opName: String, args: List<Any?>): Any? {
+    /**
+     * Invoke an object operation (`.op(args)`) on an evaluated source with evaluated arguments.
+     * A null source means the operation is invoked on self.
+     */
+    fun operation(source: Any?, opName: String, args: List<Any?>): Any? {
         // Object operations
         when (opName) {
             "oclIsUndefined" -> return source == null
@@ -885,7 +1002,7 @@ class OclExecutor(
         // OCL implicit collect: collection.operation(args) means collection->collect(e | e.operation(args))
         if (source is Collection<*>) {
             return source.flatMap { element ->
-                val result = evaluateOperation(element, opName, args)
+                val result = operation(element, opName, args)
                 when (result) {
                     is Collection<*> -> result.toList()
                     null -> emptyList()
@@ -922,10 +1039,8 @@ class OclExecutor(
     private fun evaluateCollectionOperation(
         collection: List<Any?>,
         opName: String,
-        argExpressions: List<OclExpression>
+        args: List<Any?>
     ): Any? {
-        val args = argExpressions.map { it.accept(this) }
-
         return when (opName) {
             // Query operations
             "size" -> collection.size.toLong()
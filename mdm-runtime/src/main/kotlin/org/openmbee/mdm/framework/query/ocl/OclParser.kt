@@ -21,7 +21,7 @@ import org.antlr.v4.runtime.tree.ParseTree
 import org.openmbee.mdm.framework.query.ocl.antlr.OCLBaseVisitor
 import org.openmbee.mdm.framework.query.ocl.antlr.OCLLexer
 import org.openmbee.mdm.framework.query.ocl.antlr.OCLParser
-import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger {}
 
@@ -33,20 +33,41 @@ private val logger = KotlinLogging.logger {}
  */
 object OclParser {
 
-    /** Cache of parsed OCL ASTs keyed by expression text. ASTs are immutable so this is safe. */
-    private val astCache = ConcurrentHashMap<String, OclExpression>()
+    /** Default upper bound on the number of cached ASTs. */
+    const val DEFAULT_CACHE_CAPACITY = 4096
+
+    /**
+     * Bounded LRU cache of parsed OCL ASTs keyed by expression text. ASTs are immutable so sharing is safe.
+     * Metamodel bodies are pre-bound by [org.openmbee.mdm.framework.runtime.MetamodelRegistry.buildIndexes]
+     * and bypass this cache entirely; it mainly serves ad hoc queries and unbound expressions.
+     */
+    private val astCache = OclAstCache(DEFAULT_CACHE_CAPACITY)
+
+    /** Whitespace between '->' and the following method name, collapsed before lexing. */
+    private val arrowWhitespace = Regex("->\\s+")
 
     /**
      * Parse an OCL expression string and return the AST.
      * Results are cached since OCL expressions (from metamodel constraints) are static.
      */
     fun parse(input: String): OclExpression {
-        astCache[input]?.let { return it }
+        astCache.get(input)?.let { return it }
 
+        val ast = parseUncached(input)
+        astCache.put(input, ast)
+        logger.debug { "Cached OCL AST for: $input (cache size: ${astCache.size})" }
+        return ast
+    }
+
+    /**
+     * Parse an OCL expression string without consulting or populating the AST cache.
+     * Used when the caller holds the resulting AST by reference (e.g. pre-bound metamodel bodies).
+     */
+    fun parseUncached(input: String): OclExpression {
         // Normalize arrow operators: collapse whitespace between '->' and the method name
         // so that lexer tokens like '->reject' can match even when the OCL expression
         // spans multiple lines (e.g., "ownedMembership->\n    reject(...)")
-        val normalized = input.replace(Regex("->\\s+"), "->")
+        val normalized = input.replace(arrowWhitespace, "->")
         val lexer = OCLLexer(CharStreams.fromString(normalized))
         val tokens = CommonTokenStream(lexer)
         val parser = OCLParser(tokens)
@@ -56,10 +77,7 @@ object OclParser {
         parser.addErrorListener(OclErrorListener())
 
         val tree = parser.singleExpression()
-        val ast = AstBuilder().visit(tree.expression())
-        astCache[input] = ast
-        logger.debug { "Cached OCL AST for: $input (cache size: ${astCache.size})" }
-        return ast
+        return AstBuilder().visit(tree.expression())
     }
 
     /**
@@ -69,6 +87,19 @@ object OclParser {
         astCache.clear()
     }
 
+    /**
+     * Change the maximum number of cached ASTs. Least recently used entries are evicted
+     * immediately if the cache currently holds more than [capacity] entries.
+     */
+    fun setCacheCapacity(capacity: Int) {
+        astCache.resize(capacity)
+    }
+
+    /**
+     * Snapshot of AST cache hit/miss/eviction counters.
+     */
+    fun cacheStats(): OclCacheStats = astCache.stats()
+
     /**
      * Visitor that builds AST nodes from ANTLR parse tree contexts.
      */
@@ -584,3 +615,75 @@ private class OclErrorListener : BaseErrorListener() {
         throw OclParseException("Syntax error at line $line:$charPositionInLine - $msg")
     }
 }
+
+/**
+ * Hit/miss/eviction counters for the OCL AST cache.
+ */
+data class OclCacheStats(
+    val hits: Long,
+    val misses: Long,
+    val evictions: Long,
+    val size: Int,
+    val capacity: Int
+) {
+    /** Fraction of lookups served from the cache, or 0.0 if there were none. */
+    val hitRate: Double
+        get() = if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses)
+}
+
+/**
+ * Size-bounded, access-ordered (LRU) map from expression text to AST.
+ * Lookups are synchronized; the hot metamodel path does not go through here.
+ */
+internal class OclAstCache(capacity: Int) {
+    private var capacity: Int = capacity.coerceAtLeast(1)
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val evictions = AtomicLong()
+
+    private val entries = object : LinkedHashMap<String, OclExpression>(256, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, OclExpression>?): Boolean {
+            if (size > this@OclAstCache.capacity) {
+                evictions.incrementAndGet()
+                return true
+            }
+            return false
+        }
+    }
+
+    val size: Int
+        get() = synchronized(entries) { entries.size }
+
+    fun get(key: String): OclExpression? {
+        val ast = synchronized(entries) { entries[key] }
+        if (ast != null) hits.incrementAndGet() else misses.incrementAndGet()
+        return ast
+    }
+
+    fun put(key: String, ast: OclExpression) {
+        synchronized(entries) { entries[key] = ast }
+    }
+
+    fun resize(newCapacity: Int) {
+        synchronized(entries) {
+            capacity = newCapacity.coerceAtLeast(1)
+            val iterator = entries.entries.iterator()
+            while (entries.size > capacity && iterator.hasNext()) {
+                iterator.next()
+                iterator.remove()
+                evictions.incrementAndGet()
+            }
+        }
+    }
+
+    fun clear() {
+        synchronized(entries) { entries.clear() }
+        hits.set(0)
+        misses.set(0)
+        evictions.set(0)
+    }
+
+    fun stats(): OclCacheStats = synchronized(entries) {
+        OclCacheStats(hits.get(), misses.get(), evictions.get(), entries.size, capacity)
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+/**
+ * Association graph stored as compressed-sparse-row (CSR) arrays with a small
+ * mutable delta overlay.
+ *
+ * The compacted base holds every edge once per direction: for each element handle
+ * a contiguous segment of edges, grouped by association (in creation order within
+ * an association), in flat `Int` arrays. Edits after compaction go to the overlay:
+ * added links are kept in per-handle lists and removed base links are tombstoned.
+ * When the overlay grows past a fraction of the base, the graph is re-compacted;
+ * [compact] forces it, e.g. after a bulk load.
+ *
+ * Use it through the [MDMEngine] constructor that accepts a graph. The
+ * `forEachTarget`/`forEachSource` visitors scan the arrays without building lists.
+ *
+ * @param minDeltaBeforeCompaction Overlay size below which edits never trigger re-compaction
+ */
+class CompactGraph(
+    private val minDeltaBeforeCompaction: Int = DEFAULT_MIN_DELTA
+) : MDMGraph() {
+
+    companion object {
+        const val DEFAULT_MIN_DELTA = 1024
+
+        /** The overlay may grow to this fraction (1/n) of the live edge count before re-compaction. */
+        private const val DELTA_FRACTION = 8
+    }
+
+    /** One direction of the compacted base: per-handle segments of (association, link). */
+    private class Csr(
+        val offsets: IntArray,
+        val association: IntArray,
+        val links: Array<MDMLink?>
+    ) {
+        val nodeCount: Int get() = offsets.size - 1
+
+        companion object {
+            val EMPTY = Csr(IntArray(1), IntArray(0), arrayOfNulls(0))
+        }
+    }
+
+    /** All live links by ID, in creation order. */
+    private val links = LinkedHashMap<String, MDMLink>()
+
+    private val associationIds = HashMap<String, Int>()
+
+    private var forward = Csr.EMPTY
+    private var reverse = Csr.EMPTY
+
+    /** Overlay: links added since the last compaction, per source / target handle. */
+    private val addedOut = HashMap<Int, MutableList<MDMLink>>()
+    private val addedIn = HashMap<Int, MutableList<MDMLink>>()
+    private var addedCount = 0
+
+    /** Overlay: IDs of base links removed since the last compaction. */
+    private val removed = HashSet<String>()
+
+    /** Number of compactions performed (for diagnostics). */
+    var compactions: Int = 0
+        private set
+
+    // ===== Mutation =====
+
+    override fun addEdge(link: MDMLink) {
+        links[link.id] = link
+        addedOut.getOrPut(handles.intern(link.sourceId)) { mutableListOf() }.add(link)
+        addedIn.getOrPut(handles.intern(link.targetId)) { mutableListOf() }.add(link)
+        addedCount++
+        maybeCompact()
+    }
+
+    override fun removeEdge(linkId: String) {
+        val link = links.remove(linkId) ?: return
+        val inOverlay = addedOut[handles.handleOf(link.sourceId)]?.remove(link) == true
+        if (inOverlay) {
+            addedIn[handles.handleOf(link.targetId)]?.remove(link)
+            addedCount--
+        } else {
+            removed.add(linkId)
+            maybeCompact()
+        }
+    }
+
+    override fun removeEdgesForElement(elementId: String) {
+        for (link in getLinksForElement(elementId)) {
+            removeEdge(link.id)
+        }
+    }
+
+    override fun reassignElementId(oldId: String, newId: String) {
+        val handle = handles.handleOf(oldId)
+        if (handle < 0) {
+            handles.intern(newId)
+            return
+        }
+        val affected = getLinksForElement(oldId)
+        val waiting = if (handles.handleOf(newId) >= 0) getLinksForElement(newId) else emptyList()
+        for (link in affected + waiting) removeEdge(link.id)
+        handles.release(newId)
+        handles.rename(handle, newId)
+
+        for (link in affected) {
+            addEdge(
+                MDMLink(
+                    link.id,
+                    link.association,
+                    if (link.sourceId == oldId) newId else link.sourceId,
+                    if (link.targetId == oldId) newId else link.targetId
+                )
+            )
+        }
+        for (link in waiting) addEdge(link)
+    }
+
+    override fun clear() {
+        links.clear()
+        associationIds.clear()
+        forward = Csr.EMPTY
+        reverse = Csr.EMPTY
+        addedOut.clear()
+        addedIn.clear()
+        addedCount = 0
+        removed.clear()
+    }
+
+    /** Fold the overlay into freshly built CSR arrays. */
+    override fun compact() {
+        val live = links.values.toList()
+        for (link in live) associationIds.getOrPut(link.associationName) { associationIds.size }
+        forward = build(live) { handles.intern(it.sourceId) }
+        reverse = build(live) { handles.intern(it.targetId) }
+        addedOut.clear()
+        addedIn.clear()
+        addedCount = 0
+        removed.clear()
+        compactions++
+    }
+
+    /** The base and overlay are keyed by handle, so they are rebuilt under the new handles. */
+    override fun remapHandles(remap: IntArray) = compact()
+
+    private fun maybeCompact() {
+        val delta = addedCount + removed.size
+        if (delta >= minDeltaBeforeCompaction && delta * DELTA_FRACTION >= links.size) {
+            compact()
+        }
+    }
+
+    private fun build(live: List<MDMLink>, near: (MDMLink) -> Int): Csr {
+        val nodes = IntArray(live.size) { near(live[it]) }
+        val nodeCount = handles.capacity
+        val offsets = IntArray(nodeCount + 1)
+        for (node in nodes) offsets[node + 1]++
+        for (h in 0 until nodeCount) offsets[h + 1] += offsets[h]
+
+        // Stable ordering by (node, association) keeps creation order within each segment
+        val order = live.indices.sortedWith(
+            compareBy<Int>({ nodes[it] }, { associationIds.getValue(live[it].associationName) })
+        )
+        val association = IntArray(live.size)
+        val edgeLinks = arrayOfNulls<MDMLink>(live.size)
+        order.forEachIndexed { slot, i ->
+            association[slot] = associationIds.getValue(live[i].associationName)
+            edgeLinks[slot] = live[i]
+        }
+        return Csr(offsets, association, edgeLinks)
+    }
+
+    // ===== Queries =====
+
+    override fun allEdges(): Collection<MDMLink> = links.values
+
+    override fun findEdge(sourceId: String, targetId: String, associationName: String): MDMLink? {
+        var found: MDMLink? = null
+        visit(forward, addedOut, sourceId, associationName) { link ->
+            if (found == null && link.targetId == targetId) found = link
+        }
+        return found
+    }
+
+    override fun getTargets(sourceId: String, associationName: String): List<String> {
+        val result = ArrayList<String>()
+        visit(forward, addedOut, sourceId, associationName) { result.add(it.targetId) }
+        return result
+    }
+
+    override fun getSources(targetId: String, associationName: String): List<String> {
+        val result = ArrayList<String>()
+        visit(reverse, addedIn, targetId, associationName) { result.add(it.sourceId) }
+        return result
+    }
+
+    override fun forEachTarget(sourceId: String, associationName: String, action: (String) -> Unit) =
+        visit(forward, addedOut, sourceId, associationName) { action(it.targetId) }
+
+    override fun forEachSource(targetId: String, associationName: String, action: (String) -> Unit) =
+        visit(reverse, addedIn, targetId, associationName) { action(it.sourceId) }
+
+    override fun getLinksForElement(elementId: String): List<MDMLink> {
+        val result = ArrayList<MDMLink>()
+        visit(forward, addedOut, elementId, null) { result.add(it) }
+        // A self-link appears in both directions; report it once
+        visit(reverse, addedIn, elementId, null) { if (it.sourceId != elementId) result.add(it) }
+        return result
+    }
+
+    /**
+     * Visit live links of [elementId] in one direction, optionally limited to one association:
+     * the compacted segment first (skipping tombstones), then the overlay.
+     */
+    private inline fun visit(
+        csr: Csr,
+        overlay: Map<Int, List<MDMLink>>,
+        elementId: String,
+        associationName: String?,
+        action: (MDMLink) -> Unit
+    ) {
+        val handle = handles.handleOf(elementId)
+        if (handle < 0) return
+        val association = if (associationName != null) associationIds[associationName] ?: -1 else -1
+        if (handle < csr.nodeCount && (associationName == null || association >= 0)) {
+            val checkRemoved = removed.isNotEmpty()
+            for (i in csr.offsets[handle] until csr.offsets[handle + 1]) {
+                if (associationName != null) {
+                    val edgeAssociation = csr.association[i]
+                    if (edgeAssociation < association) continue
+                    if (edgeAssociation > association) break
+                }
+                val link = csr.links[i]!!
+                if (checkRemoved && link.id in removed) continue
+                action(link)
+            }
+        }
+        val added = overlay[handle] ?: return
+        for (i in added.indices) {
+            val link = added[i]
+            if (associationName == null || link.associationName == associationName) action(link)
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+/**
+ * A node in the derived-value dependency graph.
+ *
+ * Inputs are things a mutation can change: a stored property of an element, an element's links in one
+ * association, the extent of a class, or the values of a property across elements. Cache entries are derived values: a `prop:`/`assoc:` entry in
+ * [MDMObject.derivedCache] (the slot is the cache key itself) or a closure cache entry. A cache entry can
+ * also be the input of another cache entry that read it. A `validation:` entry is the evaluation of one
+ * VERIFICATION constraint on an element (see [IncrementalValidator]); nothing reads it.
+ */
+data class DependencyKey(val elementId: String, val slot: String) {
+    companion object {
+        const val STORED_PREFIX = "stored:"
+        const val LINK_PREFIX = "link:"
+        const val CLASS_PREFIX = "class:"
+        const val VALUES_PREFIX = "values:"
+        const val CLOSURE_PREFIX = "closure:"
+        const val VALIDATION_PREFIX = "validation:"
+
+        /** A stored property of an element */
+        fun storedProperty(elementId: String, propertyName: String) =
+            DependencyKey(elementId, STORED_PREFIX + propertyName)
+
+        /** An element's links (either direction) in an association */
+        fun links(elementId: String, associationName: String) =
+            DependencyKey(elementId, LINK_PREFIX + associationName)
+
+        /** The set of instances of a class, including subclasses */
+        fun classExtent(className: String) = DependencyKey("", CLASS_PREFIX + className)
+
+        /** The values of a stored property across all elements, as read through a property index */
+        fun propertyValues(propertyName: String) = DependencyKey("", VALUES_PREFIX + propertyName)
+
+        /** A closure cache entry, keyed like [MDMEngine.closureCache] */
+        fun closure(elementId: String, bodyKey: String) = DependencyKey(elementId, CLOSURE_PREFIX + bodyKey)
+
+        /** The evaluation of a VERIFICATION constraint on an element */
+        fun validation(elementId: String, constraintName: String) =
+            DependencyKey(elementId, VALIDATION_PREFIX + constraintName)
+    }
+}
+
+/**
+ * Statistics of a [DerivedDependencyTracker].
+ */
+data class DependencyTrackingStats(
+    /** Cache entries with recorded dependencies */
+    val trackedEntries: Int,
+    /** Recorded (input → cache entry) edges */
+    val dependencyEdges: Int,
+    /** Mutations that ran an invalidation */
+    val invalidations: Long,
+    /** Cache entries evicted across all invalidations */
+    val entriesInvalidated: Long,
+    /** Largest number of entries evicted by a single mutation */
+    val maxFanOut: Int,
+    /** Entries evicted by the most recent mutation */
+    val lastFanOut: Int,
+    /** Number of mutations by fan-out bucket ("0", "1", "2-10", "11-100", "101-1000", ">1000") */
+    val fanOutHistogram: Map<String, Long>
+) {
+    val averageFanOut: Double
+        get() = if (invalidations == 0L) 0.0 else entriesInvalidated.toDouble() / invalidations
+}
+
+/**
+ * Records which inputs each cached derived value read, so a mutation invalidates only its transitive
+ * dependents instead of every cached value in the model.
+ *
+ * The engine wraps each derived computation in [track]: reads made while it runs ([recordRead]) become
+ * the dependencies of the resulting cache entry. Nested computations get their own frame; the outer one
+ * depends on the nested cache entry rather than on its inputs, so invalidation cascades through it.
+ * Reads made by uncached nested work (operations, union properties) land in the enclosing frame.
+ *
+ * Safe for concurrent readers: each thread records into its own frames, and the dependency graph is
+ * guarded by the tracker's monitor. Invalidation runs on the engine's single writer.
+ */
+class DerivedDependencyTracker {
+
+    /** Input (or cache entry) → cache entries that read it */
+    private val dependents = HashMap<DependencyKey, MutableSet<DependencyKey>>()
+
+    /** Cache entry → what it read, for removing stale reverse edges */
+    private val dependencies = HashMap<DependencyKey, Set<DependencyKey>>()
+
+    /** Reads of the derived computations in progress on each thread, innermost last */
+    private val threadFrames = ThreadLocal.withInitial { ArrayList<HashSet<DependencyKey>>() }
+
+    private var edgeCount = 0
+    private var invalidations = 0L
+    private var entriesInvalidated = 0L
+    private var maxFanOut = 0
+    private var lastFanOut = 0
+    private val fanOutHistogram = LongArray(FAN_OUT_BUCKETS.size)
+
+    /**
+     * Record a read by the innermost derived computation in progress. No-op outside a computation.
+     */
+    fun recordRead(key: DependencyKey) {
+        val frames = threadFrames.get()
+        if (frames.isNotEmpty()) frames[frames.size - 1].add(key)
+    }
+
+    /**
+     * Run [compute] as the computation of cache entry [entry], recording its reads as the entry's
+     * dependencies (replacing any previously recorded ones). If [compute] throws, nothing is recorded
+     * for [entry] and its reads are attributed to the enclosing computation.
+     */
+    fun <T> track(entry: DependencyKey, compute: () -> T): T {
+        val frames = threadFrames.get()
+        val frame = HashSet<DependencyKey>()
+        frames.add(frame)
+        val result = try {
+            compute()
+        } catch (e: Throwable) {
+            frames.removeAt(frames.size - 1)
+            if (frames.isNotEmpty()) frames[frames.size - 1].addAll(frame)
+            throw e
+        }
+        frames.removeAt(frames.size - 1)
+        frame.remove(entry)
+        setDependencies(entry, frame)
+        recordRead(entry)
+        return result
+    }
+
+    /**
+     * Invalidate everything that transitively depends on the [changed] inputs.
+     *
+     * @param evict Removes one cache entry from its cache
+     * @return The number of cache entries evicted (the fan-out of this mutation)
+     */
+    @Synchronized
+    fun invalidate(changed: Collection<DependencyKey>, evict: (DependencyKey) -> Unit): Int {
+        val queue = ArrayDeque<DependencyKey>()
+        for (key in changed) {
+            dependents.remove(key)?.let { queue.addAll(it) }
+        }
+
+        val evicted = HashSet<DependencyKey>()
+        while (queue.isNotEmpty()) {
+            val entry = queue.removeFirst()
+            if (!evicted.add(entry)) continue
+            removeDependencies(entry)
+            evict(entry)
+            dependents.remove(entry)?.let { queue.addAll(it) }
+        }
+
+        val fanOut = evicted.size
+        invalidations++
+        entriesInvalidated += fanOut
+        lastFanOut = fanOut
+        if (fanOut > maxFanOut) maxFanOut = fanOut
+        fanOutHistogram[bucketOf(fanOut)]++
+        return fanOut
+    }
+
+    /**
+     * Forget the recorded dependencies of [entry], e.g. because its element was removed.
+     */
+    @Synchronized
+    fun forget(entry: DependencyKey) {
+        removeDependencies(entry)
+    }
+
+    /**
+     * Forget all recorded dependencies (caches were cleared wholesale). Statistics are kept.
+     */
+    @Synchronized
+    fun clear() {
+        dependents.clear()
+        dependencies.clear()
+        edgeCount = 0
+    }
+
+    /**
+     * Current statistics.
+     */
+    @Synchronized
+    fun stats(): DependencyTrackingStats = DependencyTrackingStats(
+        trackedEntries = dependencies.size,
+        dependencyEdges = edgeCount,
+        invalidations = invalidations,
+        entriesInvalidated = entriesInvalidated,
+        maxFanOut = maxFanOut,
+        lastFanOut = lastFanOut,
+        fanOutHistogram = FAN_OUT_BUCKETS.indices.associate { FAN_OUT_BUCKETS[it] to fanOutHistogram[it] }
+    )
+
+    @Synchronized
+    private fun setDependencies(entry: DependencyKey, reads: Set<DependencyKey>) {
+        removeDependencies(entry)
+        if (reads.isEmpty()) return
+        for (dependency in reads) {
+            dependents.getOrPut(dependency) { HashSet() }.add(entry)
+        }
+        dependencies[entry] = reads
+        edgeCount += reads.size
+    }
+
+    private fun removeDependencies(entry: DependencyKey) {
+        val reads = dependencies.remove(entry) ?: return
+        for (dependency in reads) {
+            val entries = dependents[dependency] ?: continue
+            entries.remove(entry)
+            if (entries.isEmpty()) dependents.remove(dependency)
+        }
+        edgeCount -= reads.size
+    }
+
+    companion object {
+        private val FAN_OUT_BUCKETS = listOf("0", "1", "2-10", "11-100", "101-1000", ">1000")
+
+        private fun bucketOf(fanOut: Int): Int = when {
+            fanOut == 0 -> 0
+            fanOut == 1 -> 1
+            fanOut <= 10 -> 2
+            fanOut <= 100 -> 3
+            fanOut <= 1000 -> 4
+            else -> 5
+        }
+    }
+}
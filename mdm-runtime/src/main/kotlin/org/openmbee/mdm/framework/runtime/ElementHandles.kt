@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import java.util.BitSet
+import java.util.UUID
+import java.util.concurrent.ThreadLocalRandom
+
+/**
+ * Generator for external element and link IDs.
+ *
+ * IDs keep the random (version 4) UUID format, but are drawn from
+ * [ThreadLocalRandom] instead of [UUID.randomUUID]'s SecureRandom: they only need
+ * to be unique, not unpredictable, and are created for every element and link.
+ */
+object ElementIds {
+
+    /** A new random UUID string. */
+    fun newId(): String {
+        val random = ThreadLocalRandom.current()
+        val most = (random.nextLong() and -0xf001L) or 0x4000L               // version 4
+        val least = (random.nextLong() and 0x3fffffffffffffffL) or Long.MIN_VALUE // IETF variant
+        return UUID(most, least).toString()
+    }
+}
+
+/**
+ * Bidirectional table between external string IDs and dense `Int` handles.
+ *
+ * Handles are assigned in interning order, so iterating by handle preserves
+ * creation order. The engine's element store and association graph share one
+ * table and key their indexes by handle rather than by string.
+ *
+ * Released handles are retired rather than reused. Once they make up a large
+ * enough share of the table ([needsCompaction]), [compact] renumbers the live
+ * handles densely in the same order, and every handle-indexed structure is
+ * remapped with the mapping it returns, so create/delete churn does not grow
+ * the table without bound.
+ *
+ * The ID-to-handle direction is an open-addressing table (linear probing, backward-shift
+ * deletion) over a key array and a parallel `IntArray`, so a handle costs no boxed
+ * `Integer` or map entry object: about 25 bytes per ID including the handle-to-ID list,
+ * against about 37 with a `HashMap<String, Int>`.
+ */
+internal class ElementHandleTable {
+    private var keys = arrayOfNulls<String>(INITIAL_SLOTS)
+    private var slotHandles = IntArray(INITIAL_SLOTS)
+    private var mapped = 0
+    private val ids = ArrayList<String?>()
+
+    /** Number of handles assigned since the last compaction (upper bound for handle-indexed arrays). */
+    val capacity: Int get() = ids.size
+
+    /** Number of handles released since the last compaction. */
+    var retired: Int = 0
+        private set
+
+    /** Whether enough handles are retired that [compact] is worth its linear cost. */
+    val needsCompaction: Boolean
+        get() = retired >= MIN_RETIRED_BEFORE_COMPACTION && retired * RETIRED_FRACTION >= ids.size
+
+    /** The handle for [id], or -1 if it was never interned. */
+    fun handleOf(id: String): Int {
+        val slot = slotOf(id)
+        return if (slot >= 0) slotHandles[slot] else -1
+    }
+
+    /** The handle for [id], assigning a new one if needed. */
+    fun intern(id: String): Int {
+        val slot = slotOf(id)
+        if (slot >= 0) return slotHandles[slot]
+        ids.add(id)
+        val handle = ids.size - 1
+        put(id, handle)
+        return handle
+    }
+
+    fun idOf(handle: Int): String? = ids.getOrNull(handle)
+
+    /** Rebind [handle] to [newId]; the old ID no longer resolves. */
+    fun rename(handle: Int, newId: String) {
+        ids[handle]?.let { remove(it) }
+        ids[handle] = newId
+        remove(newId)
+        put(newId, handle)
+    }
+
+    /** Forget [id]; its handle is retired. */
+    fun release(id: String) {
+        val handle = remove(id)
+        if (handle >= 0) {
+            ids[handle] = null
+            retired++
+        }
+    }
+
+    /**
+     * Renumber the live handles densely, keeping their order, and shrink the tables to fit.
+     *
+     * @return The new handle for each old one, or -1 for a retired handle
+     */
+    fun compact(): IntArray {
+        val remap = IntArray(ids.size) { -1 }
+        var live = 0
+        for (handle in ids.indices) {
+            val id = ids[handle] ?: continue
+            remap[handle] = live
+            ids[live++] = id
+        }
+        ids.subList(live, ids.size).clear()
+        ids.trimToSize()
+        var slots = INITIAL_SLOTS
+        while (live * MAX_LOAD_DENOMINATOR > slots * MAX_LOAD_NUMERATOR) slots *= 2
+        rehash(slots) { remap[it] }
+        retired = 0
+        return remap
+    }
+
+    fun clear() {
+        keys = arrayOfNulls(INITIAL_SLOTS)
+        slotHandles = IntArray(INITIAL_SLOTS)
+        mapped = 0
+        ids.clear()
+        retired = 0
+    }
+
+    private fun home(id: String, mask: Int): Int {
+        val hash = id.hashCode()
+        return (hash xor (hash ushr 16)) and mask
+    }
+
+    private fun slotOf(id: String): Int {
+        val mask = keys.size - 1
+        var slot = home(id, mask)
+        while (true) {
+            val key = keys[slot] ?: return -1
+            if (key == id) return slot
+            slot = (slot + 1) and mask
+        }
+    }
+
+    /** Map [id] (not yet present) to [handle]. */
+    private fun put(id: String, handle: Int) {
+        if ((mapped + 1) * MAX_LOAD_DENOMINATOR > keys.size * MAX_LOAD_NUMERATOR) grow()
+        val mask = keys.size - 1
+        var slot = home(id, mask)
+        while (keys[slot] != null) slot = (slot + 1) and mask
+        keys[slot] = id
+        slotHandles[slot] = handle
+        mapped++
+    }
+
+    /** Unmap [id], returning its handle or -1, and close the probe gap it leaves. */
+    private fun remove(id: String): Int {
+        var gap = slotOf(id)
+        if (gap < 0) return -1
+        val handle = slotHandles[gap]
+        val mask = keys.size - 1
+        var slot = gap
+        while (true) {
+            slot = (slot + 1) and mask
+            val key = keys[slot] ?: break
+            val home = home(key, mask)
+            // Keys whose home lies cyclically in (gap, slot] are still reachable; others move into the gap
+            val reachable = if (gap <= slot) home in (gap + 1)..slot else home > gap || home <= slot
+            if (!reachable) {
+                keys[gap] = key
+                slotHandles[gap] = slotHandles[slot]
+                gap = slot
+            }
+        }
+        keys[gap] = null
+        mapped--
+        return handle
+    }
+
+    private fun grow() = rehash(keys.size * 2) { it }
+
+    /** Move every key into a table of [slots] slots, mapping its handle through [handle]. */
+    private inline fun rehash(slots: Int, handle: (Int) -> Int) {
+        val oldKeys = keys
+        val oldHandles = slotHandles
+        keys = arrayOfNulls(slots)
+        slotHandles = IntArray(slots)
+        val mask = slots - 1
+        for (i in oldKeys.indices) {
+            val key = oldKeys[i] ?: continue
+            var slot = home(key, mask)
+            while (keys[slot] != null) slot = (slot + 1) and mask
+            keys[slot] = key
+            slotHandles[slot] = handle(oldHandles[i])
+        }
+    }
+
+    private companion object {
+        const val INITIAL_SLOTS = 64
+
+        /** Compaction waits for at least this many retired handles */
+        const val MIN_RETIRED_BEFORE_COMPACTION = 1024
+
+        /** Compaction runs once retired handles are this fraction (1/n) of the table */
+        const val RETIRED_FRACTION = 4
+
+        /** Maximum load factor 2/3 */
+        const val MAX_LOAD_NUMERATOR = 2
+        const val MAX_LOAD_DENOMINATOR = 3
+    }
+}
+
+/**
+ * Element storage indexed by handle, with a per-class extent index.
+ *
+ * Class extents are [BitSet]s over handles (one bit per element per class or
+ * superclass) instead of sets of ID strings, and iterate in creation order.
+ */
+internal class ElementStore(
+    private val schema: MetamodelRegistry,
+    val handles: ElementHandleTable
+) {
+    private val objects = ArrayList<MDMObject?>()
+    private val classIndex = HashMap<String, BitSet>()
+
+    var size: Int = 0
+        private set
+
+    operator fun get(id: String): MDMObject? = get(handles.handleOf(id))
+
+    operator fun get(handle: Int): MDMObject? = if (handle >= 0) objects.getOrNull(handle) else null
+
+    fun containsKey(id: String): Boolean = get(id) != null
+
+    /** Store [element] under its ID, replacing any element already there. */
+    fun put(element: MDMObject) {
+        val handle = handles.intern(element.id!!)
+        while (objects.size <= handle) objects.add(null)
+        objects[handle]?.let { removeFromClassIndex(it, handle) } ?: size++
+        objects[handle] = element
+        addToClassIndex(element, handle)
+    }
+
+    fun remove(id: String): MDMObject? {
+        val handle = handles.handleOf(id)
+        val element = get(handle) ?: return null
+        objects[handle] = null
+        size--
+        removeFromClassIndex(element, handle)
+        return element
+    }
+
+    /** Rebind the element stored under [oldId] to [newId], keeping its handle and position. */
+    fun rename(oldId: String, newId: String) {
+        handles.rename(handles.handleOf(oldId), newId)
+    }
+
+    /** Move each element and class index bit to its handle after [ElementHandleTable.compact]. */
+    fun remap(remap: IntArray) {
+        // Live handles keep their order and only move down, so the list can be compacted in place
+        var end = 0
+        for (handle in objects.indices) {
+            val target = remap[handle]
+            if (target < 0) continue
+            objects[target] = objects[handle]
+            end = target + 1
+        }
+        objects.subList(end, objects.size).clear()
+        objects.trimToSize()
+        for ((className, members) in classIndex) {
+            val moved = BitSet()
+            var handle = members.nextSetBit(0)
+            while (handle >= 0) {
+                moved.set(remap[handle])
+                handle = members.nextSetBit(handle + 1)
+            }
+            classIndex[className] = moved
+        }
+    }
+
+    /** All elements in creation order. */
+    val values: List<MDMObject> get() = objects.filterNotNull()
+
+    val ids: Set<String> get() = objects.mapNotNullTo(LinkedHashSet()) { it?.id }
+
+    /** Elements of [className] or any subclass, in creation order. */
+    fun extent(className: String): List<MDMObject> {
+        val members = classIndex[className] ?: return emptyList()
+        val result = ArrayList<MDMObject>(members.cardinality())
+        var handle = members.nextSetBit(0)
+        while (handle >= 0) {
+            objects[handle]?.let(result::add)
+            handle = members.nextSetBit(handle + 1)
+        }
+        return result
+    }
+
+    /** IDs of the first [limit] elements of [className] or any subclass, in creation order. */
+    fun extentIds(className: String, limit: Int): List<String> {
+        val members = classIndex[className] ?: return emptyList()
+        val result = ArrayList<String>(minOf(limit, members.cardinality()))
+        var handle = members.nextSetBit(0)
+        while (handle >= 0 && result.size < limit) {
+            objects[handle]?.id?.let(result::add)
+            handle = members.nextSetBit(handle + 1)
+        }
+        return result
+    }
+
+    /** Number of elements of [className] or any subclass. */
+    fun extentSize(className: String): Int = classIndex[className]?.cardinality() ?: 0
+
+    fun clear() {
+        objects.clear()
+        classIndex.clear()
+        size = 0
+    }
+
+    private fun addToClassIndex(element: MDMObject, handle: Int) {
+        classIndex.getOrPut(element.className) { BitSet() }.set(handle)
+        for (superclass in schema.getAllSuperclasses(element.className)) {
+            classIndex.getOrPut(superclass) { BitSet() }.set(handle)
+        }
+    }
+
+    private fun removeFromClassIndex(element: MDMObject, handle: Int) {
+        classIndex[element.className]?.clear(handle)
+        for (superclass in schema.getAllSuperclasses(element.className)) {
+            classIndex[superclass]?.clear(handle)
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * The concurrency model of an [MDMEngine]: any number of concurrent readers, or a single writer.
+ *
+ * The engine's element store and association graph are plain collections, which are safe to read
+ * from many threads as long as nothing mutates them. Readers therefore only share the read lock;
+ * derived values they compute and cache along the way go into thread-safe caches, so concurrent
+ * property reads never need exclusive access. Every mutation (element creation, property writes,
+ * links, parsing into the engine, reset) runs under the write lock.
+ *
+ * The lock is fair: waiting writers are granted the lock in arrival order, which makes the write
+ * lock a per-engine mutation queue, and a steady stream of readers cannot starve a queued writer.
+ * Both locks are reentrant, and a writer may read, but a reader cannot upgrade to writing.
+ *
+ * The engine does not take the lock itself; services that share an engine between threads
+ * (such as the API project store) wrap each request in [read] or [write]. Blocks must not suspend:
+ * the lock is owned by the thread that acquired it. Results handed to a consumer that may be slow,
+ * such as a network client, should be read with [readPages] so that the lock is not held while
+ * the consumer catches up.
+ */
+class EngineLock {
+
+    private val lock = ReentrantReadWriteLock(true)
+
+    /**
+     * Run [block] holding the read lock.
+     */
+    fun <T> read(block: () -> T): T = lock.read(block)
+
+    /**
+     * Run [block] holding the write lock, after every earlier queued writer.
+     *
+     * @throws IllegalStateException if the current thread holds only the read lock (upgrading would deadlock)
+     */
+    fun <T> write(block: () -> T): T {
+        check(lock.isWriteLockedByCurrentThread || lock.readHoldCount == 0) {
+            "Cannot acquire the engine write lock while holding its read lock"
+        }
+        return lock.write {
+            writeCount++
+            block()
+        }
+    }
+
+    /**
+     * Read rows a page at a time, holding the read lock only while each page is pulled.
+     *
+     * [open] runs under the read lock when the first page is requested and returns the rows, which
+     * are then pulled [pageSize] at a time, each page under a hold of its own. Between pages the
+     * lock is free, so writers queued behind the reader (and the readers queued behind them) are
+     * not held up by whoever consumes the pages. A write between two pages would leave the rest of
+     * the rows reading a different state, so the next page fails instead.
+     *
+     * @return The non-empty pages in order; pulling a page throws [ConcurrentModificationException]
+     *   if a write ran since the rows were opened
+     */
+    fun <T> readPages(pageSize: Int, open: () -> Iterator<T>): Iterator<List<T>> {
+        require(pageSize > 0) { "pageSize must be positive" }
+        var rows: Iterator<T>? = null
+        var opened = 0L
+        return generateSequence {
+            read {
+                val current = rows ?: open().also {
+                    rows = it
+                    opened = writeCount
+                }
+                if (writeCount != opened) {
+                    throw ConcurrentModificationException("The engine was written while its rows were read")
+                }
+                val page = ArrayList<T>(pageSize)
+                while (page.size < pageSize && current.hasNext()) page += current.next()
+                page.takeIf { it.isNotEmpty() }
+            }
+        }.iterator()
+    }
+
+    /** Number of writes so far; read under the lock, an unchanged count means no write ran since */
+    @Volatile
+    var writeCount: Long = 0
+        private set
+
+    /** Whether some thread currently holds the write lock */
+    val isWriteLocked: Boolean
+        get() = lock.isWriteLocked
+
+    /** Number of read holds currently held across all threads */
+    val readLockCount: Int
+        get() = lock.readLockCount
+
+    /** Estimated number of threads waiting for either lock */
+    val queueLength: Int
+        get() = lock.queueLength
+}
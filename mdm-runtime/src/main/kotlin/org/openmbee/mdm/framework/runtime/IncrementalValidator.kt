@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Receives the constraint evaluations invalidated by engine mutations.
+ */
+internal interface ValidationInvalidationObserver {
+    /** An input read by the evaluation of [constraintName] on [elementId] changed */
+    fun validationInvalidated(elementId: String, constraintName: String)
+
+    /** Every recorded evaluation was dropped (caches were cleared wholesale) */
+    fun allValidationsInvalidated()
+}
+
+/**
+ * Listener for changes to the violation set of an [IncrementalValidator].
+ */
+fun interface ViolationListener {
+    /**
+     * Called after a batch of re-evaluations that changed the violation set.
+     *
+     * @param added Violations that appeared or whose message changed
+     * @param resolved Violations that no longer hold, including those of removed elements
+     */
+    fun onViolationsChanged(added: List<ValidationError>, resolved: List<ValidationError>)
+}
+
+/**
+ * Keeps the VERIFICATION constraint violations of an engine up to date as the model changes.
+ *
+ * Every (element, constraint) evaluation runs under the engine's dependency tracker, which records the
+ * stored properties, links, class extents and derived values it read. When a property change, link
+ * creation or link removal touches one of those inputs, exactly the pairs that read it become stale;
+ * a created element makes all of its constraints stale, and a removed element's violations are
+ * resolved at once. Stale pairs are re-evaluated in batches: [flush] runs them immediately, and with a
+ * positive [debounceMillis] a background flush runs once the model has been quiet for that long (or
+ * at the latest [MAX_DEBOUNCE_FACTOR] times that long after the first pending change).
+ *
+ * Creating a validator turns on [MDMEngine.dependencyTracking] and evaluates every constraint once.
+ * Re-evaluation holds the engine's read lock. [close] detaches the validator.
+ */
+class IncrementalValidator(
+    private val engine: MDMEngine,
+    private val debounceMillis: Long = DEFAULT_DEBOUNCE_MILLIS
+) : LifecycleHandler, ValidationInvalidationObserver, AutoCloseable {
+
+    /** Element ID → constraint name → violation */
+    private val violations = ConcurrentHashMap<String, ConcurrentHashMap<String, ValidationError>>()
+
+    /** (element ID, constraint name) pairs awaiting re-evaluation; guarded by this */
+    private val stale = LinkedHashSet<Pair<String, String>>()
+    private var firstStaleAt = 0L
+    private var scheduledFlush: ScheduledFuture<*>? = null
+
+    /** Serializes re-evaluation; always taken inside the engine's read lock */
+    private val flushLock = Any()
+
+    private val listeners = CopyOnWriteArrayList<ViolationListener>()
+    private val evaluations = AtomicLong()
+
+    private val scheduler: ScheduledExecutorService? = if (debounceMillis > 0) {
+        Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "incremental-validation").apply { isDaemon = true }
+        }
+    } else {
+        null
+    }
+
+    init {
+        engine.dependencyTracking = true
+        engine.registerLifecycleHandler(this)
+        engine.addValidationObserver(this)
+        markAllStale()
+        flush()
+    }
+
+    /**
+     * Total number of (element, constraint) evaluations run, including the initial full pass.
+     */
+    val evaluationCount: Long
+        get() = evaluations.get()
+
+    /**
+     * Number of (element, constraint) pairs awaiting re-evaluation.
+     */
+    val pendingCount: Int
+        @Synchronized get() = stale.size
+
+    /**
+     * All current violations, as of the last flush.
+     */
+    fun violations(): List<ValidationError> = violations.values.flatMap { it.values }
+
+    /**
+     * The current violations of one element, as of the last flush.
+     */
+    fun violationsFor(elementId: String): List<ValidationError> =
+        violations[elementId]?.values?.toList() ?: emptyList()
+
+    fun addListener(listener: ViolationListener) {
+        listeners.add(listener)
+    }
+
+    fun removeListener(listener: ViolationListener) {
+        listeners.remove(listener)
+    }
+
+    /**
+     * Re-evaluate every stale pair now.
+     *
+     * @return The number of pairs re-evaluated
+     */
+    fun flush(): Int {
+        val added = ArrayList<ValidationError>()
+        val resolved = ArrayList<ValidationError>()
+        val count = engine.lock.read {
+            synchronized(flushLock) {
+                val batch = takeStale()
+                for ((elementId, constraintName) in batch) {
+                    reevaluate(elementId, constraintName, added, resolved)
+                }
+                batch.size
+            }
+        }
+        if (count > 0) logger.debug { "Re-evaluated $count constraint evaluations: ${added.size} new, ${resolved.size} resolved" }
+        notifyListeners(added, resolved)
+        return count
+    }
+
+    override fun handle(event: LifecycleEvent, model: MDMEngine) {
+        when (event) {
+            is LifecycleEvent.InstanceCreated -> {
+                markStale(event.instance)
+                scheduleFlush()
+            }
+            is LifecycleEvent.InstanceDeleting -> event.instance.id?.let { removeElement(event.instance, it) }
+            // Property and link changes reach validationInvalidated through the dependency tracker
+            else -> Unit
+        }
+    }
+
+    override fun validationInvalidated(elementId: String, constraintName: String) {
+        synchronized(this) { addStale(elementId to constraintName) }
+        scheduleFlush()
+    }
+
+    override fun allValidationsInvalidated() {
+        markAllStale()
+        scheduleFlush()
+    }
+
+    override fun close() {
+        engine.unregisterLifecycleHandler(this)
+        engine.removeValidationObserver(this)
+        scheduler?.shutdownNow()
+    }
+
+    // ===== Internal =====
+
+    private fun reevaluate(
+        elementId: String,
+        constraintName: String,
+        added: MutableList<ValidationError>,
+        resolved: MutableList<ValidationError>
+    ) {
+        val element = engine.getElement(elementId)
+        val constraint = element?.let { engine.verificationConstraints(it).find { c -> c.name == constraintName } }
+        if (element == null || constraint == null) {
+            engine.forgetTrackedValidation(elementId, constraintName)
+            removeViolation(elementId, constraintName)?.let { resolved.add(it) }
+            return
+        }
+
+        evaluations.incrementAndGet()
+        val result = engine.runTrackedValidation(element, constraint)
+        if (result.isValid) {
+            removeViolation(elementId, constraintName)?.let { resolved.add(it) }
+        } else {
+            val violation = ValidationError(element, constraint, result.message)
+            val previous = violations.getOrPut(elementId) { ConcurrentHashMap() }.put(constraintName, violation)
+            if (previous != violation) added.add(violation)
+        }
+    }
+
+    private fun removeElement(element: MDMObject, elementId: String) {
+        synchronized(this) { stale.removeAll { it.first == elementId } }
+        for (constraint in engine.verificationConstraints(element)) {
+            engine.forgetTrackedValidation(elementId, constraint.name)
+        }
+        val removed = violations.remove(elementId)?.values?.toList() ?: return
+        notifyListeners(emptyList(), removed)
+    }
+
+    private fun removeViolation(elementId: String, constraintName: String): ValidationError? {
+        val byConstraint = violations[elementId] ?: return null
+        val removed = byConstraint.remove(constraintName)
+        if (byConstraint.isEmpty()) violations.remove(elementId, byConstraint)
+        return removed
+    }
+
+    private fun markStale(element: MDMObject) {
+        val elementId = element.id ?: return
+        val pairs = engine.verificationConstraints(element).map { elementId to it.name }
+        synchronized(this) { pairs.forEach(::addStale) }
+    }
+
+    private fun markAllStale() {
+        engine.lock.read {
+            for (element in engine.getAllElements()) markStale(element)
+        }
+    }
+
+    @Synchronized
+    private fun addStale(pair: Pair<String, String>) {
+        if (stale.isEmpty()) firstStaleAt = System.currentTimeMillis()
+        stale.add(pair)
+    }
+
+    @Synchronized
+    private fun takeStale(): List<Pair<String, String>> {
+        val batch = stale.toList()
+        stale.clear()
+        scheduledFlush?.cancel(false)
+        scheduledFlush = null
+        return batch
+    }
+
+    /** Restart the quiet period, unless the oldest pending change has waited long enough */
+    @Synchronized
+    private fun scheduleFlush() {
+        val scheduler = scheduler ?: return
+        if (stale.isEmpty() || scheduler.isShutdown) return
+        val current = scheduledFlush
+        if (current != null && System.currentTimeMillis() - firstStaleAt >= debounceMillis * MAX_DEBOUNCE_FACTOR) return
+        current?.cancel(false)
+        scheduledFlush = scheduler.schedule({
+            try {
+                flush()
+            } catch (e: Exception) {
+                logger.error(e) { "Incremental validation flush failed" }
+            }
+        }, debounceMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private fun notifyListeners(added: List<ValidationError>, resolved: List<ValidationError>) {
+        if (added.isEmpty() && resolved.isEmpty()) return
+        for (listener in listeners) {
+            try {
+                listener.onViolationsChanged(added, resolved)
+            } catch (e: Exception) {
+                logger.error(e) { "Error in violation listener" }
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_DEBOUNCE_MILLIS = 100L
+
+        /** Bound on how far continuous changes can postpone a flush, in quiet periods */
+        const val MAX_DEBOUNCE_FACTOR = 10
+    }
+}
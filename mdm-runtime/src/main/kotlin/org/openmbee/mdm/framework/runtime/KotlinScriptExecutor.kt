@@ -18,23 +18,45 @@ package org.openmbee.mdm.framework.runtime
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.openmbee.mdm.framework.constraints.EngineAccessor
 import javax.script.ScriptEngineManager
-import javax.script.SimpleBindings
 
 private val logger = KotlinLogging.logger {}
 
+/**
+ * A script body compiled into a callable; invoking it runs no compiler.
+ */
+typealias CompiledScriptBody = (self: MDMObject, args: Map<String, Any?>, engine: EngineAccessor) -> Any?
+
 /**
  * Executes Kotlin code from strings at runtime using JSR-223 scripting.
  * Provides a context with 'self' (the instance), 'args' (operation arguments),
  * and 'engine' (for accessing other objects/operations).
+ *
+ * Each distinct script text is compiled once into a [CompiledScriptBody] and kept in a
+ * least-recently-used cache of [maxCachedScripts] entries, so only the first invocation of a
+ * body pays the Kotlin compiler.
  */
 class KotlinScriptExecutor(
-    private val engineAccessor: EngineAccessor
+    private val engineAccessor: EngineAccessor,
+    private val maxCachedScripts: Int = DEFAULT_MAX_CACHED_SCRIPTS
 ) {
     private val scriptEngine by lazy {
         ScriptEngineManager().getEngineByExtension("kts")
             ?: throw IllegalStateException("Kotlin scripting engine not found. Ensure kotlin-scripting-jsr223 is on the classpath.")
     }
 
+    private val compiledScripts = object : LinkedHashMap<String, CompiledScriptBody>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CompiledScriptBody>): Boolean =
+            size > maxCachedScripts
+    }
+
+    init {
+        require(maxCachedScripts > 0) { "maxCachedScripts must be positive: $maxCachedScripts" }
+    }
+
+    /** Number of compiled scripts currently cached. */
+    val cachedScriptCount: Int
+        get() = synchronized(compiledScripts) { compiledScripts.size }
+
     /**
      * Execute a Kotlin script with the given context.
      *
@@ -48,36 +70,62 @@ class KotlinScriptExecutor(
         self: MDMObject,
         args: Map<String, Any?>
     ): Any? {
-        // Use internal names to avoid clashing with script-level bindings
-        val bindings = SimpleBindings().apply {
-            put("__self__", self)
-            put("__args__", args)
-            put("__engine__", engineAccessor)
+        val body = compile(script)
+        return try {
+            body(self, args, engineAccessor)
+        } catch (e: Exception) {
+            logger.error(e) { "Kotlin script execution failed" }
+            throw e
         }
+    }
 
-        // Wrap the script to provide imports, typed variables, and a labeled lambda
+    /**
+     * The compiled form of [script], compiling and caching it on first use.
+     */
+    fun compile(script: String): CompiledScriptBody {
+        synchronized(compiledScripts) { compiledScripts[script] }?.let { return it }
+
+        // The JSR-223 engine is not thread-safe; concurrent first uses of one script compile it once
+        val body = synchronized(scriptEngine) {
+            synchronized(compiledScripts) { compiledScripts[script] } ?: compileUncached(script)
+        }
+        synchronized(compiledScripts) { compiledScripts[script] = body }
+        return body
+    }
+
+    /** Drop every cached compilation. */
+    fun clearCache() {
+        synchronized(compiledScripts) { compiledScripts.clear() }
+    }
+
+    private fun compileUncached(script: String): CompiledScriptBody {
+        // Wrap the script in a function literal over typed parameters; evaluating the wrapper
+        // yields the function, which is then invoked directly for every execution.
         // The labeled lambda allows scripts to use `return@kotlinBody` for early returns
         val wrappedScript = """
             import org.openmbee.mdm.framework.runtime.*
             import org.openmbee.mdm.framework.constraints.EngineAccessor
 
-            @Suppress("UNCHECKED_CAST")
-            val self = bindings["__self__"] as MDMObject
-            @Suppress("UNCHECKED_CAST")
-            val args = bindings["__args__"] as Map<String, Any?>
-            val engine = bindings["__engine__"] as EngineAccessor
-
-            val kotlinBody: () -> Any? = kotlinBody@{
-                $script
+            val compiledBody: (MDMObject, Map<String, Any?>, EngineAccessor) -> Any? = { self, args, engine ->
+                val kotlinBody: () -> Any? = kotlinBody@{
+                    $script
+                }
+                kotlinBody()
             }
-            kotlinBody()
+            compiledBody
         """.trimIndent()
 
-        return try {
-            scriptEngine.eval(wrappedScript, bindings)
+        val compiled = try {
+            scriptEngine.eval(wrappedScript)
         } catch (e: Exception) {
-            logger.error(e) { "Kotlin script execution failed" }
+            logger.error(e) { "Kotlin script compilation failed" }
             throw e
         }
+        @Suppress("UNCHECKED_CAST")
+        return compiled as CompiledScriptBody
+    }
+
+    companion object {
+        const val DEFAULT_MAX_CACHED_SCRIPTS = 256
     }
 }
@@ -16,9 +16,11 @@
 package org.openmbee.mdm.framework.runtime
 
 import io.github.oshai.kotlinlogging.KotlinLogging
+import org.openmbee.mdm.framework.constraints.EngineAccessor
 import org.openmbee.mdm.framework.meta.*
 import org.openmbee.mdm.framework.query.ocl.OclAsTypeView
-import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
 
 private val logger = KotlinLogging.logger {}
 
@@ -39,36 +41,85 @@ private val logger = KotlinLogging.logger {}
  * Expression evaluation is pluggable - register evaluators for different languages
  * (OCL, GQL, Kotlin DSL) to support dynamic language extension.
  *
+ * Threading: reads (including derived property evaluation) may run concurrently, mutations may not.
+ * Callers sharing an engine between threads coordinate through [lock].
+ *
  * This class is open to allow subclasses like MountableEngine to extend functionality.
  */
 open class MDMEngine(
     /** The schema (metamodel registry) this model uses for metaclass definitions */
     val schema: MetamodelRegistry,
     /** The factory used to create element instances (allows typed implementations) */
-    elementFactory: ElementFactory = DefaultElementFactory()
+    elementFactory: ElementFactory,
+    /** The association graph; an alternative store such as [CompactGraph] may be supplied (one engine per graph) */
+    private val graph: MDMGraph
 ) : ModelEngine {
-    /** Element instances by ID */
-    private val elements: MutableMap<String, MDMObject> = mutableMapOf()
 
-    /** The association graph */
-    private val graph: MDMGraph = MDMGraph()
+    constructor(
+        schema: MetamodelRegistry,
+        elementFactory: ElementFactory = DefaultElementFactory()
+    ) : this(schema, elementFactory, MDMGraph())
+
+    /** Element instances by handle; IDs are interned in the handle table shared with [graph] */
+    private val elements = ElementStore(schema, graph.handles)
 
-    /** Index from class name (including supertypes) to element IDs of that class */
-    private val classIndex: MutableMap<String, MutableSet<String>> = mutableMapOf()
+    /** Shared closure cache: "(elementId):(bodyKey)" -> transitive closure result; filled by concurrent readers */
+    internal val closureCache: MutableMap<String, Set<Any?>> = ConcurrentHashMap()
 
-    /** Shared closure cache: "(elementId):(bodyKey)" -> transitive closure result */
-    internal val closureCache: MutableMap<String, Set<Any?>> = mutableMapOf()
+    /** Indexes other modules build over this engine's content, by key; see [sharedIndex] */
+    private val sharedIndexes: MutableMap<String, Any> = ConcurrentHashMap()
 
     /** Registered lifecycle handlers */
-    private val lifecycleHandlers: MutableList<LifecycleHandler> = mutableListOf()
+    private val lifecycleHandlers: MutableList<LifecycleHandler> = CopyOnWriteArrayList()
 
     /** Registered expression evaluators by language */
-    private val evaluators: MutableMap<String, ExpressionEvaluator> = mutableMapOf()
+    private val evaluators: MutableMap<String, ExpressionEvaluator> = ConcurrentHashMap()
+
+    /** Readers/single-writer lock for callers that share this engine between threads */
+    val lock = EngineLock()
+
+    /** Engine-scoped accessor handed to OCL executors; created once rather than per evaluation */
+    internal val engineAccessor: EngineAccessor = MDMEngineAccessor(this)
+
+    /** Dependency tracker for derived caches; null when caches are invalidated wholesale */
+    private var dependencyTracker: DerivedDependencyTracker? = null
+
+    /**
+     * Whether derived-value caches record the reads they make and are invalidated by dependency.
+     *
+     * When off (the default), a property change clears the element's derived cache and a link change
+     * clears both endpoints' caches, and either clears the whole closure cache. When on, each cached
+     * `prop:`/`assoc:` value and closure entry records the stored properties, links, class extents and
+     * other cached values it read, and a mutation evicts only its transitive dependents (this also
+     * covers dependents on other elements, which wholesale clearing misses). Toggling clears all caches.
+     */
+    var dependencyTracking: Boolean
+        get() = dependencyTracker != null
+        set(value) {
+            if (value == (dependencyTracker != null)) return
+            clearDerivedCaches()
+            dependencyTracker = if (value) DerivedDependencyTracker() else null
+        }
+
+    /**
+     * Statistics of dependency-tracked invalidation (including fan-out), or null when
+     * [dependencyTracking] is off.
+     */
+    fun dependencyTrackingStats(): DependencyTrackingStats? = dependencyTracker?.stats()
+
+    /** Notified when a tracked constraint evaluation is invalidated (see [IncrementalValidator]) */
+    private val validationObservers = CopyOnWriteArrayList<ValidationInvalidationObserver>()
 
     /** Optional pre-built qualified name index for O(1) QN lookups */
     var qualifiedNameIndex: QualifiedNameIndex? = null
         private set
 
+    /** Secondary property indexes declared by the metamodel; maintained through lifecycle events */
+    val propertyIndexes = PropertyIndexes(schema, schema.getPropertyIndexes())
+
+    /** Memoized transitive closures over the associations the metamodel declares reachability indexes for */
+    val reachabilityIndex = ReachabilityIndex(schema.getReachabilityIndexes())
+
     /** The element factory - can be changed at runtime */
     var factory: ElementFactory = elementFactory
         private set
@@ -78,6 +129,7 @@ open class MDMEngine(
         factory.engine = this
         // Register default expression evaluators
         registerEvaluator("OCL", OclExpressionEvaluator())
+        if (!propertyIndexes.isEmpty()) registerLifecycleHandler(propertyIndexes)
     }
 
     /**
@@ -98,24 +150,49 @@ open class MDMEngine(
     /**
      * Get all elements in the model.
      */
-    open fun getAllElements(): List<MDMObject> = elements.values.toList()
+    open fun getAllElements(): List<MDMObject> = elements.values
 
     /**
      * Get all elements of a specific class (including subclasses).
      * Uses a pre-maintained class index for O(1) lookup.
      */
-    open fun getElementsByClass(className: String): List<MDMObject> =
-        classIndex[className]?.mapNotNull { elements[it] } ?: emptyList()
+    open fun getElementsByClass(className: String): List<MDMObject> {
+        dependencyTracker?.recordRead(DependencyKey.classExtent(className))
+        return elements.extent(className)
+    }
+
+    /**
+     * Count the elements of a specific class (including subclasses) without materializing them.
+     * Reads the cardinality of the class index; used for query planning statistics.
+     */
+    open fun countElementsByClass(className: String): Int {
+        dependencyTracker?.recordRead(DependencyKey.classExtent(className))
+        return elements.extentSize(className)
+    }
+
+    /**
+     * The IDs of up to [limit] elements of a class (including subclasses), in creation order,
+     * without materializing the extent. Used to sample the class for query planning statistics.
+     */
+    open fun sampleElementIdsByClass(className: String, limit: Int): List<String> {
+        dependencyTracker?.recordRead(DependencyKey.classExtent(className))
+        return elements.extentIds(className, limit)
+    }
 
     /**
      * Get all element IDs.
      */
-    fun getElementIds(): Set<String> = elements.keys.toSet()
+    open fun getElementIds(): Set<String> = elements.ids
+
+    /**
+     * Get all links in the model, in creation order.
+     */
+    fun getAllLinks(): List<MDMLink> = graph.allEdges().toList()
 
     /**
      * Get the count of elements.
      */
-    fun elementCount(): Int = elements.size
+    open fun elementCount(): Int = elements.size
 
     /**
      * Create a new element of the specified class.
@@ -126,10 +203,9 @@ open class MDMEngine(
             ?: throw IllegalArgumentException("Unknown class: $className")
 
         val element = factory.createInstance(className, metaClass)
-        val id = UUID.randomUUID().toString()
-        element.id = id
-        elements[id] = element
-        addToClassIndex(element)
+        element.id = ElementIds.newId()
+        elements.put(element)
+        invalidateClassExtentDependents(element)
 
         fireEvent(LifecycleEvent.InstanceCreated(element, metaClass))
 
@@ -143,14 +219,14 @@ open class MDMEngine(
      */
     fun registerElement(element: MDMObject): MDMObject {
         if (element.id == null) {
-            element.id = UUID.randomUUID().toString()
+            element.id = ElementIds.newId()
         }
         // Check if already registered to avoid duplicate events
         if (elements.containsKey(element.id!!)) {
             return element
         }
-        elements[element.id!!] = element
-        addToClassIndex(element)
+        elements.put(element)
+        invalidateClassExtentDependents(element)
         fireEvent(LifecycleEvent.InstanceCreated(element, element.metaClass))
         return element
     }
@@ -160,12 +236,25 @@ open class MDMEngine(
      */
     open fun removeElement(id: String): Boolean {
         val element = elements.remove(id) ?: return false
-        removeFromClassIndex(element)
         fireEvent(LifecycleEvent.InstanceDeleting(element))
+        dependencyTracker?.let { tracker ->
+            invalidateTracked(tracker, graph.getLinksForElement(id).flatMap { linkInputs(it) })
+        }
+        invalidateReachability(graph.getLinksForElement(id))
         graph.removeEdgesForElement(id)
+        graph.handles.release(id)
+        if (graph.handles.needsCompaction) compactHandles()
+        invalidateClassExtentDependents(element)
         return true
     }
 
+    /** Reclaim retired handles, renumbering the element store and the graph to match. */
+    private fun compactHandles() {
+        val remap = graph.handles.compact()
+        elements.remap(remap)
+        graph.remapHandles(remap)
+    }
+
     /**
      * Reassign an element's ID from [oldId] to [newId].
      *
@@ -180,23 +269,16 @@ open class MDMEngine(
     fun reassignElementId(oldId: String, newId: String) {
         if (oldId == newId) return
 
-        val element = elements.remove(oldId)
+        val element = elements[oldId]
             ?: throw IllegalArgumentException("Element not found: $oldId")
         if (elements.containsKey(newId)) {
-            // Put the element back before throwing
-            elements[oldId] = element
             throw IllegalArgumentException("Element ID already in use: $newId")
         }
 
+        // The graph rebinds the shared handle, so the element keeps its slot and class index bits
         element.id = newId
-        elements[newId] = element
         graph.reassignElementId(oldId, newId)
-
-        // Update class index: swap oldId for newId in all relevant sets
-        classIndex[element.className]?.let { it.remove(oldId); it.add(newId) }
-        for (superclass in schema.getAllSuperclasses(element.className)) {
-            classIndex[superclass]?.let { it.remove(oldId); it.add(newId) }
-        }
+        reachabilityIndex.clear()
     }
 
     /**
@@ -208,12 +290,13 @@ open class MDMEngine(
      */
     fun deleteInstanceWithCascade(id: String): List<String> {
         val deleted = mutableListOf<String>()
+        val visited = HashSet<String>()
         val toDelete = ArrayDeque<String>()
         toDelete.add(id)
 
         while (toDelete.isNotEmpty()) {
             val currentId = toDelete.removeFirst()
-            if (currentId in deleted) continue
+            if (!visited.add(currentId)) continue
 
             val element = elements[currentId] ?: continue
 
@@ -261,9 +344,43 @@ open class MDMEngine(
     open fun clear() {
         elements.clear()
         graph.clear()
-        classIndex.clear()
+        graph.handles.clear()
         closureCache.clear()
+        sharedIndexes.clear()
+        dependencyTracker?.clear()
         qualifiedNameIndex?.clear()
+        propertyIndexes.clear()
+        reachabilityIndex.clear()
+        validationObservers.forEach { it.allValidationsInvalidated() }
+    }
+
+    /**
+     * Insert pre-built elements and links in one pass, as when restoring a [MountImage].
+     *
+     * No lifecycle events are fired and no dependency invalidation happens; derived
+     * caches are cleared and the qualified name and property indexes are rebuilt once at the end.
+     * Elements must already carry their IDs.
+     */
+    internal fun bulkLoad(loaded: List<MDMObject>, links: List<MDMLink>) {
+        for (element in loaded) {
+            elements.put(element)
+        }
+        for (link in links) {
+            graph.addEdge(link)
+        }
+        graph.compact()
+        clearDerivedCaches()
+        qualifiedNameIndex?.build(this)
+        propertyIndexes.build(elements.values)
+        reachabilityIndex.clear()
+    }
+
+    /**
+     * Compact the association graph after a load or a burst of edits.
+     * A no-op for the default [MDMGraph]; [CompactGraph] folds its edit overlay into CSR arrays.
+     */
+    fun compactGraph() {
+        graph.compact()
     }
 
     // ===== Public API - Qualified Name Index =====
@@ -282,6 +399,99 @@ open class MDMEngine(
         qualifiedNameIndex = index
     }
 
+    // ===== Public API - Property Indexes =====
+
+    /**
+     * The kind of the property index covering [propertyName] on every instance of [className],
+     * or null if lookups on it fall back to scanning the class extent.
+     */
+    open fun propertyIndexKind(className: String, propertyName: String): PropertyIndexKind? =
+        propertyIndexes.indexFor(className, propertyName)?.spec?.kind
+
+    /**
+     * Get the elements of [className] (including subclasses) whose stored [propertyName] equals [value].
+     *
+     * Uses a declared property index when one covers the class, otherwise scans the class extent.
+     * Values compare like [PropertyIndex] keys: numbers numerically, anything else by string form.
+     */
+    open fun findElementsByProperty(className: String, propertyName: String, value: Any): List<MDMObject> {
+        dependencyTracker?.recordRead(DependencyKey.propertyValues(propertyName))
+        val index = propertyIndexes.indexFor(className, propertyName)
+            ?: return scanElementsByProperty(className, propertyName, value)
+        dependencyTracker?.recordRead(DependencyKey.classExtent(className))
+        val matches = index.lookup(value)
+        return if (index.spec.className == className) matches else matches.filter { isInstanceOf(it, className) }
+    }
+
+    /**
+     * Get the elements of [className] (including subclasses) whose stored [propertyName] lies between
+     * [from] and [to]; a null bound leaves that side open. Numbers and strings are never in range of each other.
+     *
+     * Uses a SORTED property index when one covers the class, otherwise scans the class extent.
+     */
+    open fun findElementsByPropertyRange(
+        className: String,
+        propertyName: String,
+        from: Any?,
+        fromInclusive: Boolean,
+        to: Any?,
+        toInclusive: Boolean
+    ): List<MDMObject> {
+        dependencyTracker?.recordRead(DependencyKey.propertyValues(propertyName))
+        val index = propertyIndexes.indexFor(className, propertyName, needsOrder = true)
+            ?: return scanElementsByPropertyRange(className, propertyName, from, fromInclusive, to, toInclusive)
+        dependencyTracker?.recordRead(DependencyKey.classExtent(className))
+        val matches = index.range(from, fromInclusive, to, toInclusive)
+        return if (index.spec.className == className) matches else matches.filter { isInstanceOf(it, className) }
+    }
+
+    /**
+     * Count the elements [findElementsByProperty] would return; used for query planning statistics.
+     */
+    open fun countElementsByProperty(className: String, propertyName: String, value: Any): Int =
+        findElementsByProperty(className, propertyName, value).size
+
+    /** Lookup fallback when no index covers [className]: filter the class extent by index key */
+    protected fun scanElementsByProperty(className: String, propertyName: String, value: Any): List<MDMObject> {
+        val key = PropertyIndex.keyOf(value) ?: return emptyList()
+        return getElementsByClass(className).filter { PropertyIndex.keyOf(it.getProperty(propertyName)) == key }
+    }
+
+    /** Range lookup fallback when no SORTED index covers [className] */
+    protected fun scanElementsByPropertyRange(
+        className: String,
+        propertyName: String,
+        from: Any?,
+        fromInclusive: Boolean,
+        to: Any?,
+        toInclusive: Boolean
+    ): List<MDMObject> =
+        getElementsByClass(className).filter {
+            PropertyIndex.inRange(it.getProperty(propertyName), from, fromInclusive, to, toInclusive)
+        }
+
+    // ===== Public API - Reachability =====
+
+    /**
+     * Ids of the elements reachable from [elementId] in one or more hops over links of
+     * [associationNames], from source to target when [forward] and backwards otherwise.
+     *
+     * Answered from a memoized closure, or null if the metamodel declares no reachability index
+     * for exactly [associationNames]. Reads made while computing a closure are recorded once, so
+     * derived values should navigate links directly rather than rely on this.
+     */
+    open fun reachableElementIds(elementId: String, associationNames: Set<String>, forward: Boolean): Set<String>? =
+        reachabilityIndex.reachable(elementId, associationNames, forward) { id ->
+            associationNames.flatMap { name ->
+                if (forward) getLinkedTargets(name, id) else getLinkedSources(name, id)
+            }.mapNotNull { it.id }
+        }
+
+    private fun invalidateReachability(links: List<MDMLink>) {
+        if (reachabilityIndex.isEmpty()) return
+        links.forEach { reachabilityIndex.invalidate(it.association.name) }
+    }
+
     // ===== Compatibility API (for generated code and migration) =====
 
     /** Alias for schema */
@@ -297,10 +507,9 @@ open class MDMEngine(
             ?: throw IllegalArgumentException("Unknown class: $className")
 
         val element = factory.createInstance(className, metaClass)
-        val elementId = id ?: UUID.randomUUID().toString()
+        val elementId = id ?: ElementIds.newId()
         element.id = elementId
-        elements[elementId] = element
-        addToClassIndex(element)
+        elements.put(element)
 
         fireEvent(LifecycleEvent.InstanceCreated(element, metaClass))
 
@@ -317,15 +526,17 @@ open class MDMEngine(
         val association = schema.getAssociation(associationName)
             ?: throw IllegalArgumentException("Unknown association: $associationName")
 
-        val linkId = UUID.randomUUID().toString()
+        val linkId = ElementIds.newId()
         val link = MDMLink(linkId, association, sourceId, targetId)
         graph.addEdge(link)
+        reachabilityIndex.invalidate(associationName)
 
         val source = elements[sourceId]
         val target = elements[targetId]
         if (source != null && target != null) {
             fireEvent(LifecycleEvent.LinkCreated(link, source, target, association))
         }
+        dependencyTracker?.let { invalidateTracked(it, linkInputs(link)) }
 
         return link
     }
@@ -342,6 +553,8 @@ open class MDMEngine(
      * where the association is defined as FeatureTyping(typing) -> Feature(typedFeature).
      */
     open fun getLinkedTargets(associationName: String, sourceId: String): List<MDMObject> {
+        recordLinkRead(sourceId, associationName)
+
         // First try direct/forward navigation
         // Use getElement() to support cross-mount resolution in MountableEngine
         val directResults = graph.getTargets(sourceId, associationName).mapNotNull { getElement(it) }
@@ -361,6 +574,7 @@ open class MDMEngine(
 
         if (assocInfo != null) {
             val (association, _) = assocInfo
+            recordLinkRead(sourceId, association.name)
             // Reverse navigation: get sources (elements that link TO this element)
             // Use getElement() to support cross-mount resolution in MountableEngine
             val reverseResults = graph.getSources(sourceId, association.name).mapNotNull { getElement(it) }
@@ -374,16 +588,38 @@ open class MDMEngine(
      * Get linked sources via association (GearshiftEngine compatibility).
      */
     open fun getLinkedSources(associationName: String, targetId: String): List<MDMObject> {
+        recordLinkRead(targetId, associationName)
         // Use getElement() to support cross-mount resolution in MountableEngine
         return graph.getSources(targetId, associationName).mapNotNull { getElement(it) }
     }
 
+    /**
+     * Visit the IDs of the sources of [associationName] links ending at [targetId], without
+     * resolving them to elements.
+     */
+    fun forEachLinkedSourceId(associationName: String, targetId: String, action: (String) -> Unit) {
+        recordLinkRead(targetId, associationName)
+        graph.forEachSource(targetId, associationName, action)
+    }
+
+    /**
+     * The index stored on this engine under [key], built by [build] on first use.
+     *
+     * Meant for indexes over content that does not change once loaded, such as a mounted library's:
+     * the engine keeps no track of what an index read, so it is only dropped by [clear].
+     */
+    @Suppress("UNCHECKED_CAST")
+    fun <T : Any> sharedIndex(key: String, build: () -> T): T =
+        sharedIndexes.computeIfAbsent(key) { build() } as T
+
     /**
      * Remove a link (GearshiftEngine compatibility).
      */
     fun removeLink(associationName: String, sourceId: String, targetId: String): Boolean {
         val link = graph.findEdge(sourceId, targetId, associationName) ?: return false
         graph.removeEdge(link.id)
+        reachabilityIndex.invalidate(associationName)
+        dependencyTracker?.let { invalidateTracked(it, linkInputs(link)) }
         return true
     }
 
@@ -398,13 +634,17 @@ open class MDMEngine(
      * Remove all links for an element.
      */
     fun removeAllLinks(instanceId: String) {
+        dependencyTracker?.let { tracker ->
+            invalidateTracked(tracker, graph.getLinksForElement(instanceId).flatMap { linkInputs(it) })
+        }
+        invalidateReachability(graph.getLinksForElement(instanceId))
         graph.removeEdgesForElement(instanceId)
     }
 
     /**
      * Get instances by exact type (GearshiftEngine compatibility).
      */
-    fun getInstancesByType(className: String): List<MDMObject> =
+    open fun getInstancesByType(className: String): List<MDMObject> =
         elements.values.filter { it.className == className }
 
     // ===== Public API - Property Access =====
@@ -431,7 +671,7 @@ open class MDMEngine(
             return if (property.isDerived) {
                 computeDerivedProperty(element, property)
             } else {
-                element.getProperty(propertyName)
+                readStoredProperty(element, propertyName)
             }
         }
 
@@ -483,9 +723,19 @@ open class MDMEngine(
             }
 
             val oldValue = element.getProperty(propertyName)
-            element.setProperty(propertyName, value)
-            element.derivedCache.clear()
-            if (closureCache.isNotEmpty()) closureCache.clear()
+            val tracker = dependencyTracker
+            val elementId = element.id
+            if (tracker != null && elementId != null) {
+                element.setPropertyKeepingDerived(propertyName, value)
+                invalidateTracked(
+                    tracker,
+                    listOf(DependencyKey.storedProperty(elementId, propertyName), DependencyKey.propertyValues(propertyName))
+                )
+            } else {
+                element.setProperty(propertyName, value)
+                element.derivedCache.clear()
+                if (closureCache.isNotEmpty()) closureCache.clear()
+            }
             fireEvent(LifecycleEvent.PropertyChanged(element, propertyName, oldValue, value))
             return
         }
@@ -531,9 +781,10 @@ open class MDMEngine(
             throw IllegalArgumentException("Unknown association: $associationName")
         }
 
-        val linkId = UUID.randomUUID().toString()
+        val linkId = ElementIds.newId()
         val link = MDMLink(linkId, association, sourceId, targetId)
         graph.addEdge(link)
+        reachabilityIndex.invalidate(associationName)
 
         val source = elements[sourceId]
         val target = elements[targetId]
@@ -542,8 +793,7 @@ open class MDMEngine(
         }
 
         // Invalidate derived property caches
-        elements[sourceId]?.let { invalidateAssociationDependents(it, association.targetEnd.name) }
-        elements[targetId]?.let { invalidateAssociationDependents(it, association.sourceEnd.name) }
+        invalidateLinkDependents(link)
 
         // Check for ownership establishment
         if (source != null && target != null) {
@@ -565,15 +815,14 @@ open class MDMEngine(
             }
 
             graph.removeEdge(link.id)
+            reachabilityIndex.invalidate(associationName)
 
             if (source != null && target != null) {
                 fireEvent(LifecycleEvent.LinkDeleting(link, source, target, link.association))
             }
 
             // Invalidate derived property caches
-            val association = link.association
-            elements[sourceId]?.let { invalidateAssociationDependents(it, association.targetEnd.name) }
-            elements[targetId]?.let { invalidateAssociationDependents(it, association.sourceEnd.name) }
+            invalidateLinkDependents(link)
         }
     }
 
@@ -653,6 +902,7 @@ open class MDMEngine(
 
         // Collect target IDs from the primary association
         val allTargetIds = mutableSetOf<String>()
+        recordLinkRead(elementId, association.name)
         val directResults = if (isTargetEnd) {
             graph.getTargets(elementId, association.name)
         } else {
@@ -668,6 +918,7 @@ open class MDMEngine(
             val applicableType =
                 if (redefiningIsTargetEnd) redefiningAssoc.sourceEnd.type else redefiningAssoc.targetEnd.type
             if (schema.isSubclassOf(metaClass.name, applicableType) || metaClass.name == applicableType) {
+                recordLinkRead(elementId, redefiningAssoc.name)
                 val redefiningResults = if (redefiningIsTargetEnd) {
                     graph.getTargets(elementId, redefiningAssoc.name)
                 } else {
@@ -685,6 +936,7 @@ open class MDMEngine(
             val applicableType =
                 if (subsettingIsTargetEnd) subsettingAssoc.sourceEnd.type else subsettingAssoc.targetEnd.type
             if (schema.isSubclassOf(metaClass.name, applicableType) || metaClass.name == applicableType) {
+                recordLinkRead(elementId, subsettingAssoc.name)
                 val subsettingResults = if (subsettingIsTargetEnd) {
                     graph.getTargets(elementId, subsettingAssoc.name)
                 } else {
@@ -749,7 +1001,7 @@ open class MDMEngine(
                             null
                         } else {
                             logger.trace { "Invoking operation $operationName on ${element.className} - ${element.id} using ${body.language}" }
-                            evaluator.evaluate(body.code, element, this, args)
+                            evaluateExpression(evaluator, body, body.code, element, args)
                         }
                     }
                 }
@@ -809,7 +1061,7 @@ open class MDMEngine(
                             null
                         } else {
                             logger.trace { "Invoking operation $operationName as $dispatchClass on ${element.id} using ${body.language}" }
-                            evaluator.evaluate(body.code, element, this, args)
+                            evaluateExpression(evaluator, body, body.code, element, args)
                         }
                     }
                 }
@@ -840,7 +1092,7 @@ open class MDMEngine(
             return if (property.isDerived) {
                 computeDerivedPropertyAs(element, property, viewMetaClass)
             } else {
-                element.getProperty(propertyName)
+                readStoredProperty(element, propertyName)
             }
         }
 
@@ -922,7 +1174,7 @@ open class MDMEngine(
                 val evaluator = evaluators[constraint.language.uppercase()]
                 if (evaluator != null) {
                     //logger.debug { "Computing derived property ${property.name} via ${constraint.language} as $viewMetaClass" }
-                    return evaluator.evaluate(constraint.expression, element, this)
+                    return evaluateExpression(evaluator, constraint, constraint.expression, element)
                 } else {
                     logger.warn { "No evaluator for ${constraint.language} to compute ${property.name}" }
                 }
@@ -964,7 +1216,7 @@ open class MDMEngine(
         if (constraint != null) {
             val evaluator = evaluators[constraint.language.uppercase()]
             if (evaluator != null) {
-                val result = evaluator.evaluate(constraint.expression, element, this)
+                val result = evaluateExpression(evaluator, constraint, constraint.expression, element)
                 return normalizeForMultiplicity(
                     when (result) {
                         null -> emptyList()
@@ -995,6 +1247,7 @@ open class MDMEngine(
         // Check cache first
         val cacheKey = "assoc:${end.name}"
         if (element.derivedCache.containsKey(cacheKey)) {
+            recordCacheHit(element, cacheKey)
             return element.derivedCache[cacheKey]
         }
 
@@ -1006,19 +1259,21 @@ open class MDMEngine(
             if (constraint != null) {
                 val evaluator = evaluators[constraint.language.uppercase()]
                 if (evaluator != null) {
-                    val result = evaluator.evaluate(constraint.expression, element, this)
-                    // Unwrap OclAsTypeView to get the underlying MDMObject
-                    val unwrappedResult = unwrapOclResult(result)
-                    val normalized = normalizeForMultiplicity(
-                        when (unwrappedResult) {
-                            null -> emptyList()
-                            is Collection<*> -> unwrappedResult.map { unwrapOclResult(it) }.filterNotNull()
-                            else -> listOf(unwrappedResult)
-                        },
-                        end,
-                        element,
-                        end.name
-                    )
+                    val normalized = trackDerived(element, cacheKey) {
+                        val result = evaluateExpression(evaluator, constraint, constraint.expression, element)
+                        // Unwrap OclAsTypeView to get the underlying MDMObject
+                        val unwrappedResult = unwrapOclResult(result)
+                        normalizeForMultiplicity(
+                            when (unwrappedResult) {
+                                null -> emptyList()
+                                is Collection<*> -> unwrappedResult.map { unwrapOclResult(it) }.filterNotNull()
+                                else -> listOf(unwrappedResult)
+                            },
+                            end,
+                            element,
+                            end.name
+                        )
+                    }
                     element.derivedCache[cacheKey] = normalized
                     return normalized
                 } else {
@@ -1047,16 +1302,31 @@ open class MDMEngine(
     ): Any? {
         val cacheKey = "assoc:${end.name}"
         if (element.derivedCache.containsKey(cacheKey)) {
+            recordCacheHit(element, cacheKey)
             return element.derivedCache[cacheKey]
         }
 
         val elementId = element.id
             ?: return normalizeForMultiplicity(emptyList(), end, element, end.name)
 
+        val result = trackDerived(element, cacheKey) {
+            computeOppositeEnd(element, elementId, end, association)
+        }
+        element.derivedCache[cacheKey] = result
+        return result
+    }
+
+    private fun computeOppositeEnd(
+        element: MDMObject,
+        elementId: String,
+        end: MetaAssociationEnd,
+        association: MetaAssociation
+    ): Any? {
         val isSourceEnd = end.name == association.sourceEnd.name
         val oppositeEnd = if (isSourceEnd) association.targetEnd else association.sourceEnd
 
         // Fast path: graph reverse lookup for stored links
+        recordLinkRead(elementId, association.name)
         val graphResults = if (isSourceEnd) {
             graph.getSources(elementId, association.name)
         } else {
@@ -1065,9 +1335,7 @@ open class MDMEngine(
 
         if (graphResults.isNotEmpty()) {
             val resolved = graphResults.mapNotNull { getElement(it) }
-            val result = normalizeForMultiplicity(resolved, end, element, end.name)
-            element.derivedCache[cacheKey] = result
-            return result
+            return normalizeForMultiplicity(resolved, end, element, end.name)
         }
 
         // Slow path: opposite end is derived — scan instances and filter
@@ -1077,14 +1345,10 @@ open class MDMEngine(
                 val oppositeValue = getProperty(candidate, oppositeEnd.name)
                 containsElement(oppositeValue, elementId)
             }
-            val result = normalizeForMultiplicity(matching, end, element, end.name)
-            element.derivedCache[cacheKey] = result
-            return result
+            return normalizeForMultiplicity(matching, end, element, end.name)
         }
 
-        val result = normalizeForMultiplicity(emptyList(), end, element, end.name)
-        element.derivedCache[cacheKey] = result
-        return result
+        return normalizeForMultiplicity(emptyList(), end, element, end.name)
     }
 
     /**
@@ -1120,6 +1384,7 @@ open class MDMEngine(
         // Check cache first
         val cacheKey = "prop:${property.name}"
         if (element.derivedCache.containsKey(cacheKey)) {
+            recordCacheHit(element, cacheKey)
             return element.derivedCache[cacheKey]
         }
 
@@ -1127,7 +1392,8 @@ open class MDMEngine(
         val qnIndex = qualifiedNameIndex
         if (qnIndex != null && property.name == qnIndex.config.derivedPropertyName) {
             val result = qnIndex.getQualifiedName(element.id ?: "")
-            element.derivedCache[cacheKey] = result
+            // The index is maintained on its own; with dependency tracking there is nothing to record, so don't cache
+            if (dependencyTracker == null) element.derivedCache[cacheKey] = result
             return result
         }
 
@@ -1139,7 +1405,9 @@ open class MDMEngine(
             if (constraint != null) {
                 val evaluator = evaluators[constraint.language.uppercase()]
                 if (evaluator != null) {
-                    val result = evaluator.evaluate(constraint.expression, element, this)
+                    val result = trackDerived(element, cacheKey) {
+                        evaluateExpression(evaluator, constraint, constraint.expression, element)
+                    }
                     element.derivedCache[cacheKey] = result
                     return result
                 } else {
@@ -1231,6 +1499,44 @@ open class MDMEngine(
         lifecycleHandlers.remove(handler)
     }
 
+    // ===== Internal - Incremental Validation =====
+
+    internal fun addValidationObserver(observer: ValidationInvalidationObserver) {
+        validationObservers.add(observer)
+    }
+
+    internal fun removeValidationObserver(observer: ValidationInvalidationObserver) {
+        validationObservers.remove(observer)
+    }
+
+    /**
+     * The VERIFICATION constraints, own and inherited, that apply to [element].
+     */
+    internal fun verificationConstraints(element: MDMObject): List<MetaConstraint> =
+        getConstraintsForClass(element.metaClass, emptyList())
+            .filter { it.type == ConstraintType.VERIFICATION }
+            .distinctBy { it.name }
+
+    /**
+     * Run [constraint] on [element], recording what it reads when [dependencyTracking] is on, so a later
+     * mutation of any of those inputs reports the pair to the validation observers.
+     */
+    internal fun runTrackedValidation(element: MDMObject, constraint: MetaConstraint): ValidationResult {
+        val tracker = dependencyTracker
+        val elementId = element.id
+        if (tracker == null || elementId == null) return runValidationConstraint(element, constraint)
+        return tracker.track(DependencyKey.validation(elementId, constraint.name)) {
+            runValidationConstraint(element, constraint)
+        }
+    }
+
+    /**
+     * Drop the recorded reads of a constraint evaluation whose element is gone.
+     */
+    internal fun forgetTrackedValidation(elementId: String, constraintName: String) {
+        dependencyTracker?.forget(DependencyKey.validation(elementId, constraintName))
+    }
+
     // ===== Public API - Expression Evaluators =====
 
     /**
@@ -1455,7 +1761,7 @@ open class MDMEngine(
                 }
 
                 try {
-                    val result = evaluator.evaluate(constraint.expression, element, this)
+                    val result = evaluateExpression(evaluator, constraint, constraint.expression, element)
                     when (result) {
                         is Boolean -> ValidationResult(
                             result,
@@ -1502,7 +1808,7 @@ open class MDMEngine(
                 }
 
                 try {
-                    val result = evaluator.evaluate(body.code, element, this)
+                    val result = evaluateExpression(evaluator, body, body.code, element)
                     when (result) {
                         is Boolean -> ValidationResult(
                             result,
@@ -1520,6 +1826,35 @@ open class MDMEngine(
         }
     }
 
+    // ===== Internal - Expression Evaluation =====
+
+    /**
+     * Evaluate an expression body. OCL bodies pre-bound by [MetamodelRegistry.buildIndexes] run their
+     * ahead-of-time compiled form if one was registered, else are evaluated from their AST directly;
+     * anything else goes through the evaluator's text path.
+     *
+     * @param boundKey The constraint or body object the AST was bound under
+     */
+    private fun evaluateExpression(
+        evaluator: ExpressionEvaluator,
+        boundKey: Any,
+        code: String,
+        element: MDMObject,
+        args: Map<String, Any?> = emptyMap()
+    ): Any? {
+        if (evaluator is OclExpressionEvaluator) {
+            val compiled = schema.getCompiledOclBody(boundKey)
+            if (compiled != null) {
+                return evaluator.evaluate(compiled, element, this, args)
+            }
+            val ast = schema.getBoundOclBody(boundKey)
+            if (ast != null) {
+                return evaluator.evaluate(ast, element, this, args)
+            }
+        }
+        return evaluator.evaluate(code, element, this, args)
+    }
+
     // ===== Internal - Events =====
 
     private fun fireEvent(event: LifecycleEvent) {
@@ -1539,114 +1874,243 @@ open class MDMEngine(
         if (closureCache.isNotEmpty()) closureCache.clear()
     }
 
-    // ===== Internal - Class Index =====
+    private fun invalidateLinkDependents(link: MDMLink) {
+        val tracker = dependencyTracker
+        if (tracker != null) {
+            invalidateTracked(tracker, linkInputs(link))
+            return
+        }
+        val association = link.association
+        elements[link.sourceId]?.let { invalidateAssociationDependents(it, association.targetEnd.name) }
+        elements[link.targetId]?.let { invalidateAssociationDependents(it, association.sourceEnd.name) }
+    }
+
+    private fun linkInputs(link: MDMLink): List<DependencyKey> = listOf(
+        DependencyKey.links(link.sourceId, link.associationName),
+        DependencyKey.links(link.targetId, link.associationName)
+    )
 
-    /** Add an element to the class index for its class and all superclasses. */
-    private fun addToClassIndex(element: MDMObject) {
-        val id = element.id ?: return
-        classIndex.getOrPut(element.className) { mutableSetOf() }.add(id)
+    private fun invalidateClassExtentDependents(element: MDMObject) {
+        val tracker = dependencyTracker ?: return
+        val inputs = ArrayList<DependencyKey>()
+        inputs.add(DependencyKey.classExtent(element.className))
         for (superclass in schema.getAllSuperclasses(element.className)) {
-            classIndex.getOrPut(superclass) { mutableSetOf() }.add(id)
+            inputs.add(DependencyKey.classExtent(superclass))
         }
+        invalidateTracked(tracker, inputs)
     }
 
-    /** Remove an element from the class index for its class and all superclasses. */
-    private fun removeFromClassIndex(element: MDMObject) {
-        val id = element.id ?: return
-        classIndex[element.className]?.remove(id)
-        for (superclass in schema.getAllSuperclasses(element.className)) {
-            classIndex[superclass]?.remove(id)
+    private fun invalidateTracked(tracker: DerivedDependencyTracker, inputs: List<DependencyKey>) {
+        val fanOut = tracker.invalidate(inputs) { entry ->
+            if (entry.slot.startsWith(DependencyKey.VALIDATION_PREFIX)) {
+                val constraintName = entry.slot.removePrefix(DependencyKey.VALIDATION_PREFIX)
+                validationObservers.forEach { it.validationInvalidated(entry.elementId, constraintName) }
+            } else if (entry.slot.startsWith(DependencyKey.CLOSURE_PREFIX)) {
+                closureCache.remove("${entry.elementId}:${entry.slot.removePrefix(DependencyKey.CLOSURE_PREFIX)}")
+            } else {
+                getElement(entry.elementId)?.derivedCache?.remove(entry.slot)
+            }
         }
+        if (fanOut > 0) logger.trace { "Invalidated $fanOut derived values for ${inputs.first()}" }
+    }
+
+    private fun recordLinkRead(elementId: String, associationName: String) {
+        dependencyTracker?.recordRead(DependencyKey.links(elementId, associationName))
+    }
+
+    private fun recordCacheHit(element: MDMObject, cacheKey: String) {
+        val tracker = dependencyTracker ?: return
+        element.id?.let { tracker.recordRead(DependencyKey(it, cacheKey)) }
+    }
+
+    /** Compute a derived value, recording its reads as the dependencies of [cacheKey] on [element] */
+    private fun <T> trackDerived(element: MDMObject, cacheKey: String, compute: () -> T): T {
+        val tracker = dependencyTracker ?: return compute()
+        val elementId = element.id ?: return compute()
+        return tracker.track(DependencyKey(elementId, cacheKey), compute)
+    }
+
+    /**
+     * Read a stored property, recording the read for dependency tracking.
+     */
+    internal fun readStoredProperty(element: MDMObject, propertyName: String): Any? {
+        val tracker = dependencyTracker
+        if (tracker != null) element.id?.let { tracker.recordRead(DependencyKey.storedProperty(it, propertyName)) }
+        return element.getProperty(propertyName)
+    }
+
+    /**
+     * Compute a closure result for [elementId], recording its reads as the closure entry's dependencies.
+     */
+    internal fun <T> trackClosure(elementId: String, bodyKey: String, compute: () -> T): T {
+        val tracker = dependencyTracker ?: return compute()
+        return tracker.track(DependencyKey.closure(elementId, bodyKey), compute)
+    }
+
+    internal fun getClosureCacheEntry(elementId: String, bodyKey: String): Set<Any?>? {
+        val cached = closureCache["$elementId:$bodyKey"]
+        if (cached != null) dependencyTracker?.recordRead(DependencyKey.closure(elementId, bodyKey))
+        return cached
+    }
+
+    private fun clearDerivedCaches() {
+        for (element in elements.values) element.derivedCache.clear()
+        closureCache.clear()
+        dependencyTracker?.clear()
+        validationObservers.forEach { it.allValidationsInvalidated() }
     }
 }
 
 /**
  * Graph structure for storing links between elements.
+ * Open so that read-only stores such as [MappedGraph] can serve links from another representation.
+ *
+ * Adjacency is indexed by the dense element handles of [handles] (shared with the
+ * owning engine's element store), so lookups hash each ID once and the per-element
+ * indexes are plain array slots rather than string-keyed map entries.
  */
-class MDMGraph {
+open class MDMGraph internal constructor(internal val handles: ElementHandleTable) {
+
+    constructor() : this(ElementHandleTable())
+
     private val edges: MutableMap<String, MDMLink> = mutableMapOf()
 
-    /** Two-level index: elementId -> associationName -> links originating from that element */
-    private val sourceIndex: MutableMap<String, MutableMap<String, MutableList<MDMLink>>> = mutableMapOf()
+    /** Per source handle: associationName -> links originating from that element */
+    private val sourceIndex = ArrayList<MutableMap<String, MutableList<MDMLink>>?>()
 
-    /** Two-level index: elementId -> associationName -> links targeting that element */
-    private val targetIndex: MutableMap<String, MutableMap<String, MutableList<MDMLink>>> = mutableMapOf()
+    /** Per target handle: associationName -> links targeting that element */
+    private val targetIndex = ArrayList<MutableMap<String, MutableList<MDMLink>>?>()
 
-    fun addEdge(link: MDMLink) {
+    open fun addEdge(link: MDMLink) {
         edges[link.id] = link
-        sourceIndex.getOrPut(link.sourceId) { mutableMapOf() }
+        slot(sourceIndex, handles.intern(link.sourceId))
             .getOrPut(link.associationName) { mutableListOf() }.add(link)
-        targetIndex.getOrPut(link.targetId) { mutableMapOf() }
+        slot(targetIndex, handles.intern(link.targetId))
             .getOrPut(link.associationName) { mutableListOf() }.add(link)
     }
 
-    fun removeEdge(linkId: String) {
+    open fun allEdges(): Collection<MDMLink> = edges.values
+
+    open fun removeEdge(linkId: String) {
         val link = edges.remove(linkId) ?: return
-        sourceIndex[link.sourceId]?.get(link.associationName)?.remove(link)
-        targetIndex[link.targetId]?.get(link.associationName)?.remove(link)
+        index(sourceIndex, link.sourceId)?.get(link.associationName)?.remove(link)
+        index(targetIndex, link.targetId)?.get(link.associationName)?.remove(link)
     }
 
-    fun removeEdgesForElement(elementId: String) {
+    open fun removeEdgesForElement(elementId: String) {
         val linksToRemove = allLinksForElement(elementId).map { it.id }.toSet()
         for (linkId in linksToRemove) {
             removeEdge(linkId)
         }
     }
 
-    fun findEdge(sourceId: String, targetId: String, associationName: String): MDMLink? =
-        sourceIndex[sourceId]?.get(associationName)?.find { it.targetId == targetId }
+    open fun findEdge(sourceId: String, targetId: String, associationName: String): MDMLink? =
+        index(sourceIndex, sourceId)?.get(associationName)?.find { it.targetId == targetId }
 
-    fun getTargets(sourceId: String, associationName: String): List<String> =
-        sourceIndex[sourceId]?.get(associationName)?.map { it.targetId } ?: emptyList()
+    open fun getTargets(sourceId: String, associationName: String): List<String> =
+        index(sourceIndex, sourceId)?.get(associationName)?.map { it.targetId } ?: emptyList()
 
-    fun getSources(targetId: String, associationName: String): List<String> =
-        targetIndex[targetId]?.get(associationName)?.map { it.sourceId } ?: emptyList()
+    open fun getSources(targetId: String, associationName: String): List<String> =
+        index(targetIndex, targetId)?.get(associationName)?.map { it.sourceId } ?: emptyList()
 
-    fun getLinksForElement(elementId: String): List<MDMLink> =
+    open fun getLinksForElement(elementId: String): List<MDMLink> =
         allLinksForElement(elementId).distinct()
 
+    /** Visit the targets of [sourceId]'s [associationName] links without building a list. */
+    open fun forEachTarget(sourceId: String, associationName: String, action: (String) -> Unit) {
+        index(sourceIndex, sourceId)?.get(associationName)?.forEach { action(it.targetId) }
+    }
+
+    /** Visit the sources of links of [associationName] ending at [targetId] without building a list. */
+    open fun forEachSource(targetId: String, associationName: String, action: (String) -> Unit) {
+        index(targetIndex, targetId)?.get(associationName)?.forEach { action(it.sourceId) }
+    }
+
+    /** Reorganize storage for reading after a load; the default indexes need no compaction. */
+    open fun compact() {}
+
+    /** Move each element's adjacency to its handle after [ElementHandleTable.compact]. */
+    internal open fun remapHandles(remap: IntArray) {
+        remap(sourceIndex, remap)
+        remap(targetIndex, remap)
+    }
+
+    private fun remap(table: ArrayList<MutableMap<String, MutableList<MDMLink>>?>, remap: IntArray) {
+        // Live handles keep their order and only move down; a retired handle has no links left
+        var end = 0
+        for (handle in table.indices) {
+            val target = remap[handle]
+            if (target < 0) continue
+            table[target] = table[handle]
+            end = target + 1
+        }
+        table.subList(end, table.size).clear()
+        table.trimToSize()
+    }
+
     /** Collect all links where elementId is source or target, across all association names. */
     private fun allLinksForElement(elementId: String): List<MDMLink> =
-        (sourceIndex[elementId]?.values?.flatten().orEmpty()) +
-            (targetIndex[elementId]?.values?.flatten().orEmpty())
+        (index(sourceIndex, elementId)?.values?.flatten().orEmpty()) +
+            (index(targetIndex, elementId)?.values?.flatten().orEmpty())
+
+    private fun index(
+        table: ArrayList<MutableMap<String, MutableList<MDMLink>>?>,
+        elementId: String
+    ): MutableMap<String, MutableList<MDMLink>>? {
+        val handle = handles.handleOf(elementId)
+        return if (handle >= 0) table.getOrNull(handle) else null
+    }
+
+    private fun slot(
+        table: ArrayList<MutableMap<String, MutableList<MDMLink>>?>,
+        handle: Int
+    ): MutableMap<String, MutableList<MDMLink>> {
+        while (table.size <= handle) table.add(null)
+        return table[handle] ?: mutableMapOf<String, MutableList<MDMLink>>().also { table[handle] = it }
+    }
 
     /**
      * Reassign all link references from [oldId] to [newId].
-     * Updates sourceId/targetId in affected links and re-indexes them.
+     * Updates sourceId/targetId in affected links and re-indexes them, then rebinds
+     * the element's handle to [newId] so it keeps its position.
      */
-    fun reassignElementId(oldId: String, newId: String) {
-        // Collect all links referencing the old ID
-        val asSource = sourceIndex.remove(oldId)?.values?.flatten().orEmpty().toList()
-        val asTarget = targetIndex.remove(oldId)?.values?.flatten().orEmpty().toList()
-
-        // Replace links where oldId is the source
-        for (link in asSource) {
-            edges.remove(link.id)
-            targetIndex[link.targetId]?.get(link.associationName)?.remove(link)
+    open fun reassignElementId(oldId: String, newId: String) {
+        val handle = handles.handleOf(oldId)
+        if (handle < 0) {
+            handles.intern(newId)
+            return
+        }
 
-            val newLink = MDMLink(link.id, link.association, newId, link.targetId)
-            edges[newLink.id] = newLink
-            sourceIndex.getOrPut(newId) { mutableMapOf() }
-                .getOrPut(newLink.associationName) { mutableListOf() }.add(newLink)
-            targetIndex.getOrPut(newLink.targetId) { mutableMapOf() }
-                .getOrPut(newLink.associationName) { mutableListOf() }.add(newLink)
+        // Collect all links referencing the old ID, and any already waiting on the new ID
+        val existing = handles.handleOf(newId)
+        val asSource = (sourceIndex.getOrNull(handle)?.values?.flatten().orEmpty()).toList()
+        val asTarget = (targetIndex.getOrNull(handle)?.values?.flatten().orEmpty()).toList()
+        val waiting = if (existing >= 0) {
+            (sourceIndex.getOrNull(existing)?.values?.flatten().orEmpty()) +
+                (targetIndex.getOrNull(existing)?.values?.flatten().orEmpty())
+        } else {
+            emptyList()
+        }
+        for (link in (asSource + asTarget + waiting).distinct()) {
+            removeEdge(link.id)
         }
+        if (existing >= 0) handles.release(newId)
+        handles.rename(handle, newId)
 
-        // Replace links where oldId is the target
+        // Re-add links with the new ID in place of the old one
+        for (link in asSource) {
+            addEdge(MDMLink(link.id, link.association, newId, if (link.targetId == oldId) newId else link.targetId))
+        }
         for (link in asTarget) {
-            edges.remove(link.id)
-            sourceIndex[link.sourceId]?.get(link.associationName)?.remove(link)
-
-            val newLink = MDMLink(link.id, link.association, link.sourceId, newId)
-            edges[newLink.id] = newLink
-            sourceIndex.getOrPut(newLink.sourceId) { mutableMapOf() }
-                .getOrPut(newLink.associationName) { mutableListOf() }.add(newLink)
-            targetIndex.getOrPut(newId) { mutableMapOf() }
-                .getOrPut(newLink.associationName) { mutableListOf() }.add(newLink)
+            if (link.sourceId == oldId) continue // self-link, already re-added above
+            addEdge(MDMLink(link.id, link.association, link.sourceId, newId))
+        }
+        for (link in waiting) {
+            addEdge(link)
         }
     }
 
-    fun clear() {
+    open fun clear() {
         edges.clear()
         sourceIndex.clear()
         targetIndex.clear()
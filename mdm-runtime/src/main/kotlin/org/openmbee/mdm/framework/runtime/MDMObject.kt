@@ -17,6 +17,7 @@ package org.openmbee.mdm.framework.runtime
 
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.ModelElement
+import java.util.Collections
 
 /**
  * Runtime instance of a metamodel class - represents a node in the model graph.
@@ -33,8 +34,11 @@ open class MDMObject(
 ) : ModelElement {
     protected val properties = mutableMapOf<String, Any?>()
 
-    /** Transient cache for derived property values — not persisted, cleared on mutation */
-    internal val derivedCache = HashMap<String, Any?>()
+    /**
+     * Transient cache for derived property values — not persisted, cleared on mutation.
+     * Synchronized because concurrent readers fill it; null is a valid cached value.
+     */
+    internal val derivedCache: MutableMap<String, Any?> = Collections.synchronizedMap(HashMap())
 
     /**
      * The ID of this object in the repository.
@@ -50,6 +54,14 @@ open class MDMObject(
         if (derivedCache.isNotEmpty()) derivedCache.clear()
     }
 
+    /**
+     * Set a property value without clearing the derived cache. Used by the engine when
+     * dependency tracking invalidates only the affected derived values.
+     */
+    internal fun setPropertyKeepingDerived(name: String, value: Any?) {
+        properties[name] = value
+    }
+
     /**
      * Get a property value.
      */
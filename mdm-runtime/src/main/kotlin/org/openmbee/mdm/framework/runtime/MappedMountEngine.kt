@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.SoftReference
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Read-only engine served from a memory-mapped [MappedMountFile].
+ *
+ * Elements are not held on the heap: an [MDMObject] view is materialized on first
+ * access and kept through a [SoftReference], so the JVM may release views (and their
+ * derived caches) under memory pressure and rebuild them from the mapped pages on the
+ * next access. Links are answered straight from the file's adjacency lists.
+ *
+ * Property writes, linking and removal are rejected; like any mounted engine it is
+ * meant to be reached through [MountableEngine]. Use [MappedMount] to register it
+ * with [MountRegistry].
+ */
+class MappedMountEngine private constructor(
+    schema: MetamodelRegistry,
+    elementFactory: ElementFactory,
+    private val file: MappedMountFile
+) : MDMEngine(schema, elementFactory, MappedGraph(file, schema)) {
+
+    companion object {
+        /**
+         * Map [path] and create an engine over it.
+         *
+         * @param path A file written by [write]
+         * @param schema The metamodel the file was written with
+         * @param elementFactory Factory used to materialize element views
+         * @param expectedSourceHash If non-null, the file is rejected unless its source hash matches
+         * @return The engine, or null if the file is unsupported or stale
+         */
+        fun open(
+            path: Path,
+            schema: MetamodelRegistry,
+            elementFactory: ElementFactory = DefaultElementFactory(),
+            expectedSourceHash: String? = null
+        ): MappedMountEngine? {
+            val file = MappedMountFile.open(path) ?: return null
+            if (expectedSourceHash != null && file.sourceHash != expectedSourceHash) {
+                logger.info { "Mapped mount $path is stale (hash ${file.sourceHash}, expected $expectedSourceHash)" }
+                return null
+            }
+            logger.info { "Mapped mount $path: ${file.elementCount} elements, ${file.linkCount} links" }
+            return MappedMountEngine(schema, elementFactory, file)
+        }
+
+        /**
+         * Write [engine] as a mapped mount file.
+         *
+         * @throws IllegalArgumentException if a property holds a value that cannot be encoded
+         */
+        fun write(engine: MDMEngine, sourceHash: String, path: Path) =
+            MappedMountFile.write(engine, sourceHash, path)
+    }
+
+    /** Source hash recorded when the file was written. */
+    val sourceHash: String get() = file.sourceHash
+
+    private val views = ConcurrentHashMap<Int, ViewReference>()
+    private val released = ReferenceQueue<MDMObject>()
+
+    private class ViewReference(
+        val index: Int,
+        view: MDMObject,
+        queue: ReferenceQueue<MDMObject>
+    ) : SoftReference<MDMObject>(view, queue)
+
+    /** Number of element views currently materialized (for diagnostics). */
+    fun materializedCount(): Int {
+        expungeReleased()
+        return views.size
+    }
+
+    /** Check for an element without materializing it. */
+    fun containsElementId(id: String): Boolean = file.indexOf(id) >= 0
+
+    // ===== Element Access =====
+
+    override fun getElement(id: String): MDMObject? {
+        val index = file.indexOf(id)
+        return if (index >= 0) view(index) else null
+    }
+
+    override fun getAllElements(): List<MDMObject> = List(file.elementCount) { view(it) }
+
+    override fun getElementsByClass(className: String): List<MDMObject> =
+        file.classExtent(className).map { view(it) }
+
+    override fun countElementsByClass(className: String): Int = file.classExtentSize(className)
+
+    override fun sampleElementIdsByClass(className: String, limit: Int): List<String> =
+        file.classExtent(className, limit).map { file.elementId(it) }
+
+    override fun getInstancesByType(className: String): List<MDMObject> =
+        file.classExtent(className).filter { file.elementClass(it) == className }.map { view(it) }
+
+    override fun getRootNamespaces(): List<MDMObject> = file.roots().map { view(it) }
+
+    override fun getElementIds(): Set<String> = (0 until file.elementCount).mapTo(LinkedHashSet()) { file.elementId(it) }
+
+    override fun elementCount(): Int = file.elementCount
+
+    // Elements live in the file, not the element store, so property indexes stay empty: always scan
+
+    override fun propertyIndexKind(className: String, propertyName: String): PropertyIndexKind? = null
+
+    override fun findElementsByProperty(className: String, propertyName: String, value: Any): List<MDMObject> =
+        scanElementsByProperty(className, propertyName, value)
+
+    override fun findElementsByPropertyRange(
+        className: String,
+        propertyName: String,
+        from: Any?,
+        fromInclusive: Boolean,
+        to: Any?,
+        toInclusive: Boolean
+    ): List<MDMObject> = scanElementsByPropertyRange(className, propertyName, from, fromInclusive, to, toInclusive)
+
+    private fun view(index: Int): MDMObject {
+        views[index]?.get()?.let { return it }
+        return materialize(index)
+    }
+
+    /**
+     * Build the view for [index]. Serialized so that element references between
+     * properties (including cycles) resolve to a single view per element.
+     */
+    @Synchronized
+    private fun materialize(index: Int): MDMObject {
+        views[index]?.get()?.let { return it }
+        expungeReleased()
+
+        val className = file.elementClass(index)
+        val metaClass = schema.getClass(className)
+            ?: throw IllegalStateException("Mapped mount references unknown class: $className")
+        val view = factory.createInstance(className, metaClass)
+        view.id = file.elementId(index)
+        // Publish before decoding so self and cyclic references find this view
+        views[index] = ViewReference(index, view, released)
+        for ((name, value) in file.readProperties(index, ::getElement)) {
+            view.setProperty(name, value)
+        }
+        return view
+    }
+
+    private fun expungeReleased() {
+        while (true) {
+            val ref = released.poll() as? ViewReference ?: return
+            views.remove(ref.index, ref)
+        }
+    }
+
+    // ===== Read-only =====
+
+    override fun setPropertyValue(element: MDMObject, propertyName: String, value: Any?): Unit =
+        throw UnsupportedOperationException("Mapped mount is read-only: cannot set '$propertyName'")
+
+    override fun link(sourceId: String, targetId: String, associationName: String): Unit =
+        throw UnsupportedOperationException("Mapped mount is read-only: cannot link via '$associationName'")
+
+    override fun unlink(sourceId: String, targetId: String, associationName: String): Unit =
+        throw UnsupportedOperationException("Mapped mount is read-only: cannot unlink via '$associationName'")
+
+    override fun removeElement(id: String): Boolean =
+        throw UnsupportedOperationException("Mapped mount is read-only: cannot remove '$id'")
+
+    /** Drop all materialized views; the mapped content itself is unchanged. */
+    override fun clear() {
+        super.clear()
+        views.clear()
+    }
+}
+
+/**
+ * [MDMGraph] answering link queries from a [MappedMountFile]'s adjacency lists.
+ */
+class MappedGraph internal constructor(
+    private val file: MappedMountFile,
+    private val schema: MetamodelRegistry
+) : MDMGraph() {
+
+    override fun getTargets(sourceId: String, associationName: String): List<String> {
+        val index = file.indexOf(sourceId)
+        return if (index >= 0) file.neighbors(index, associationName, outgoing = true) else emptyList()
+    }
+
+    override fun getSources(targetId: String, associationName: String): List<String> {
+        val index = file.indexOf(targetId)
+        return if (index >= 0) file.neighbors(index, associationName, outgoing = false) else emptyList()
+    }
+
+    override fun forEachTarget(sourceId: String, associationName: String, action: (String) -> Unit) =
+        getTargets(sourceId, associationName).forEach(action)
+
+    override fun forEachSource(targetId: String, associationName: String, action: (String) -> Unit) =
+        getSources(targetId, associationName).forEach(action)
+
+    override fun findEdge(sourceId: String, targetId: String, associationName: String): MDMLink? =
+        edgesOf(sourceId, outgoing = true).find { it.targetId == targetId && it.associationName == associationName }
+
+    override fun getLinksForElement(elementId: String): List<MDMLink> =
+        (edgesOf(elementId, outgoing = true) + edgesOf(elementId, outgoing = false)).distinct()
+
+    override fun allEdges(): Collection<MDMLink> {
+        val links = ArrayList<MDMLink>(file.linkCount)
+        for (index in 0 until file.elementCount) {
+            links.addAll(edgesOf(index, outgoing = true))
+        }
+        return links
+    }
+
+    private fun edgesOf(elementId: String, outgoing: Boolean): List<MDMLink> {
+        val index = file.indexOf(elementId)
+        return if (index >= 0) edgesOf(index, outgoing) else emptyList()
+    }
+
+    private fun edgesOf(index: Int, outgoing: Boolean): List<MDMLink> {
+        val id = file.elementId(index)
+        val links = mutableListOf<MDMLink>()
+        file.forEachEdge(index, outgoing) { linkId, association, other ->
+            val name = file.associationName(association)
+            val metaAssociation = schema.getAssociation(name)
+                ?: throw IllegalStateException("Mapped mount references unknown association: $name")
+            val otherId = file.string(other)
+            links.add(
+                if (outgoing) MDMLink(file.string(linkId), metaAssociation, id, otherId)
+                else MDMLink(file.string(linkId), metaAssociation, otherId, id)
+            )
+        }
+        return links
+    }
+
+    override fun addEdge(link: MDMLink): Unit = readOnly()
+    override fun removeEdge(linkId: String): Unit = readOnly()
+    override fun removeEdgesForElement(elementId: String): Unit = readOnly()
+    override fun reassignElementId(oldId: String, newId: String): Unit = readOnly()
+
+    /** Nothing to clear: the mapped content is immutable. */
+    override fun clear() {}
+
+    private fun readOnly(): Nothing = throw UnsupportedOperationException("Mapped mount is read-only")
+}
+
+/**
+ * A [Mount] backed by a [MappedMountEngine].
+ *
+ * Behaves like [StandardMount] but answers [containsElement] without materializing
+ * the element.
+ */
+class MappedMount(
+    override val id: String,
+    override val name: String,
+    override val engine: MappedMountEngine,
+    override val priority: Int = StandardMount.DEFAULT_PRIORITY,
+    override val isImplicit: Boolean = false
+) : Mount {
+
+    override fun containsElement(elementId: String): Boolean = engine.containsElementId(elementId)
+
+    override fun getRootNamespaces(): List<MDMObject> = engine.getRootNamespaces()
+
+    override fun toString(): String =
+        "MappedMount(id='$id', name='$name', implicit=$isImplicit, priority=$priority, " +
+            "elements=${engine.elementCount()}, materialized=${engine.materializedCount()})"
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is Mount) return false
+        return id == other.id
+    }
+
+    override fun hashCode(): Int = id.hashCode()
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Columnar, memory-mappable file holding a read-only engine.
+ *
+ * Unlike [MountImage], which is decoded into heap objects in one pass, this file
+ * is mapped and read in place by [MappedMountEngine]: elements are addressed by
+ * index, strings by string-table index, and nothing is materialized until asked
+ * for. Processes that map the same file share its pages through the OS page cache.
+ *
+ * Layout (all integers big-endian, offsets absolute):
+ * ```
+ * header         MAGIC VERSION hashString counts... sectionOffsets...
+ * strings        offsets[stringCount + 1] | UTF-8 bytes
+ * elements       (idString, classString)[elementCount]      -- engine order
+ * idIndex        elementIndex[elementCount]                  -- sorted by UTF-8 id bytes
+ * properties     offsets[elementCount + 1] | encoded (name, value)* per element
+ * classes        (classString, memberOffset)[classCount] | members[] -- extents incl. superclasses
+ * associations   nameString[associationCount]
+ * roots          elementIndex[rootCount]
+ * out / in       offsets[elementCount + 1] | (linkIdString, associationIndex, otherIdString)*
+ * ```
+ * Property values use the [MountImage] value encoding.
+ */
+internal class MappedMountFile private constructor(private val buffer: ByteBuffer) {
+
+    companion object {
+        /** "MDMM" */
+        const val MAGIC = 0x4D444D4D
+        const val FORMAT_VERSION = 1
+
+        private const val HEADER_INTS = 20
+        private const val EDGE_INTS = 3
+
+        /**
+         * Map [path] read-only.
+         *
+         * @return The mapped file, or null if it is not a mapped mount of a supported version
+         */
+        fun open(path: Path): MappedMountFile? {
+            val buffer = FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            }
+            if (buffer.capacity() < HEADER_INTS * Int.SIZE_BYTES || buffer.getInt(0) != MAGIC) {
+                logger.warn { "Not a mapped mount file: $path" }
+                return null
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                logger.info { "Unsupported mapped mount version ${buffer.getInt(4)} in $path" }
+                return null
+            }
+            if (buffer.getInt((HEADER_INTS - 1) * Int.SIZE_BYTES) > buffer.capacity()) {
+                logger.warn { "Truncated mapped mount file: $path" }
+                return null
+            }
+            return MappedMountFile(buffer)
+        }
+
+        /**
+         * Write [engine] to [path] in mapped mount layout.
+         *
+         * @throws IllegalArgumentException if a property holds a value that cannot be encoded
+         */
+        fun write(engine: MDMEngine, sourceHash: String, path: Path) {
+            val strings = LinkedHashMap<String, Int>()
+            fun ref(value: String): Int = strings.getOrPut(value) { strings.size }
+            val hashRef = ref(sourceHash)
+
+            val elements = engine.getAllElements()
+            val indexOf = HashMap<String, Int>(elements.size * 2)
+            elements.forEachIndexed { i, element -> indexOf[element.id!!] = i }
+
+            val elementTable = IntArray(elements.size * 2)
+            elements.forEachIndexed { i, element ->
+                elementTable[2 * i] = ref(element.id!!)
+                elementTable[2 * i + 1] = ref(element.className)
+            }
+            val idIndex = elements.indices.sortedWith { a, b ->
+                compareUtf8(elements[a].id!!.toByteArray(Charsets.UTF_8), elements[b].id!!.toByteArray(Charsets.UTF_8))
+            }
+
+            val propertyOffsets = IntArray(elements.size + 1)
+            val propertyBytes = ByteArrayOutputStream()
+            DataOutputStream(propertyBytes).use { out ->
+                elements.forEachIndexed { i, element ->
+                    propertyOffsets[i] = out.size()
+                    val properties = element.getAllProperties()
+                    out.writeInt(properties.size)
+                    for ((name, value) in properties) {
+                        out.writeInt(ref(name))
+                        MountImage.writeValue(out, value, ::ref, element, name)
+                    }
+                }
+                propertyOffsets[elements.size] = out.size()
+            }
+
+            val extents = LinkedHashMap<String, MutableList<Int>>()
+            elements.forEachIndexed { i, element ->
+                extents.getOrPut(element.className) { mutableListOf() }.add(i)
+                for (superclass in engine.schema.getAllSuperclasses(element.className)) {
+                    extents.getOrPut(superclass) { ref(superclass); mutableListOf() }.add(i)
+                }
+            }
+
+            val associations = LinkedHashMap<String, Int>()
+            val outgoing = Array(elements.size) { mutableListOf<MDMLink>() }
+            val incoming = Array(elements.size) { mutableListOf<MDMLink>() }
+            val links = engine.getAllLinks()
+            for (link in links) {
+                associations.getOrPut(link.associationName) { ref(link.associationName); associations.size }
+                indexOf[link.sourceId]?.let { outgoing[it].add(link) }
+                indexOf[link.targetId]?.let { incoming[it].add(link) }
+            }
+            // Group each element's edges by association, keeping creation order within a group
+            outgoing.forEach { edges -> edges.sortBy { associations[it.associationName] } }
+            incoming.forEach { edges -> edges.sortBy { associations[it.associationName] } }
+
+            val roots = engine.getRootNamespaces().mapNotNull { root -> root.id?.let(indexOf::get) }
+
+            fun adjacency(lists: Array<MutableList<MDMLink>>, other: (MDMLink) -> String): IntArray {
+                val ints = IntArray(lists.size + 1 + lists.sumOf { it.size } * EDGE_INTS)
+                var cursor = lists.size + 1
+                lists.forEachIndexed { i, edges ->
+                    ints[i] = cursor - (lists.size + 1)
+                    for (link in edges) {
+                        ints[cursor++] = ref(link.id)
+                        ints[cursor++] = associations.getValue(link.associationName)
+                        ints[cursor++] = ref(other(link))
+                    }
+                }
+                ints[lists.size] = cursor - (lists.size + 1)
+                return ints
+            }
+            val outAdjacency = adjacency(outgoing) { it.targetId }
+            val inAdjacency = adjacency(incoming) { it.sourceId }
+
+            val stringBytes = ByteArrayOutputStream()
+            val stringOffsets = IntArray(strings.size + 1)
+            strings.keys.forEachIndexed { i, value ->
+                stringOffsets[i] = stringBytes.size()
+                stringBytes.write(value.toByteArray(Charsets.UTF_8))
+            }
+            stringOffsets[strings.size] = stringBytes.size()
+
+            val classTable = IntArray(extents.size * 2)
+            val classMembers = IntArray(extents.values.sumOf { it.size })
+            var memberCursor = 0
+            extents.entries.forEachIndexed { i, (className, members) ->
+                classTable[2 * i] = ref(className)
+                classTable[2 * i + 1] = memberCursor
+                for (member in members) classMembers[memberCursor++] = member
+            }
+
+            Files.createDirectories(path.toAbsolutePath().parent)
+            DataOutputStream(Files.newOutputStream(path).buffered()).use { out ->
+                val sections = listOf<(DataOutputStream) -> Unit>(
+                    { o -> stringOffsets.forEach(o::writeInt); stringBytes.writeTo(o) },
+                    { o -> elementTable.forEach(o::writeInt) },
+                    { o -> idIndex.forEach(o::writeInt) },
+                    { o -> propertyOffsets.forEach(o::writeInt); propertyBytes.writeTo(o) },
+                    { o -> classTable.forEach(o::writeInt); classMembers.forEach(o::writeInt) },
+                    { o -> associations.keys.forEach { o.writeInt(strings.getValue(it)) } },
+                    { o -> roots.forEach(o::writeInt) },
+                    { o -> outAdjacency.forEach(o::writeInt) },
+                    { o -> inAdjacency.forEach(o::writeInt) }
+                )
+                val sectionSizes = sections.map { section ->
+                    ByteArrayOutputStream().also { bytes -> DataOutputStream(bytes).use(section) }.size()
+                }
+
+                out.writeInt(MAGIC)
+                out.writeInt(FORMAT_VERSION)
+                out.writeInt(hashRef)
+                out.writeInt(strings.size)
+                out.writeInt(elements.size)
+                out.writeInt(links.size)
+                out.writeInt(extents.size)
+                out.writeInt(associations.size)
+                out.writeInt(roots.size)
+                out.writeInt(classMembers.size)
+                var offset = HEADER_INTS * Int.SIZE_BYTES
+                for (size in sectionSizes) {
+                    out.writeInt(offset)
+                    offset += size
+                }
+                out.writeInt(offset)
+                for (section in sections) section(out)
+            }
+
+            logger.info {
+                "Wrote mapped mount ${path.fileName}: ${elements.size} elements, ${links.size} links, " +
+                    "${strings.size} strings, ${Files.size(path)} bytes"
+            }
+        }
+
+        /** Unsigned lexicographic byte order, which for UTF-8 matches code point order. */
+        private fun compareUtf8(a: ByteArray, b: ByteArray): Int {
+            val n = minOf(a.size, b.size)
+            for (i in 0 until n) {
+                val cmp = (a[i].toInt() and 0xFF) - (b[i].toInt() and 0xFF)
+                if (cmp != 0) return cmp
+            }
+            return a.size - b.size
+        }
+    }
+
+    // ===== Header =====
+
+    val stringCount: Int = buffer.getInt(12)
+    val elementCount: Int = buffer.getInt(16)
+    val linkCount: Int = buffer.getInt(20)
+    private val classCount: Int = buffer.getInt(24)
+    private val associationCount: Int = buffer.getInt(28)
+    private val rootCount: Int = buffer.getInt(32)
+
+    private val stringsAt = buffer.getInt(40)
+    private val elementsAt = buffer.getInt(44)
+    private val idIndexAt = buffer.getInt(48)
+    private val propertiesAt = buffer.getInt(52)
+    private val classesAt = buffer.getInt(56)
+    private val associationsAt = buffer.getInt(60)
+    private val rootsAt = buffer.getInt(64)
+    private val outAt = buffer.getInt(68)
+    private val inAt = buffer.getInt(72)
+
+    private val stringBytesAt = stringsAt + (stringCount + 1) * Int.SIZE_BYTES
+    private val propertyBytesAt = propertiesAt + (elementCount + 1) * Int.SIZE_BYTES
+    private val classMembersAt = classesAt + classCount * 2 * Int.SIZE_BYTES
+
+    val sourceHash: String = string(buffer.getInt(8))
+
+    /** Class name -> (first member, member count); small enough to keep on heap. */
+    private val classExtents: Map<String, Pair<Int, Int>> = buildMap {
+        val totalMembers = buffer.getInt(36)
+        for (i in 0 until classCount) {
+            val start = buffer.getInt(classesAt + i * 8 + 4)
+            val end = if (i + 1 < classCount) buffer.getInt(classesAt + (i + 1) * 8 + 4) else totalMembers
+            put(string(buffer.getInt(classesAt + i * 8)), start to end - start)
+        }
+    }
+
+    /** Association name -> association index. */
+    private val associationIndex: Map<String, Int> = buildMap {
+        for (i in 0 until associationCount) put(string(buffer.getInt(associationsAt + i * 4)), i)
+    }
+
+    // ===== Strings =====
+
+    fun string(index: Int): String {
+        val start = buffer.getInt(stringsAt + index * 4)
+        val end = buffer.getInt(stringsAt + (index + 1) * 4)
+        val bytes = ByteArray(end - start)
+        buffer.duplicate().position(stringBytesAt + start).get(bytes)
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    private fun compareString(index: Int, key: ByteArray): Int {
+        val start = stringBytesAt + buffer.getInt(stringsAt + index * 4)
+        val length = stringBytesAt + buffer.getInt(stringsAt + (index + 1) * 4) - start
+        val n = minOf(length, key.size)
+        for (i in 0 until n) {
+            val cmp = (buffer.get(start + i).toInt() and 0xFF) - (key[i].toInt() and 0xFF)
+            if (cmp != 0) return cmp
+        }
+        return length - key.size
+    }
+
+    // ===== Elements =====
+
+    fun elementId(element: Int): String = string(buffer.getInt(elementsAt + element * 8))
+
+    fun elementClass(element: Int): String = string(buffer.getInt(elementsAt + element * 8 + 4))
+
+    /** Binary search of the ID index without decoding strings. Returns -1 if absent. */
+    fun indexOf(id: String): Int {
+        val key = id.toByteArray(Charsets.UTF_8)
+        var low = 0
+        var high = elementCount - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            val element = buffer.getInt(idIndexAt + mid * 4)
+            val cmp = compareString(buffer.getInt(elementsAt + element * 8), key)
+            when {
+                cmp < 0 -> low = mid + 1
+                cmp > 0 -> high = mid - 1
+                else -> return element
+            }
+        }
+        return -1
+    }
+
+    /** Decode the stored properties of [element], resolving element references through [resolve]. */
+    fun readProperties(element: Int, resolve: (String) -> MDMObject?): Map<String, Any?> {
+        val start = propertyBytesAt + buffer.getInt(propertiesAt + element * 4)
+        val end = propertyBytesAt + buffer.getInt(propertiesAt + (element + 1) * 4)
+        val data = DataInputStream(ByteBufferInputStream(buffer.duplicate().position(start).limit(end)))
+        val count = data.readInt()
+        val properties = LinkedHashMap<String, Any?>(count * 2)
+        repeat(count) {
+            val name = string(data.readInt())
+            properties[name] = MountImage.readValue(data, ::string, resolve)
+        }
+        return properties
+    }
+
+    /** The first [limit] members of [className]'s extent (all of them by default). */
+    fun classExtent(className: String, limit: Int = Int.MAX_VALUE): IntArray {
+        val (start, count) = classExtents[className] ?: return IntArray(0)
+        return IntArray(minOf(count, limit)) { buffer.getInt(classMembersAt + (start + it) * 4) }
+    }
+
+    fun classExtentSize(className: String): Int = classExtents[className]?.second ?: 0
+
+    fun roots(): IntArray = IntArray(rootCount) { buffer.getInt(rootsAt + it * 4) }
+
+    // ===== Adjacency =====
+
+    /** IDs on the other end of [element]'s outgoing or incoming edges of one association. */
+    fun neighbors(element: Int, associationName: String, outgoing: Boolean): List<String> {
+        val association = associationIndex[associationName] ?: return emptyList()
+        val result = mutableListOf<String>()
+        forEachEdge(element, outgoing) { _, edgeAssociation, other ->
+            if (edgeAssociation == association) result.add(string(other))
+        }
+        return result
+    }
+
+    /** Visit (linkIdString, associationIndex, otherIdString) for each edge of [element]. */
+    fun forEachEdge(element: Int, outgoing: Boolean, visit: (Int, Int, Int) -> Unit) {
+        val base = if (outgoing) outAt else inAt
+        val edgesAt = base + (elementCount + 1) * 4
+        val start = buffer.getInt(base + element * 4)
+        val end = buffer.getInt(base + (element + 1) * 4)
+        var cursor = start
+        while (cursor < end) {
+            val at = edgesAt + cursor * 4
+            visit(buffer.getInt(at), buffer.getInt(at + 4), buffer.getInt(at + 8))
+            cursor += EDGE_INTS
+        }
+    }
+
+    fun associationName(index: Int): String = string(buffer.getInt(associationsAt + index * 4))
+
+    /** Read-only stream over a buffer slice, used to reuse the [MountImage] value decoder. */
+    private class ByteBufferInputStream(private val buffer: ByteBuffer) : InputStream() {
+        override fun read(): Int = if (buffer.hasRemaining()) buffer.get().toInt() and 0xFF else -1
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            if (!buffer.hasRemaining()) return -1
+            val n = minOf(len, buffer.remaining())
+            buffer.get(b, off, n)
+            return n
+        }
+
+        override fun available(): Int = buffer.remaining()
+    }
+}
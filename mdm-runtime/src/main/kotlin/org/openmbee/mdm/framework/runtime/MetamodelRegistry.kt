@@ -16,11 +16,18 @@
 package org.openmbee.mdm.framework.runtime
 
 import io.github.oshai.kotlinlogging.KotlinLogging
+import org.openmbee.mdm.framework.meta.BodyLanguage
+import org.openmbee.mdm.framework.meta.ConstraintBody
 import org.openmbee.mdm.framework.meta.MetaAssociation
 import org.openmbee.mdm.framework.meta.MetaAssociationEnd
 import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.OperationBody
 import org.openmbee.mdm.framework.meta.OwnershipBinding
 import org.openmbee.mdm.framework.model.createMDMBaseClass
+import org.openmbee.mdm.framework.query.ocl.CompiledOclBody
+import org.openmbee.mdm.framework.query.ocl.OclExpression
+import org.openmbee.mdm.framework.query.ocl.OclParser
+import java.util.IdentityHashMap
 import java.util.concurrent.ConcurrentHashMap
 
 /**
@@ -63,6 +70,25 @@ class MetamodelRegistry {
     private var subsetsIndex: Map<String, List<Pair<MetaAssociation, MetaAssociationEnd>>> = emptyMap()
     private var classAssocEndIndex: Map<String, List<Triple<MetaAssociation, MetaAssociationEnd, Boolean>>> = emptyMap()
     private var ownershipAssocIndex: Map<String, OwnershipAssociationInfo> = emptyMap()
+    private var boundOclBodies: Map<Any, OclExpression> = emptyMap()
+    private var boundCompiledBodies: Map<Any, CompiledOclBody> = emptyMap()
+
+    /** Ahead-of-time compiled OCL bodies by expression text, registered before buildIndexes() */
+    private val compiledOclSources = ConcurrentHashMap<String, CompiledOclBody>()
+
+    /** Secondary property indexes that engines over this registry maintain */
+    private val propertyIndexSpecs = ConcurrentHashMap<Pair<String, String>, PropertyIndexSpec>()
+
+    /** Reachability indexes that engines over this registry maintain */
+    private val reachabilitySpecs: MutableSet<ReachabilitySpec> = ConcurrentHashMap.newKeySet()
+
+    /**
+     * Shared, memoizing ownership resolver over this registry. Replaced whenever the metamodel
+     * changes, so resolutions cached against an earlier state are never served.
+     */
+    @Volatile
+    var ownershipResolver: OwnershipResolver = OwnershipResolver(this)
+        private set
 
     companion object {
         /** The default base class name that all classes inherit from if no superclass is specified */
@@ -86,6 +112,7 @@ class MetamodelRegistry {
         }
 
         classes[effectiveClass.name] = effectiveClass
+        ownershipResolver = OwnershipResolver(this)
 
         // Build subclass index
         effectiveClass.superclasses.forEach { superclass ->
@@ -109,6 +136,48 @@ class MetamodelRegistry {
         }
     }
 
+    /**
+     * Declare a secondary index on a stored property of [className] and its subclasses.
+     *
+     * Engines created over this registry afterwards maintain the index and use it for
+     * property lookups and GQL planning. Declaring the same class and property again replaces
+     * the earlier declaration.
+     */
+    fun registerPropertyIndex(
+        className: String,
+        propertyName: String,
+        kind: PropertyIndexKind = PropertyIndexKind.HASH
+    ) {
+        require(classes.containsKey(className)) { "Cannot index a property of unknown class: $className" }
+        propertyIndexSpecs[className to propertyName] = PropertyIndexSpec(className, propertyName, kind)
+        logger.debug { "Registered $kind property index: $className.$propertyName" }
+    }
+
+    /**
+     * Get all declared property indexes.
+     */
+    fun getPropertyIndexes(): Collection<PropertyIndexSpec> = propertyIndexSpecs.values
+
+    /**
+     * Declare a reachability index over the links of [associationNames], treated as one hop type.
+     *
+     * Engines created over this registry afterwards memoize transitive closures over these
+     * associations, which GQL uses for unbounded variable-length edges labeled with exactly them.
+     */
+    fun registerReachabilityIndex(vararg associationNames: String) {
+        require(associationNames.isNotEmpty()) { "A reachability index needs at least one association" }
+        for (name in associationNames) {
+            require(associations.containsKey(name)) { "Cannot index reachability over unknown association: $name" }
+        }
+        reachabilitySpecs += ReachabilitySpec(associationNames.toSet())
+        logger.debug { "Registered reachability index: ${associationNames.joinToString("|")}" }
+    }
+
+    /**
+     * Get all declared reachability indexes.
+     */
+    fun getReachabilityIndexes(): Collection<ReachabilitySpec> = reachabilitySpecs
+
     /**
      * Register a MetaAssociation in the registry.
      */
@@ -134,9 +203,18 @@ class MetamodelRegistry {
             )
         }
         associations[association.name] = association
+        ownershipResolver = OwnershipResolver(this)
         logger.debug { "Registered MetaAssociation: ${association.name}" }
     }
 
+    /**
+     * Register an ahead-of-time compiled OCL body (generated by mdm-codegen) for an expression text.
+     * Takes effect for matching constraint/operation bodies at the next [buildIndexes] call.
+     */
+    fun registerCompiledOcl(expression: String, body: CompiledOclBody) {
+        compiledOclSources[expression] = body
+    }
+
     /**
      * Pre-compute all lookup indexes from the current metamodel state.
      * Call once after all classes and associations are registered.
@@ -295,9 +373,62 @@ class MetamodelRegistry {
             logger.debug { "Ownership association index: ${ownerAssocIdx.entries.joinToString { "${it.key} → ${it.value.role}" }}" }
         }
 
-        logger.info { "Metamodel indexes built: ${classes.size} classes, ${associations.size} associations" }
+        // 7. Pre-bound OCL bodies — parse every OCL constraint and operation body once, keyed by
+        // reference to the owning MetaConstraint / body object, so evaluation never re-parses or
+        // hashes the expression text.
+        val bound = IdentityHashMap<Any, OclExpression>()
+        val compiled = IdentityHashMap<Any, CompiledOclBody>()
+        var unbound = 0
+        fun bindOcl(key: Any, code: String) {
+            if (code.isBlank()) return
+            compiledOclSources[code]?.let { compiled[key] = it }
+            try {
+                bound[key] = OclParser.parseUncached(code)
+            } catch (e: Exception) {
+                // Left unbound: evaluation falls back to the text path and reports the error there
+                unbound++
+                logger.debug { "Could not pre-bind OCL body: $code (${e.message})" }
+            }
+        }
+        for (metaClass in classes.values) {
+            for (constraint in metaClass.constraints) {
+                if (constraint.language.equals("OCL", ignoreCase = true)) {
+                    bindOcl(constraint, constraint.expression)
+                }
+                val body = constraint.body
+                if (body is ConstraintBody.Expression && body.language.equals("OCL", ignoreCase = true)) {
+                    bindOcl(body, body.code)
+                }
+            }
+            for (operation in metaClass.operations) {
+                val body = operation.body
+                if (body is OperationBody.Expression && body.language == BodyLanguage.OCL) {
+                    bindOcl(body, body.code)
+                }
+            }
+        }
+        boundOclBodies = bound
+        boundCompiledBodies = compiled
+        if (unbound > 0) {
+            logger.info { "$unbound OCL bodies could not be pre-bound and will be parsed on use" }
+        }
+
+        logger.info { "Metamodel indexes built: ${classes.size} classes, ${associations.size} associations, ${bound.size} OCL bodies bound (${compiled.size} compiled)" }
     }
 
+    /**
+     * Get the OCL AST pre-bound for a MetaConstraint (its `expression`), a ConstraintBody.Expression,
+     * or an OperationBody.Expression. Lookup is by reference, not by expression text.
+     * Returns null if indexes haven't been built or the body could not be parsed.
+     */
+    fun getBoundOclBody(owner: Any): OclExpression? = boundOclBodies[owner]
+
+    /**
+     * Get the ahead-of-time compiled form of a constraint or operation body, keyed like [getBoundOclBody].
+     * Returns null if no compiled body was registered for its expression text.
+     */
+    fun getCompiledOclBody(owner: Any): CompiledOclBody? = boundCompiledBodies[owner]
+
     /**
      * Get the pre-computed association ends for a class.
      * Returns null if indexes haven't been built yet.
@@ -505,6 +636,12 @@ class MetamodelRegistry {
         subsetsIndex = emptyMap()
         classAssocEndIndex = emptyMap()
         ownershipAssocIndex = emptyMap()
+        boundOclBodies = emptyMap()
+        boundCompiledBodies = emptyMap()
+        compiledOclSources.clear()
+        propertyIndexSpecs.clear()
+        reachabilitySpecs.clear()
+        ownershipResolver = OwnershipResolver(this)
         logger.debug { "Registry cleared" }
     }
 
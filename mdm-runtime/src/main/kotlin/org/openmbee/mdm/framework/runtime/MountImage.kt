@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInput
+import java.io.DataInputStream
+import java.io.DataOutput
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Header of a mount image, readable without decoding the element payload.
+ */
+data class MountImageHeader(
+    val formatVersion: Int,
+    val sourceHash: String,
+    val elementCount: Int,
+    val linkCount: Int
+)
+
+/**
+ * Binary snapshot of an engine's elements and links.
+ *
+ * A mount image lets a read-only library engine (such as the KerML Kernel Semantic
+ * Library) be restored without re-parsing its sources. The image records the
+ * stored (non-derived) properties of every element and every link in insertion
+ * order, so a restored engine iterates exactly like the engine it was taken from.
+ * Derived values are not stored; they are recomputed on demand as usual.
+ *
+ * Layout (all integers big-endian):
+ * ```
+ * magic "MDMI" | formatVersion | sourceHash
+ * stringCount | string*                      -- shared string table
+ * elementCount | (id, className)*            -- all instances, in engine order
+ * (propertyCount | (name, value)*)*          -- stored properties, same order
+ * linkCount | (id, association, source, target)*
+ * ```
+ *
+ * The source hash is opaque to the image; callers use it to detect that the
+ * sources an image was built from have changed and fall back to a full load.
+ */
+object MountImage {
+
+    /** "MDMI" */
+    const val MAGIC = 0x4D444D49
+
+    /** Bumped whenever the layout or value encoding changes. */
+    const val FORMAT_VERSION = 1
+
+    private const val TAG_NULL = 0
+    private const val TAG_STRING = 1
+    private const val TAG_TRUE = 2
+    private const val TAG_FALSE = 3
+    private const val TAG_INT = 4
+    private const val TAG_LONG = 5
+    private const val TAG_DOUBLE = 6
+    private const val TAG_FLOAT = 7
+    private const val TAG_LIST = 8
+    private const val TAG_SET = 9
+    private const val TAG_ELEMENT = 10
+    private const val TAG_MAP = 11
+
+    // ===== Writing =====
+
+    /**
+     * Write an image of [engine] to [output].
+     *
+     * @param engine The engine to snapshot
+     * @param sourceHash Hash of the sources the engine was loaded from
+     * @param output The stream to write to (not closed)
+     * @throws IllegalArgumentException if a property holds a value the image cannot encode
+     */
+    fun write(engine: MDMEngine, sourceHash: String, output: OutputStream) {
+        val elements = engine.getAllElements()
+        val links = engine.getAllLinks()
+
+        // Pass 1 only assigns string-table indexes; pass 2 streams the body directly
+        val strings = LinkedHashMap<String, Int>()
+        writeBody(DataOutputStream(OutputStream.nullOutputStream()), elements, links) { value ->
+            strings.getOrPut(value) { strings.size }
+        }
+
+        val out = DataOutputStream(BufferedOutputStream(output))
+        out.writeInt(MAGIC)
+        out.writeInt(FORMAT_VERSION)
+        writeString(out, sourceHash)
+        out.writeInt(strings.size)
+        for (value in strings.keys) {
+            writeString(out, value)
+        }
+        writeBody(out, elements, links, strings::getValue)
+        out.flush()
+
+        logger.info { "Wrote mount image: ${elements.size} elements, ${links.size} links, ${strings.size} strings" }
+    }
+
+    private fun writeBody(out: DataOutputStream, elements: List<MDMObject>, links: List<MDMLink>, ref: (String) -> Int) {
+        out.writeInt(elements.size)
+        for (element in elements) {
+            out.writeInt(ref(element.id!!))
+            out.writeInt(ref(element.className))
+        }
+        for (element in elements) {
+            val properties = element.getAllProperties()
+            out.writeInt(properties.size)
+            for ((name, value) in properties) {
+                out.writeInt(ref(name))
+                writeValue(out, value, ref, element, name)
+            }
+        }
+        out.writeInt(links.size)
+        for (link in links) {
+            out.writeInt(ref(link.id))
+            out.writeInt(ref(link.associationName))
+            out.writeInt(ref(link.sourceId))
+            out.writeInt(ref(link.targetId))
+        }
+    }
+
+    /**
+     * Encode a stored property value; strings are written as indexes obtained from [ref].
+     * Shared with [MappedMountFile], which uses the same value encoding.
+     */
+    internal fun writeValue(
+        out: DataOutput,
+        value: Any?,
+        ref: (String) -> Int,
+        owner: MDMObject,
+        propertyName: String
+    ) {
+        when (value) {
+            null -> out.writeByte(TAG_NULL)
+            is String -> {
+                out.writeByte(TAG_STRING)
+                out.writeInt(ref(value))
+            }
+            is Boolean -> out.writeByte(if (value) TAG_TRUE else TAG_FALSE)
+            is Int -> {
+                out.writeByte(TAG_INT)
+                out.writeInt(value)
+            }
+            is Long -> {
+                out.writeByte(TAG_LONG)
+                out.writeLong(value)
+            }
+            is Double -> {
+                out.writeByte(TAG_DOUBLE)
+                out.writeDouble(value)
+            }
+            is Float -> {
+                out.writeByte(TAG_FLOAT)
+                out.writeFloat(value)
+            }
+            is MDMObject -> {
+                out.writeByte(TAG_ELEMENT)
+                out.writeInt(ref(value.id ?: throw IllegalArgumentException(
+                    "Property '$propertyName' of ${owner.className} (${owner.id}) references an unregistered element"
+                )))
+            }
+            is Set<*> -> {
+                out.writeByte(TAG_SET)
+                out.writeInt(value.size)
+                for (item in value) writeValue(out, item, ref, owner, propertyName)
+            }
+            is List<*> -> {
+                out.writeByte(TAG_LIST)
+                out.writeInt(value.size)
+                for (item in value) writeValue(out, item, ref, owner, propertyName)
+            }
+            is Map<*, *> -> {
+                out.writeByte(TAG_MAP)
+                out.writeInt(value.size)
+                for ((key, item) in value) {
+                    out.writeInt(ref(key as? String ?: throw IllegalArgumentException(
+                        "Property '$propertyName' of ${owner.className} (${owner.id}) has a non-string map key"
+                    )))
+                    writeValue(out, item, ref, owner, propertyName)
+                }
+            }
+            else -> throw IllegalArgumentException(
+                "Property '$propertyName' of ${owner.className} (${owner.id}) has unsupported value type " +
+                    value::class.qualifiedName
+            )
+        }
+    }
+
+    private fun writeString(out: DataOutputStream, value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        out.writeInt(bytes.size)
+        out.write(bytes)
+    }
+
+    // ===== Reading =====
+
+    /**
+     * Restore an image into [engine], which should be empty.
+     *
+     * Elements are instantiated through the engine's factory and bulk-inserted without
+     * lifecycle events; the qualified name index, if any, is rebuilt once at the end.
+     *
+     * @param input The stream to read from (not closed)
+     * @param engine The engine to populate
+     * @param expectedSourceHash If non-null, the image is rejected unless its source hash matches
+     * @return The image header, or null if the image is unsupported or stale
+     * @throws IOException if the image is truncated or corrupt
+     */
+    fun read(input: InputStream, engine: MDMEngine, expectedSourceHash: String? = null): MountImageHeader? {
+        val data = DataInputStream(BufferedInputStream(input))
+        val (version, sourceHash) = readPrefix(data) ?: return null
+        if (expectedSourceHash != null && sourceHash != expectedSourceHash) {
+            logger.info { "Mount image is stale (image hash $sourceHash, expected $expectedSourceHash)" }
+            return null
+        }
+
+        val strings = Array(data.readInt()) { readString(data) }
+
+        val elementCount = data.readInt()
+        val elements = ArrayList<MDMObject>(elementCount)
+        val byId = HashMap<String, MDMObject>(elementCount * 2)
+        repeat(elementCount) {
+            val id = strings[data.readInt()]
+            val className = strings[data.readInt()]
+            val metaClass = engine.schema.getClass(className)
+                ?: throw IOException("Mount image references unknown class: $className")
+            val element = engine.factory.createInstance(className, metaClass)
+            element.id = id
+            elements.add(element)
+            byId[id] = element
+        }
+        for (element in elements) {
+            repeat(data.readInt()) {
+                val name = strings[data.readInt()]
+                element.setProperty(name, readValue(data, { strings[it] }, byId::get))
+            }
+        }
+
+        val linkCount = data.readInt()
+        val links = ArrayList<MDMLink>(linkCount)
+        repeat(linkCount) {
+            val id = strings[data.readInt()]
+            val associationName = strings[data.readInt()]
+            val association = engine.schema.getAssociation(associationName)
+                ?: throw IOException("Mount image references unknown association: $associationName")
+            links.add(MDMLink(id, association, strings[data.readInt()], strings[data.readInt()]))
+        }
+
+        engine.bulkLoad(elements, links)
+        return MountImageHeader(version, sourceHash, elementCount, linkCount)
+    }
+
+    private fun readPrefix(data: DataInputStream): Pair<Int, String>? {
+        if (data.readInt() != MAGIC) {
+            logger.warn { "Not a mount image (bad magic)" }
+            return null
+        }
+        val version = data.readInt()
+        if (version != FORMAT_VERSION) {
+            logger.info { "Unsupported mount image version $version (expected $FORMAT_VERSION)" }
+            return null
+        }
+        return version to readString(data)
+    }
+
+    /**
+     * Decode a value written by [writeValue]. [string] resolves string-table indexes and
+     * [element] resolves element references by ID.
+     */
+    internal fun readValue(data: DataInput, string: (Int) -> String, element: (String) -> MDMObject?): Any? =
+        when (val tag = data.readUnsignedByte()) {
+            TAG_NULL -> null
+            TAG_STRING -> string(data.readInt())
+            TAG_TRUE -> true
+            TAG_FALSE -> false
+            TAG_INT -> data.readInt()
+            TAG_LONG -> data.readLong()
+            TAG_DOUBLE -> data.readDouble()
+            TAG_FLOAT -> data.readFloat()
+            TAG_ELEMENT -> {
+                val id = string(data.readInt())
+                element(id) ?: throw IOException("Mount image references missing element: $id")
+            }
+            TAG_LIST -> List(data.readInt()) { readValue(data, string, element) }
+            TAG_SET -> {
+                val size = data.readInt()
+                LinkedHashSet<Any?>(size * 2).apply { repeat(size) { add(readValue(data, string, element)) } }
+            }
+            TAG_MAP -> {
+                val size = data.readInt()
+                LinkedHashMap<String, Any?>(size * 2).apply {
+                    repeat(size) { put(string(data.readInt()), readValue(data, string, element)) }
+                }
+            }
+            else -> throw IOException("Corrupt mount image: unknown value tag $tag")
+        }
+
+    private fun readString(data: DataInputStream): String {
+        val bytes = ByteArray(data.readInt())
+        data.readFully(bytes)
+        return String(bytes, Charsets.UTF_8)
+    }
+}
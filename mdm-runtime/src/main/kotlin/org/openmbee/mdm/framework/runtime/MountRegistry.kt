@@ -16,6 +16,7 @@
 package org.openmbee.mdm.framework.runtime
 
 import io.github.oshai.kotlinlogging.KotlinLogging
+import java.io.InputStream
 
 private val logger = KotlinLogging.logger {}
 
@@ -90,6 +91,43 @@ object MountRegistry {
         return mount
     }
 
+    /**
+     * Register a mount whose engine is restored from a [MountImage] instead of
+     * being loaded from source.
+     *
+     * @param id Unique identifier (use qualifiedNameToId for consistency)
+     * @param name Human-readable name
+     * @param engine An empty engine with the image's metamodel loaded
+     * @param image The image stream (not closed)
+     * @param expectedSourceHash Hash of the current sources; a stale image is rejected
+     * @param priority Lower = searched first
+     * @param isImplicit True for auto-mounted standard libraries
+     * @return The created Mount, or null if the image is stale or unsupported (nothing is registered)
+     * @throws IllegalArgumentException if a mount with this ID is already registered
+     */
+    @Synchronized
+    fun registerFromImage(
+        id: String,
+        name: String,
+        engine: MDMEngine,
+        image: InputStream,
+        expectedSourceHash: String?,
+        priority: Int = StandardMount.DEFAULT_PRIORITY,
+        isImplicit: Boolean = false
+    ): Mount? {
+        if (mounts.containsKey(id)) {
+            throw IllegalArgumentException("Mount with ID '$id' is already registered")
+        }
+
+        val start = System.currentTimeMillis()
+        val header = MountImage.read(image, engine, expectedSourceHash) ?: return null
+        logger.info {
+            "Restored mount '$id' from image: ${header.elementCount} elements, " +
+                "${header.linkCount} links in ${System.currentTimeMillis() - start}ms"
+        }
+        return register(id, name, engine, priority, isImplicit)
+    }
+
     /**
      * Register a pre-built mount.
      *
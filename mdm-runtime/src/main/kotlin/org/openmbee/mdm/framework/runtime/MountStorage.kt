@@ -16,6 +16,8 @@
 package org.openmbee.mdm.framework.runtime
 
 import io.github.oshai.kotlinlogging.KotlinLogging
+import java.io.DataInputStream
+import java.io.DataOutputStream
 import java.nio.file.Files
 import java.nio.file.Path
 import java.time.Instant
@@ -40,8 +42,8 @@ data class MountMetadata(
  * MountStorage allows pre-loading standard libraries at build time and
  * fast startup by loading serialized engines instead of re-parsing files.
  *
- * Default implementation uses a simple JSON format for metadata with
- * the engine content serialized separately.
+ * [BinaryMountStorage] is the full-fidelity implementation; [JsonMountStorage]
+ * is a human-readable format that only restores elements and links.
  */
 interface MountStorage {
     /**
@@ -327,3 +329,131 @@ class JsonMountStorage : MountStorage {
         return match?.groupValues?.get(1)?.toIntOrNull() ?: 0
     }
 }
+
+/**
+ * Binary mount storage: one file per mount, holding a small metadata header
+ * followed by a [MountImage] (string dictionary, elements with all stored
+ * properties, links).
+ *
+ * Unlike [JsonMountStorage], property values are restored with their types and
+ * loading goes through the engine's bulk path, so no lifecycle events fire per
+ * element or link.
+ *
+ * [save] and [load] take the mount file path; [listAvailable] scans a directory
+ * for files with the [EXTENSION] suffix.
+ *
+ * @param elementFactory Creates the factory for each loaded engine (typed implementations)
+ */
+class BinaryMountStorage(
+    private val elementFactory: () -> ElementFactory = { DefaultElementFactory() }
+) : MountStorage {
+
+    companion object {
+        const val EXTENSION = ".mdmb"
+
+        /** "MDMB" */
+        private const val MAGIC = 0x4D444D42
+        private const val FORMAT_VERSION = 1
+    }
+
+    override fun save(mount: Mount, path: Path) {
+        logger.info { "Saving mount '${mount.id}' to $path" }
+        path.toAbsolutePath().parent?.let { Files.createDirectories(it) }
+
+        Files.newOutputStream(path).buffered().use { output ->
+            val out = DataOutputStream(output)
+            writeMetadata(
+                out,
+                MountMetadata(
+                    id = mount.id,
+                    name = mount.name,
+                    isImplicit = mount.isImplicit,
+                    priority = mount.priority,
+                    elementCount = mount.engine.elementCount(),
+                    savedAt = Instant.now()
+                )
+            )
+            out.flush()
+            MountImage.write(mount.engine, sourceHash = "", output)
+        }
+
+        logger.info { "Saved mount '${mount.id}' with ${mount.engine.elementCount()} elements" }
+    }
+
+    override fun load(path: Path, schema: MetamodelRegistry): Mount? {
+        if (!Files.isRegularFile(path)) {
+            logger.warn { "Mount file not found: $path" }
+            return null
+        }
+
+        return try {
+            Files.newInputStream(path).buffered().use { input ->
+                val metadata = readMetadata(DataInputStream(input)) ?: run {
+                    logger.warn { "Not a binary mount file: $path" }
+                    return null
+                }
+                val engine = MDMEngine(schema, elementFactory())
+                MountImage.read(input, engine) ?: return null
+
+                val mount = StandardMount(
+                    id = metadata.id,
+                    name = metadata.name,
+                    engine = engine,
+                    priority = metadata.priority,
+                    isImplicit = metadata.isImplicit
+                )
+                logger.info { "Loaded mount '${mount.id}' with ${engine.elementCount()} elements" }
+                mount
+            }
+        } catch (e: Exception) {
+            logger.error(e) { "Failed to load mount from $path" }
+            null
+        }
+    }
+
+    override fun listAvailable(directory: Path): List<MountMetadata> {
+        if (!Files.isDirectory(directory)) {
+            return emptyList()
+        }
+
+        return Files.list(directory).use { paths ->
+            paths
+                .filter { Files.isRegularFile(it) && it.fileName.toString().endsWith(EXTENSION) }
+                .toList()
+                .mapNotNull { path ->
+                    try {
+                        DataInputStream(Files.newInputStream(path).buffered()).use { readMetadata(it) }
+                    } catch (e: Exception) {
+                        logger.warn { "Failed to read metadata from $path: ${e.message}" }
+                        null
+                    }
+                }
+        }
+    }
+
+    private fun writeMetadata(out: DataOutputStream, metadata: MountMetadata) {
+        out.writeInt(MAGIC)
+        out.writeInt(FORMAT_VERSION)
+        out.writeUTF(metadata.id)
+        out.writeUTF(metadata.name)
+        out.writeBoolean(metadata.isImplicit)
+        out.writeInt(metadata.priority)
+        out.writeInt(metadata.elementCount)
+        out.writeLong(metadata.savedAt.epochSecond)
+        out.writeInt(metadata.savedAt.nano)
+    }
+
+    private fun readMetadata(data: DataInputStream): MountMetadata? {
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+            return null
+        }
+        return MountMetadata(
+            id = data.readUTF(),
+            name = data.readUTF(),
+            isImplicit = data.readBoolean(),
+            priority = data.readInt(),
+            elementCount = data.readInt(),
+            savedAt = Instant.ofEpochSecond(data.readLong(), data.readInt().toLong())
+        )
+    }
+}
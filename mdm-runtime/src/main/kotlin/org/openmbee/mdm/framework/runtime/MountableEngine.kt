@@ -16,6 +16,7 @@
 package org.openmbee.mdm.framework.runtime
 
 import io.github.oshai.kotlinlogging.KotlinLogging
+import java.util.Collections
 
 private val logger = KotlinLogging.logger {}
 
@@ -73,9 +74,9 @@ class MountableEngine(
 
     /**
      * Cache mapping element IDs to their source mount.
-     * Null value means the element is local.
+     * Null value means the element is local. Synchronized because lookups by concurrent readers fill it.
      */
-    private val elementMountCache: MutableMap<String, Mount?> = mutableMapOf()
+    private val elementMountCache: MutableMap<String, Mount?> = Collections.synchronizedMap(HashMap())
 
     // ===== Mount Management =====
 
@@ -232,6 +233,52 @@ class MountableEngine(
         return all
     }
 
+    /**
+     * Count elements by class including mounted content.
+     */
+    override fun countElementsByClass(className: String): Int =
+        super.countElementsByClass(className) + activeMounts.sumOf { it.engine.countElementsByClass(className) }
+
+    /**
+     * Sample element IDs by class, local elements first and then each mount's.
+     */
+    override fun sampleElementIdsByClass(className: String, limit: Int): List<String> {
+        val sample = super.sampleElementIdsByClass(className, limit).toMutableList()
+        for (mount in activeMounts) {
+            if (sample.size >= limit) break
+            sample.addAll(mount.engine.sampleElementIdsByClass(className, limit - sample.size))
+        }
+        return sample
+    }
+
+    /**
+     * Find elements by property value including mounted content.
+     * Without a local index the inherited scan already covers mounts through [getElementsByClass].
+     */
+    override fun findElementsByProperty(className: String, propertyName: String, value: Any): List<MDMObject> {
+        val local = super.findElementsByProperty(className, propertyName, value)
+        if (propertyIndexes.indexFor(className, propertyName) == null) return local
+        return local + activeMounts.flatMap { it.engine.findElementsByProperty(className, propertyName, value) }
+    }
+
+    /**
+     * Find elements by property range including mounted content.
+     */
+    override fun findElementsByPropertyRange(
+        className: String,
+        propertyName: String,
+        from: Any?,
+        fromInclusive: Boolean,
+        to: Any?,
+        toInclusive: Boolean
+    ): List<MDMObject> {
+        val local = super.findElementsByPropertyRange(className, propertyName, from, fromInclusive, to, toInclusive)
+        if (propertyIndexes.indexFor(className, propertyName, needsOrder = true) == null) return local
+        return local + activeMounts.flatMap {
+            it.engine.findElementsByPropertyRange(className, propertyName, from, fromInclusive, to, toInclusive)
+        }
+    }
+
     // ===== Immutability Enforcement =====
 
     /**
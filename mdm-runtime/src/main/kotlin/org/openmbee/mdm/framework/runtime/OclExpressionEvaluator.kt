@@ -16,13 +16,20 @@
 package org.openmbee.mdm.framework.runtime
 
 import org.openmbee.mdm.framework.constraints.EngineAccessor
+import org.openmbee.mdm.framework.query.ocl.CompiledOclBody
 import org.openmbee.mdm.framework.query.ocl.OclExecutor
+import org.openmbee.mdm.framework.query.ocl.OclExpression
 import org.openmbee.mdm.framework.query.ocl.OclParser
 
 /**
  * ExpressionEvaluator implementation for OCL expressions.
  *
  * Parses OCL text using OclParser and executes using OclExecutor.
+ * Metamodel bodies pre-bound by [MetamodelRegistry.buildIndexes] are evaluated directly
+ * from their AST (or from their ahead-of-time compiled form) without touching the parser cache.
+ *
+ * Executors are reused per thread: each nesting level of a (re-entrant) evaluation gets its
+ * own executor, which is rebound to the new context instead of being reallocated.
  */
 class OclExpressionEvaluator : ExpressionEvaluator {
 
@@ -33,22 +40,83 @@ class OclExpressionEvaluator : ExpressionEvaluator {
         element: MDMObject,
         model: MDMEngine,
         args: Map<String, Any?>
+    ): Any? = evaluate(OclParser.parse(expression), element, model, args)
+
+    /**
+     * Evaluate an already-parsed OCL expression in the context of an element.
+     */
+    fun evaluate(
+        ast: OclExpression,
+        element: MDMObject,
+        model: MDMEngine,
+        args: Map<String, Any?> = emptyMap()
+    ): Any? {
+        val pool = executorPool.get()
+        val executor = pool.acquire(model.engineAccessor, element, element.id!!)
+        try {
+            return if (args.isEmpty()) {
+                executor.evaluate(ast)
+            } else {
+                executor.evaluateWith(ast, args)
+            }
+        } finally {
+            pool.release()
+        }
+    }
+
+    /**
+     * Evaluate an OCL body compiled ahead of time by mdm-codegen in the context of an element.
+     */
+    fun evaluate(
+        compiled: CompiledOclBody,
+        element: MDMObject,
+        model: MDMEngine,
+        args: Map<String, Any?> = emptyMap()
     ): Any? {
-        val ast = OclParser.parse(expression)
-        val accessor = MDMEngineAccessor(model)
-        val executor = OclExecutor(accessor, element, element.id!!)
-        return if (args.isEmpty()) {
-            executor.evaluate(ast)
+        val pool = executorPool.get()
+        val executor = pool.acquire(model.engineAccessor, element, element.id!!)
+        try {
+            return executor.evaluateCompiled(compiled, args)
+        } finally {
+            pool.release()
+        }
+    }
+}
+
+/**
+ * Per-thread stack of reusable executors, indexed by evaluation nesting depth.
+ * Derived properties evaluated during an OCL evaluation re-enter the evaluator, so
+ * each depth needs its own executor.
+ */
+private class OclExecutorPool {
+    private val executors = ArrayList<OclExecutor>()
+    private var depth = 0
+
+    fun acquire(accessor: EngineAccessor, element: MDMObject, elementId: String): OclExecutor {
+        val executor = if (depth < executors.size) {
+            executors[depth].also { it.rebind(accessor, element, elementId) }
         } else {
-            executor.evaluateWith(ast, args)
+            OclExecutor(accessor, element, elementId).also { executors.add(it) }
         }
+        depth++
+        return executor
+    }
+
+    fun release() {
+        depth--
+        executors[depth].unbind()
     }
 }
 
+/**
+ * Shared by all evaluators, so a thread keeps one pool however many engines it evaluates for.
+ */
+private val executorPool = ThreadLocal.withInitial { OclExecutorPool() }
+
 /**
  * Adapter that provides EngineAccessor interface over MDMEngine.
  */
-private class MDMEngineAccessor(private val engine: MDMEngine) : EngineAccessor {
+internal class MDMEngineAccessor(private val engine: MDMEngine) : EngineAccessor {
 
     override fun getInstance(id: String): MDMObject? = engine.getInstance(id)
 
@@ -84,9 +152,15 @@ private class MDMEngineAccessor(private val engine: MDMEngine) : EngineAccessor
         engine.getElementsByClass(className)
 
     override fun getClosureCache(elementId: String, bodyKey: String): Set<Any?>? =
-        engine.closureCache["$elementId:$bodyKey"]
+        engine.getClosureCacheEntry(elementId, bodyKey)
 
     override fun putClosureCache(elementId: String, bodyKey: String, result: Set<Any?>) {
         engine.closureCache["$elementId:$bodyKey"] = result
     }
+
+    override fun readStoredProperty(element: MDMObject, propertyName: String): Any? =
+        engine.readStoredProperty(element, propertyName)
+
+    override fun <T> trackClosure(elementId: String, bodyKey: String, compute: () -> T): T =
+        engine.trackClosure(elementId, bodyKey, compute)
 }
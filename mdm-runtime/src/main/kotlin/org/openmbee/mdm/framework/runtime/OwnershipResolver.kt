@@ -18,6 +18,7 @@ package org.openmbee.mdm.framework.runtime
 import io.github.oshai.kotlinlogging.KotlinLogging
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.OwnershipBinding
+import java.util.concurrent.ConcurrentHashMap
 
 private val logger = KotlinLogging.logger {}
 
@@ -67,6 +68,9 @@ data class ResolvedOwnership(
  * - Parent=Type, Child=Feature → FeatureMembership
  * - Parent=Function, Child=Expression → ResultExpressionMembership
  * - Parent=Namespace, Child=Package → OwningMembership (base case)
+ *
+ * Results are memoized per (parentType, childType) pair, so a resolver should be shared rather
+ * than created per element; [MetamodelRegistry.ownershipResolver] holds the one for a registry.
  */
 class OwnershipResolver(private val registry: MetamodelRegistry) {
 
@@ -98,6 +102,13 @@ class OwnershipResolver(private val registry: MetamodelRegistry) {
             }
     }
 
+    /**
+     * Memoized resolutions by (parentType, childType); a pair with no intermediate maps to [Unresolved].
+     */
+    private val resolutions = ConcurrentHashMap<Pair<String, String>, Any>()
+
+    private object Unresolved
+
     /**
      * Derive the owner and owned element types from the association ends.
      *
@@ -130,7 +141,12 @@ class OwnershipResolver(private val registry: MetamodelRegistry) {
      * @param childType The metaclass name of the child element
      * @return The resolved ownership pattern, or null if no intermediate applies
      */
-    fun resolve(parentType: String, childType: String): ResolvedOwnership? {
+    fun resolve(parentType: String, childType: String): ResolvedOwnership? =
+        resolutions.computeIfAbsent(parentType to childType) {
+            computeResolution(parentType, childType) ?: Unresolved
+        } as? ResolvedOwnership
+
+    private fun computeResolution(parentType: String, childType: String): ResolvedOwnership? {
         logger.debug { "OwnershipResolver.resolve($parentType, $childType) called. Available intermediates: ${intermediateBindings.map { "${it.metaClass.name}(owner=${it.ownerType}, owned=${it.ownedElementType})" }}" }
 
         // Find all compatible intermediates
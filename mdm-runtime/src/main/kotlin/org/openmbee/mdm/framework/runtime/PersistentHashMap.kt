@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ *
+ * [put] and [remove] return a new map that shares every untouched node with the original, so an
+ * update costs O(log32 n) new nodes and any number of versions can be kept alive for the price of
+ * their differences. Lookups cost the same in every version.
+ *
+ * Each trie level consumes five hash bits; keys whose full hashes collide share a collision node.
+ * Iteration order follows the hash layout and is stable for a given set of keys.
+ */
+internal class PersistentHashMap<K : Any, V : Any> private constructor(
+    private val root: BitmapNode?,
+    val size: Int
+) : Iterable<Map.Entry<K, V>> {
+
+    fun isEmpty(): Boolean = size == 0
+
+    @Suppress("UNCHECKED_CAST")
+    operator fun get(key: K): V? {
+        var node: Any = root ?: return null
+        val hash = hashOf(key)
+        var shift = 0
+        while (true) {
+            when (node) {
+                is BitmapNode -> {
+                    val bit = bitOf(hash, shift)
+                    if (node.bitmap and bit == 0) return null
+                    val slot = node.slots[node.index(bit)]
+                    if (slot is Leaf) {
+                        return if (slot.hash == hash && slot.key == key) slot.value as V else null
+                    }
+                    node = slot
+                    shift += BITS
+                }
+                is CollisionNode -> {
+                    if (node.hash != hash) return null
+                    return node.leaves.firstOrNull { it.key == key }?.value as V?
+                }
+                else -> return null
+            }
+        }
+    }
+
+    fun containsKey(key: K): Boolean = get(key) != null
+
+    /**
+     * A map with [key] bound to [value]; this map if the key is already bound to an equal value.
+     */
+    fun put(key: K, value: V): PersistentHashMap<K, V> {
+        val leaf = Leaf(hashOf(key), key, value)
+        val change = SizeChange()
+        val newRoot = if (root == null) {
+            change.delta = 1
+            BitmapNode(bitOf(leaf.hash, 0), arrayOf(leaf))
+        } else {
+            put(root, leaf, 0, change)
+        }
+        return if (newRoot === root) this else PersistentHashMap(newRoot, size + change.delta)
+    }
+
+    /**
+     * A map without [key]; this map if the key is not bound.
+     */
+    fun remove(key: K): PersistentHashMap<K, V> {
+        val current = root ?: return this
+        val newRoot = when (val result = remove(current, hashOf(key), key, 0)) {
+            current -> return this
+            null -> null
+            is Leaf -> BitmapNode(bitOf(result.hash, 0), arrayOf(result))
+            else -> result as BitmapNode
+        }
+        return PersistentHashMap(newRoot, size - 1)
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    override fun iterator(): Iterator<Map.Entry<K, V>> {
+        val start = root ?: return emptyList<Map.Entry<K, V>>().iterator()
+        return sequence {
+            val stack = ArrayDeque<Any>()
+            stack.addLast(start)
+            while (stack.isNotEmpty()) {
+                when (val node = stack.removeLast()) {
+                    is Leaf -> yield(node as Map.Entry<K, V>)
+                    is BitmapNode -> for (i in node.slots.indices.reversed()) stack.addLast(node.slots[i])
+                    is CollisionNode -> for (leaf in node.leaves) yield(leaf as Map.Entry<K, V>)
+                }
+            }
+        }.iterator()
+    }
+
+    val keys: Sequence<K>
+        get() = asSequence().map { it.key }
+
+    val values: Sequence<V>
+        get() = asSequence().map { it.value }
+
+    // ===== Trie nodes =====
+
+    private class Leaf(val hash: Int, override val key: Any, override val value: Any) : Map.Entry<Any, Any>
+
+    /** Interior node: one slot (a [Leaf] or a child node) per set bit of [bitmap] */
+    private class BitmapNode(val bitmap: Int, val slots: Array<Any>) {
+        fun index(bit: Int): Int = Integer.bitCount(bitmap and (bit - 1))
+    }
+
+    /** Leaves whose full hashes are equal */
+    private class CollisionNode(val hash: Int, val leaves: Array<Leaf>)
+
+    private class SizeChange {
+        var delta = 0
+    }
+
+    companion object {
+        private const val BITS = 5
+        private const val MASK = (1 shl BITS) - 1
+
+        private val EMPTY = PersistentHashMap<Any, Any>(null, 0)
+
+        @Suppress("UNCHECKED_CAST")
+        fun <K : Any, V : Any> empty(): PersistentHashMap<K, V> = EMPTY as PersistentHashMap<K, V>
+
+        private fun hashOf(key: Any): Int {
+            val h = key.hashCode()
+            return h xor (h ushr 16)
+        }
+
+        private fun bitOf(hash: Int, shift: Int): Int = 1 shl ((hash ushr shift) and MASK)
+
+        private fun put(node: BitmapNode, leaf: Leaf, shift: Int, change: SizeChange): BitmapNode {
+            val bit = bitOf(leaf.hash, shift)
+            val index = node.index(bit)
+            if (node.bitmap and bit == 0) {
+                change.delta = 1
+                return BitmapNode(node.bitmap or bit, node.slots.inserted(index, leaf))
+            }
+            val replacement: Any = when (val slot = node.slots[index]) {
+                is Leaf -> if (slot.hash == leaf.hash && slot.key == leaf.key) {
+                    if (slot.value == leaf.value) return node
+                    leaf
+                } else {
+                    change.delta = 1
+                    merge(slot.hash, slot, leaf, shift + BITS)
+                }
+                is BitmapNode -> put(slot, leaf, shift + BITS, change).also { if (it === slot) return node }
+                is CollisionNode -> put(slot, leaf, shift + BITS, change).also { if (it === slot) return node }
+                else -> error("Unexpected trie slot: $slot")
+            }
+            return BitmapNode(node.bitmap, node.slots.replaced(index, replacement))
+        }
+
+        private fun put(node: CollisionNode, leaf: Leaf, shift: Int, change: SizeChange): Any {
+            if (leaf.hash != node.hash) {
+                change.delta = 1
+                return merge(node.hash, node, leaf, shift)
+            }
+            val index = node.leaves.indexOfFirst { it.key == leaf.key }
+            if (index < 0) {
+                change.delta = 1
+                return CollisionNode(node.hash, node.leaves.inserted(node.leaves.size, leaf))
+            }
+            if (node.leaves[index].value == leaf.value) return node
+            return CollisionNode(node.hash, node.leaves.replaced(index, leaf))
+        }
+
+        /** A subtree holding [existing] (a leaf or collision node with hash [existingHash]) and [leaf] */
+        private fun merge(existingHash: Int, existing: Any, leaf: Leaf, shift: Int): Any {
+            if (existingHash == leaf.hash) {
+                return if (existing is CollisionNode) {
+                    CollisionNode(existingHash, existing.leaves.inserted(existing.leaves.size, leaf))
+                } else {
+                    CollisionNode(existingHash, arrayOf(existing as Leaf, leaf))
+                }
+            }
+            val existingBit = bitOf(existingHash, shift)
+            val leafBit = bitOf(leaf.hash, shift)
+            return when {
+                existingBit == leafBit -> BitmapNode(existingBit, arrayOf(merge(existingHash, existing, leaf, shift + BITS)))
+                Integer.compareUnsigned(existingBit, leafBit) < 0 -> BitmapNode(existingBit or leafBit, arrayOf(existing, leaf))
+                else -> BitmapNode(existingBit or leafBit, arrayOf(leaf, existing))
+            }
+        }
+
+        /**
+         * Remove [key] below [node]. Returns [node] itself if the key is absent, null if nothing is left,
+         * a lone [Leaf] to be inlined by the parent, or the new node.
+         */
+        private fun remove(node: Any, hash: Int, key: Any, shift: Int): Any? {
+            if (node is CollisionNode) {
+                if (node.hash != hash) return node
+                val index = node.leaves.indexOfFirst { it.key == key }
+                if (index < 0) return node
+                if (node.leaves.size == 2) return node.leaves[1 - index]
+                return CollisionNode(node.hash, node.leaves.removed(index))
+            }
+            node as BitmapNode
+            val bit = bitOf(hash, shift)
+            if (node.bitmap and bit == 0) return node
+            val index = node.index(bit)
+            val replacement = when (val slot = node.slots[index]) {
+                is Leaf -> if (slot.hash == hash && slot.key == key) null else return node
+                else -> remove(slot, hash, key, shift + BITS).also { if (it === slot) return node }
+            }
+            if (replacement != null) {
+                // A child reduced to a lone leaf keeps moving up while it is the only slot
+                if (replacement is Leaf && node.slots.size == 1) return replacement
+                return BitmapNode(node.bitmap, node.slots.replaced(index, replacement))
+            }
+            val remaining = node.bitmap and bit.inv()
+            if (remaining == 0) return null
+            val slots = node.slots.removed(index)
+            if (slots.size == 1 && slots[0] is Leaf) return slots[0]
+            return BitmapNode(remaining, slots)
+        }
+
+        private inline fun <reified T> Array<T>.inserted(index: Int, value: T): Array<T> =
+            Array(size + 1) { i -> if (i < index) this[i] else if (i == index) value else this[i - 1] }
+
+        private inline fun <reified T> Array<T>.replaced(index: Int, value: T): Array<T> =
+            copyOf().also { it[index] = value }
+
+        private inline fun <reified T> Array<T>.removed(index: Int): Array<T> =
+            Array(size - 1) { i -> if (i < index) this[i] else this[i + 1] }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import java.util.NavigableMap
+import java.util.TreeMap
+
+/**
+ * How a property index keeps its keys.
+ */
+enum class PropertyIndexKind {
+    /** Hash buckets: equality lookups only */
+    HASH,
+
+    /** Keys kept in order: equality and range lookups */
+    SORTED
+}
+
+/**
+ * Declares a secondary index on the stored property [propertyName] of every instance of
+ * [className], including instances of its subclasses.
+ *
+ * Declared once per metamodel with [MetamodelRegistry.registerPropertyIndex]; every engine
+ * created over the registry afterwards maintains the index.
+ */
+data class PropertyIndexSpec(
+    val className: String,
+    val propertyName: String,
+    val kind: PropertyIndexKind = PropertyIndexKind.HASH
+)
+
+/**
+ * An index from the values of one stored property to the elements holding them.
+ *
+ * Values are keyed the way queries compare them: numbers by numeric value (so `1`, `1L` and
+ * `1.0` share a key) and everything else by its string form. Null, collection and element
+ * values are not indexed. Elements with equal keys are returned in the order they were indexed.
+ */
+class PropertyIndex internal constructor(val spec: PropertyIndexSpec) {
+
+    /** Key -> the single [MDMObject] holding it, or a LinkedHashSet when several do */
+    private val buckets: MutableMap<Any, Any> =
+        if (spec.kind == PropertyIndexKind.SORTED) TreeMap(KEY_ORDER) else HashMap()
+
+    /** Number of indexed elements */
+    var size: Int = 0
+        private set
+
+    /** Number of distinct indexed values */
+    val distinctValues: Int get() = buckets.size
+
+    /** Elements whose value has the same key as [value] */
+    fun lookup(value: Any): List<MDMObject> {
+        val key = keyOf(value) ?: return emptyList()
+        return elementsOf(buckets[key] ?: return emptyList())
+    }
+
+    /**
+     * Elements whose value lies between [from] and [to]; a null bound leaves that side open.
+     * Numbers and strings are never in range of each other.
+     *
+     * @throws IllegalStateException if the index is not [PropertyIndexKind.SORTED]
+     */
+    fun range(from: Any?, fromInclusive: Boolean, to: Any?, toInclusive: Boolean): List<MDMObject> {
+        check(spec.kind == PropertyIndexKind.SORTED) { "Range lookups need a SORTED index: $spec" }
+        @Suppress("UNCHECKED_CAST")
+        var view = buckets as NavigableMap<Any, Any>
+        val lower = from?.let { keyOf(it) ?: return emptyList() }
+        val upper = to?.let { keyOf(it) ?: return emptyList() }
+        val bound = lower ?: upper ?: return view.values.flatMap { elementsOf(it) }
+        if (lower != null && upper != null && (lower is Double) != (upper is Double)) return emptyList()
+        if (lower != null && upper != null && KEY_ORDER.compare(lower, upper) > 0) return emptyList()
+        if (lower != null) view = view.tailMap(lower, fromInclusive)
+        if (upper != null) view = view.headMap(upper, toInclusive)
+
+        // Numbers sort before strings, so the matching keys are contiguous
+        val result = ArrayList<MDMObject>()
+        for ((key, bucket) in view) {
+            if ((key is Double) == (bound is Double)) result += elementsOf(bucket)
+        }
+        return result
+    }
+
+    internal fun add(element: MDMObject, value: Any?) {
+        val key = keyOf(value) ?: return
+        when (val bucket = buckets[key]) {
+            null -> buckets[key] = element
+            element -> return
+            is MDMObject -> buckets[key] = linkedSetOf(bucket, element)
+            else -> {
+                @Suppress("UNCHECKED_CAST")
+                if (!(bucket as MutableSet<MDMObject>).add(element)) return
+            }
+        }
+        size++
+    }
+
+    internal fun remove(element: MDMObject, value: Any?) {
+        val key = keyOf(value) ?: return
+        when (val bucket = buckets[key]) {
+            null -> return
+            element -> buckets.remove(key)
+            is MDMObject -> return
+            else -> {
+                @Suppress("UNCHECKED_CAST")
+                val elements = bucket as MutableSet<MDMObject>
+                if (!elements.remove(element)) return
+                if (elements.size == 1) buckets[key] = elements.first()
+            }
+        }
+        size--
+    }
+
+    internal fun clear() {
+        buckets.clear()
+        size = 0
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun elementsOf(bucket: Any): List<MDMObject> =
+        if (bucket is MDMObject) listOf(bucket) else (bucket as Set<MDMObject>).toList()
+
+    companion object {
+        /** Index key of [value], or null if such values are not indexed */
+        fun keyOf(value: Any?): Any? = when (value) {
+            null, is Collection<*>, is Map<*, *>, is MDMObject -> null
+            // Compare -0.0 and 0.0 as equal, as numeric comparison does
+            is Number -> value.toDouble().let { if (it == 0.0) 0.0 else it }
+            else -> value.toString()
+        }
+
+        /** Whether [value] lies in the range [PropertyIndex.range] would answer for the same bounds */
+        fun inRange(value: Any?, from: Any?, fromInclusive: Boolean, to: Any?, toInclusive: Boolean): Boolean {
+            val key = keyOf(value) ?: return false
+            val lower = from?.let { keyOf(it) ?: return false }
+            val upper = to?.let { keyOf(it) ?: return false }
+            if (lower != null) {
+                if ((lower is Double) != (key is Double)) return false
+                val c = KEY_ORDER.compare(key, lower)
+                if (c < 0 || (c == 0 && !fromInclusive)) return false
+            }
+            if (upper != null) {
+                if ((upper is Double) != (key is Double)) return false
+                val c = KEY_ORDER.compare(key, upper)
+                if (c > 0 || (c == 0 && !toInclusive)) return false
+            }
+            return true
+        }
+
+        /** Numbers in numeric order, then strings in natural order */
+        private val KEY_ORDER = Comparator<Any> { a, b ->
+            when {
+                a is Double && b is Double -> a.compareTo(b)
+                a is Double -> -1
+                b is Double -> 1
+                else -> (a as String).compareTo(b as String)
+            }
+        }
+    }
+}
+
+/**
+ * The secondary property indexes of one engine, as declared by its metamodel.
+ *
+ * Indexes are maintained incrementally as a [LifecycleHandler]: created elements are added,
+ * [LifecycleEvent.PropertyChanged] moves an element between keys, and deleted elements are
+ * removed. Only writes made through [MDMEngine.setPropertyValue] are seen; bulk loads rebuild
+ * the indexes with [build].
+ */
+class PropertyIndexes internal constructor(
+    private val schema: MetamodelRegistry,
+    specs: Collection<PropertyIndexSpec>
+) : LifecycleHandler {
+
+    private val byProperty: Map<String, List<PropertyIndex>> =
+        specs.distinct().map { PropertyIndex(it) }.groupBy { it.spec.propertyName }
+
+    override val priority: Int = 50 // Keep indexes current before default handlers at 100 read them
+
+    /** All indexes, in declaration order */
+    val all: List<PropertyIndex> get() = byProperty.values.flatten()
+
+    fun isEmpty(): Boolean = byProperty.isEmpty()
+
+    /**
+     * An index covering [propertyName] on every instance of [className]: one declared on the
+     * class itself or on a superclass. The most specific is preferred, and a SORTED index over
+     * a HASH one when [needsOrder].
+     */
+    fun indexFor(className: String, propertyName: String, needsOrder: Boolean = false): PropertyIndex? =
+        byProperty[propertyName].orEmpty()
+            .filter { covers(it, className) && (!needsOrder || it.spec.kind == PropertyIndexKind.SORTED) }
+            .maxByOrNull { schema.getAllSuperclasses(it.spec.className).size }
+
+    /** Re-index [elements] from their stored values, dropping everything indexed before */
+    fun build(elements: Collection<MDMObject>) {
+        clear()
+        if (isEmpty()) return
+        for (element in elements) add(element)
+    }
+
+    fun clear() {
+        byProperty.values.forEach { indexes -> indexes.forEach { it.clear() } }
+    }
+
+    override fun handle(event: LifecycleEvent, model: MDMEngine) {
+        when (event) {
+            is LifecycleEvent.InstanceCreated -> add(event.instance)
+            is LifecycleEvent.PropertyChanged -> {
+                val indexes = byProperty[event.propertyName] ?: return
+                for (index in indexes) {
+                    if (!covers(index, event.instance.className)) continue
+                    index.remove(event.instance, event.oldValue)
+                    index.add(event.instance, event.newValue)
+                }
+            }
+            is LifecycleEvent.InstanceDeleting -> {
+                for ((propertyName, indexes) in byProperty) {
+                    val value = event.instance.getProperty(propertyName) ?: continue
+                    indexes.forEach { if (covers(it, event.instance.className)) it.remove(event.instance, value) }
+                }
+            }
+            else -> { /* links and ownership do not change stored values */ }
+        }
+    }
+
+    private fun add(element: MDMObject) {
+        for ((propertyName, indexes) in byProperty) {
+            val value = element.getProperty(propertyName) ?: continue
+            indexes.forEach { if (covers(it, element.className)) it.add(element, value) }
+        }
+    }
+
+    private fun covers(index: PropertyIndex, className: String): Boolean =
+        index.spec.className == className || schema.isSubclassOf(className, index.spec.className)
+}
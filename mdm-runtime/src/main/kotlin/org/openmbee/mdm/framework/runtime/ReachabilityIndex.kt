@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Declares a reachability index over the links of [associationNames], followed in either direction
+ * as a single hop type. Ownership trees and specialization hierarchies are the usual candidates.
+ *
+ * Declared once per metamodel with [MetamodelRegistry.registerReachabilityIndex].
+ */
+data class ReachabilitySpec(val associationNames: Set<String>)
+
+/**
+ * Memoized transitive closures over the associations declared with [ReachabilitySpec]s.
+ *
+ * The elements reachable from a start element are computed on first request with one breadth-first
+ * traversal and kept until a link of one of the spec's associations is added or removed, after which
+ * every closure of that spec is dropped. Repeated transitive queries over a stable hierarchy therefore
+ * cost a hash lookup. Closures never contain their start element unless it lies on a cycle.
+ */
+class ReachabilityIndex internal constructor(specs: Collection<ReachabilitySpec>) {
+
+    private val closures: Map<ReachabilitySpec, Closures> = specs.distinct().associateWith { Closures() }
+
+    private val byAssociation: Map<String, List<Closures>> =
+        closures.entries.flatMap { (spec, closure) -> spec.associationNames.map { it to closure } }
+            .groupBy({ it.first }, { it.second })
+
+    fun isEmpty(): Boolean = closures.isEmpty()
+
+    /** Whether a spec covers exactly [associationNames] */
+    fun covers(associationNames: Set<String>): Boolean = ReachabilitySpec(associationNames) in closures
+
+    /**
+     * Ids of the elements reachable from [elementId] in one or more hops over [associationNames],
+     * following links from source to target when [forward] and backwards otherwise; null if no
+     * spec covers exactly those associations. [neighbours] lists the ids one hop away on a cache miss.
+     */
+    internal fun reachable(
+        elementId: String,
+        associationNames: Set<String>,
+        forward: Boolean,
+        neighbours: (String) -> Collection<String>
+    ): Set<String>? {
+        val closure = closures[ReachabilitySpec(associationNames)] ?: return null
+        val memo = if (forward) closure.forward else closure.backward
+        memo[elementId]?.let { return it }
+
+        val version = closure.version.get()
+        val reached = LinkedHashSet<String>()
+        val queue = ArrayDeque<String>()
+        queue.addLast(elementId)
+        while (queue.isNotEmpty()) {
+            for (next in neighbours(queue.removeFirst())) {
+                if (reached.add(next)) queue.addLast(next)
+            }
+        }
+        // A change racing the traversal leaves the result unpublished rather than stale
+        if (closure.version.get() == version) memo[elementId] = reached
+        return reached
+    }
+
+    /** Drop the closures that links of [associationName] contribute to */
+    internal fun invalidate(associationName: String) {
+        byAssociation[associationName]?.forEach { it.clear() }
+    }
+
+    fun clear() {
+        closures.values.forEach { it.clear() }
+    }
+
+    private class Closures {
+        val forward = ConcurrentHashMap<String, Set<String>>()
+        val backward = ConcurrentHashMap<String, Set<String>>()
+        val version = AtomicLong()
+
+        fun clear() {
+            version.incrementAndGet()
+            forward.clear()
+            backward.clear()
+        }
+    }
+}
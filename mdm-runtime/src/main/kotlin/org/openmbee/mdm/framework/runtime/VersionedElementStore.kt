@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Immutable state of one element in a version: its type and its SysML v2 API attribute values.
+ *
+ * Values use the serialized form of [ElementSerializer] in [SerializationMode.SUMMARY] (stored
+ * attributes, display names, non-derived association ends as `{"@id": ...}` references), so a
+ * state holds no reference to live [MDMObject]s and never changes after capture.
+ */
+data class ElementState(
+    val id: String,
+    val className: String,
+    val values: Map<String, Any?>
+) {
+    /**
+     * The element as a SysML v2 API payload (`@type` plus values, without `@id`).
+     */
+    fun toPayload(): Map<String, Any?> = linkedMapOf<String, Any?>("@type" to className).apply { putAll(this@ElementState.values) }
+
+    /**
+     * The element as a SysML v2 API element (`@id`, `@type` and values).
+     */
+    fun toElement(): Map<String, Any?> =
+        linkedMapOf<String, Any?>("@id" to id, "@type" to className).apply { putAll(this@ElementState.values) }
+
+    companion object {
+        /**
+         * Capture the current state of [element] through [serializer].
+         */
+        fun capture(serializer: ElementSerializer, element: MDMObject): ElementState? {
+            val id = element.id ?: return null
+            val serialized = serializer.serialize(element, SerializationMode.SUMMARY)
+            return ElementState(id, element.className, serialized.filterKeys { it != "@id" && it != "@type" })
+        }
+
+        /**
+         * Rebuild a state from a DataVersion payload, e.g. one restored from persisted commits.
+         */
+        fun fromPayload(id: String, payload: Map<String, Any?>, previous: ElementState? = null): ElementState =
+            ElementState(
+                id = id,
+                className = payload["@type"] as? String ?: previous?.className ?: "Element",
+                values = payload.filterKeys { it != "@id" && it != "@type" }
+            )
+    }
+}
+
+/**
+ * The model as of one version: an immutable, structurally shared map of element states.
+ *
+ * Snapshots are safe to read from any thread without locking, and reading an old version costs
+ * the same as reading the newest one.
+ */
+class ModelSnapshot internal constructor(
+    /** The version (commit) ID this snapshot belongs to */
+    val version: String,
+    /** The version this snapshot was derived from, or null for the first one */
+    val parentVersion: String?,
+    /** The element states this version changed relative to [parentVersion] (null for deleted elements) */
+    val changes: Map<String, ElementState?>,
+    private val states: PersistentHashMap<String, ElementState>
+) {
+    /** Number of elements in this version */
+    val size: Int
+        get() = states.size
+
+    /**
+     * The state of an element in this version, or null if it does not exist in it.
+     */
+    operator fun get(elementId: String): ElementState? = states[elementId]
+
+    operator fun contains(elementId: String): Boolean = states.containsKey(elementId)
+
+    /**
+     * All element states in this version, in a stable but unspecified order.
+     */
+    fun elements(): Sequence<ElementState> = states.values
+
+    /**
+     * IDs of all elements in this version.
+     */
+    fun elementIds(): Sequence<String> = states.keys
+
+    internal fun apply(version: String, changes: Map<String, ElementState?>): ModelSnapshot =
+        ModelSnapshot(version, this.version, changes.toMap(), applyTo(states, changes))
+
+    companion object {
+        /**
+         * The first snapshot of a history: [changes] applied to an empty model.
+         */
+        internal fun initial(version: String, changes: Map<String, ElementState?>): ModelSnapshot =
+            ModelSnapshot(version, null, changes.toMap(), applyTo(PersistentHashMap.empty(), changes))
+
+        private fun applyTo(
+            states: PersistentHashMap<String, ElementState>,
+            changes: Map<String, ElementState?>
+        ): PersistentHashMap<String, ElementState> {
+            var next = states
+            for ((id, state) in changes) {
+                next = if (state == null) next.remove(id) else next.put(id, state)
+            }
+            return next
+        }
+    }
+}
+
+/**
+ * Multi-version element store: one immutable [ModelSnapshot] per committed version.
+ *
+ * A commit applies its changes to its parent's snapshot, sharing every unchanged element state
+ * (and trie node) with it, so each commit costs O(changes) in time and memory regardless of the
+ * model size. Old versions stay readable at full speed for as long as the store is kept.
+ *
+ * Commits are serialized; reads are lock-free.
+ */
+class VersionedElementStore {
+
+    private val snapshots = ConcurrentHashMap<String, ModelSnapshot>()
+
+    /**
+     * Record [version] as [parentVersion] with [changes] applied (a null state deletes the element).
+     *
+     * @throws IllegalArgumentException if [version] already exists or [parentVersion] is unknown
+     */
+    @Synchronized
+    fun commit(version: String, parentVersion: String?, changes: Map<String, ElementState?>): ModelSnapshot {
+        require(!snapshots.containsKey(version)) { "Version already committed: $version" }
+        val parent = parentVersion?.let {
+            requireNotNull(snapshots[it]) { "Unknown parent version: $it" }
+        }
+        val snapshot = parent?.apply(version, changes) ?: ModelSnapshot.initial(version, changes)
+        snapshots[version] = snapshot
+        return snapshot
+    }
+
+    /**
+     * The snapshot of [version], or null if it was never committed.
+     */
+    fun snapshot(version: String): ModelSnapshot? = snapshots[version]
+
+    operator fun contains(version: String): Boolean = snapshots.containsKey(version)
+
+    /** Number of versions held */
+    val versionCount: Int
+        get() = snapshots.size
+
+    /**
+     * Drop every version.
+     */
+    fun clear() {
+        snapshots.clear()
+    }
+}
+
+/**
+ * Lifecycle handler that records which elements changed since the last [takeChanges], so a commit
+ * can capture only those instead of the whole model.
+ *
+ * An element is dirty when it is created, deleted or has a property changed, and both ends of a
+ * link are dirty when it is created or deleted (including links dropped with a deleted element). Changes made directly on an [MDMObject] bypass the
+ * engine's events; after such bulk edits (or [MDMEngine.clear]) call [requestFullCapture].
+ */
+class ElementChangeTracker : LifecycleHandler {
+
+    override val priority: Int get() = 1000
+
+    private val dirty = LinkedHashSet<String>()
+    private var fullCapture = true
+
+    override fun handle(event: LifecycleEvent, model: MDMEngine) {
+        when (event) {
+            is LifecycleEvent.InstanceCreated -> markDirty(event.instance.id)
+            is LifecycleEvent.InstanceDeleting -> event.instance.id?.let { id ->
+                // Deletion drops the element's links without link events; its neighbours lose references
+                markDirty(id)
+                for (link in model.getLinks(id)) markDirty(link.sourceId, link.targetId)
+            }
+            is LifecycleEvent.PropertyChanged -> markDirty(event.instance.id)
+            is LifecycleEvent.LinkCreated -> markDirty(event.link.sourceId, event.link.targetId)
+            is LifecycleEvent.LinkDeleting -> markDirty(event.link.sourceId, event.link.targetId)
+            is LifecycleEvent.OwnershipEstablished, is LifecycleEvent.OwnershipRemoved -> Unit
+        }
+    }
+
+    /**
+     * Make the next [takeChanges] compare every element instead of only the dirty ones.
+     */
+    @Synchronized
+    fun requestFullCapture() {
+        fullCapture = true
+        dirty.clear()
+    }
+
+    /**
+     * Capture the elements of [engine] that changed relative to [base] and reset the tracker.
+     * Elements whose captured state equals their state in [base] are left out, and elements of
+     * [base] that no longer exist map to null. Mounted elements are never captured.
+     */
+    @Synchronized
+    fun takeChanges(engine: MDMEngine, base: ModelSnapshot?): Map<String, ElementState?> {
+        val mountable = engine as? MountableEngine
+        val serializer = ElementSerializer(engine)
+        val changes = LinkedHashMap<String, ElementState?>()
+        if (fullCapture) {
+            val present = HashSet<String>()
+            val elements = mountable?.getLocalElements() ?: engine.getAllElements()
+            for (element in elements) {
+                val state = ElementState.capture(serializer, element) ?: continue
+                present += state.id
+                if (base?.get(state.id) != state) changes[state.id] = state
+            }
+            base?.elementIds()?.forEach { id -> if (id !in present) changes[id] = null }
+        } else {
+            for (id in dirty) {
+                if (mountable != null && mountable.isMountedElement(id)) continue
+                val state = engine.getElement(id)?.let { ElementState.capture(serializer, it) }
+                if (base?.get(id) != state) changes[id] = state
+            }
+        }
+        dirty.clear()
+        fullCapture = false
+        return changes
+    }
+
+    @Synchronized
+    private fun markDirty(vararg ids: String?) {
+        if (fullCapture) return
+        for (id in ids) if (id != null) dirty += id
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.benchmark
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.kotest.core.test.EnabledIf
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Helpers for benchmark specs.
+ *
+ * Benchmarks are ordinary kotest specs that only run when the build is invoked
+ * with `-Pbenchmarks` (forwarded as the `mdm.benchmarks` system property), and
+ * report their timings through the log rather than asserting on them.
+ */
+object Benchmarks {
+
+    /** Use as `it("...").config(enabledIf = Benchmarks.enabled)`. */
+    val enabled: EnabledIf = { System.getProperty("mdm.benchmarks") == "true" }
+
+    /**
+     * Run [block] [warmup] times, then [iterations] times, and log the median.
+     *
+     * @return Median wall time in milliseconds
+     */
+    fun <T> measure(name: String, warmup: Int = 3, iterations: Int = 10, block: () -> T): Double {
+        repeat(warmup) { block() }
+        val times = List(iterations) {
+            val start = System.nanoTime()
+            block()
+            (System.nanoTime() - start) / 1_000_000.0
+        }.sorted()
+        val median = times[times.size / 2]
+        logger.info { "BENCHMARK $name: median %.2f ms (min %.2f, max %.2f, n=$iterations)".format(median, times.first(), times.last()) }
+        return median
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.benchmark
+
+import io.kotest.core.spec.style.DescribeSpec
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.runtime.CompactGraph
+import org.openmbee.mdm.framework.runtime.MDMGraph
+import org.openmbee.mdm.framework.runtime.MDMLink
+
+/**
+ * Navigation throughput of [CompactGraph] against the default [MDMGraph] on a
+ * synthetic graph. Run with `-Pbenchmarks`.
+ */
+class GraphBenchmark : DescribeSpec({
+
+    val nodeCount = 100_000
+    val associations = List(12) { i ->
+        MetaAssociation(
+            name = "assoc$i",
+            sourceEnd = MetaAssociationEnd(name = "source$i", type = "Node", lowerBound = 0, upperBound = -1),
+            targetEnd = MetaAssociationEnd(name = "target$i", type = "Node", lowerBound = 0, upperBound = -1)
+        )
+    }
+    val ids = List(nodeCount) { "node-$it" }
+
+    fun populate(graph: MDMGraph): MDMGraph {
+        var next = 0
+        for (i in 1 until nodeCount) {
+            // Ownership-like tree plus a few cross links per node
+            graph.addEdge(MDMLink("link-${next++}", associations[0], ids[(i - 1) / 8], ids[i]))
+            for (k in 1..3) {
+                val association = associations[(i + k) % associations.size]
+                graph.addEdge(MDMLink("link-${next++}", association, ids[i], ids[(i * 31 + k) % nodeCount]))
+            }
+        }
+        graph.compact()
+        return graph
+    }
+
+    fun navigate(graph: MDMGraph): Int {
+        var visited = 0
+        for (id in ids) {
+            for (association in associations) {
+                graph.forEachTarget(id, association.name) { visited++ }
+                graph.forEachSource(id, association.name) { visited++ }
+            }
+        }
+        return visited
+    }
+
+    describe("graph navigation") {
+
+        it("MDMGraph").config(enabledIf = Benchmarks.enabled) {
+            val graph = populate(MDMGraph())
+            Benchmarks.measure("MDMGraph forEachTarget/forEachSource ($nodeCount nodes)") { navigate(graph) }
+            Benchmarks.measure("MDMGraph getTargets ($nodeCount nodes)") {
+                ids.sumOf { id -> associations.sumOf { graph.getTargets(id, it.name).size } }
+            }
+        }
+
+        it("CompactGraph").config(enabledIf = Benchmarks.enabled) {
+            val graph = populate(CompactGraph())
+            Benchmarks.measure("CompactGraph forEachTarget/forEachSource ($nodeCount nodes)") { navigate(graph) }
+            Benchmarks.measure("CompactGraph getTargets ($nodeCount nodes)") {
+                ids.sumOf { id -> associations.sumOf { graph.getTargets(id, it.name).size } }
+            }
+        }
+    }
+})
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.benchmark
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.runtime.KotlinScriptExecutor
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+
+/**
+ * Cold (first, compiling) against warm (cached) invocation cost of [KotlinScriptExecutor].
+ * Run with `-Pbenchmarks`.
+ */
+class KotlinScriptBenchmark : DescribeSpec({
+
+    val script = """
+        val name = self.getProperty("name") as String
+        if (args["upper"] == true) return@kotlinBody name.uppercase()
+        name.length + (args["offset"] as Int)
+    """.trimIndent()
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1))
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry)
+    }
+
+    describe("Kotlin script invocation") {
+
+        it("cold vs warm").config(enabledIf = Benchmarks.enabled) {
+            val engine = createEngine()
+            val (id, node) = engine.createInstance("Node", "n0")
+            engine.setProperty(id, "name", "node")
+            val args = mapOf<String, Any?>("offset" to 1)
+
+            // Every cold run gets a fresh cache, so it pays the compiler
+            Benchmarks.measure("KotlinScriptExecutor cold", warmup = 1, iterations = 5) {
+                KotlinScriptExecutor(engine.engineAccessor).execute(script, node, args)
+            }
+
+            val executor = KotlinScriptExecutor(engine.engineAccessor)
+            executor.execute(script, node, args) shouldBe 5
+            executor.execute(script, node, mapOf("upper" to true)) shouldBe "NODE"
+            Benchmarks.measure("KotlinScriptExecutor warm (10,000 calls)") {
+                repeat(10_000) { executor.execute(script, node, args) }
+            }
+            executor.cachedScriptCount shouldBe 1
+        }
+    }
+})
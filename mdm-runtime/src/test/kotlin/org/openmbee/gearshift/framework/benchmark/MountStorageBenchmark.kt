@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.benchmark
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.runtime.BinaryMountStorage
+import org.openmbee.mdm.framework.runtime.JsonMountStorage
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+import org.openmbee.mdm.framework.runtime.MountStorage
+import org.openmbee.mdm.framework.runtime.StandardMount
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Save/load throughput of [BinaryMountStorage] against [JsonMountStorage]
+ * on a synthetic library-sized tree. Run with `-Pbenchmarks`.
+ */
+class MountStorageBenchmark : DescribeSpec({
+
+    val elementCount = 50_000
+
+    fun createRegistry(): MetamodelRegistry {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "visibility", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "isAbstract", type = "Boolean", lowerBound = 0, upperBound = 1)
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return registry
+    }
+
+    fun createMount(): StandardMount {
+        val engine = MDMEngine(createRegistry())
+        for (i in 0 until elementCount) {
+            val id = "n$i"
+            engine.createInstance("Node", id)
+            engine.setProperty(id, "name", "node$i")
+            engine.setProperty(id, "visibility", "public")
+            engine.setProperty(id, "isAbstract", i % 7 == 0)
+            if (i > 0) engine.link("n${(i - 1) / 8}", id, "nodeChildrenAssoc")
+        }
+        return StandardMount("bench", "Benchmark", engine)
+    }
+
+    fun roundTrip(label: String, storage: MountStorage, path: Path) {
+        val mount = createMount()
+        Benchmarks.measure("$label save ($elementCount elements)") { storage.save(mount, path) }
+        val loaded = storage.load(path, createRegistry()).shouldNotBeNull()
+        loaded.engine.elementCount() shouldBe elementCount
+        Benchmarks.measure("$label load ($elementCount elements)") { storage.load(path, createRegistry()) }
+    }
+
+    describe("mount storage throughput") {
+
+        it("binary").config(enabledIf = Benchmarks.enabled) {
+            val path = Files.createTempDirectory("bench").resolve("bench${BinaryMountStorage.EXTENSION}")
+            roundTrip("BinaryMountStorage", BinaryMountStorage(), path)
+        }
+
+        it("json").config(enabledIf = Benchmarks.enabled) {
+            val path = Files.createTempDirectory("bench").resolve("bench")
+            roundTrip("JsonMountStorage", JsonMountStorage(), path)
+        }
+    }
+})
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.constraints
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.ints.shouldBeLessThan
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.ConstraintType
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaConstraint
+import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+import org.openmbee.mdm.framework.storage.ModelRepository
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Tests for bulk validation in [ConstraintVerificationService], sequential and parallel.
+ */
+class ConstraintVerificationServiceTest : DescribeSpec({
+
+    val instanceCount = 2_000
+
+    fun createService(): ConstraintVerificationService {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "value", type = "Integer", lowerBound = 0, upperBound = 1)),
+                constraints = listOf(
+                    MetaConstraint(name = "nonNegative", type = ConstraintType.VERIFICATION, expression = "value >= 0"),
+                    MetaConstraint(name = "small", type = ConstraintType.VERIFICATION, expression = "value < 1000")
+                )
+            )
+        )
+        registry.buildIndexes()
+        val engine = MDMEngine(registry)
+        val repository = ModelRepository()
+        for (i in 0 until instanceCount) {
+            // Every 7th instance is negative, every 11th too large
+            val value = if (i % 7 == 0) -i else if (i % 11 == 0) 1000 + i else i % 1000
+            val (id, instance) = engine.createInstance("Node", "n$i")
+            engine.setProperty(id, "value", value)
+            repository.store(id, instance)
+        }
+        return ConstraintVerificationService(registry, repository, engine.engineAccessor, engine.lock).also {
+            it.initializeConstraints()
+        }
+    }
+
+    describe("parallel bulk validation") {
+
+        it("should match the sequential results, in the same order") {
+            val service = createService()
+            val sequential = service.validateAll()
+            val parallel = service.validateAll(BulkValidationOptions(parallelism = 4, chunkSize = 64))
+
+            parallel.instanceResults.keys.toList() shouldContainExactly sequential.instanceResults.keys.toList()
+            parallel.instanceResults shouldBe sequential.instanceResults
+            parallel.invalidInstances shouldBe sequential.invalidInstances
+            parallel.constraintViolations shouldBe sequential.constraintViolations
+            parallel.totalInstances shouldBe instanceCount
+            parallel.cancelled shouldBe false
+        }
+
+        it("should report progress up to the total") {
+            val service = createService()
+            val reports = ConcurrentLinkedQueue<Int>()
+            service.validateAll(
+                BulkValidationOptions(parallelism = 4, chunkSize = 100, progress = { completed, total ->
+                    total shouldBe instanceCount
+                    reports.add(completed)
+                })
+            )
+            reports.size shouldBe instanceCount / 100
+            reports.max() shouldBe instanceCount
+        }
+
+        it("should stop when cancelled and flag the partial result") {
+            val service = createService()
+            val cancellation = ValidationCancellation()
+            val results = service.validateAll(
+                BulkValidationOptions(
+                    parallelism = 2,
+                    chunkSize = 50,
+                    progress = { completed, _ -> if (completed >= 200) cancellation.cancel() },
+                    cancellation = cancellation
+                )
+            )
+            results.cancelled shouldBe true
+            results.instanceResults.size shouldBeLessThan instanceCount
+            results.totalInstances shouldBe instanceCount
+        }
+    }
+})
@@ -121,4 +121,41 @@ class OclParserTest : DescribeSpec({
             ast.shouldBeInstanceOf<ArrowCallExp>()
         }
     }
+
+    describe("AST cache") {
+
+        afterTest {
+            OclParser.setCacheCapacity(OclParser.DEFAULT_CACHE_CAPACITY)
+            OclParser.clearCache()
+        }
+
+        it("should return the same AST instance on a cache hit") {
+            OclParser.clearCache()
+            val first = OclParser.parse("name.size()")
+            val second = OclParser.parse("name.size()")
+
+            (first === second) shouldBe true
+            val stats = OclParser.cacheStats()
+            stats.hits shouldBe 1
+            stats.misses shouldBe 1
+        }
+
+        it("should evict least recently used entries beyond capacity") {
+            OclParser.clearCache()
+            OclParser.setCacheCapacity(2)
+
+            OclParser.parse("1 + 1")
+            OclParser.parse("2 + 2")
+            OclParser.parse("1 + 1")
+            OclParser.parse("3 + 3")
+
+            val stats = OclParser.cacheStats()
+            stats.size shouldBe 2
+            stats.evictions shouldBe 1
+
+            // "2 + 2" was least recently used and should have been evicted
+            OclParser.parse("2 + 2")
+            OclParser.cacheStats().misses shouldBe 4
+        }
+    }
 })
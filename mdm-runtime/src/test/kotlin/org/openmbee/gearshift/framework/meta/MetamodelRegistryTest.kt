@@ -21,6 +21,7 @@ import io.kotest.matchers.collections.shouldHaveSize
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNotBe
 import io.kotest.matchers.string.shouldContain
+import org.openmbee.mdm.framework.query.ocl.CompiledOclBody
 import org.openmbee.mdm.framework.runtime.MetamodelRegistry
 import io.kotest.matchers.collections.shouldContain as shouldContainElement
 
@@ -181,5 +182,55 @@ class MetamodelRegistryTest : DescribeSpec({
                 registry.getAllAssociations().shouldBeEmpty()
             }
         }
+
+        context("pre-bound OCL bodies") {
+
+            it("should bind OCL constraint and operation bodies by reference at buildIndexes") {
+                val registry = MetamodelRegistry()
+                val derivation = MetaConstraint(name = "deriveLabel", expression = "name")
+                val operationBody = MetaOperation.ocl("name.size()")
+                registry.registerClass(
+                    MetaClass(
+                        name = "Element",
+                        constraints = listOf(derivation),
+                        operations = listOf(MetaOperation(name = "nameLength", body = operationBody))
+                    )
+                )
+
+                registry.getBoundOclBody(derivation) shouldBe null
+
+                registry.buildIndexes()
+
+                registry.getBoundOclBody(derivation) shouldNotBe null
+                registry.getBoundOclBody(operationBody) shouldNotBe null
+                // Lookup is by identity, not by equal expression text
+                registry.getBoundOclBody(derivation.copy()) shouldBe null
+            }
+
+            it("should leave unparseable bodies unbound") {
+                val registry = MetamodelRegistry()
+                val broken = MetaConstraint(name = "broken", expression = "name ->->")
+                registry.registerClass(MetaClass(name = "Element", constraints = listOf(broken)))
+
+                registry.buildIndexes()
+
+                registry.getBoundOclBody(broken) shouldBe null
+            }
+
+            it("should bind registered compiled bodies by expression text") {
+                val registry = MetamodelRegistry()
+                val derivation = MetaConstraint(name = "deriveLabel", expression = "name")
+                val other = MetaConstraint(name = "deriveOther", expression = "name.size()")
+                registry.registerClass(MetaClass(name = "Element", constraints = listOf(derivation, other)))
+                val compiled = CompiledOclBody { ocl, _ -> ocl.variable("name") }
+
+                registry.registerCompiledOcl("name", compiled)
+                registry.buildIndexes()
+
+                registry.getCompiledOclBody(derivation) shouldBe compiled
+                registry.getCompiledOclBody(other) shouldBe null
+                registry.getBoundOclBody(other) shouldNotBe null
+            }
+        }
     }
 })
@@ -15,17 +15,33 @@
  */
 package org.openmbee.gearshift.framework.query.gql
 
+import io.kotest.assertions.throwables.shouldThrow
 import io.kotest.core.spec.style.DescribeSpec
 import io.kotest.matchers.collections.shouldBeEmpty
 import io.kotest.matchers.collections.shouldContain
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
 import io.kotest.matchers.collections.shouldHaveSize
 import io.kotest.matchers.shouldBe
 import io.kotest.matchers.shouldNotBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
 import org.openmbee.mdm.framework.meta.AggregationKind
 import org.openmbee.mdm.framework.meta.MetaAssociation
 import org.openmbee.mdm.framework.meta.MetaAssociationEnd
 import org.openmbee.mdm.framework.meta.MetaClass
 import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.query.gql.GqlQueryExecutor
+import org.openmbee.mdm.framework.query.gql.ast.EdgeDirection
+import org.openmbee.mdm.framework.query.gql.ast.EdgePattern
+import org.openmbee.mdm.framework.query.gql.ast.ExistsExpr
+import org.openmbee.mdm.framework.query.gql.ast.GqlQuery
+import org.openmbee.mdm.framework.query.gql.ast.MatchClause
+import org.openmbee.mdm.framework.query.gql.ast.NodePattern
+import org.openmbee.mdm.framework.query.gql.ast.PathPattern
+import org.openmbee.mdm.framework.query.gql.ast.PropertyAccess
+import org.openmbee.mdm.framework.query.gql.ast.ReturnClause
+import org.openmbee.mdm.framework.query.gql.ast.ReturnItem
+import org.openmbee.mdm.framework.query.gql.ast.VariableRef
+import org.openmbee.mdm.framework.query.gql.ast.WhereClause
 import org.openmbee.mdm.framework.query.gql.query
 import org.openmbee.mdm.framework.runtime.MDMEngine
 import org.openmbee.mdm.framework.runtime.MDMObject
@@ -298,6 +314,96 @@ class GqlExecutorTest : DescribeSpec({
             }
         }
 
+        context("variable-length paths") {
+
+            // Superclassing chain k0 -> k1 -> ... -> k5, plus a diamond d0 -> d1a|d1b -> d2
+            fun createHierarchyEngine(registry: MetamodelRegistry = createTestMetamodel()): MDMEngine {
+                val engine = MDMEngine(registry)
+                fun classifier(name: String): String {
+                    val (id, cls) = engine.createInstance("Classifier")
+                    engine.setPropertyValue(cls, "name", name)
+                    return id
+                }
+                val chain = (0..5).map { classifier("k$it") }
+                chain.zipWithNext().forEach { (sub, sup) -> engine.createLink("Superclassing", sub, sup) }
+                val (d0, d1a, d1b, d2) = listOf("d0", "d1a", "d1b", "d2").map { classifier(it) }
+                engine.createLink("Superclassing", d0, d1a)
+                engine.createLink("Superclassing", d0, d1b)
+                engine.createLink("Superclassing", d1a, d2)
+                engine.createLink("Superclassing", d1b, d2)
+                return engine
+            }
+
+            fun names(path: Any?): List<Any?> = (path as List<*>).map { (it as MDMObject).getProperty("name") }
+
+            it("should follow unbounded quantifiers to the whole closure") {
+                val engine = createHierarchyEngine()
+
+                val plus = engine.query("MATCH (a:Classifier {name: 'k0'})-[:Superclassing]->+(b) RETURN b.name")
+                val star = engine.query("MATCH (a:Classifier {name: 'k0'})-[:Superclassing]->*(b) RETURN b.name")
+
+                plus.column("b.name") shouldContainExactlyInAnyOrder listOf("k1", "k2", "k3", "k4", "k5")
+                star.column("b.name") shouldContainExactlyInAnyOrder listOf("k0", "k1", "k2", "k3", "k4", "k5")
+            }
+
+            it("should match elements whose shortest distance is within the bounds") {
+                val engine = createHierarchyEngine()
+
+                val results = engine.query("MATCH (a:Classifier {name: 'k0'})-[:Superclassing]->{2,3}(b) RETURN b.name")
+
+                results.column("b.name") shouldContainExactlyInAnyOrder listOf("k2", "k3")
+            }
+
+            it("should bind a shortest path between bound endpoints") {
+                val engine = createHierarchyEngine()
+
+                val results = engine.query("""
+                    MATCH (a:Classifier {name: 'k1'}), (b:Classifier {name: 'k4'})
+                    MATCH (a)-[p:Superclassing]->+(b)
+                    RETURN p
+                """)
+                val unreachable = engine.query("""
+                    MATCH (a:Classifier {name: 'k4'}), (b:Classifier {name: 'k1'})
+                    MATCH (a)-[:Superclassing]->+(b)
+                    RETURN a
+                """)
+
+                results.size shouldBe 1
+                names(results.column("p").single()) shouldBe listOf("k1", "k2", "k3", "k4")
+                unreachable.isEmpty() shouldBe true
+            }
+
+            it("should bind every shortest path under ALL SHORTEST") {
+                val engine = createHierarchyEngine()
+                val pattern = "(a:Classifier {name: 'd0'})-[p:Superclassing]->+(b:Classifier {name: 'd2'}) RETURN p"
+
+                val any = engine.query("MATCH ANY SHORTEST $pattern")
+                val all = engine.query("MATCH ALL SHORTEST $pattern")
+
+                any.size shouldBe 1
+                all.column("p").map { names(it) } shouldContainExactlyInAnyOrder listOf(
+                    listOf("d0", "d1a", "d2"),
+                    listOf("d0", "d1b", "d2")
+                )
+            }
+
+            it("should answer from a reachability index and follow link changes") {
+                val registry = createTestMetamodel()
+                registry.registerReachabilityIndex("Superclassing")
+                val engine = createHierarchyEngine(registry)
+                val gql = "MATCH (a:Classifier {name: 'k3'})-[:Superclassing]->+(b) RETURN b.name"
+                val k3 = engine.query("MATCH (c:Classifier {name: 'k3'}) RETURN c").column("c").single() as MDMObject
+                val k4 = engine.query("MATCH (c:Classifier {name: 'k4'}) RETURN c").column("c").single() as MDMObject
+
+                engine.query(gql).column("b.name") shouldContainExactlyInAnyOrder listOf("k4", "k5")
+                engine.reachableElementIds(k3.id!!, setOf("Superclassing"), forward = true)!!.size shouldBe 2
+
+                engine.removeLink("Superclassing", k3.id!!, k4.id!!)
+
+                engine.query(gql).isEmpty() shouldBe true
+            }
+        }
+
         context("WHERE filtering") {
 
             it("should filter by property comparison") {
@@ -477,7 +583,61 @@ class GqlExecutorTest : DescribeSpec({
                     RETURN COUNT(*)
                 """)
 
-                results.size shouldBe 2 // One per row since we don't have GROUP BY yet
+                results.size shouldBe 1
+                results.scalar() shouldBe 2L
+            }
+
+            it("should group by the items that do not aggregate") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (e:Element) RETURN e.isAbstract AS isAbstract, COUNT(*) AS n")
+
+                results.rows shouldContainExactlyInAnyOrder listOf(
+                    mapOf("isAbstract" to null, "n" to 3L),
+                    mapOf("isAbstract" to true, "n" to 1L),
+                    mapOf("isAbstract" to false, "n" to 1L)
+                )
+            }
+
+            it("should group by GROUP BY variables and collect lists") {
+                val engine = createTestEngine()
+
+                val results = engine.query("""
+                    MATCH (f:Feature)-[:FeatureTyping]->(t:Classifier)
+                    RETURN t.name AS type, COLLECT_LIST(f.name) AS features GROUP BY t
+                    ORDER BY type
+                """)
+
+                results.column("type") shouldBe listOf("Anything", "DataValue")
+                results.column("features") shouldBe listOf(listOf("things"), listOf("items"))
+            }
+
+            it("should compute SUM, MIN, MAX and DISTINCT counts in one pass") {
+                val engine = createTestEngine()
+
+                val results = engine.query("""
+                    MATCH (e:Element)
+                    RETURN SUM(1) AS total, MIN(e.name) AS first, MAX(e.name) AS last,
+                        COUNT(DISTINCT e.isAbstract) AS kinds
+                """)
+
+                results.rows shouldBe listOf(mapOf("total" to 5L, "first" to "Anything", "last" to "things", "kinds" to 2L))
+            }
+
+            it("should return one row when aggregating no rows without keys") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (c:Classifier {name: 'Missing'}) RETURN COUNT(*) AS n, MAX(c.name) AS top")
+
+                results.rows shouldBe listOf(mapOf("n" to 0L, "top" to null))
+            }
+
+            it("should plan an Aggregate operator and order by aggregates") {
+                val engine = createTestEngine()
+                val gql = "MATCH (e:Element) RETURN e.isAbstract AS isAbstract ORDER BY COUNT(*) DESC LIMIT 1"
+
+                GqlQueryExecutor.explain(gql, engine).operators.map { it.operator } shouldContain "Aggregate"
+                engine.query(gql).column("isAbstract") shouldBe listOf(null)
             }
         }
 
@@ -559,6 +719,21 @@ class GqlExecutorTest : DescribeSpec({
                 results[0]["n.name"] shouldBe "Base"
                 results[0]["x"] shouldBe null
             }
+
+            it("should return unmatched optional variables as null columns of RETURN *") {
+                val engine = createTestEngine()
+
+                val results = engine.query("""
+                    MATCH (n:Namespace {name: 'Base'})
+                    OPTIONAL MATCH (n)-[e:NonExistentAssoc]->(x)
+                    RETURN *
+                """)
+
+                results.columns shouldBe listOf("n", "e", "x")
+                results.size shouldBe 1
+                results[0].keys shouldBe setOf("n", "e", "x")
+                results[0]["x"] shouldBe null
+            }
         }
 
         context("empty results") {
@@ -587,6 +762,172 @@ class GqlExecutorTest : DescribeSpec({
                 results.isEmpty() shouldBe true
             }
         }
+
+        context("ordering and paging") {
+
+            it("should order rows by a sort key") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (e:Element) RETURN e.name ORDER BY e.name")
+
+                results.column("e.name") shouldBe listOf("Anything", "Base", "DataValue", "items", "things")
+            }
+
+            it("should order descending and keep the top rows under LIMIT") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (e:Element) RETURN e.name ORDER BY e.name DESC LIMIT 2")
+
+                results.column("e.name") shouldBe listOf("things", "items")
+            }
+
+            it("should order by a RETURN alias") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (f:Feature) RETURN f.name AS label ORDER BY label")
+
+                results.column("label") shouldBe listOf("items", "things")
+            }
+
+            it("should skip rows before applying LIMIT") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH (e:Element) RETURN e.name ORDER BY e.name SKIP 1 LIMIT 2")
+
+                results.column("e.name") shouldBe listOf("Base", "DataValue")
+            }
+
+            it("should sort nulls last unless NULLS FIRST is given") {
+                val engine = createTestEngine()
+
+                val last = engine.query("MATCH (e:Element) RETURN e.name, e.isAbstract ORDER BY e.isAbstract, e.name")
+                val first = engine.query(
+                    "MATCH (e:Element) RETURN e.name, e.isAbstract ORDER BY e.isAbstract NULLS FIRST, e.name"
+                )
+
+                last.column("e.name").take(2) shouldBe listOf("DataValue", "Anything")
+                first.column("e.name").takeLast(2) shouldBe listOf("DataValue", "Anything")
+            }
+
+            it("should stop matching once LIMIT is reached") {
+                val engine = createTestEngine()
+
+                val profiled = GqlQueryExecutor.profile("MATCH (e:Element) RETURN e LIMIT 1", engine)
+
+                profiled.results.size shouldBe 1
+                profiled.plan.operators.first().actualRows shouldBe 1L
+            }
+        }
+
+        context("sub-patterns") {
+
+            it("should evaluate EXISTS through planned steps") {
+                val engine = createTestEngine()
+                val query = GqlQuery(
+                    matchClauses = listOf(MatchClause(listOf(PathPattern(listOf(NodePattern("c", listOf("Classifier"), null)))))),
+                    whereClause = WhereClause(
+                        ExistsExpr(
+                            PathPattern(
+                                listOf(
+                                    NodePattern("c", emptyList(), null),
+                                    EdgePattern(null, listOf("Superclassing"), EdgeDirection.RIGHT, null, null),
+                                    NodePattern(null, listOf("Classifier"), null)
+                                )
+                            )
+                        )
+                    ),
+                    returnClause = ReturnClause(listOf(ReturnItem(PropertyAccess(VariableRef("c"), "name"), null)))
+                )
+
+                GqlQueryExecutor.execute(query, engine).column("c.name") shouldBe listOf("DataValue")
+            }
+
+            it("should match edges from an anonymous source node") {
+                val engine = createTestEngine()
+
+                val results = engine.query("MATCH ()-[:Superclassing]->(c:Classifier) RETURN c.name")
+
+                results.column("c.name") shouldBe listOf("Anything")
+            }
+
+            it("should match nested sub-paths") {
+                val engine = createTestEngine()
+                val pattern = PathPattern(
+                    listOf(
+                        NodePattern("n", listOf("Namespace"), null),
+                        EdgePattern(null, listOf("NamespaceMembership"), EdgeDirection.RIGHT, null, null),
+                        PathPattern(
+                            listOf(
+                                NodePattern("c", listOf("Classifier"), null),
+                                EdgePattern(null, listOf("Superclassing"), EdgeDirection.RIGHT, null, null),
+                                NodePattern("s", emptyList(), null)
+                            )
+                        )
+                    )
+                )
+                val query = GqlQuery(
+                    matchClauses = listOf(MatchClause(listOf(pattern))),
+                    whereClause = null,
+                    returnClause = ReturnClause(
+                        listOf(
+                            ReturnItem(PropertyAccess(VariableRef("c"), "name"), null),
+                            ReturnItem(PropertyAccess(VariableRef("s"), "name"), null)
+                        )
+                    )
+                )
+
+                val results = GqlQueryExecutor.execute(query, engine)
+
+                results.column("c.name") shouldBe listOf("DataValue")
+                results.column("s.name") shouldBe listOf("Anything")
+            }
+        }
+
+        context("parameters") {
+
+            it("should bind parameters in property maps and WHERE") {
+                val engine = createTestEngine()
+
+                val byMap = engine.query("MATCH (c:Classifier {name: \$name}) RETURN c.name", mapOf("name" to "Anything"))
+                val byWhere = engine.query(
+                    "MATCH (f:Feature) FILTER WHERE f.name = \$name RETURN f.name",
+                    mapOf("name" to "things")
+                )
+
+                byMap.column("c.name") shouldBe listOf("Anything")
+                byWhere.column("f.name") shouldBe listOf("things")
+            }
+
+            it("should bind SKIP and LIMIT parameters") {
+                val engine = createTestEngine()
+
+                val results = engine.query(
+                    "MATCH (e:Element) RETURN e.name ORDER BY e.name SKIP \$skip LIMIT \$limit",
+                    mapOf("skip" to 1, "limit" to 2)
+                )
+
+                results.column("e.name") shouldBe listOf("Base", "DataValue")
+            }
+
+            it("should reject executions missing a parameter") {
+                val engine = createTestEngine()
+
+                shouldThrow<IllegalArgumentException> {
+                    engine.query("MATCH (c:Classifier {name: \$name}) RETURN c")
+                }
+            }
+
+            it("should reuse one prepared statement and plan for the same query text") {
+                val engine = createTestEngine()
+                val statement = GqlQueryExecutor.prepare("MATCH (c:Classifier)  FILTER WHERE c.name = \$name RETURN c.name")
+
+                GqlQueryExecutor.prepare(" MATCH (c:Classifier)\tFILTER WHERE c.name = \$name RETURN c.name") shouldBeSameInstanceAs statement
+                statement.parameterNames shouldBe setOf("name")
+                statement.plan(engine) shouldBeSameInstanceAs statement.plan(engine)
+                statement.execute(engine, mapOf("name" to "DataValue")).column("c.name") shouldBe listOf("DataValue")
+                statement.execute(engine, mapOf("name" to "Anything")).column("c.name") shouldBe listOf("Anything")
+            }
+        }
     }
 
     describe("GQL Parser") {
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.gearshift.framework.query.gql
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.collections.shouldNotBeEmpty
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import io.kotest.matchers.string.shouldStartWith
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import org.openmbee.mdm.framework.query.gql.GqlQueryExecutor
+import org.openmbee.mdm.framework.query.gql.query
+import org.openmbee.mdm.framework.runtime.MDMEngine
+import org.openmbee.mdm.framework.runtime.MDMObject
+import org.openmbee.mdm.framework.runtime.MetamodelRegistry
+import org.openmbee.mdm.framework.runtime.PropertyIndexKind
+
+/**
+ * Tests for cost-based planning of GQL MATCH patterns.
+ */
+class GqlPlannerTest : DescribeSpec({
+
+    // 40 features typed round-robin by 4 classifiers, one of which is named 'Target'
+    fun createTestEngine(newEngine: (MetamodelRegistry) -> MDMEngine = { MDMEngine(it) }): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(name = "Element", isAbstract = true, attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0)))
+        )
+        registry.registerClass(MetaClass(name = "Classifier", superclasses = listOf("Element")))
+        registry.registerClass(MetaClass(name = "Feature", superclasses = listOf("Element")))
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "FeatureTyping",
+                sourceEnd = MetaAssociationEnd(name = "typedFeature", type = "Feature", lowerBound = 0, upperBound = -1),
+                targetEnd = MetaAssociationEnd(name = "type", type = "Classifier", lowerBound = 0, upperBound = 1)
+            )
+        )
+
+        val engine = newEngine(registry)
+        val classifierIds = listOf("Target", "Other1", "Other2", "Other3").map { name ->
+            val (id, classifier) = engine.createInstance("Classifier")
+            engine.setPropertyValue(classifier, "name", name)
+            id
+        }
+        for (i in 0 until 40) {
+            val (id, feature) = engine.createInstance("Feature")
+            engine.setPropertyValue(feature, "name", "f$i")
+            engine.createLink("FeatureTyping", id, classifierIds[i % classifierIds.size])
+        }
+        return engine
+    }
+
+    val targetFeatures = (0 until 40 step 4).map { "f$it" }
+
+    describe("anchor selection") {
+
+        it("should anchor on the selective node and walk the edge backwards") {
+            val engine = createTestEngine()
+            val gql = "MATCH (f:Feature)-[:FeatureTyping]->(c:Classifier {name: 'Target'}) RETURN f.name"
+
+            val plan = GqlQueryExecutor.explain(gql, engine)
+
+            plan.operators.first().operator shouldBe "NodeScan"
+            plan.operators.first().detail shouldStartWith "(c:Classifier"
+            plan.operators[1].operator shouldBe "Expand"
+            engine.query(gql).column("f.name") shouldContainExactlyInAnyOrder targetFeatures
+        }
+
+        it("should keep textual order when the left node is the cheaper anchor") {
+            val engine = createTestEngine()
+
+            val plan = GqlQueryExecutor.explain(
+                "MATCH (c:Classifier {name: 'Target'})<-[:FeatureTyping]-(f:Feature) RETURN f",
+                engine
+            )
+
+            plan.operators.first().detail shouldStartWith "(c:Classifier"
+        }
+
+        it("should keep edge bindings oriented as written when walking backwards") {
+            val engine = createTestEngine()
+
+            val results = engine.query(
+                "MATCH (f:Feature)-[e:FeatureTyping]->(c:Classifier {name: 'Target'}) RETURN e"
+            )
+
+            results.size shouldBe 10
+            for (edge in results.column("e")) {
+                edge as Map<*, *>
+                (edge["source"] as MDMObject).className shouldBe "Feature"
+                (edge["target"] as MDMObject).className shouldBe "Classifier"
+            }
+        }
+
+        it("should bind anonymous nodes without returning them") {
+            val engine = createTestEngine()
+
+            val results = engine.query("MATCH (f:Feature)-[:FeatureTyping]->(:Classifier {name: 'Target'}) RETURN *")
+
+            results.columns shouldBe listOf("f")
+            results.size shouldBe 10
+        }
+    }
+
+    describe("predicate pushdown") {
+
+        it("should filter WHERE conjuncts as soon as their variables are bound") {
+            val engine = createTestEngine()
+            val gql = """
+                MATCH (f:Feature)-[:FeatureTyping]->(c:Classifier)
+                FILTER WHERE c.name = 'Target' AND f.name <> 'f0'
+                RETURN f.name
+            """
+
+            val operators = GqlQueryExecutor.explain(gql, engine).operators
+
+            operators.map { it.operator } shouldBe listOf("NodeScan", "Filter", "Expand", "Filter", "Return")
+            operators[1].detail shouldBe "c.name = 'Target'"
+            engine.query(gql).column("f.name") shouldContainExactlyInAnyOrder targetFeatures - "f0"
+        }
+
+        it("should not push filters below an OPTIONAL MATCH") {
+            val engine = createTestEngine()
+
+            val operators = GqlQueryExecutor.explain(
+                """
+                MATCH (c:Classifier)
+                OPTIONAL MATCH (c)-[:NoSuchAssociation]->(x)
+                FILTER WHERE c.name = 'Target'
+                RETURN c.name
+                """,
+                engine
+            ).operators
+
+            operators.map { it.operator } shouldBe listOf("NodeScan", "NodeScan", "Expand", "Optional", "Filter", "Return")
+        }
+    }
+
+    describe("property indexes") {
+
+        // 40 features with a hash index on name and a sorted index on rank (0 to 39)
+        fun createIndexedEngine(): MDMEngine {
+            val registry = MetamodelRegistry()
+            registry.registerClass(
+                MetaClass(name = "Element", isAbstract = true, attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0)))
+            )
+            registry.registerClass(
+                MetaClass(
+                    name = "Feature",
+                    superclasses = listOf("Element"),
+                    attributes = listOf(MetaProperty(name = "rank", type = "Integer", lowerBound = 0))
+                )
+            )
+            registry.registerPropertyIndex("Element", "name")
+            registry.registerPropertyIndex("Feature", "rank", PropertyIndexKind.SORTED)
+
+            val engine = MDMEngine(registry)
+            for (i in 0 until 40) {
+                val (_, feature) = engine.createInstance("Feature")
+                engine.setPropertyValue(feature, "name", "f$i")
+                engine.setPropertyValue(feature, "rank", i)
+            }
+            return engine
+        }
+
+        it("should seek a property map value through the index") {
+            val engine = createIndexedEngine()
+            val gql = "MATCH (f:Feature {name: 'f7'}) RETURN f.rank"
+
+            val operators = GqlQueryExecutor.explain(gql, engine).operators
+
+            operators.first().operator shouldBe "IndexSeek"
+            operators.first().estimatedRows shouldBe 1.0
+            engine.query(gql).column("f.rank") shouldBe listOf(7)
+        }
+
+        it("should answer WHERE comparisons with an index range") {
+            val engine = createIndexedEngine()
+            val gql = "MATCH (f:Feature) FILTER WHERE f.rank >= 10 AND 13 > f.rank RETURN f.name"
+
+            val operators = GqlQueryExecutor.explain(gql, engine).operators
+
+            operators.map { it.operator } shouldBe listOf("IndexRange", "Return")
+            operators.first().detail shouldBe "(f:Feature) 10 <= rank < 13"
+            engine.query(gql).column("f.name") shouldContainExactlyInAnyOrder listOf("f10", "f11", "f12")
+        }
+
+        it("should seek a parameter through the index and check its kind when bound") {
+            val engine = createIndexedEngine()
+            val gql = "MATCH (f:Feature {name: \$name}) RETURN f.rank"
+
+            val operators = GqlQueryExecutor.explain(gql, engine).operators
+
+            operators.first().operator shouldBe "IndexSeek"
+            operators.first().detail shouldBe "(f:Feature {name: \$name}) name = \$name"
+            engine.query(gql, mapOf("name" to "f7")).column("f.rank") shouldBe listOf(7)
+            engine.query(gql, mapOf("name" to 7)).rows.shouldBeEmpty()
+        }
+
+        it("should not use the index for literals of another kind") {
+            val engine = createIndexedEngine()
+
+            val operators = GqlQueryExecutor.explain("MATCH (f:Feature) FILTER WHERE f.rank = '7' RETURN f", engine).operators
+
+            operators.first().operator shouldBe "NodeScan"
+        }
+
+        it("should follow renames and deletions") {
+            val engine = createIndexedEngine()
+            val renamed = engine.findElementsByProperty("Feature", "name", "f3").single()
+            val deleted = engine.findElementsByProperty("Feature", "name", "f4").single()
+
+            engine.setPropertyValue(renamed, "name", "renamed")
+            engine.removeElement(deleted.id!!)
+
+            engine.findElementsByProperty("Feature", "name", "f3") shouldBe emptyList()
+            engine.findElementsByProperty("Element", "name", "renamed") shouldBe listOf(renamed)
+            engine.query("MATCH (f:Feature {name: 'f4'}) RETURN f").size shouldBe 0
+            engine.findElementsByPropertyRange("Feature", "rank", 3, true, 4, true).map { it.id } shouldBe listOf(renamed.id)
+        }
+    }
+
+    describe("statistics") {
+
+        it("should sample association fan-out without materializing class extents") {
+            var extentReads = 0
+            val engine = createTestEngine { registry ->
+                object : MDMEngine(registry) {
+                    override fun getElementsByClass(className: String): List<MDMObject> {
+                        extentReads++
+                        return super.getElementsByClass(className)
+                    }
+                }
+            }
+
+            val plan = GqlQueryExecutor.explain(
+                "MATCH (f:Feature)-[:FeatureTyping]->(c:Classifier {name: 'Target'}) RETURN f.name",
+                engine
+            )
+
+            plan.operators.shouldNotBeEmpty()
+            extentReads shouldBe 0
+            engine.sampleElementIdsByClass("Feature", 3).map { engine.getElement(it)?.getProperty("name") } shouldBe
+                listOf("f0", "f1", "f2")
+        }
+    }
+
+    describe("PROFILE") {
+
+        it("should record actual rows for every operator") {
+            val engine = createTestEngine()
+
+            val profiled = GqlQueryExecutor.profile(
+                "MATCH (f:Feature)-[:FeatureTyping]->(c:Classifier {name: 'Target'}) RETURN f.name",
+                engine
+            )
+
+            profiled.results.size shouldBe 10
+            profiled.plan.operators.forEach { it.actualRows shouldNotBe null }
+            profiled.plan.operators.first().actualRows shouldBe 1L
+            profiled.plan.operators.last().actualRows shouldBe 10L
+            profiled.plan.render().lines().size shouldBe profiled.plan.operators.size
+        }
+    }
+})
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import kotlin.random.Random
+
+/**
+ * Tests for the CSR-backed [CompactGraph], checked against the default [MDMGraph].
+ */
+class CompactGraphTest : DescribeSpec({
+
+    val associations = listOf("a", "b", "c").map { name ->
+        MetaAssociation(
+            name = name,
+            sourceEnd = MetaAssociationEnd(name = "${name}Source", type = "Node", lowerBound = 0, upperBound = -1),
+            targetEnd = MetaAssociationEnd(name = "${name}Target", type = "Node", lowerBound = 0, upperBound = -1)
+        )
+    }
+
+    fun MDMGraph.shouldMatch(expected: MDMGraph, ids: List<String>) {
+        for (id in ids) {
+            for (association in associations) {
+                getTargets(id, association.name) shouldContainExactly expected.getTargets(id, association.name)
+                getSources(id, association.name) shouldContainExactly expected.getSources(id, association.name)
+                val visited = mutableListOf<String>()
+                forEachTarget(id, association.name) { visited.add(it) }
+                visited shouldContainExactly expected.getTargets(id, association.name)
+            }
+            getLinksForElement(id).map { it.id } shouldContainExactlyInAnyOrder
+                expected.getLinksForElement(id).map { it.id }
+        }
+        allEdges().map { it.id } shouldContainExactly expected.allEdges().map { it.id }
+    }
+
+    describe("CompactGraph") {
+
+        it("should answer like MDMGraph through random edits and compactions") {
+            val random = Random(42)
+            val ids = List(40) { "e$it" }
+            val expected = MDMGraph()
+            val compact = CompactGraph(minDeltaBeforeCompaction = 16)
+            var next = 0
+
+            repeat(600) { step ->
+                val live = expected.allEdges().toList()
+                if (live.isNotEmpty() && random.nextInt(4) == 0) {
+                    val link = live[random.nextInt(live.size)]
+                    expected.removeEdge(link.id)
+                    compact.removeEdge(link.id)
+                } else {
+                    val link = MDMLink(
+                        "l${next++}",
+                        associations[random.nextInt(associations.size)],
+                        ids[random.nextInt(ids.size)],
+                        ids[random.nextInt(ids.size)]
+                    )
+                    expected.addEdge(link)
+                    compact.addEdge(link)
+                }
+                if (step % 150 == 149) compact.shouldMatch(expected, ids)
+            }
+            compact.compact()
+            compact.shouldMatch(expected, ids)
+            (compact.compactions > 1) shouldBe true
+        }
+
+        it("should rebind links when an element ID is reassigned") {
+            val graph = CompactGraph()
+            graph.addEdge(MDMLink("l1", associations[0], "x", "y"))
+            graph.addEdge(MDMLink("l2", associations[0], "y", "y"))
+            graph.compact()
+
+            graph.reassignElementId("y", "z")
+
+            graph.getTargets("x", "a") shouldContainExactly listOf("z")
+            graph.getTargets("z", "a") shouldContainExactly listOf("z")
+            graph.getTargets("y", "a") shouldBe emptyList()
+            graph.getLinksForElement("z").map { it.id } shouldContainExactlyInAnyOrder listOf("l1", "l2")
+        }
+
+        it("should serve as an engine's graph") {
+            val registry = MetamodelRegistry()
+            registry.registerClass(org.openmbee.mdm.framework.meta.MetaClass(name = "Node"))
+            associations.forEach(registry::registerAssociation)
+            registry.buildIndexes()
+            val engine = MDMEngine(registry, DefaultElementFactory(), CompactGraph())
+            engine.createInstance("Node", "p")
+            engine.createInstance("Node", "q")
+            engine.link("p", "q", "a")
+            engine.compactGraph()
+
+            engine.getLinkedTargets("a", "p").map { it.id } shouldContainExactly listOf("q")
+            engine.removeElement("q")
+            engine.getLinkedTargets("a", "p") shouldBe emptyList()
+        }
+    }
+})
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldContain
+import io.kotest.matchers.collections.shouldNotContain
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaConstraint
+import org.openmbee.mdm.framework.meta.MetaProperty
+
+/**
+ * Tests for dependency-tracked invalidation of derived-value caches.
+ */
+class DerivedDependencyTrackingTest : DescribeSpec({
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(
+                        name = "label", type = "String", lowerBound = 0, upperBound = 1,
+                        isDerived = true, derivationConstraint = "deriveLabel"
+                    ),
+                    MetaProperty(
+                        name = "childCount", type = "Integer", lowerBound = 0, upperBound = 1,
+                        isDerived = true, derivationConstraint = "deriveChildCount"
+                    ),
+                    MetaProperty(
+                        name = "childLabels", type = "String", lowerBound = 0, upperBound = -1,
+                        isDerived = true, derivationConstraint = "deriveChildLabels"
+                    )
+                ),
+                constraints = listOf(
+                    MetaConstraint(name = "deriveLabel", expression = "name.concat('!')"),
+                    MetaConstraint(name = "deriveChildCount", expression = "children->size()"),
+                    MetaConstraint(name = "deriveChildLabels", expression = "children->collect(c | c.label)")
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry).apply { dependencyTracking = true }
+    }
+
+    fun MDMEngine.node(name: String): MDMObject {
+        val (id, node) = createInstance("Node")
+        setProperty(id, "name", name)
+        return node
+    }
+
+    describe("dependency-tracked invalidation") {
+
+        it("should evict only values that read a changed property, including on other elements") {
+            val engine = createEngine()
+            val parent = engine.node("p")
+            val child = engine.node("a")
+            val other = engine.node("o")
+            engine.link(parent.id!!, child.id!!, "nodeChildrenAssoc")
+
+            engine.getProperty(parent, "childLabels") shouldBe listOf("a!")
+            engine.getProperty(parent, "label") shouldBe "p!"
+            engine.getProperty(other, "label") shouldBe "o!"
+
+            engine.setProperty(child.id!!, "name", "b")
+
+            child.derivedCache.keys shouldNotContain "prop:label"
+            parent.derivedCache.keys shouldNotContain "prop:childLabels"
+            parent.derivedCache.keys shouldContain "prop:label"
+            other.derivedCache.keys shouldContain "prop:label"
+            engine.getProperty(parent, "childLabels") shouldBe listOf("b!")
+        }
+
+        it("should evict values that navigated a changed association") {
+            val engine = createEngine()
+            val parent = engine.node("p")
+            val first = engine.node("a")
+            val second = engine.node("b")
+            engine.link(parent.id!!, first.id!!, "nodeChildrenAssoc")
+
+            engine.getProperty(parent, "childCount") shouldBe 1L
+            engine.getProperty(parent, "label") shouldBe "p!"
+            engine.getProperty(second, "label") shouldBe "b!"
+
+            engine.link(parent.id!!, second.id!!, "nodeChildrenAssoc")
+
+            parent.derivedCache.keys shouldNotContain "prop:childCount"
+            parent.derivedCache.keys shouldContain "prop:label"
+            second.derivedCache.keys shouldContain "prop:label"
+            engine.getProperty(parent, "childCount") shouldBe 2L
+
+            engine.unlink(parent.id!!, first.id!!, "nodeChildrenAssoc")
+            engine.getProperty(parent, "childCount") shouldBe 1L
+        }
+
+        it("should report invalidation fan-out") {
+            val engine = createEngine()
+            val parent = engine.node("p")
+            val child = engine.node("a")
+            engine.link(parent.id!!, child.id!!, "nodeChildrenAssoc")
+            engine.getProperty(parent, "childLabels")
+
+            engine.setProperty(child.id!!, "name", "b")
+
+            val stats = engine.dependencyTrackingStats().shouldNotBeNull()
+            // child label, then the parent list that read it
+            stats.lastFanOut shouldBe 2
+            stats.maxFanOut shouldBe 2
+            stats.fanOutHistogram["2-10"] shouldBe 1L
+        }
+
+        it("should report no stats when tracking is off") {
+            val engine = createEngine()
+            engine.dependencyTracking = false
+
+            engine.dependencyTrackingStats().shouldBeNull()
+        }
+    }
+})
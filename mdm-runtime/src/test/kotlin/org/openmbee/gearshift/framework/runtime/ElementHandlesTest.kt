@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.ints.shouldBeLessThan
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import java.util.UUID
+import kotlin.random.Random
+
+/**
+ * Tests for handle-indexed element storage and graph adjacency.
+ */
+class ElementHandlesTest : DescribeSpec({
+
+    fun createEngine(graph: MDMGraph = MDMGraph()): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(MetaClass(name = "Node"))
+        registry.registerClass(MetaClass(name = "Leaf", superclasses = listOf("Node")))
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return object : MDMEngine(registry, DefaultElementFactory(), graph) {}
+    }
+
+    describe("ElementIds") {
+        it("should produce version 4 UUID strings") {
+            val id = UUID.fromString(ElementIds.newId())
+            id.version() shouldBe 4
+            id.variant() shouldBe 2
+        }
+    }
+
+    describe("ElementHandleTable") {
+        it("should match a HashMap oracle under random interning, renames and releases") {
+            val random = Random(11)
+            val table = ElementHandleTable()
+            val expected = HashMap<String, Int>()
+            repeat(50_000) {
+                val id = "e${random.nextInt(5_000)}"
+                when (random.nextInt(4)) {
+                    0 -> {
+                        table.release(id)
+                        expected.remove(id)
+                    }
+                    1 -> expected[id]?.let { handle ->
+                        val newId = "r${random.nextInt(5_000)}"
+                        table.rename(handle, newId)
+                        expected.remove(id)
+                        expected[newId] = handle
+                    }
+                    else -> expected[id] = table.intern(id)
+                }
+            }
+            for (i in 0 until 5_000) {
+                for (id in listOf("e$i", "r$i")) {
+                    table.handleOf(id) shouldBe (expected[id] ?: -1)
+                }
+            }
+            for ((id, handle) in expected) table.idOf(handle) shouldBe id
+        }
+
+        it("should renumber live handles in order when compacted") {
+            val table = ElementHandleTable()
+            for (i in 0 until 10) table.intern("e$i")
+            for (i in 0 until 10 step 3) table.release("e$i")
+            table.retired shouldBe 4
+
+            val remap = table.compact()
+            remap.toList() shouldContainExactly listOf(-1, 0, 1, -1, 2, 3, -1, 4, 5, -1)
+            table.capacity shouldBe 6
+            table.retired shouldBe 0
+            listOf("e1", "e2", "e4", "e5", "e7", "e8").map(table::handleOf) shouldContainExactly (0..5).toList()
+            table.handleOf("e0") shouldBe -1
+            table.intern("new") shouldBe 6
+        }
+    }
+
+    describe("handle-indexed engine") {
+
+        it("should keep creation order and class extents across removal") {
+            val engine = createEngine()
+            for (id in listOf("a", "b", "c")) engine.createInstance("Leaf", id)
+            engine.removeElement("b")
+            engine.createInstance("Node", "b")
+
+            engine.getAllElements().map { it.id } shouldContainExactly listOf("a", "c", "b")
+            engine.getElementsByClass("Node").map { it.id } shouldContainExactly listOf("a", "c", "b")
+            engine.getElementsByClass("Leaf").map { it.id } shouldContainExactly listOf("a", "c")
+            engine.elementCount() shouldBe 3
+        }
+
+        it("should rebind links and lookups when an element ID is reassigned") {
+            val engine = createEngine()
+            engine.createInstance("Node", "root")
+            engine.createInstance("Leaf", "old")
+            engine.createInstance("Leaf", "other")
+            engine.link("root", "old", "nodeChildrenAssoc")
+            engine.link("old", "other", "nodeChildrenAssoc")
+
+            engine.reassignElementId("old", "new")
+
+            engine.getElement("old").shouldBeNull()
+            engine.getElement("new")!!.id shouldBe "new"
+            engine.getAllElements().map { it.id } shouldContainExactly listOf("root", "new", "other")
+            engine.getElementsByClass("Leaf").map { it.id } shouldContainExactly listOf("new", "other")
+            engine.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldContainExactly listOf("new")
+            engine.getLinkedSources("nodeChildrenAssoc", "other").map { it.id } shouldContainExactly listOf("new")
+        }
+
+        for ((name, newGraph) in listOf<Pair<String, () -> MDMGraph>>(
+            "MDMGraph" to { MDMGraph() },
+            "CompactGraph" to { CompactGraph(minDeltaBeforeCompaction = 16) }
+        )) {
+            it("should reclaim handles under create/delete churn with $name") {
+                val graph = newGraph()
+                val engine = createEngine(graph)
+                engine.createInstance("Node", "root")
+                repeat(20_000) { i ->
+                    engine.createInstance(if (i % 2 == 0) "Leaf" else "Node", "n$i")
+                    engine.link("root", "n$i", "nodeChildrenAssoc")
+                    if (i >= 10) engine.removeElement("n${i - 10}")
+                }
+
+                // Retired handles are reclaimed, so the table stays near the live count
+                graph.handles.capacity shouldBeLessThan 2_000
+                val live = (19_990 until 20_000).map { "n$it" }
+                engine.getAllElements().map { it.id } shouldContainExactly listOf("root") + live
+                engine.getElementsByClass("Leaf").map { it.id } shouldContainExactly live.filterIndexed { i, _ -> i % 2 == 0 }
+                engine.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldContainExactly live
+                engine.getLinkedSources("nodeChildrenAssoc", "n19999").map { it.id } shouldContainExactly listOf("root")
+            }
+        }
+
+        it("should drop all adjacency of a removed element") {
+            val engine = createEngine()
+            engine.createInstance("Node", "root")
+            engine.createInstance("Leaf", "leaf")
+            engine.link("root", "leaf", "nodeChildrenAssoc")
+
+            engine.removeElement("leaf")
+            engine.getLinkedTargets("nodeChildrenAssoc", "root") shouldBe emptyList()
+            engine.getAllLinks() shouldBe emptyList()
+        }
+    }
+})
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaConstraint
+import org.openmbee.mdm.framework.meta.MetaProperty
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Tests for the engine's readers/single-writer lock and concurrent derived-value evaluation.
+ */
+class EngineLockTest : DescribeSpec({
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(
+                        name = "label", type = "String", lowerBound = 0, upperBound = 1,
+                        isDerived = true, derivationConstraint = "deriveLabel"
+                    ),
+                    MetaProperty(
+                        name = "childLabels", type = "String", lowerBound = 0, upperBound = -1,
+                        isDerived = true, derivationConstraint = "deriveChildLabels"
+                    )
+                ),
+                constraints = listOf(
+                    MetaConstraint(name = "deriveLabel", expression = "name.concat('!')"),
+                    MetaConstraint(name = "deriveChildLabels", expression = "children->collect(c | c.label)")
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        // Dependency tracking also evicts the parent's cached value when a child is renamed
+        return MDMEngine(registry).apply { dependencyTracking = true }
+    }
+
+    describe("EngineLock") {
+
+        it("should let a writer read but refuse to upgrade a read") {
+            val lock = EngineLock()
+            lock.write { lock.read { lock.isWriteLocked } } shouldBe true
+            shouldThrow<IllegalStateException> {
+                lock.read { lock.write { } }
+            }
+            lock.readLockCount shouldBe 0
+        }
+
+        it("should read pages without holding the lock between them") {
+            val lock = EngineLock()
+            val pages = lock.readPages(pageSize = 4) {
+                lock.readLockCount shouldBe 1
+                (1..10).iterator()
+            }
+
+            pages.next() shouldBe listOf(1, 2, 3, 4)
+            lock.readLockCount shouldBe 0
+            // A writer queued between pages runs at once, and the rest of the rows are refused
+            val writer = Executors.newSingleThreadExecutor()
+            writer.submit { lock.write { } }.get(10, TimeUnit.SECONDS)
+            writer.shutdown()
+            shouldThrow<ConcurrentModificationException> { pages.next() }
+
+            val all = lock.readPages(pageSize = 4) { (1..10).iterator() }
+            all.asSequence().toList() shouldBe listOf(listOf(1, 2, 3, 4), listOf(5, 6, 7, 8), listOf(9, 10))
+        }
+
+        it("should keep derived values consistent for concurrent readers during writes") {
+            val engine = createEngine()
+            val (parentId, _) = engine.createInstance("Node")
+            val childIds = (0 until 20).map { i ->
+                val (childId, _) = engine.createInstance("Node")
+                engine.setProperty(childId, "name", "c$i")
+                engine.link(parentId, childId, "nodeChildrenAssoc")
+                childId
+            }
+
+            val failures = ConcurrentLinkedQueue<Throwable>()
+            val writing = AtomicBoolean(true)
+            val pool = Executors.newFixedThreadPool(9)
+            repeat(8) {
+                pool.execute {
+                    try {
+                        while (writing.get()) {
+                            engine.lock.read {
+                                // The cached list must always match the children's current names
+                                val expected = engine.getLinkedTargets("nodeChildrenAssoc", parentId)
+                                    .map { "${it.getProperty("name")}!" }
+                                engine.getProperty(parentId, "childLabels") shouldBe expected
+                            }
+                        }
+                    } catch (e: Throwable) {
+                        failures += e
+                    }
+                }
+            }
+            pool.submit {
+                try {
+                    repeat(500) { round ->
+                        engine.lock.write {
+                            engine.setProperty(childIds[round % childIds.size], "name", "r$round")
+                        }
+                    }
+                } finally {
+                    writing.set(false)
+                }
+            }.get(2, TimeUnit.MINUTES)
+            pool.shutdown()
+            pool.awaitTermination(1, TimeUnit.MINUTES) shouldBe true
+
+            failures.shouldBeEmpty()
+        }
+    }
+})
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.ConstraintType
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaConstraint
+import org.openmbee.mdm.framework.meta.MetaProperty
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for [IncrementalValidator]: only the (element, constraint) pairs whose inputs changed are re-evaluated.
+ */
+class IncrementalValidatorTest : DescribeSpec({
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "value", type = "Integer", lowerBound = 0, upperBound = 1)),
+                constraints = listOf(
+                    MetaConstraint(name = "nonNegative", type = ConstraintType.VERIFICATION, expression = "value >= 0"),
+                    // Navigates to other elements: a parent is invalid while any child is negative
+                    MetaConstraint(
+                        name = "childrenNonNegative",
+                        type = ConstraintType.VERIFICATION,
+                        expression = "children->forAll(c | c.value >= 0)"
+                    )
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry)
+    }
+
+    fun MDMEngine.node(value: Int): String {
+        val (id, _) = createInstance("Node")
+        setProperty(id, "value", value)
+        return id
+    }
+
+    fun IncrementalValidator.violated(): List<Pair<String, String>> =
+        violations().map { it.element.id!! to it.constraint.name }
+
+    describe("IncrementalValidator") {
+
+        it("should re-evaluate only the pairs that read a changed input") {
+            val engine = createEngine()
+            val parentId = engine.node(1)
+            val childIds = List(10) { engine.node(it) }
+            childIds.forEach { engine.link(parentId, it, "nodeChildrenAssoc") }
+            val unrelatedIds = List(10) { engine.node(it) }
+
+            val validator = IncrementalValidator(engine, debounceMillis = 0)
+            validator.violations().shouldBeEmpty()
+            val initial = validator.evaluationCount
+            // Every node also inherits the base class's property checks
+            val perNode = engine.verificationConstraints(engine.getElement(parentId)!!).size
+            initial shouldBe perNode.toLong() * (1 + childIds.size + unrelatedIds.size)
+
+            // The child's own constraint and its parent's navigating constraint
+            engine.setProperty(childIds[3], "value", -1)
+            validator.flush() shouldBe 2
+            validator.violated() shouldContainExactlyInAnyOrder listOf(
+                childIds[3] to "nonNegative",
+                parentId to "childrenNonNegative"
+            )
+
+            engine.setProperty(childIds[3], "value", 3)
+            validator.flush() shouldBe 2
+            validator.violations().shouldBeEmpty()
+            validator.evaluationCount shouldBe initial + 4
+            engine.dependencyTracking shouldBe true
+        }
+
+        it("should follow link changes, creations and deletions") {
+            val engine = createEngine()
+            val parentId = engine.node(1)
+            val validator = IncrementalValidator(engine, debounceMillis = 0)
+
+            val negativeId = engine.node(-5)
+            validator.flush()
+            validator.violated() shouldContainExactlyInAnyOrder listOf(negativeId to "nonNegative")
+
+            engine.link(parentId, negativeId, "nodeChildrenAssoc")
+            validator.flush()
+            validator.violated() shouldContainExactlyInAnyOrder listOf(
+                negativeId to "nonNegative",
+                parentId to "childrenNonNegative"
+            )
+
+            engine.unlink(parentId, negativeId, "nodeChildrenAssoc")
+            validator.flush()
+            validator.violated() shouldContainExactlyInAnyOrder listOf(negativeId to "nonNegative")
+
+            engine.removeElement(negativeId)
+            validator.violations().shouldBeEmpty()
+            validator.close()
+        }
+
+        it("should batch changes and flush them after the quiet period") {
+            val engine = createEngine()
+            val ids = List(5) { engine.node(it) }
+            val validator = IncrementalValidator(engine, debounceMillis = 200)
+            val notified = CountDownLatch(1)
+            validator.addListener { added, _ -> if (added.size == ids.size) notified.countDown() }
+
+            ids.forEach { engine.setProperty(it, "value", -1) }
+            validator.pendingCount shouldBe ids.size
+
+            notified.await(10, TimeUnit.SECONDS) shouldBe true
+            validator.pendingCount shouldBe 0
+            validator.violations().size shouldBe ids.size
+            validator.close()
+        }
+    }
+})
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import io.kotest.matchers.types.shouldNotBeSameInstanceAs
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+
+/**
+ * Tests for compiled-script caching in the Kotlin operation body executor.
+ */
+class KotlinScriptExecutorTest : DescribeSpec({
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1))
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry)
+    }
+
+    val greeting = """"Hello, " + self.getProperty("name") + args["suffix"]"""
+    val shout = """(self.getProperty("name") as String).uppercase()"""
+    val length = """(self.getProperty("name") as String).length"""
+
+    describe("compiled script cache") {
+
+        val engine = createEngine()
+        val (nodeId, node) = engine.createInstance("Node")
+        engine.setProperty(nodeId, "name", "node")
+
+        it("should reuse the compiled script for the same script text") {
+            val executor = KotlinScriptExecutor(engine.engineAccessor)
+            val first = executor.compile(greeting)
+
+            executor.compile(greeting) shouldBeSameInstanceAs first
+            executor.execute(greeting, node, mapOf("suffix" to "!")) shouldBe "Hello, node!"
+            executor.cachedScriptCount shouldBe 1
+        }
+
+        it("should evict the least recently used script when full") {
+            val executor = KotlinScriptExecutor(engine.engineAccessor, maxCachedScripts = 2)
+            val greetingBody = executor.compile(greeting)
+            val shoutBody = executor.compile(shout)
+            // Touch greeting so shout is the eldest entry
+            executor.compile(greeting) shouldBeSameInstanceAs greetingBody
+            executor.compile(length)
+
+            executor.cachedScriptCount shouldBe 2
+            executor.compile(greeting) shouldBeSameInstanceAs greetingBody
+            executor.compile(shout) shouldNotBeSameInstanceAs shoutBody
+        }
+
+        it("should give the same results after eviction and recompilation") {
+            val executor = KotlinScriptExecutor(engine.engineAccessor, maxCachedScripts = 1)
+            val args = mapOf("suffix" to "?")
+            val before = listOf(greeting, shout).map { executor.execute(it, node, args) }
+
+            // Each script evicted the other, so both run recompiled here
+            val afterEviction = listOf(greeting, shout).map { executor.execute(it, node, args) }
+            executor.clearCache()
+            val afterClear = listOf(greeting, shout).map { executor.execute(it, node, args) }
+
+            before shouldBe listOf("Hello, node?", "NODE")
+            afterEviction shouldBe before
+            afterClear shouldBe before
+        }
+    }
+})
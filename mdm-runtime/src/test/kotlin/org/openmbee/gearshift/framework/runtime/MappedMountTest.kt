@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import java.nio.file.Files
+
+/**
+ * Tests for memory-mapped, lazily materialized read-only mounts.
+ */
+class MappedMountTest : DescribeSpec({
+
+    fun createRegistry(): MetamodelRegistry {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1))
+            )
+        )
+        registry.registerClass(MetaClass(name = "Leaf", superclasses = listOf("Node")))
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return registry
+    }
+
+    fun mapped(hash: String = "h1"): MappedMountEngine {
+        val source = MDMEngine(createRegistry())
+        for ((id, className) in listOf("root" to "Node", "a" to "Leaf", "b" to "Leaf")) {
+            source.createInstance(className, id)
+            source.setProperty(id, "name", id.uppercase())
+        }
+        source.link("root", "a", "nodeChildrenAssoc")
+        source.link("root", "b", "nodeChildrenAssoc")
+
+        val path = Files.createTempFile("mapped-mount", ".mdmm")
+        path.toFile().deleteOnExit()
+        MappedMountEngine.write(source, hash, path)
+        return MappedMountEngine.open(path, createRegistry()).shouldNotBeNull()
+    }
+
+    describe("MappedMountEngine") {
+
+        it("should materialize element views only when accessed") {
+            val engine = mapped()
+            engine.elementCount() shouldBe 3
+            engine.materializedCount() shouldBe 0
+
+            val a = engine.getElement("a").shouldNotBeNull()
+            a.className shouldBe "Leaf"
+            a.getProperty("name") shouldBe "A"
+            engine.materializedCount() shouldBe 1
+            (engine.getElement("a") === a) shouldBe true
+            engine.getElement("missing").shouldBeNull()
+        }
+
+        it("should answer class extents and links from the mapped file") {
+            val engine = mapped()
+            engine.getElementsByClass("Node").map { it.id } shouldBe listOf("root", "a", "b")
+            engine.getInstancesByType("Leaf").map { it.id } shouldBe listOf("a", "b")
+            engine.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldBe listOf("a", "b")
+            engine.getLinkedSources("nodeChildrenAssoc", "b").map { it.id } shouldBe listOf("root")
+            engine.getAllLinks().size shouldBe 2
+        }
+
+        it("should reject a stale file and mutations") {
+            val engine = mapped("old")
+            val path = Files.createTempFile("mapped-mount", ".mdmm")
+            path.toFile().deleteOnExit()
+            MappedMountEngine.write(engine, "old", path)
+            MappedMountEngine.open(path, createRegistry(), expectedSourceHash = "new").shouldBeNull()
+
+            shouldThrow<UnsupportedOperationException> { engine.link("a", "b", "nodeChildrenAssoc") }
+            shouldThrow<UnsupportedOperationException> { engine.removeElement("a") }
+        }
+
+        it("should check membership without materializing and resolve through a MountableEngine") {
+            val mount = MappedMount("mapped", "Mapped", mapped())
+            mount.containsElement("b") shouldBe true
+            mount.engine.materializedCount() shouldBe 0
+
+            MountRegistry.clear()
+            MountRegistry.register(mount)
+            val session = MountableEngine(createRegistry())
+            session.mount("mapped")
+            session.getElement("b")?.getProperty("name") shouldBe "B"
+            MountRegistry.clear()
+        }
+    }
+})
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+/**
+ * Tests for writing and restoring engines as binary mount images.
+ */
+class MountImageTest : DescribeSpec({
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "aliases", type = "String", lowerBound = 0, upperBound = -1)
+                )
+            )
+        )
+        registry.registerClass(MetaClass(name = "Leaf", superclasses = listOf("Node")))
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry)
+    }
+
+    fun MDMEngine.toImage(hash: String = "h1"): ByteArray =
+        ByteArrayOutputStream().also { MountImage.write(this, hash, it) }.toByteArray()
+
+    describe("MountImage") {
+
+        it("should restore elements, stored properties and links in order") {
+            val source = createEngine()
+            val (rootId, root) = source.createInstance("Node", "root")
+            source.setProperty(rootId, "name", "Root")
+            source.setProperty(rootId, "aliases", listOf("r", "top"))
+            val (leafId, _) = source.createInstance("Leaf", "leaf")
+            source.setProperty(leafId, "name", "Leaf")
+            root.setProperty("flags", mapOf("count" to 3, "ratio" to 0.5, "big" to 7L, "on" to true, "none" to null))
+            root.setProperty("self", root)
+            source.link(rootId, leafId, "nodeChildrenAssoc")
+
+            val restored = createEngine()
+            val header = MountImage.read(ByteArrayInputStream(source.toImage()), restored, "h1")
+
+            header.shouldNotBeNull()
+            header.elementCount shouldBe 2
+            header.linkCount shouldBe 1
+            restored.getAllElements().map { it.id } shouldBe listOf("root", "leaf")
+            restored.getElementsByClass("Node").map { it.id }.toSet() shouldBe setOf("root", "leaf")
+
+            val restoredRoot = restored.getElement("root")!!
+            restoredRoot.getProperty("name") shouldBe "Root"
+            restoredRoot.getProperty("aliases") shouldBe listOf("r", "top")
+            restoredRoot.getProperty("flags") shouldBe
+                mapOf("count" to 3, "ratio" to 0.5, "big" to 7L, "on" to true, "none" to null)
+            (restoredRoot.getProperty("self") === restoredRoot) shouldBe true
+            restored.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldBe listOf("leaf")
+            restored.getAllLinks().single().id shouldBe source.getAllLinks().single().id
+        }
+
+        it("should reject an image built from different sources") {
+            val source = createEngine()
+            source.createInstance("Node", "n")
+
+            val restored = createEngine()
+            MountImage.read(ByteArrayInputStream(source.toImage("old")), restored, "new").shouldBeNull()
+            restored.elementCount() shouldBe 0
+        }
+
+        it("should reject input that is not a mount image") {
+            MountImage.read(ByteArrayInputStream(ByteArray(16)), createEngine()).shouldBeNull()
+        }
+
+        it("should refuse to encode values it cannot restore") {
+            val source = createEngine()
+            source.createInstance("Node", "n").second.setProperty("when", java.time.Instant.EPOCH)
+
+            shouldThrow<IllegalArgumentException> { source.toImage() }
+        }
+
+        it("should register a mount only when the image is current") {
+            MountRegistry.clear()
+            val source = createEngine()
+            source.createInstance("Node", "n")
+            val image = source.toImage("h1")
+
+            MountRegistry.registerFromImage("lib", "Lib", createEngine(), ByteArrayInputStream(image), "h2").shouldBeNull()
+            MountRegistry.isRegistered("lib") shouldBe false
+
+            val mount = MountRegistry.registerFromImage("lib", "Lib", createEngine(), ByteArrayInputStream(image), "h1")
+            mount.shouldNotBeNull()
+            mount.engine.getElement("n").shouldNotBeNull()
+            MountRegistry.clear()
+        }
+    }
+})
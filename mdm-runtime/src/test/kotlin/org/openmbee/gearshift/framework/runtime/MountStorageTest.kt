@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.collections.shouldHaveSize
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import java.nio.file.Files
+
+/**
+ * Tests for mount persistence through [MountStorage] implementations.
+ */
+class MountStorageTest : DescribeSpec({
+
+    fun createRegistry(): MetamodelRegistry {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(
+                    MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "weight", type = "Real", lowerBound = 0, upperBound = 1),
+                    MetaProperty(name = "isLeaf", type = "Boolean", lowerBound = 0, upperBound = 1)
+                )
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return registry
+    }
+
+    fun createMount(): Mount {
+        val engine = MDMEngine(createRegistry())
+        engine.createInstance("Node", "root")
+        engine.setProperty("root", "name", "Root \"quoted\"\nline")
+        engine.setProperty("root", "weight", 2.5)
+        engine.createInstance("Node", "leaf")
+        engine.setProperty("leaf", "name", "Leaf")
+        engine.setProperty("leaf", "isLeaf", true)
+        engine.getElement("leaf")!!.setProperty("aliases", listOf("l", "ℓ"))
+        engine.link("root", "leaf", "nodeChildrenAssoc")
+        return StandardMount("lib", "Library", engine, priority = 500, isImplicit = true)
+    }
+
+    describe("BinaryMountStorage") {
+
+        it("should round-trip metadata, typed properties and links") {
+            val dir = Files.createTempDirectory("mounts")
+            val file = dir.resolve("lib${BinaryMountStorage.EXTENSION}")
+            val storage = BinaryMountStorage()
+            storage.save(createMount(), file)
+
+            val loaded = storage.load(file, createRegistry()).shouldNotBeNull()
+            loaded.id shouldBe "lib"
+            loaded.name shouldBe "Library"
+            loaded.priority shouldBe 500
+            loaded.isImplicit shouldBe true
+
+            val root = loaded.engine.getElement("root").shouldNotBeNull()
+            root.getProperty("name") shouldBe "Root \"quoted\"\nline"
+            root.getProperty("weight") shouldBe 2.5
+            val leaf = loaded.engine.getElement("leaf").shouldNotBeNull()
+            leaf.getProperty("isLeaf") shouldBe true
+            leaf.getProperty("aliases") shouldBe listOf("l", "ℓ")
+            loaded.engine.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldBe listOf("leaf")
+        }
+
+        it("should list stored mounts and reject foreign files") {
+            val dir = Files.createTempDirectory("mounts")
+            val storage = BinaryMountStorage()
+            storage.save(createMount(), dir.resolve("lib${BinaryMountStorage.EXTENSION}"))
+            Files.writeString(dir.resolve("other${BinaryMountStorage.EXTENSION}"), "not a mount")
+
+            val available = storage.listAvailable(dir)
+            available shouldHaveSize 1
+            available.single().elementCount shouldBe 2
+            storage.load(dir.resolve("other${BinaryMountStorage.EXTENSION}"), createRegistry()).shouldBeNull()
+        }
+    }
+
+    describe("JsonMountStorage") {
+
+        it("should restore elements and links but not property values") {
+            val dir = Files.createTempDirectory("mounts").resolve("lib")
+            val storage = JsonMountStorage()
+            storage.save(createMount(), dir)
+
+            val loaded = storage.load(dir, createRegistry()).shouldNotBeNull()
+            loaded.engine.elementCount() shouldBe 2
+            loaded.engine.getLinkedTargets("nodeChildrenAssoc", "root").map { it.id } shouldBe listOf("leaf")
+            loaded.engine.getElement("root")!!.getProperty("weight").shouldBeNull()
+        }
+    }
+})
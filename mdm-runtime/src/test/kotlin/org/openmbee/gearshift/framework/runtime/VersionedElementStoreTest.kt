@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Charles Galey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openmbee.mdm.framework.runtime
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.DescribeSpec
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import org.openmbee.mdm.framework.meta.MetaAssociation
+import org.openmbee.mdm.framework.meta.MetaAssociationEnd
+import org.openmbee.mdm.framework.meta.MetaClass
+import org.openmbee.mdm.framework.meta.MetaProperty
+import kotlin.random.Random
+
+/**
+ * Tests for the persistent map, per-version snapshots and change tracking behind commit history.
+ */
+class VersionedElementStoreTest : DescribeSpec({
+
+    /** Key whose hash code is deliberately coarse, to force full-hash collisions */
+    data class CollidingKey(val value: Int) {
+        override fun hashCode(): Int = value / 4
+    }
+
+    fun createEngine(): MDMEngine {
+        val registry = MetamodelRegistry()
+        registry.registerClass(
+            MetaClass(
+                name = "Node",
+                attributes = listOf(MetaProperty(name = "name", type = "String", lowerBound = 0, upperBound = 1))
+            )
+        )
+        registry.registerAssociation(
+            MetaAssociation(
+                name = "nodeChildrenAssoc",
+                sourceEnd = MetaAssociationEnd(name = "parent", type = "Node", lowerBound = 0, upperBound = 1),
+                targetEnd = MetaAssociationEnd(name = "children", type = "Node", lowerBound = 0, upperBound = -1)
+            )
+        )
+        registry.buildIndexes()
+        return MDMEngine(registry)
+    }
+
+    fun state(id: String, name: String) = ElementState(id, "Node", mapOf("name" to name))
+
+    fun Any?.shouldBeEmptyReferences() {
+        (this == null || this == emptyList<Any>()) shouldBe true
+    }
+
+    describe("PersistentHashMap") {
+
+        it("should match a HashMap under random puts and removes") {
+            val random = Random(7)
+            var map = PersistentHashMap.empty<CollidingKey, Int>()
+            val expected = HashMap<CollidingKey, Int>()
+            repeat(20_000) {
+                val key = CollidingKey(random.nextInt(2_000))
+                if (random.nextInt(3) == 0) {
+                    map = map.remove(key)
+                    expected.remove(key)
+                } else {
+                    val value = random.nextInt()
+                    map = map.put(key, value)
+                    expected[key] = value
+                }
+            }
+            map.size shouldBe expected.size
+            map.associate { it.key to it.value } shouldBe expected
+            for (i in 0 until 2_000) map[CollidingKey(i)] shouldBe expected[CollidingKey(i)]
+        }
+
+        it("should leave earlier versions untouched") {
+            val first = (0 until 1_000).fold(PersistentHashMap.empty<String, Int>()) { map, i -> map.put("k$i", i) }
+            val second = first.put("k1", -1).remove("k2").put("new", 0)
+
+            first.size shouldBe 1_000
+            first["k1"] shouldBe 1
+            first["k2"] shouldBe 2
+            first["new"].shouldBeNull()
+            second.size shouldBe 1_000
+            second["k1"] shouldBe -1
+            second["k2"].shouldBeNull()
+            first.put("k3", 3) shouldBe first
+            first.remove("missing") shouldBe first
+        }
+
+        it("should become empty after removing every key") {
+            var map = PersistentHashMap.empty<CollidingKey, Int>()
+            for (i in 0 until 100) map = map.put(CollidingKey(i), i)
+            for (i in 0 until 100) map = map.remove(CollidingKey(i))
+            map.isEmpty() shouldBe true
+            map.iterator().hasNext() shouldBe false
+        }
+    }
+
+    describe("VersionedElementStore") {
+
+        it("should keep every version readable") {
+            val store = VersionedElementStore()
+            store.commit("v1", null, mapOf("a" to state("a", "A"), "b" to state("b", "B")))
+            store.commit("v2", "v1", mapOf("a" to state("a", "A2"), "b" to null, "c" to state("c", "C")))
+
+            val v1 = store.snapshot("v1").shouldNotBeNull()
+            v1.size shouldBe 2
+            v1["a"]!!.values["name"] shouldBe "A"
+            v1["c"].shouldBeNull()
+
+            val v2 = store.snapshot("v2").shouldNotBeNull()
+            v2.parentVersion shouldBe "v1"
+            v2.elementIds().toSet() shouldBe setOf("a", "c")
+            v2["a"]!!.values["name"] shouldBe "A2"
+        }
+
+        it("should keep each version's changes, so a history can be replayed") {
+            val store = VersionedElementStore()
+            store.commit("v1", null, mapOf("a" to state("a", "A"), "b" to state("b", "B")))
+            store.commit("v2", "v1", mapOf("b" to null, "c" to state("c", "C")))
+
+            val v1 = store.snapshot("v1")!!
+            v1.parentVersion.shouldBeNull()
+            val v2 = store.snapshot("v2")!!
+            v2.changes shouldBe mapOf("b" to null, "c" to state("c", "C"))
+
+            val replayed = VersionedElementStore()
+            for (snapshot in listOf(v1, v2)) replayed.commit(snapshot.version, snapshot.parentVersion, snapshot.changes)
+            replayed.snapshot("v2")!!.elements().toSet() shouldBe v2.elements().toSet()
+        }
+
+        it("should reject unknown parents and duplicate versions") {
+            val store = VersionedElementStore()
+            store.commit("v1", null, emptyMap())
+            shouldThrow<IllegalArgumentException> { store.commit("v1", null, emptyMap()) }
+            shouldThrow<IllegalArgumentException> { store.commit("v2", "missing", emptyMap()) }
+        }
+    }
+
+    describe("ElementChangeTracker") {
+
+        it("should capture everything first, then only what changed") {
+            val engine = createEngine()
+            val tracker = ElementChangeTracker()
+            engine.registerLifecycleHandler(tracker)
+            val store = VersionedElementStore()
+
+            val (parentId, _) = engine.createInstance("Node")
+            val (childId, _) = engine.createInstance("Node")
+            val (otherId, _) = engine.createInstance("Node")
+            engine.setProperty(parentId, "name", "p")
+            val initial = tracker.takeChanges(engine, null)
+            initial.keys shouldBe setOf(parentId, childId, otherId)
+            store.commit("v1", null, initial)
+
+            tracker.takeChanges(engine, store.snapshot("v1")).shouldBeEmpty()
+
+            engine.link(parentId, childId, "nodeChildrenAssoc")
+            val linked = tracker.takeChanges(engine, store.snapshot("v1"))
+            // Both ends gain a reference; the unrelated element is not captured
+            linked.keys shouldBe setOf(parentId, childId)
+            linked[parentId]!!.values["children"] shouldBe listOf(mapOf("@id" to childId))
+            store.commit("v2", "v1", linked)
+
+            engine.removeElement(childId)
+            val deleted = tracker.takeChanges(engine, store.snapshot("v2"))
+            // The parent loses its reference to the deleted child
+            deleted.keys shouldBe setOf(childId, parentId)
+            deleted[childId].shouldBeNull()
+            store.commit("v3", "v2", deleted)
+
+            store.snapshot("v1")!![parentId]!!.values["children"].shouldBeEmptyReferences()
+            store.snapshot("v2")!![childId].shouldNotBeNull()
+            store.snapshot("v3")!!.elementIds().toSet() shouldBe setOf(parentId, otherId)
+            store.snapshot("v3")!![parentId] shouldBe store.snapshot("v1")!![parentId]
+        }
+
+        it("should drop captures that equal the base state") {
+            val engine = createEngine()
+            val tracker = ElementChangeTracker()
+            engine.registerLifecycleHandler(tracker)
+            val (id, _) = engine.createInstance("Node")
+            engine.setProperty(id, "name", "same")
+            val base = VersionedElementStore().commit("v1", null, tracker.takeChanges(engine, null))
+
+            engine.setProperty(id, "name", "other")
+            engine.setProperty(id, "name", "same")
+            tracker.takeChanges(engine, base).shouldBeEmpty()
+
+            tracker.requestFullCapture()
+            tracker.takeChanges(engine, base).shouldBeEmpty()
+        }
+    }
+})
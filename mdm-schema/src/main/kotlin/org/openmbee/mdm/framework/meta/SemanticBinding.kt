@@ -200,6 +200,19 @@ sealed class BindingCondition {
      * from the corresponding position in supertypes.
      */
     data object IsEndWithOwningType : BindingCondition()
+
+    /**
+     * Binding applies when a Boolean query operation on the element returns true.
+     * Used for conditions like `isSubactionUsage()` or `isSubstateUsage(true)` that are defined
+     * as operations.
+     *
+     * @property operation The name of the operation to invoke
+     * @property arguments Argument values by parameter name
+     */
+    data class OperationResult(
+        val operation: String,
+        val arguments: Map<String, Any?> = emptyMap()
+    ) : BindingCondition()
 }
 
 /**
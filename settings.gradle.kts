@@ -29,4 +29,4 @@ include("mdm-codegen")
 include("gearshift-kerml-model")
 include("kerml-generated")
 include("gearshift-kerml-runtime")
-include("gearshift-intellij-plugin")
+//include("gearshift-intellij-plugin")